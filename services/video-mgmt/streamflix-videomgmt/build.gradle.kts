@@ -81,8 +81,14 @@ dependencies {
     
     // JSON processing
     implementation("com.fasterxml.jackson.module:jackson-module-kotlin")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-csv") // Catalogue imports
     implementation("org.springframework.boot:spring-boot-starter-cache")
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
+    implementation("com.github.ben-manes.caffeine:caffeine") // In-process L1 tier in front of Redis
+    // Hibernate second-level cache for reference data, in Caffeine through JCache, and its statistics
+    implementation("org.hibernate.orm:hibernate-jcache")
+    implementation("com.github.ben-manes.caffeine:jcache")
+    implementation("org.hibernate.orm:hibernate-micrometer")
     
     // Testing
     testImplementation("org.springframework.boot:spring-boot-starter-test")
@@ -112,6 +118,8 @@ tasks.withType<KotlinCompile> {
 
 tasks.withType<Test> {
     useJUnitPlatform()
+    // Benchmarks are skipped unless requested: ./gradlew test -Dbenchmark=true --tests '*Benchmark'
+    systemProperty("benchmark", System.getProperty("benchmark", "false"))
 }
 
 dependencyCheck {
@@ -1,6 +1,9 @@
 package com.streamflix.video.application;
 
 import com.streamflix.video.domain.Video;
+import com.streamflix.video.domain.VideoSummary;
+
+import java.util.List;
 
 /**
  * Interface for publishing video-related domain events.
@@ -15,6 +18,14 @@ public interface VideoEventPublisher {
      */
     void publishVideoCreated(Video video);
 
+    /**
+     * Publish the created events of videos created together; implementations may send them as one batch
+     * @param videos The newly created videos
+     */
+    default void publishVideosCreated(List<Video> videos) {
+        videos.forEach(this::publishVideoCreated);
+    }
+
     /**
      * Publish an event when a video's metadata is updated
      * @param video The updated video
@@ -27,6 +38,20 @@ public interface VideoEventPublisher {
      */
     void publishVideoStatusChanged(Video video);
     
+    /**
+     * Publish the updated events of videos changed together by a bulk tag or category request;
+     * implementations may send them as one batch
+     * @param videos The videos after the change
+     */
+    void publishVideosUpdated(List<VideoSummary> videos);
+
+    /**
+     * Publish the status changed events of videos moved to a status together by a bulk request;
+     * implementations may send them as one batch
+     * @param videos The videos with their new status
+     */
+    void publishVideosStatusChanged(List<VideoSummary> videos);
+
     /**
      * Publish an event when a video is deleted
      * @param video The deleted video
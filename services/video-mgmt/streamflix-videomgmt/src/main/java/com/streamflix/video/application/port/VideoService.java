@@ -1,7 +1,14 @@
 package com.streamflix.video.application.port;
 
+import com.streamflix.video.domain.BulkVideoResult;
+import com.streamflix.video.domain.CountMode;
+import com.streamflix.video.domain.NewVideo;
 import com.streamflix.video.domain.Video;
+import com.streamflix.video.domain.VideoCursor;
+import com.streamflix.video.domain.VideoCursorPage;
+import com.streamflix.video.domain.VideoSlice;
 import com.streamflix.video.domain.VideoStatus;
+import com.streamflix.video.domain.VideoSummary;
 import com.streamflix.video.presentation.dto.VideoFilterParams;
 import org.springframework.data.domain.Page;
 
@@ -27,6 +34,47 @@ public interface VideoService {
      */
     CompletableFuture<Video> createVideo(String title, String description, UUID categoryId, Set<String> tags);
 
+    /**
+     * Create many videos at once. Every item is validated first; the valid ones are inserted in
+     * batches and the invalid ones are reported without failing the others.
+     * @param videos The videos to create
+     * @return A CompletableFuture containing the outcome of each item, in request order.
+     */
+    CompletableFuture<BulkVideoResult> createVideos(List<NewVideo> videos);
+
+    /**
+     * Move many videos to a status at once, with the same transitions as {@link #updateVideoStatus}.
+     * Videos that do not exist or cannot make the transition are reported without failing the others.
+     * @param videoIds The video IDs
+     * @param status The new status
+     * @return A CompletableFuture containing the outcome of each id, in request order.
+     */
+    CompletableFuture<BulkVideoResult> updateVideoStatuses(List<UUID> videoIds, VideoStatus status);
+
+    /**
+     * Add a tag to many videos at once; videos that already carry it are left as they are.
+     * @param videoIds The video IDs
+     * @param tag The tag to add
+     * @return A CompletableFuture containing the outcome of each id, in request order.
+     */
+    CompletableFuture<BulkVideoResult> addTagToVideos(List<UUID> videoIds, String tag);
+
+    /**
+     * Remove a tag from many videos at once; videos without it are left as they are.
+     * @param videoIds The video IDs
+     * @param tag The tag to remove
+     * @return A CompletableFuture containing the outcome of each id, in request order.
+     */
+    CompletableFuture<BulkVideoResult> removeTagFromVideos(List<UUID> videoIds, String tag);
+
+    /**
+     * Move many videos to a category at once.
+     * @param videoIds The video IDs
+     * @param categoryId The ID of the category
+     * @return A CompletableFuture containing the outcome of each id, in request order.
+     */
+    CompletableFuture<BulkVideoResult> moveVideosToCategory(List<UUID> videoIds, UUID categoryId);
+
     /**
      * Retrieve a video by its ID
      * @param id The video ID
@@ -34,6 +82,13 @@ public interface VideoService {
      */
     CompletableFuture<Optional<Video>> getVideo(UUID id);
 
+    /**
+     * Read a video from the database, bypassing the cache, for an early refresh of its cache entry.
+     * @param id The video ID
+     * @return The video with its tags loaded, or an empty Optional if it no longer exists
+     */
+    Optional<Video> reloadVideo(UUID id);
+
     /**
      * Update the metadata for an existing video
      * @param id The video ID
@@ -104,4 +159,86 @@ public interface VideoService {
      * @return A CompletableFuture containing a Page of Videos matching the filter criteria.
      */
     CompletableFuture<Page<Video>> findByFilterParams(VideoFilterParams filterParams, int page, int size);
-}
\ No newline at end of file
+
+    /**
+     * Find videos by filter parameters with pagination and sorting, counting them as the count mode asks
+     * @param filterParams The filter parameters
+     * @param page The page number (0-based)
+     * @param size The page size
+     * @param countMode Whether to count the matches exactly, estimate them or not count them at all
+     * @return A CompletableFuture containing the page of Videos and its total, as far as it was counted.
+     */
+    CompletableFuture<VideoSlice<Video>> findByFilterParams(VideoFilterParams filterParams, int page, int size, CountMode countMode);
+
+    /**
+     * List summaries of all videos except deleted ones, most recently updated first
+     * @param page The page number (0-based)
+     * @param size The page size
+     * @return A CompletableFuture containing the video summaries for the requested page.
+     */
+    CompletableFuture<List<VideoSummary>> listVideoSummaries(int page, int size);
+
+    /**
+     * Find summaries of the videos in a category, most recently updated first
+     * @param categoryId The category ID
+     * @param page The page number (0-based)
+     * @param size The page size
+     * @return A CompletableFuture containing the video summaries for the requested page.
+     */
+    CompletableFuture<List<VideoSummary>> findVideoSummariesByCategory(UUID categoryId, int page, int size);
+
+    /**
+     * Find summaries of the videos with a tag, most recently updated first
+     * @param tag The tag to search for
+     * @param page The page number (0-based)
+     * @param size The page size
+     * @return A CompletableFuture containing the video summaries for the requested page.
+     */
+    CompletableFuture<List<VideoSummary>> findVideoSummariesByTag(String tag, int page, int size);
+
+    /**
+     * Find summaries of the videos matching the filter parameters, counting them as the count mode asks
+     * @param filterParams The filter parameters
+     * @param page The page number (0-based)
+     * @param size The page size
+     * @param countMode Whether to count the matches exactly, estimate them or not count them at all
+     * @return A CompletableFuture containing the page of summaries and its total, as far as it was counted.
+     */
+    CompletableFuture<VideoSlice<VideoSummary>> findSummariesByFilterParams(VideoFilterParams filterParams, int page,
+                                                                            int size, CountMode countMode);
+
+    /**
+     * Scroll all videos by keyset, without counting them
+     * @param after The cursor returned with the previous page, or null for the first page
+     * @param size The page size
+     * @return A CompletableFuture containing the videos after the cursor and the cursor of the next page.
+     */
+    CompletableFuture<VideoCursorPage> scrollVideos(VideoCursor after, int size);
+
+    /**
+     * Scroll videos of a category by keyset, without counting them
+     * @param categoryId The category ID
+     * @param after The cursor returned with the previous page, or null for the first page
+     * @param size The page size
+     * @return A CompletableFuture containing the videos after the cursor and the cursor of the next page.
+     */
+    CompletableFuture<VideoCursorPage> scrollVideosByCategory(UUID categoryId, VideoCursor after, int size);
+
+    /**
+     * Scroll videos with a tag by keyset, without counting them
+     * @param tag The tag to search for
+     * @param after The cursor returned with the previous page, or null for the first page
+     * @param size The page size
+     * @return A CompletableFuture containing the videos after the cursor and the cursor of the next page.
+     */
+    CompletableFuture<VideoCursorPage> scrollVideosByTag(String tag, VideoCursor after, int size);
+
+    /**
+     * Scroll videos matching the filter parameters by keyset, without counting them
+     * @param filterParams The filter parameters; their sort applies to the first page only
+     * @param after The cursor returned with the previous page, or null for the first page
+     * @param size The page size
+     * @return A CompletableFuture containing the videos after the cursor and the cursor of the next page.
+     */
+    CompletableFuture<VideoCursorPage> scrollByFilterParams(VideoFilterParams filterParams, VideoCursor after, int size);
+}
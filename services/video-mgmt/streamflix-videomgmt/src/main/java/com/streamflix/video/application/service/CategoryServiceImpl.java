@@ -5,6 +5,8 @@ import com.streamflix.video.domain.Category;
 import com.streamflix.video.domain.CategoryRepository;
 import com.streamflix.video.domain.exception.CategoryNotFoundException;
 import com.streamflix.video.domain.exception.ValidationException;
+import com.streamflix.video.infrastructure.cache.CachedEntityType;
+import com.streamflix.video.infrastructure.cache.EntityExistenceGuard;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -25,9 +27,11 @@ public class CategoryServiceImpl implements CategoryService {
     private static final Logger logger = LoggerFactory.getLogger(CategoryServiceImpl.class);
 
     private final CategoryRepository categoryRepository;
+    private final EntityExistenceGuard existenceGuard;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, EntityExistenceGuard existenceGuard) {
         this.categoryRepository = categoryRepository;
+        this.existenceGuard = existenceGuard;
     }
 
     @Override
@@ -41,14 +45,23 @@ public class CategoryServiceImpl implements CategoryService {
         }
         
         Category category = new Category(name, description);
-        return categoryRepository.save(category);
+        Category savedCategory = categoryRepository.save(category);
+        existenceGuard.recordCreated(CachedEntityType.CATEGORY, savedCategory.getTenantId(), savedCategory.getId());
+        return savedCategory;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<Category> getCategory(UUID id) {
         logger.info("Retrieving category by id: {}", id);
-        return categoryRepository.findById(id);
+        if (!existenceGuard.mayExist(CachedEntityType.CATEGORY, id)) {
+            return Optional.empty();
+        }
+        Optional<Category> category = categoryRepository.findById(id);
+        if (category.isEmpty()) {
+            existenceGuard.recordMissing(CachedEntityType.CATEGORY, id);
+        }
+        return category;
     }
 
     @Override
@@ -83,6 +96,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
         
         categoryRepository.deleteById(id);
+        existenceGuard.recordDeleted(CachedEntityType.CATEGORY, id);
         return true;
     }
 
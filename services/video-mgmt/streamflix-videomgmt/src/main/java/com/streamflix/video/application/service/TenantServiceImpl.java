@@ -35,7 +35,7 @@ public class TenantServiceImpl implements TenantService {
         Tenant tenant = new Tenant(name, identifier, subscriptionLevel);
         tenant = tenantRepository.save(tenant);
         
-        // Create database partitions for the new tenant if partitioning is enabled
+        // Make sure the partitions the new tenant hashes into exist if partitioning is enabled
         partitionRoutingService.ifPresent(service -> service.ensurePartitionExists(tenant));
         
         return tenant;
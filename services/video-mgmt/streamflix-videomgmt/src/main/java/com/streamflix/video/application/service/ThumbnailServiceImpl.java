@@ -7,6 +7,8 @@ import com.streamflix.video.domain.Video;
 import com.streamflix.video.domain.VideoRepository;
 import com.streamflix.video.domain.exception.ValidationException;
 import com.streamflix.video.domain.exception.VideoNotFoundException;
+import com.streamflix.video.infrastructure.cache.CachedEntityType;
+import com.streamflix.video.infrastructure.cache.EntityExistenceGuard;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -29,10 +31,14 @@ public class ThumbnailServiceImpl implements ThumbnailService {
     
     private final VideoRepository videoRepository;
     private final VideoEventPublisher eventPublisher;
+    private final EntityExistenceGuard existenceGuard;
 
-    public ThumbnailServiceImpl(VideoRepository videoRepository, VideoEventPublisher eventPublisher) {
+    public ThumbnailServiceImpl(VideoRepository videoRepository,
+                                VideoEventPublisher eventPublisher,
+                                EntityExistenceGuard existenceGuard) {
         this.videoRepository = videoRepository;
         this.eventPublisher = eventPublisher;
+        this.existenceGuard = existenceGuard;
     }
 
     @Override
@@ -88,15 +94,23 @@ public class ThumbnailServiceImpl implements ThumbnailService {
     public Optional<Thumbnail> getThumbnail(UUID id) {
         logger.info("Retrieving thumbnail by id: {}", id);
         
+        if (!existenceGuard.mayExist(CachedEntityType.THUMBNAIL, id)) {
+            return Optional.empty();
+        }
+        
         // Find videos with this thumbnail ID
         Optional<Video> videoWithThumbnail = videoRepository.findByThumbnailId(id);
         
         // Extract the thumbnail if found
-        return videoWithThumbnail.flatMap(video -> 
+        Optional<Thumbnail> thumbnail = videoWithThumbnail.flatMap(video -> 
             video.getThumbnails().stream()
-                .filter(thumbnail -> thumbnail.getId().equals(id))
+                .filter(candidate -> candidate.getId().equals(id))
                 .findFirst()
         );
+        if (thumbnail.isEmpty()) {
+            existenceGuard.recordMissing(CachedEntityType.THUMBNAIL, id);
+        }
+        return thumbnail;
     }
 
     @Override
@@ -182,6 +196,7 @@ public class ThumbnailServiceImpl implements ThumbnailService {
         if (removed) {
             // Save the video which cascades the thumbnail deletion
             videoRepository.save(video);
+            existenceGuard.recordDeleted(CachedEntityType.THUMBNAIL, id);
             
             // Publish event about the video update
             eventPublisher.publishVideoUpdated(video);
@@ -5,10 +5,21 @@ import com.streamflix.video.application.port.VideoService;
 import com.streamflix.video.domain.*;
 import com.streamflix.video.domain.event.VideoCreatedDomainEvent;
 import com.streamflix.video.domain.event.VideoStatusChangedDomainEvent;
+import com.streamflix.video.domain.event.VideosCreatedDomainEvent;
+import com.streamflix.video.domain.event.VideosStatusChangedDomainEvent;
 import com.streamflix.video.domain.exception.CategoryNotFoundException;
 import com.streamflix.video.domain.exception.ValidationException;
 import com.streamflix.video.domain.exception.VideoNotFoundException;
 import com.streamflix.video.infrastructure.archiving.S3ArchiveManager;
+import com.streamflix.video.infrastructure.cache.CachedEntityType;
+import com.streamflix.video.infrastructure.cache.EntityExistenceGuard;
+import com.streamflix.video.infrastructure.cache.FilterCountCache;
+import com.streamflix.video.infrastructure.cache.ListCacheDependencyIndex;
+import com.streamflix.video.infrastructure.cache.ListCacheKeys;
+import com.streamflix.video.infrastructure.cache.RequestCoalescer;
+import com.streamflix.video.infrastructure.config.CacheConfig;
+import com.streamflix.video.infrastructure.metrics.FilterCountMetrics;
+import com.streamflix.video.infrastructure.metrics.VideoServiceMetrics;
 import com.streamflix.video.presentation.dto.VideoFilterParams;
 import io.micrometer.core.annotation.Timed;
 import io.opentelemetry.api.trace.Span;
@@ -16,20 +27,33 @@ import io.opentelemetry.instrumentation.annotations.WithSpan;
 import org.springframework.context.ApplicationEventPublisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the VideoService interface.
@@ -39,6 +63,17 @@ import java.util.concurrent.CompletableFuture;
 public class VideoServiceImpl implements VideoService {
     
     private static final Logger logger = LoggerFactory.getLogger(VideoServiceImpl.class);
+    private static final String FILTER_FLIGHT = "videoFilter";
+
+    // Limits of a single create request (and of the column sizes), checked per item for bulk creates
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 2000;
+    private static final int MAX_LANGUAGE_LENGTH = 10;
+    private static final int MAX_TAG_LENGTH = 100;
+
+    // Videos read and updated per round of statements by the bulk update endpoints
+    private static final int BULK_CHUNK_SIZE = 500;
+    private static final String BULK_CHUNK_FAILED = "Update failed, the video was left unchanged";
     
     private final VideoRepository videoRepository;
     private final CategoryRepository categoryRepository;
@@ -46,24 +81,47 @@ public class VideoServiceImpl implements VideoService {
     private final VideoServiceMetrics metrics;
     private final ApplicationEventPublisher applicationEventPublisher;
     private final S3ArchiveManager archiveManager;
+    private final ListCacheDependencyIndex listCacheIndex;
+    private final ListCacheKeys listCacheKeys;
+    private final RequestCoalescer requestCoalescer;
+    private final EntityExistenceGuard existenceGuard;
+    private final FilterCountCache filterCounts;
+    private final FilterCountMetrics filterCountMetrics;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate bulkTransaction;
     
     public VideoServiceImpl(VideoRepository videoRepository, 
                             CategoryRepository categoryRepository,
                             VideoEventPublisher eventPublisher,
                             VideoServiceMetrics metrics,
                             ApplicationEventPublisher applicationEventPublisher,
-                            S3ArchiveManager archiveManager) {
+                            S3ArchiveManager archiveManager,
+                            ListCacheDependencyIndex listCacheIndex,
+                            ListCacheKeys listCacheKeys,
+                            RequestCoalescer requestCoalescer,
+                            EntityExistenceGuard existenceGuard,
+                            FilterCountCache filterCounts,
+                            FilterCountMetrics filterCountMetrics,
+                            CacheManager cacheManager,
+                            PlatformTransactionManager transactionManager) {
         this.videoRepository = videoRepository;
         this.categoryRepository = categoryRepository;
         this.eventPublisher = eventPublisher;
         this.metrics = metrics;
         this.applicationEventPublisher = applicationEventPublisher;
         this.archiveManager = archiveManager;
+        this.listCacheIndex = listCacheIndex;
+        this.listCacheKeys = listCacheKeys;
+        this.requestCoalescer = requestCoalescer;
+        this.existenceGuard = existenceGuard;
+        this.filterCounts = filterCounts;
+        this.filterCountMetrics = filterCountMetrics;
+        this.cacheManager = cacheManager;
+        this.bulkTransaction = new TransactionTemplate(transactionManager);
     }
 
     @Async("taskExecutor")
     @Override
-    @CachePut(cacheNames = CacheConfig.VIDEO_CACHE, keyGenerator = "cacheKeyGenerator")
     @WithSpan
     @Timed(value = "video.service.create.time", description = "Time taken to create video")
     @Transactional
@@ -92,6 +150,8 @@ public class VideoServiceImpl implements VideoService {
         
         Video savedVideo = videoRepository.save(video);
         metrics.incrementCreate();
+        existenceGuard.recordCreated(CachedEntityType.VIDEO, savedVideo.getTenantId(), savedVideo.getId());
+        listCacheIndex.evictForVideo(savedVideo, null, Set.of());
           // Publish external event that a new video was created
         eventPublisher.publishVideoCreated(savedVideo);
         
@@ -103,20 +163,134 @@ public class VideoServiceImpl implements VideoService {
 
     @Async("taskExecutor")
     @Override
-    @Cacheable(cacheNames = CacheConfig.VIDEO_CACHE, keyGenerator = "cacheKeyGenerator")
+    @WithSpan
+    @Timed(value = "video.service.create.bulk.time", description = "Time taken to create videos in bulk")
+    @Transactional
+    public CompletableFuture<BulkVideoResult> createVideos(List<NewVideo> items) {
+        logger.info("Creating {} videos in bulk", items.size());
+        Span.current().setAttribute("video.bulk.size", items.size());
+
+        if (items.isEmpty()) {
+            throw new ValidationException("At least one video is required");
+        }
+
+        // All categories the items name, in one query
+        Set<UUID> categoryIds = new HashSet<>();
+        items.forEach(item -> {
+            if (item.getCategoryId() != null) {
+                categoryIds.add(item.getCategoryId());
+            }
+        });
+        Map<UUID, Category> categories = categoryIds.isEmpty() ? Map.of()
+            : categoryRepository.findAllById(categoryIds).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        BulkVideoResult.Item[] outcomes = new BulkVideoResult.Item[items.size()];
+        List<Video> videos = new ArrayList<>(items.size());
+        List<Integer> positions = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            NewVideo item = items.get(i);
+            String error = validationError(item, categories);
+            if (error != null) {
+                outcomes[i] = BulkVideoResult.Item.failed(i, null, error);
+                continue;
+            }
+            Video video = new Video(item.getTitle(), item.getDescription());
+            video.setCategory(item.getCategoryId() != null ? categories.get(item.getCategoryId()) : null);
+            video.setTags(item.getTags());
+            video.setReleaseYear(item.getReleaseYear());
+            video.setLanguage(item.getLanguage());
+            videos.add(video);
+            positions.add(i);
+        }
+
+        if (!videos.isEmpty()) {
+            videoRepository.insertAll(videos);
+            metrics.incrementCreate(videos.size());
+            for (int j = 0; j < videos.size(); j++) {
+                Video video = videos.get(j);
+                outcomes[positions.get(j)] = BulkVideoResult.Item.succeeded(positions.get(j), video.getId());
+                existenceGuard.recordCreated(CachedEntityType.VIDEO, video.getTenantId(), video.getId());
+            }
+            listCacheIndex.evictForNewVideos(videos);
+
+            eventPublisher.publishVideosCreated(videos);
+            applicationEventPublisher.publishEvent(new VideosCreatedDomainEvent(videos));
+        }
+
+        logger.info("Created {} of {} videos in bulk", videos.size(), items.size());
+        return CompletableFuture.completedFuture(new BulkVideoResult(Arrays.asList(outcomes)));
+    }
+
+    /**
+     * Why an item of a bulk create cannot be created, or null if it can; mirrors the
+     * constraints of a single create request.
+     */
+    private static String validationError(NewVideo item, Map<UUID, Category> categories) {
+        if (!StringUtils.hasText(item.getTitle())) {
+            return "Video title cannot be empty";
+        }
+        if (item.getTitle().length() > MAX_TITLE_LENGTH) {
+            return "Title must be between 1 and " + MAX_TITLE_LENGTH + " characters";
+        }
+        if (item.getDescription() != null && item.getDescription().length() > MAX_DESCRIPTION_LENGTH) {
+            return "Description cannot exceed " + MAX_DESCRIPTION_LENGTH + " characters";
+        }
+        if (item.getLanguage() != null && item.getLanguage().length() > MAX_LANGUAGE_LENGTH) {
+            return "Language code cannot exceed " + MAX_LANGUAGE_LENGTH + " characters";
+        }
+        if (item.getReleaseYear() != null && (item.getReleaseYear() < 1900 || item.getReleaseYear() > 2100)) {
+            return "Release year must be between 1900 and 2100";
+        }
+        for (String tag : item.getTags()) {
+            if (!StringUtils.hasText(tag)) {
+                return "Tags cannot be empty";
+            }
+            if (tag.length() > MAX_TAG_LENGTH) {
+                return "Tags cannot exceed " + MAX_TAG_LENGTH + " characters";
+            }
+        }
+        if (item.getCategoryId() != null && !categories.containsKey(item.getCategoryId())) {
+            return new CategoryNotFoundException(item.getCategoryId()).getMessage();
+        }
+        return null;
+    }
+
+    @Async("taskExecutor")
+    @Override
+    @Cacheable(cacheNames = CacheConfig.VIDEO_CACHE, key = "#id", sync = true) // Concurrent misses share one query
     @WithSpan
     @Timed(value = "video.service.read.time", description = "Time taken to read video")
     @Transactional(readOnly = true)
     public CompletableFuture<Optional<Video>> getVideo(UUID id) {
         logger.info("Retrieving video by id: {}", id);
         Span.current().setAttribute("video.id", id.toString());
-        return CompletableFuture.completedFuture(videoRepository.findById(id));
+        if (!existenceGuard.mayExist(CachedEntityType.VIDEO, id)) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        Optional<Video> video = videoRepository.findById(id);
+        if (video.isEmpty()) {
+            existenceGuard.recordMissing(CachedEntityType.VIDEO, id);
+        }
+        return CompletableFuture.completedFuture(video);
+    }
+
+    @Override
+    @WithSpan
+    @Timed(value = "video.service.reload.time", description = "Time taken to reload a cached video")
+    @Transactional(readOnly = true)
+    public Optional<Video> reloadVideo(UUID id) {
+        logger.debug("Reloading cached video by id: {}", id);
+        Span.current().setAttribute("video.id", id.toString());
+        Optional<Video> video = videoRepository.findById(id);
+        // The cache serializes the video after this transaction; size() loads the lazy tags first
+        video.ifPresent(v -> v.getTags().size());
+        return video;
     }
 
     @Async("taskExecutor")
     @Override
-    @CacheEvict(cacheNames = {CacheConfig.VIDEOS_BY_CATEGORY_CACHE, CacheConfig.VIDEOS_BY_TAG_CACHE}, allEntries = true)
-    @CachePut(cacheNames = CacheConfig.VIDEO_CACHE, keyGenerator = "cacheKeyGenerator", condition = "#result.isPresent()")
+    @CachePut(cacheNames = CacheConfig.VIDEO_CACHE, key = "#id", unless = "#result == null")
     @WithSpan
     @Timed(value = "video.service.update.time", description = "Time taken to update video")
     @Transactional
@@ -128,6 +302,7 @@ public class VideoServiceImpl implements VideoService {
         
         Video video = videoRepository.findById(id)
             .orElseThrow(() -> new VideoNotFoundException(id));
+        UUID previousCategoryId = video.getCategory() != null ? video.getCategory().getId() : null;
         
         if (title != null) {
             if (!StringUtils.hasText(title)) {
@@ -159,6 +334,7 @@ public class VideoServiceImpl implements VideoService {
         
         Video updatedVideo = videoRepository.save(video);
         metrics.incrementUpdate();
+        listCacheIndex.evictForVideo(updatedVideo, previousCategoryId, updatedVideo.getTags());
         
         // Publish event that video was updated
         eventPublisher.publishVideoUpdated(updatedVideo);
@@ -168,8 +344,7 @@ public class VideoServiceImpl implements VideoService {
 
     @Async("taskExecutor")
     @Override
-    @CacheEvict(cacheNames = {CacheConfig.VIDEOS_BY_CATEGORY_CACHE, CacheConfig.VIDEOS_BY_TAG_CACHE}, allEntries = true)
-    @CachePut(cacheNames = CacheConfig.VIDEO_CACHE, keyGenerator = "cacheKeyGenerator", condition = "#result.isPresent()")
+    @CachePut(cacheNames = CacheConfig.VIDEO_CACHE, key = "#id", unless = "#result == null")
     @WithSpan
     @Timed(value = "video.service.update.time", description = "Time taken to update video tags")
     @Transactional
@@ -181,10 +356,12 @@ public class VideoServiceImpl implements VideoService {
         Video video = videoRepository.findById(id)
             .orElseThrow(() -> new VideoNotFoundException(id));
         
+        Set<String> previousTags = new HashSet<>(video.getTags());
         video.setTags(tags != null ? tags : new HashSet<>());
         
         Video updatedVideo = videoRepository.save(video);
         metrics.incrementUpdate();
+        listCacheIndex.evictForVideo(updatedVideo, categoryIdOf(updatedVideo), previousTags);
         
         // Publish event that video tags were updated
         eventPublisher.publishVideoUpdated(updatedVideo);
@@ -194,7 +371,7 @@ public class VideoServiceImpl implements VideoService {
 
     @Async("taskExecutor")
     @Override
-    @CacheEvict(cacheNames = {CacheConfig.VIDEO_CACHE, CacheConfig.VIDEOS_BY_CATEGORY_CACHE, CacheConfig.VIDEOS_BY_TAG_CACHE}, keyGenerator = "cacheKeyGenerator")
+    @CacheEvict(cacheNames = CacheConfig.VIDEO_CACHE, key = "#id")
     @WithSpan
     @Timed(value = "video.service.delete.time", description = "Time taken to delete video")
     @Transactional
@@ -208,6 +385,7 @@ public class VideoServiceImpl implements VideoService {
         video.markAsDeleted();
         videoRepository.save(video);
         metrics.incrementDelete();
+        listCacheIndex.evictForRemovedVideo(video);
         
         // Publish event that video was deleted
         eventPublisher.publishVideoDeleted(video);
@@ -217,8 +395,7 @@ public class VideoServiceImpl implements VideoService {
 
     @Async("taskExecutor")
     @Override
-    @CacheEvict(cacheNames = {CacheConfig.VIDEOS_BY_CATEGORY_CACHE, CacheConfig.VIDEOS_BY_TAG_CACHE}, allEntries = true)
-    @CachePut(cacheNames = CacheConfig.VIDEO_CACHE, keyGenerator = "cacheKeyGenerator", condition = "#result.isPresent()")
+    @CachePut(cacheNames = CacheConfig.VIDEO_CACHE, key = "#id", unless = "#result == null")
     @WithSpan
     @Timed(value = "video.service.update.time", description = "Time taken to update video status")
     @Transactional
@@ -239,8 +416,9 @@ public class VideoServiceImpl implements VideoService {
             case DELETED -> video.markAsDeleted();
             default -> logger.warn("Unsupported status update to: {}", status);
         }
-          Video updatedVideo = videoRepository.save(video);
+        Video updatedVideo = videoRepository.save(video);
         metrics.incrementUpdate();
+        listCacheIndex.evictForRemovedVideo(updatedVideo);
         
         // Publish external event that video status was updated
         eventPublisher.publishVideoStatusChanged(updatedVideo);
@@ -253,25 +431,299 @@ public class VideoServiceImpl implements VideoService {
 
     @Async("taskExecutor")
     @Override
-    @Cacheable(cacheNames = CacheConfig.VIDEOS_BY_CATEGORY_CACHE, keyGenerator = "cacheKeyGenerator")
+    @WithSpan
+    @Timed(value = "video.service.update.bulk.time", description = "Time taken to update video statuses in bulk")
+    public CompletableFuture<BulkVideoResult> updateVideoStatuses(List<UUID> videoIds, VideoStatus status) {
+        logger.info("Updating status of {} videos to {} in bulk", videoIds.size(), status);
+        Span.current().setAttribute("video.bulk.size", videoIds.size());
+        Span.current().setAttribute("video.new.status", status.name());
+
+        Set<VideoStatus> sources = status.allowedSources();
+        if (sources.isEmpty()) {
+            throw new ValidationException("Videos cannot be moved back to status " + status);
+        }
+        String transitionError = "Video must be in " + sources.stream().map(Enum::name).collect(Collectors.joining(" or "))
+            + " state to be marked as " + status;
+
+        BulkVideoResult result = updateInChunks(videoIds, (found, rejected) -> {
+            List<UUID> eligible = new ArrayList<>(found.size());
+            for (VideoSummary video : found) {
+                if (sources.contains(video.getStatus())) {
+                    eligible.add(video.getId());
+                } else {
+                    rejected.put(video.getId(), transitionError);
+                }
+            }
+            if (eligible.isEmpty()) {
+                return ChunkChange.NONE;
+            }
+
+            // The update re-checks the source status, so a video changed since it was read is left alone
+            videoRepository.batchUpdateStatus(eligible, sources, status);
+            Map<UUID, VideoSummary> updated = videoRepository.findSummariesByIds(eligible).stream()
+                .collect(Collectors.toMap(VideoSummary::getId, Function.identity()));
+            List<VideoSummary> changed = new ArrayList<>(eligible.size());
+            for (UUID id : eligible) {
+                VideoSummary video = updated.get(id);
+                if (video == null) {
+                    rejected.put(id, new VideoNotFoundException(id).getMessage());
+                } else if (video.getStatus() == status) {
+                    changed.add(video);
+                } else {
+                    rejected.put(id, transitionError);
+                }
+            }
+            if (changed.isEmpty()) {
+                return ChunkChange.NONE;
+            }
+            List<UUID> changedIds = changed.stream().map(VideoSummary::getId).toList();
+            return new ChunkChange(changed, () -> {
+                listCacheIndex.evictForRemovedVideos(changedIds);
+                eventPublisher.publishVideosStatusChanged(changed);
+                applicationEventPublisher.publishEvent(new VideosStatusChangedDomainEvent(changedIds, status));
+            });
+        });
+
+        logger.info("Updated status of {} of {} videos to {} in bulk", result.getSucceeded(), videoIds.size(), status);
+        return CompletableFuture.completedFuture(result);
+    }
+
+    @Async("taskExecutor")
+    @Override
+    @WithSpan
+    @Timed(value = "video.service.update.bulk.time", description = "Time taken to add a tag to videos in bulk")
+    public CompletableFuture<BulkVideoResult> addTagToVideos(List<UUID> videoIds, String tag) {
+        logger.info("Adding tag {} to {} videos in bulk", tag, videoIds.size());
+        Span.current().setAttribute("video.bulk.size", videoIds.size());
+        validateTag(tag);
+
+        BulkVideoResult result = updateInChunks(videoIds, (found, rejected) -> {
+            List<UUID> untagged = found.stream()
+                .filter(video -> !video.getTags().contains(tag))
+                .map(VideoSummary::getId)
+                .toList();
+            return updateTags(untagged, tag, true);
+        });
+
+        logger.info("Tagged {} of {} videos with {} in bulk", result.getSucceeded(), videoIds.size(), tag);
+        return CompletableFuture.completedFuture(result);
+    }
+
+    @Async("taskExecutor")
+    @Override
+    @WithSpan
+    @Timed(value = "video.service.update.bulk.time", description = "Time taken to remove a tag from videos in bulk")
+    public CompletableFuture<BulkVideoResult> removeTagFromVideos(List<UUID> videoIds, String tag) {
+        logger.info("Removing tag {} from {} videos in bulk", tag, videoIds.size());
+        Span.current().setAttribute("video.bulk.size", videoIds.size());
+        validateTag(tag);
+
+        BulkVideoResult result = updateInChunks(videoIds, (found, rejected) -> {
+            List<UUID> tagged = found.stream()
+                .filter(video -> video.getTags().contains(tag))
+                .map(VideoSummary::getId)
+                .toList();
+            return updateTags(tagged, tag, false);
+        });
+
+        logger.info("Untagged {} of {} videos from {} in bulk", result.getSucceeded(), videoIds.size(), tag);
+        return CompletableFuture.completedFuture(result);
+    }
+
+    @Async("taskExecutor")
+    @Override
+    @WithSpan
+    @Timed(value = "video.service.update.bulk.time", description = "Time taken to move videos to a category in bulk")
+    public CompletableFuture<BulkVideoResult> moveVideosToCategory(List<UUID> videoIds, UUID categoryId) {
+        logger.info("Moving {} videos to category {} in bulk", videoIds.size(), categoryId);
+        Span.current().setAttribute("video.bulk.size", videoIds.size());
+        Span.current().setAttribute("video.category_id", categoryId.toString());
+
+        Category category = categoryRepository.findById(categoryId)
+            .orElseThrow(() -> new CategoryNotFoundException(categoryId));
+
+        BulkVideoResult result = updateInChunks(videoIds, (found, rejected) -> {
+            List<UUID> moving = new ArrayList<>(found.size());
+            Set<UUID> affectedCategories = new HashSet<>();
+            for (VideoSummary video : found) {
+                if (!categoryId.equals(video.getCategoryId())) {
+                    moving.add(video.getId());
+                    if (video.getCategoryId() != null) {
+                        affectedCategories.add(video.getCategoryId());
+                    }
+                }
+            }
+            if (moving.isEmpty()) {
+                return ChunkChange.NONE;
+            }
+            affectedCategories.add(categoryId);
+
+            videoRepository.batchUpdateCategory(moving, category);
+            List<VideoSummary> changed = videoRepository.findSummariesByIds(moving);
+            return new ChunkChange(changed, () -> {
+                listCacheIndex.evictForVideos(moving, affectedCategories, Set.of());
+                eventPublisher.publishVideosUpdated(changed);
+            });
+        });
+
+        logger.info("Moved {} of {} videos to category {} in bulk", result.getSucceeded(), videoIds.size(), categoryId);
+        return CompletableFuture.completedFuture(result);
+    }
+
+    /**
+     * One chunk of a bulk update.
+     */
+    @FunctionalInterface
+    private interface ChunkUpdate {
+        /**
+         * Apply the update to the chunk's videos that exist, with as few statements as the chunk allows.
+         * @param found The videos as read before the update
+         * @param rejected Why a video was left unchanged, by id; videos neither changed nor rejected
+         *                 already were as requested
+         * @return The changed videos, as read after the update, and the cache evictions and events
+         *         that announce them once the chunk has committed
+         */
+        ChunkChange apply(List<VideoSummary> found, Map<UUID, String> rejected);
+    }
+
+    private record ChunkChange(List<VideoSummary> changed, Runnable afterCommit) {
+
+        static final ChunkChange NONE = new ChunkChange(List.of(), () -> { });
+    }
+
+    /**
+     * Run a bulk update over chunks of {@value #BULK_CHUNK_SIZE} videos, each read with one summary query
+     * before the update is applied to it, and report an outcome per requested id. Duplicate ids are
+     * rejected rather than updated twice.
+     * <p>
+     * Every chunk is a transaction of its own, so its row locks are held only while it runs and its
+     * changes are evicted from the caches and published as soon as it commits. A chunk that fails is
+     * rolled back and reported per video, without undoing the chunks before it or stopping those after.
+     */
+    private BulkVideoResult updateInChunks(List<UUID> videoIds, ChunkUpdate update) {
+        if (videoIds.isEmpty()) {
+            throw new ValidationException("At least one video id is required");
+        }
+
+        BulkVideoResult.Item[] outcomes = new BulkVideoResult.Item[videoIds.size()];
+        Map<UUID, Integer> positions = new LinkedHashMap<>();
+        for (int i = 0; i < videoIds.size(); i++) {
+            UUID id = videoIds.get(i);
+            if (id == null) {
+                outcomes[i] = BulkVideoResult.Item.failed(i, null, "Video id cannot be null");
+            } else if (positions.putIfAbsent(id, i) != null) {
+                outcomes[i] = BulkVideoResult.Item.failed(i, id, "Duplicate video id");
+            }
+        }
+
+        List<UUID> ids = new ArrayList<>(positions.keySet());
+        Cache videoCache = cacheManager.getCache(CacheConfig.VIDEO_CACHE);
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+            Map<UUID, String> rejected = new HashMap<>();
+            ChunkChange change;
+            try {
+                change = bulkTransaction.execute(status -> {
+                    List<VideoSummary> found = videoRepository.findSummariesByIds(chunk);
+                    Set<UUID> foundIds = found.stream().map(VideoSummary::getId).collect(Collectors.toSet());
+                    for (UUID id : chunk) {
+                        if (!foundIds.contains(id)) {
+                            rejected.put(id, new VideoNotFoundException(id).getMessage());
+                        }
+                    }
+                    return found.isEmpty() ? ChunkChange.NONE : update.apply(found, rejected);
+                });
+            } catch (RuntimeException e) {
+                logger.warn("Bulk update of a chunk of {} videos failed and was rolled back", chunk.size(), e);
+                for (UUID id : chunk) {
+                    int index = positions.get(id);
+                    outcomes[index] = BulkVideoResult.Item.failed(index, id, BULK_CHUNK_FAILED);
+                }
+                continue;
+            }
+
+            List<VideoSummary> changed = change.changed();
+            if (!changed.isEmpty()) {
+                metrics.incrementUpdate(changed.size());
+                if (videoCache != null) {
+                    changed.forEach(video -> videoCache.evict(video.getId()));
+                }
+                try {
+                    change.afterCommit().run();
+                } catch (RuntimeException e) {
+                    // The chunk is committed either way, so its videos are still reported as updated
+                    logger.error("Evicting or publishing a committed chunk of {} updated videos failed", changed.size(), e);
+                }
+            }
+
+            for (UUID id : chunk) {
+                int index = positions.get(id);
+                String error = rejected.get(id);
+                outcomes[index] = error != null
+                    ? BulkVideoResult.Item.failed(index, id, error)
+                    : BulkVideoResult.Item.succeeded(index, id);
+            }
+        }
+        return new BulkVideoResult(Arrays.asList(outcomes));
+    }
+
+    /**
+     * Add the tag to, or remove it from, videos known to lack or carry it.
+     * @return The changed videos, and the evictions and event that announce the change
+     */
+    private ChunkChange updateTags(List<UUID> videoIds, String tag, boolean add) {
+        if (videoIds.isEmpty()) {
+            return ChunkChange.NONE;
+        }
+        if (add) {
+            videoRepository.batchAddTag(videoIds, tag);
+        } else {
+            videoRepository.batchRemoveTag(videoIds, tag);
+        }
+        // Tags live in their own table, so the videos' modification time is bumped separately
+        videoRepository.batchTouch(videoIds);
+        List<VideoSummary> changed = videoRepository.findSummariesByIds(videoIds);
+        return new ChunkChange(changed, () -> {
+            listCacheIndex.evictForVideos(videoIds, Set.of(), Set.of(tag));
+            eventPublisher.publishVideosUpdated(changed);
+        });
+    }
+
+    private static void validateTag(String tag) {
+        if (!StringUtils.hasText(tag)) {
+            throw new ValidationException("Tags cannot be empty");
+        }
+        if (tag.length() > MAX_TAG_LENGTH) {
+            throw new ValidationException("Tags cannot exceed " + MAX_TAG_LENGTH + " characters");
+        }
+    }
+
+    @Async("taskExecutor")
+    @Override
+    // Synchronized so that a miss is filled through the cache, without a cross-pod invalidation
+    @Cacheable(cacheNames = CacheConfig.VIDEOS_BY_CATEGORY_CACHE, key = "@listCacheKeys.categoryPage(#categoryId, #page, #size)", sync = true)
     @Transactional(readOnly = true)
     public CompletableFuture<List<Video>> findVideosByCategory(UUID categoryId, int page, int size) {
         logger.info("Finding videos by category id: {}", categoryId);
         
-        if (!categoryRepository.existsById(categoryId)) {
+        if (!categoryExists(categoryId)) {
             throw new CategoryNotFoundException(categoryId);
         }
         
-        return CompletableFuture.completedFuture(videoRepository.findByCategory(categoryId, page, size));
+        List<Video> videos = videoRepository.findByCategory(categoryId, page, size);
+        listCacheIndex.recordCategoryPage(categoryId, listCacheKeys.categoryPage(categoryId, page, size), videos);
+        return CompletableFuture.completedFuture(videos);
     }
 
     @Async("taskExecutor")
     @Override
-    @Cacheable(cacheNames = CacheConfig.VIDEOS_BY_TAG_CACHE, keyGenerator = "cacheKeyGenerator")
+    @Cacheable(cacheNames = CacheConfig.VIDEOS_BY_TAG_CACHE, key = "@listCacheKeys.tagPage(#tag, #page, #size)", sync = true)
     @Transactional(readOnly = true)
     public CompletableFuture<List<Video>> findVideosByTag(String tag, int page, int size) {
         logger.info("Finding videos by tag: {}", tag);
-        return CompletableFuture.completedFuture(videoRepository.findByTag(tag, page, size));
+        List<Video> videos = videoRepository.findByTag(tag, page, size);
+        listCacheIndex.recordTagPage(tag, listCacheKeys.tagPage(tag, page, size), videos);
+        return CompletableFuture.completedFuture(videos);
     }
 
     @Async("taskExecutor")
@@ -287,29 +739,216 @@ public class VideoServiceImpl implements VideoService {
     @Transactional(readOnly = true)
     public CompletableFuture<Page<Video>> findByFilterParams(VideoFilterParams filterParams, int page, int size) {
         logger.info("Finding videos by filter params: {}, page: {}, size: {}", filterParams, page, size);
+        validateFilterPage(filterParams, page, size);
         
+        // Identical concurrent requests (e.g. homepage rows) share a single query
+        String flightKey = listCacheKeys.tenantScope() + ":" + filterParams + ":" + page + ":" + size;
+        return CompletableFuture.completedFuture(requestCoalescer.execute(FILTER_FLIGHT, flightKey,
+            () -> videoRepository.findByFilterParams(filterParams, page, size)));
+    }
+
+    @Async("taskExecutor")
+    @Override
+    @Transactional(readOnly = true)
+    public CompletableFuture<VideoSlice<Video>> findByFilterParams(VideoFilterParams filterParams, int page, int size,
+                                                                   CountMode countMode) {
+        logger.info("Finding videos by filter params: {}, page: {}, size: {}, count: {}", filterParams, page, size, countMode);
+        validateFilterPage(filterParams, page, size);
+        filterCountMetrics.recordRequest(countMode);
+
+        String flightKey = listCacheKeys.tenantScope() + ":" + filterParams + ":" + page + ":" + size + ":" + countMode;
+        return CompletableFuture.completedFuture(requestCoalescer.execute(FILTER_FLIGHT, flightKey,
+            () -> countFilterSlice(videoRepository.findSliceByFilterParams(filterParams, page, size),
+                filterParams, page, countMode)));
+    }
+
+    // Summary pages bypass the list caches: they are read without loading entities, which is
+    // about as cheap as decoding a cached page of them.
+
+    @Async("taskExecutor")
+    @Override
+    @Transactional(readOnly = true)
+    public CompletableFuture<List<VideoSummary>> listVideoSummaries(int page, int size) {
+        logger.info("Listing video summaries, page: {}, size: {}", page, size);
+        validatePage(page, size);
+        return CompletableFuture.completedFuture(videoRepository.findSummaries(page, size));
+    }
+
+    @Async("taskExecutor")
+    @Override
+    @Transactional(readOnly = true)
+    public CompletableFuture<List<VideoSummary>> findVideoSummariesByCategory(UUID categoryId, int page, int size) {
+        logger.info("Finding video summaries by category id: {}", categoryId);
+        validatePage(page, size);
+
+        if (!categoryExists(categoryId)) {
+            throw new CategoryNotFoundException(categoryId);
+        }
+
+        return CompletableFuture.completedFuture(videoRepository.findSummariesByCategory(categoryId, page, size));
+    }
+
+    @Async("taskExecutor")
+    @Override
+    @Transactional(readOnly = true)
+    public CompletableFuture<List<VideoSummary>> findVideoSummariesByTag(String tag, int page, int size) {
+        logger.info("Finding video summaries by tag: {}", tag);
+        validatePage(page, size);
+        return CompletableFuture.completedFuture(videoRepository.findSummariesByTag(tag, page, size));
+    }
+
+    @Async("taskExecutor")
+    @Override
+    @Transactional(readOnly = true)
+    public CompletableFuture<VideoSlice<VideoSummary>> findSummariesByFilterParams(VideoFilterParams filterParams,
+                                                                                   int page, int size,
+                                                                                   CountMode countMode) {
+        logger.info("Finding video summaries by filter params: {}, page: {}, size: {}, count: {}",
+            filterParams, page, size, countMode);
+        validateFilterPage(filterParams, page, size);
+        filterCountMetrics.recordRequest(countMode);
+
+        String flightKey = listCacheKeys.tenantScope() + ":summary:" + filterParams + ":" + page + ":" + size + ":" + countMode;
+        return CompletableFuture.completedFuture(requestCoalescer.execute(FILTER_FLIGHT, flightKey,
+            () -> countFilterSlice(videoRepository.findSummarySliceByFilterParams(filterParams, page, size),
+                filterParams, page, countMode)));
+    }
+
+    private void validateFilterPage(VideoFilterParams filterParams, int page, int size) {
+        validatePage(page, size);
+        
+        // Validate that if categoryId is provided, it exists
+        if (filterParams.getCategoryId() != null && 
+            !categoryExists(filterParams.getCategoryId())) {
+            throw new CategoryNotFoundException(filterParams.getCategoryId());
+        }
+    }
+
+    private static void validatePage(int page, int size) {
         // Validate pagination parameters
         if (page < 0) {
             throw new ValidationException("Page number must be 0 or greater");
         }
-        
+
         if (size <= 0 || size > 100) {
             throw new ValidationException("Page size must be between 1 and 100");
         }
-        
-        // Validate that if categoryId is provided, it exists
-        if (filterParams.getCategoryId() != null && 
-            !categoryRepository.existsById(filterParams.getCategoryId())) {
+    }
+
+    /**
+     * Obtain the total of a page read without a count query, as cheaply as the count mode allows.
+     */
+    private <T> VideoSlice<T> countFilterSlice(Slice<T> slice, VideoFilterParams filterParams, int page,
+                                               CountMode countMode) {
+        long seen = slice.getPageable().getOffset() + slice.getNumberOfElements();
+
+        // On the last page the total is known without counting
+        if (!slice.hasNext() && (slice.hasContent() || page == 0)) {
+            if (countMode == CountMode.NONE) {
+                filterCountMetrics.recordCountSource(countMode, FilterCountMetrics.SOURCE_NONE);
+                return VideoSlice.uncounted(slice);
+            }
+            filterCountMetrics.recordCountSource(countMode, FilterCountMetrics.SOURCE_LAST_PAGE);
+            filterCounts.put(filterParams, seen);
+            return new VideoSlice<>(slice, seen, CountMode.EXACT);
+        }
+
+        switch (countMode) {
+            case NONE:
+                filterCountMetrics.recordCountSource(countMode, FilterCountMetrics.SOURCE_NONE);
+                return VideoSlice.uncounted(slice);
+            case ESTIMATED:
+                // More videos follow this page, so the total is at least one more than seen so far
+                long atLeast = slice.hasNext() ? seen + 1 : seen;
+                Long cached = filterCounts.get(filterParams);
+                if (cached != null) {
+                    filterCountMetrics.recordCountSource(countMode, FilterCountMetrics.SOURCE_CACHE);
+                    return new VideoSlice<>(slice, Math.max(cached, atLeast), CountMode.ESTIMATED);
+                }
+                long estimate = videoRepository.estimateCountByFilterParams(filterParams);
+                if (estimate >= filterCounts.getExactThreshold()) {
+                    filterCountMetrics.recordCountSource(countMode, FilterCountMetrics.SOURCE_PLANNER);
+                    filterCounts.put(filterParams, estimate);
+                    return new VideoSlice<>(slice, Math.max(estimate, atLeast), CountMode.ESTIMATED);
+                }
+                // Few matches, or no estimate: counting is cheap enough, or the only option
+                return new VideoSlice<>(slice, countExactly(filterParams, countMode), CountMode.EXACT);
+            default:
+                return new VideoSlice<>(slice, countExactly(filterParams, countMode), CountMode.EXACT);
+        }
+    }
+
+    private long countExactly(VideoFilterParams filterParams, CountMode countMode) {
+        long total = filterCountMetrics.timeCountQuery(() -> videoRepository.countByFilterParams(filterParams));
+        filterCountMetrics.recordCountSource(countMode, FilterCountMetrics.SOURCE_QUERY);
+        filterCounts.put(filterParams, total);
+        return total;
+    }
+
+    // Cursor pages are not cached: past the first page, each position is requested by
+    // one client only, and keyset queries are cheap at any depth anyway.
+
+    @Async("taskExecutor")
+    @Override
+    @Transactional(readOnly = true)
+    public CompletableFuture<VideoCursorPage> scrollVideos(VideoCursor after, int size) {
+        logger.info("Scrolling all videos after: {}, size: {}", after, size);
+        validateScrollSize(size);
+        return CompletableFuture.completedFuture(videoRepository.scrollAll(after, size));
+    }
+
+    @Async("taskExecutor")
+    @Override
+    @Transactional(readOnly = true)
+    public CompletableFuture<VideoCursorPage> scrollVideosByCategory(UUID categoryId, VideoCursor after, int size) {
+        logger.info("Scrolling videos by category id: {} after: {}", categoryId, after);
+        validateScrollSize(size);
+
+        if (!categoryExists(categoryId)) {
+            throw new CategoryNotFoundException(categoryId);
+        }
+
+        return CompletableFuture.completedFuture(videoRepository.scrollByCategory(categoryId, after, size));
+    }
+
+    @Async("taskExecutor")
+    @Override
+    @Transactional(readOnly = true)
+    public CompletableFuture<VideoCursorPage> scrollVideosByTag(String tag, VideoCursor after, int size) {
+        logger.info("Scrolling videos by tag: {} after: {}", tag, after);
+        validateScrollSize(size);
+        return CompletableFuture.completedFuture(videoRepository.scrollByTag(tag, after, size));
+    }
+
+    @Async("taskExecutor")
+    @Override
+    @Transactional(readOnly = true)
+    public CompletableFuture<VideoCursorPage> scrollByFilterParams(VideoFilterParams filterParams, VideoCursor after, int size) {
+        logger.info("Scrolling videos by filter params: {} after: {}, size: {}", filterParams, after, size);
+        validateScrollSize(size);
+
+        // Relevance ranks are not stable positions to seek from
+        if (StringUtils.hasText(filterParams.getSearch()) || filterParams.isFuzzyTitle()) {
+            throw new ValidationException("Cursor paging is not available for full-text or fuzzy title search");
+        }
+
+        if (filterParams.getCategoryId() != null &&
+            !categoryExists(filterParams.getCategoryId())) {
             throw new CategoryNotFoundException(filterParams.getCategoryId());
         }
-        
-        return CompletableFuture.completedFuture(videoRepository.findByFilterParams(filterParams, page, size));
+
+        return CompletableFuture.completedFuture(videoRepository.scrollByFilterParams(filterParams, after, size));
+    }
+
+    private static void validateScrollSize(int size) {
+        if (size <= 0 || size > 100) {
+            throw new ValidationException("Page size must be between 1 and 100");
+        }
     }
 
     @Async("taskExecutor")
     @Override
-    @CacheEvict(cacheNames = {CacheConfig.VIDEOS_BY_CATEGORY_CACHE, CacheConfig.VIDEOS_BY_TAG_CACHE}, allEntries = true)
-    @CachePut(cacheNames = CacheConfig.VIDEO_CACHE, keyGenerator = "cacheKeyGenerator", condition = "#result.isPresent()")
+    @CachePut(cacheNames = CacheConfig.VIDEO_CACHE, key = "#id", unless = "#result == null")
     @WithSpan
     @Timed(value = "video.service.archive.time", description = "Time taken to archive video")
     @Transactional
@@ -333,6 +972,7 @@ public class VideoServiceImpl implements VideoService {
             // Save the updated video entity
             Video archivedVideo = videoRepository.save(video);
             metrics.incrementUpdate();
+            listCacheIndex.evictForRemovedVideo(archivedVideo);
             
             // Publish event that video was archived
             eventPublisher.publishVideoUpdated(archivedVideo);
@@ -349,8 +989,7 @@ public class VideoServiceImpl implements VideoService {
 
     @Async("taskExecutor")
     @Override
-    @CacheEvict(cacheNames = {CacheConfig.VIDEOS_BY_CATEGORY_CACHE, CacheConfig.VIDEOS_BY_TAG_CACHE}, allEntries = true)
-    @CachePut(cacheNames = CacheConfig.VIDEO_CACHE, keyGenerator = "cacheKeyGenerator", condition = "#result.isPresent()")
+    @CachePut(cacheNames = CacheConfig.VIDEO_CACHE, key = "#id", unless = "#result == null")
     @WithSpan
     @Timed(value = "video.service.restore.time", description = "Time taken to restore archived video")
     @Transactional
@@ -374,6 +1013,8 @@ public class VideoServiceImpl implements VideoService {
             // Save the updated video entity
             Video restoredVideo = videoRepository.save(video);
             metrics.incrementUpdate();
+            // Back in its lists at an unknown position, as if new: every page of its category and tags
+            listCacheIndex.evictForVideo(restoredVideo, null, Set.of());
             
             // Publish event that video was restored
             eventPublisher.publishVideoUpdated(restoredVideo);
@@ -408,4 +1049,19 @@ public class VideoServiceImpl implements VideoService {
         
         return videoRepository.findArchivedVideos(page, size);
     }
- }
\ No newline at end of file
+
+    private boolean categoryExists(UUID categoryId) {
+        if (!existenceGuard.mayExist(CachedEntityType.CATEGORY, categoryId)) {
+            return false;
+        }
+        if (!categoryRepository.existsById(categoryId)) {
+            existenceGuard.recordMissing(CachedEntityType.CATEGORY, categoryId);
+            return false;
+        }
+        return true;
+    }
+
+    private static UUID categoryIdOf(Video video) {
+        return video.getCategory() != null ? video.getCategory().getId() : null;
+    }
+}
@@ -1,23 +1,137 @@
 package com.streamflix.video.config;
 
+import com.streamflix.video.infrastructure.config.MdcTaskDecorator;
+import com.streamflix.video.infrastructure.multitenancy.TenantContextTaskDecorator;
+import com.streamflix.video.infrastructure.replication.ReadYourWritesTaskDecorator;
+import com.streamflix.video.infrastructure.security.SecurityContextTaskDecorator;
+import org.springframework.boot.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.CompositeTaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.List;
 import java.util.concurrent.Executor;
 
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
+    /**
+     * The {@code @Async} service methods. With {@code spring.threads.virtual.enabled} (on a Java 21
+     * runtime) each task gets a virtual thread of its own and no task is ever rejected; the number
+     * of them inside a transaction at once is capped by DatabaseConcurrencyLimiter instead.
+     * Otherwise a small bounded pool, whose queue rejects what does not fit.
+     */
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    public Executor taskExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("VideoMgmtAsync-");
+            executor.setVirtualThreads(true);
+            executor.setTaskDecorator(requestContextDecorator());
+            return executor;
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(5); // Start with a sensible default
         executor.setMaxPoolSize(10); // Adjust based on expected load
         executor.setQueueCapacity(25); // Buffer for tasks
         executor.setThreadNamePrefix("VideoMgmtAsync-");
+        executor.setTaskDecorator(requestContextDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Tenant-scoped queries and cache keys; replica reads that see the request's writes; the
+     * correlation id in logs; the caller's principal for security checks and auditing.
+     */
+    static TaskDecorator requestContextDecorator() {
+        return new CompositeTaskDecorator(List.of(
+            new TenantContextTaskDecorator(),
+            new ReadYourWritesTaskDecorator(),
+            new MdcTaskDecorator(),
+            new SecurityContextTaskDecorator()));
+    }
+
+    /**
+     * Background reloads of hot cache entries before they expire. Kept small and separate from
+     * the request executor; refreshes that do not fit are dropped and the entry simply expires.
+     * A refresh carries the context of the request whose hit triggered it, like {@code @Async} work.
+     */
+    @Bean(name = "cacheRefreshExecutor")
+    public Executor cacheRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("CacheRefresh-");
+        executor.setTaskDecorator(requestContextDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Long-running cache maintenance such as building existence filters. A single thread, so a
+     * rebuild after a Redis flush reads the database one scope at a time.
+     */
+    @Bean(name = "cacheMaintenanceExecutor")
+    public Executor cacheMaintenanceExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("CacheMaintenance-");
+        executor.setTaskDecorator(new TenantContextTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Attempts of hedged replica reads (see HedgedReads). Without a queue: a read that finds every
+     * thread busy runs unhedged on the caller's connection instead of waiting.
+     */
+    @Bean(name = "hedgedReadExecutor")
+    public Executor hedgedReadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(32);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("HedgedRead-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Catalogue imports (see CatalogImportService), each held by one thread from upload to merge.
+     * Imports beyond the pool wait in the queue; those that do not fit there are picked up by the
+     * periodic search for unfinished imports.
+     */
+    @Bean(name = "catalogImportExecutor")
+    public ThreadPoolTaskExecutor catalogImportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("CatalogImport-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Parsing and validation of catalogue rows, a batch per task, ahead of the import thread that
+     * copies them into staging.
+     */
+    @Bean(name = "catalogImportWorkerExecutor")
+    public ThreadPoolTaskExecutor catalogImportWorkerExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("CatalogImportWorker-");
         executor.initialize();
         return executor;
     }
@@ -0,0 +1,73 @@
+package com.streamflix.video.domain;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-item outcome of a bulk video operation, in the order of the request's items.
+ */
+public class BulkVideoResult {
+
+    private final List<Item> items;
+
+    public BulkVideoResult(List<Item> items) {
+        this.items = List.copyOf(items);
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public long getSucceeded() {
+        return items.stream().filter(Item::isSucceeded).count();
+    }
+
+    public long getFailed() {
+        return items.size() - getSucceeded();
+    }
+
+    /**
+     * Outcome of one item: the video it produced or affected, or why it was rejected.
+     */
+    public static class Item {
+
+        private final int index;
+        private final UUID videoId;
+        private final String error;
+
+        private Item(int index, UUID videoId, String error) {
+            this.index = index;
+            this.videoId = videoId;
+            this.error = error;
+        }
+
+        public static Item succeeded(int index, UUID videoId) {
+            return new Item(index, videoId, null);
+        }
+
+        /**
+         * @param videoId The video the item referred to, or null if it named none
+         */
+        public static Item failed(int index, UUID videoId, String error) {
+            return new Item(index, videoId, error);
+        }
+
+        /** Position of the item in the request, from 0. */
+        public int getIndex() {
+            return index;
+        }
+
+        public UUID getVideoId() {
+            return videoId;
+        }
+
+        /** Why the item was rejected, or null if it succeeded. */
+        public String getError() {
+            return error;
+        }
+
+        public boolean isSucceeded() {
+            return error == null;
+        }
+    }
+}
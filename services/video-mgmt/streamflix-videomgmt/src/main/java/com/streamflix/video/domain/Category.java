@@ -1,6 +1,12 @@
 package com.streamflix.video.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.PartitionKey;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -13,17 +19,27 @@ import java.util.UUID;
         @Index(name = "idx_category_tenant", columnList = "tenant_id")
     }
 )
+// Categories of a page of videos load in one query rather than one per category
+@BatchSize(size = 100)
+// By id and by name within the tenant, for the category of every video created or updated
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
+@NaturalIdCache(region = "categories-natural-id")
 public class Category implements MultiTenantEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
+    @NaturalId(mutable = true)
     @Column(nullable = false)
     private String name;
 
     @Column
     private String description;
     
+    // Added to the entity's updates and deletes, see Video
+    @PartitionKey
+    @NaturalId(mutable = true)
     @Column(name = "tenant_id", nullable = false)
     private UUID tenantId;
 
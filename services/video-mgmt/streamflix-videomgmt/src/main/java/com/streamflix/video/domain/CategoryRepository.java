@@ -24,6 +24,13 @@ public interface CategoryRepository {
      * @return Optional containing the category if found
      */
     Optional<Category> findById(UUID id);
+
+    /**
+     * Find the categories with the given identifiers in one query
+     * @param ids The category ids
+     * @return The categories found; missing ids are skipped
+     */
+    List<Category> findAllById(Iterable<UUID> ids);
     
     /**
      * Find a category by its name
@@ -0,0 +1,32 @@
+package com.streamflix.video.domain;
+
+import com.streamflix.video.domain.exception.ValidationException;
+
+import java.util.Locale;
+
+/**
+ * How a filtered video listing obtains its total count.
+ */
+public enum CountMode {
+
+    /** Count the matching videos with the full filter, as a second query. */
+    EXACT,
+
+    /** Use a recently cached count or the query planner's row estimate; small results are counted exactly. */
+    ESTIMATED,
+
+    /** Count nothing; the page only tells whether another one follows. */
+    NONE;
+
+    /**
+     * Parse a request parameter value, ignoring case.
+     * @throws ValidationException if the value names no mode
+     */
+    public static CountMode fromParameter(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Count mode must be one of exact, estimated or none");
+        }
+    }
+}
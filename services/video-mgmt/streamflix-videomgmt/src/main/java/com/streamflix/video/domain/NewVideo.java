@@ -0,0 +1,53 @@
+package com.streamflix.video.domain;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The metadata of one video to create in a bulk request, before it is validated.
+ */
+public class NewVideo {
+
+    private final String title;
+    private final String description;
+    private final UUID categoryId;
+    private final Set<String> tags;
+    private final Integer releaseYear;
+    private final String language;
+
+    public NewVideo(String title, String description, UUID categoryId, Set<String> tags,
+                    Integer releaseYear, String language) {
+        this.title = title;
+        this.description = description;
+        this.categoryId = categoryId;
+        this.tags = tags != null ? Collections.unmodifiableSet(new LinkedHashSet<>(tags)) : Set.of();
+        this.releaseYear = releaseYear;
+        this.language = language;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public UUID getCategoryId() {
+        return categoryId;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public Integer getReleaseYear() {
+        return releaseYear;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+}
@@ -1,6 +1,7 @@
 package com.streamflix.video.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.PartitionKey;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -10,7 +11,7 @@ import java.util.UUID;
 })
 public class Thumbnail implements MultiTenantEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -32,6 +33,8 @@ public class Thumbnail implements MultiTenantEntity {
     @Column(name = "is_primary")
     private boolean isPrimary = false;
     
+    // Added to the entity's updates and deletes, see Video
+    @PartitionKey
     @Column(name = "tenant_id", nullable = false)
     private UUID tenantId;
     
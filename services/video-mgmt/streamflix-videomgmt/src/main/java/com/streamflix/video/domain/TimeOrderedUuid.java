@@ -0,0 +1,18 @@
+package com.streamflix.video.domain;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generate the annotated identifier with {@link TimeOrderedUuids} on insert, in place of
+ * {@code @GeneratedValue(strategy = GenerationType.UUID)} and its random identifiers.
+ */
+@IdGeneratorType(TimeOrderedUuidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedUuid {
+}
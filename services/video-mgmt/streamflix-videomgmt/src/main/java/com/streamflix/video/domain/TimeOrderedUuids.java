@@ -0,0 +1,70 @@
+package com.streamflix.video.domain;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * UUID version 7 identifiers (RFC 9562): 48 bits of Unix time in milliseconds, then a 42-bit
+ * counter and 32 random bits. New rows therefore land at the right-hand end of the primary key
+ * index, and of indexes leading with a foreign key to it, instead of on random pages, while the
+ * identifiers stay as hard to guess as random ones and mix freely with the existing version 4 ones.
+ * <p>
+ * Identifiers from one process are strictly increasing, in {@link UUID#toString()} and in
+ * PostgreSQL's {@code uuid} order: the counter starts at a random value each millisecond and
+ * counts up within it, and a clock that goes back or a counter that runs out borrows the next
+ * millisecond rather than go backwards.
+ */
+public final class TimeOrderedUuids {
+
+    private static final int COUNTER_BITS = 42;
+    private static final long COUNTER_MAX = (1L << COUNTER_BITS) - 1;
+    /** Counters start in the lower half, leaving at least 2^41 identifiers per millisecond. */
+    private static final long COUNTER_SEED_MASK = (1L << (COUNTER_BITS - 1)) - 1;
+
+    private static final TimeOrderedUuids INSTANCE = new TimeOrderedUuids(System::currentTimeMillis, new SecureRandom());
+
+    private final LongSupplier clock;
+    private final Random random;
+
+    private long lastMillis = -1;
+    private long counter;
+
+    TimeOrderedUuids(LongSupplier clock, Random random) {
+        this.clock = clock;
+        this.random = random;
+    }
+
+    /**
+     * @return A new identifier, greater than every one this process has made before
+     */
+    public static UUID next() {
+        return INSTANCE.generate();
+    }
+
+    /**
+     * @return The creation time embedded in a version 7 identifier, in Unix milliseconds
+     * @throws IllegalArgumentException for identifiers of another version
+     */
+    public static long millis(UUID id) {
+        if (id.version() != 7) {
+            throw new IllegalArgumentException("Not a time-ordered identifier: " + id);
+        }
+        return id.getMostSignificantBits() >>> 16;
+    }
+
+    synchronized UUID generate() {
+        long now = clock.getAsLong();
+        if (now > lastMillis) {
+            lastMillis = now;
+            counter = random.nextLong() & COUNTER_SEED_MASK;
+        } else if (++counter > COUNTER_MAX) {
+            lastMillis++;
+            counter = random.nextLong() & COUNTER_SEED_MASK;
+        }
+        long msb = lastMillis << 16 | 0x7000L | counter >>> 30;
+        long lsb = 0x8000_0000_0000_0000L | (counter & 0x3FFF_FFFFL) << 32 | random.nextInt() & 0xFFFF_FFFFL;
+        return new UUID(msb, lsb);
+    }
+}
@@ -0,0 +1,20 @@
+package com.streamflix.video.domain;
+
+import com.streamflix.video.domain.model.User;
+
+import java.util.Optional;
+
+/**
+ * Lookup of users by API key, part of {@link UserRepository}. Every service-to-service call
+ * authenticates this way, so the implementation resolves the key through the second-level cache.
+ */
+public interface UserApiKeyLookup {
+
+    /**
+     * Find a user by API key.
+     *
+     * @param apiKey the API key to search for
+     * @return optional containing user if found
+     */
+    Optional<User> findByApiKey(String apiKey);
+}
@@ -9,7 +9,7 @@ import java.util.UUID;
 /**
  * Repository interface for managing User entities.
  */
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserApiKeyLookup {
     
     /**
      * Find a user by username.
@@ -27,14 +27,6 @@ public interface UserRepository extends JpaRepository<User, UUID> {
      */
     Optional<User> findByEmail(String email);
     
-    /**
-     * Find a user by API key.
-     *
-     * @param apiKey the API key to search for
-     * @return optional containing user if found
-     */
-    Optional<User> findByApiKey(String apiKey);
-    
     /**
      * Check if a username exists.
      *
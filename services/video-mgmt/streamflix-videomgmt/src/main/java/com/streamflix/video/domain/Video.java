@@ -2,6 +2,8 @@ package com.streamflix.video.domain;
 
 import jakarta.persistence.*;
 import jakarta.persistence.Index;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.PartitionKey;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -12,7 +14,14 @@ import java.util.*;
     @Index(name = "idx_video_language", columnList = "language"),
     @Index(name = "idx_video_status", columnList = "status"),
     @Index(name = "idx_video_created_at", columnList = "created_at"),
-    @Index(name = "idx_video_category_id", columnList = "category_id")
+    @Index(name = "idx_video_category_id", columnList = "category_id"),
+    // Keyset pagination seeks on (tenant, sort field, id)
+    @Index(name = "idx_videos_tenant_updated_at_id", columnList = "tenant_id, updated_at, id"),
+    @Index(name = "idx_videos_tenant_created_at_id", columnList = "tenant_id, created_at, id"),
+    @Index(name = "idx_videos_tenant_title_id", columnList = "tenant_id, title, id"),
+    @Index(name = "idx_videos_tenant_release_year_id", columnList = "tenant_id, release_year, id"),
+    @Index(name = "idx_videos_tenant_language_id", columnList = "tenant_id, language, id"),
+    @Index(name = "idx_videos_tenant_category_updated_at_id", columnList = "tenant_id, category_id, updated_at, id")
 })
 @NamedEntityGraph(
     name = "Video.withCategoryAndThumbnails",
@@ -23,7 +32,7 @@ import java.util.*;
 )
 public class Video implements MultiTenantEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(nullable = false)
@@ -32,11 +41,18 @@ public class Video implements MultiTenantEntity {
     @Column(length = 2000)
     private String description;
 
+    // Also in the WHERE clause of the entity's updates and deletes: with app.partitioning the
+    // table is hash partitioned on it, and those statements then touch a single partition
+    @PartitionKey
     @Column(name = "tenant_id", nullable = false)
     private UUID tenantId;
 
+    // Lazy collections are batch fetched: the first access on a page of videos loads the
+    // collection for the whole page (up to the 100-video page limit) in one query
     @ElementCollection
     @CollectionTable(name = "video_tags", joinColumns = @JoinColumn(name = "video_id"))
+    @Column(name = "tag")
+    @BatchSize(size = 100)
     private Set<String> tags = new HashSet<>();
 
     @ManyToOne
@@ -50,6 +66,7 @@ public class Video implements MultiTenantEntity {
     private String language;
 
     @OneToMany(mappedBy = "video", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     private List<Thumbnail> thumbnails = new ArrayList<>();
 
     @Enumerated(EnumType.STRING)
@@ -112,6 +129,17 @@ public class Video implements MultiTenantEntity {
         return id;
     }
 
+    /**
+     * Give a new video its identifier up front, for inserts that bypass JPA's id generation.
+     * @throws IllegalStateException if the video already has one
+     */
+    public void assignId(UUID id) {
+        if (this.id != null) {
+            throw new IllegalStateException("Video already has id " + this.id);
+        }
+        this.id = id;
+    }
+
     public String getTitle() {
         return title;
     }
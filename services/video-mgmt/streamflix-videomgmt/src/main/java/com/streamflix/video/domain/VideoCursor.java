@@ -0,0 +1,142 @@
+package com.streamflix.video.domain;
+
+import com.streamflix.video.domain.exception.ValidationException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Position in a keyset-paginated video listing: the sort key and id of the last video returned.
+ * <p>
+ * The next page continues strictly after this position instead of skipping an offset, so it costs
+ * the same however deep the client has scrolled, and videos inserted or deleted meanwhile do not
+ * shift entries between pages. Clients see the cursor only as the opaque string from {@link #encode()}.
+ */
+public class VideoCursor {
+
+    public static final String DEFAULT_SORT_FIELD = "updatedAt";
+    public static final Sort.Direction DEFAULT_DIRECTION = Sort.Direction.DESC;
+
+    /** Fields a cursor may seek on, the sortable fields of video listings. */
+    private static final Set<String> SORT_FIELDS = Set.of("title", "releaseYear", "language", "createdAt", "updatedAt");
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+    private static final String VALUE_PREFIX = "=";
+
+    private final String sortField;
+    private final Sort.Direction direction;
+    private final Object sortValue;
+    private final UUID id;
+
+    public VideoCursor(String sortField, Sort.Direction direction, Object sortValue, UUID id) {
+        this.sortField = Objects.requireNonNull(sortField, "sortField");
+        this.direction = Objects.requireNonNull(direction, "direction");
+        this.sortValue = sortValue;
+        this.id = Objects.requireNonNull(id, "id");
+    }
+
+    /**
+     * Position right after the given video in a listing sorted by {@code sortField}.
+     */
+    public static VideoCursor after(Video video, String sortField, Sort.Direction direction) {
+        Object value = switch (sortField) {
+            case "title" -> video.getTitle();
+            case "releaseYear" -> video.getReleaseYear();
+            case "language" -> video.getLanguage();
+            case "createdAt" -> video.getCreatedAt();
+            case "updatedAt" -> video.getUpdatedAt();
+            default -> throw new IllegalArgumentException("Unsupported cursor sort field: " + sortField);
+        };
+        return new VideoCursor(sortField, direction, value, video.getId());
+    }
+
+    /**
+     * Parse a cursor previously returned by {@link #encode()}.
+     * @throws ValidationException if the cursor is malformed or names an unsupported sort field
+     */
+    public static VideoCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // The value goes last since strings may themselves contain the separator
+            String[] parts = raw.split("\\" + SEPARATOR, 5);
+            if (parts.length != 5 || !VERSION.equals(parts[0]) || !SORT_FIELDS.contains(parts[1])) {
+                throw new ValidationException("Invalid cursor");
+            }
+            String sortField = parts[1];
+            Sort.Direction direction = "a".equals(parts[2]) ? Sort.Direction.ASC : Sort.Direction.DESC;
+            UUID id = UUID.fromString(parts[3]);
+            Object value = parts[4].startsWith(VALUE_PREFIX)
+                ? parseValue(sortField, parts[4].substring(VALUE_PREFIX.length()))
+                : null;
+            return new VideoCursor(sortField, direction, value, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Opaque, URL-safe form of this cursor.
+     */
+    public String encode() {
+        String raw = VERSION + SEPARATOR
+            + sortField + SEPARATOR
+            + (direction.isAscending() ? "a" : "d") + SEPARATOR
+            + id + SEPARATOR
+            + (sortValue != null ? VALUE_PREFIX + sortValue : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getSortField() {
+        return sortField;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * The last video's sort key, or null if it had none (release year and language are optional).
+     */
+    public Object getSortValue() {
+        return sortValue;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    private static Object parseValue(String sortField, String value) {
+        return switch (sortField) {
+            case "title", "language" -> value;
+            case "releaseYear" -> Integer.valueOf(value);
+            case "createdAt", "updatedAt" -> LocalDateTime.parse(value);
+            default -> throw new ValidationException("Invalid cursor");
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        VideoCursor that = (VideoCursor) o;
+        return sortField.equals(that.sortField) && direction == that.direction
+            && Objects.equals(sortValue, that.sortValue) && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sortField, direction, sortValue, id);
+    }
+
+    @Override
+    public String toString() {
+        return "VideoCursor{" + sortField + " " + direction + " after " + sortValue + ", " + id + "}";
+    }
+}
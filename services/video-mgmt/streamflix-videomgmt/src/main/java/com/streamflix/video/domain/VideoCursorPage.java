@@ -0,0 +1,33 @@
+package com.streamflix.video.domain;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated video listing. Unlike a {@code Page}, it carries no total
+ * count, only whether more videos follow.
+ */
+public class VideoCursorPage {
+
+    private final List<Video> videos;
+    private final VideoCursor nextCursor;
+
+    public VideoCursorPage(List<Video> videos, VideoCursor nextCursor) {
+        this.videos = List.copyOf(videos);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Video> getVideos() {
+        return videos;
+    }
+
+    /**
+     * Where the next page starts, or null if this is the last page.
+     */
+    public VideoCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -2,9 +2,11 @@ package com.streamflix.video.domain;
 
 import com.streamflix.video.presentation.dto.VideoFilterParams;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -20,6 +22,13 @@ public interface VideoRepository {
      * @return The saved video with any generated ids/fields
      */
     Video save(Video video);
+
+    /**
+     * Insert new videos and their tags in batches, bypassing the persistence context.
+     * Each video is given an identifier; the inserted videos are not managed afterwards.
+     * @param videos The new videos, without identifiers
+     */
+    void insertAll(List<Video> videos);
     
     /**
      * Find a video by its unique identifier
@@ -62,7 +71,94 @@ public interface VideoRepository {
      * @return Page of videos matching the filter criteria
      */
     Page<Video> findByFilterParams(VideoFilterParams filterParams, int page, int size);
-    
+
+    /**
+     * Find videos by filter parameters with pagination and sorting, without counting them
+     * @param filterParams The filter parameters
+     * @param page The page number (0-based)
+     * @param size The page size
+     * @return Slice of videos matching the filter criteria, telling only whether more follow
+     */
+    Slice<Video> findSliceByFilterParams(VideoFilterParams filterParams, int page, int size);
+
+    /**
+     * Summaries of all videos except deleted ones, most recently updated first
+     * @param page The page number (0-based)
+     * @param size The page size
+     * @return Summaries of the videos on the requested page
+     */
+    List<VideoSummary> findSummaries(int page, int size);
+
+    /**
+     * Summaries of the videos in a category except deleted ones, most recently updated first
+     * @param categoryId The category id
+     * @param page The page number (0-based)
+     * @param size The page size
+     * @return Summaries of the videos on the requested page
+     */
+    List<VideoSummary> findSummariesByCategory(UUID categoryId, int page, int size);
+
+    /**
+     * Summaries of the videos with a tag except deleted ones, most recently updated first
+     * @param tag The tag to search for
+     * @param page The page number (0-based)
+     * @param size The page size
+     * @return Summaries of the videos on the requested page
+     */
+    List<VideoSummary> findSummariesByTag(String tag, int page, int size);
+
+    /**
+     * Summaries of the videos matching the filter parameters, sorted as they ask, without counting them
+     * @param filterParams The filter parameters
+     * @param page The page number (0-based)
+     * @param size The page size
+     * @return Slice of summaries matching the filter criteria, telling only whether more follow
+     */
+    Slice<VideoSummary> findSummarySliceByFilterParams(VideoFilterParams filterParams, int page, int size);
+
+    /**
+     * Summaries of the given videos, deleted ones included, in the order of the identifiers
+     * @param ids The video ids
+     * @return The summaries found; missing videos are skipped
+     */
+    List<VideoSummary> findSummariesByIds(List<UUID> ids);
+
+    /**
+     * Scroll all videos by keyset, newest update first; runs no count query
+     * @param after Position to continue after, or null for the first page
+     * @param size The page size
+     * @return The videos after the cursor and where the next page starts
+     */
+    VideoCursorPage scrollAll(VideoCursor after, int size);
+
+    /**
+     * Scroll videos of a category by keyset, newest update first; runs no count query
+     * @param categoryId The category id
+     * @param after Position to continue after, or null for the first page
+     * @param size The page size
+     * @return The videos after the cursor and where the next page starts
+     */
+    VideoCursorPage scrollByCategory(UUID categoryId, VideoCursor after, int size);
+
+    /**
+     * Scroll videos with a tag by keyset, newest update first; runs no count query
+     * @param tag The tag to search for
+     * @param after Position to continue after, or null for the first page
+     * @param size The page size
+     * @return The videos after the cursor and where the next page starts
+     */
+    VideoCursorPage scrollByTag(String tag, VideoCursor after, int size);
+
+    /**
+     * Scroll videos matching the filter parameters by keyset; runs no count query.
+     * The first page is sorted as the filter parameters ask, later pages keep the cursor's sort.
+     * @param filterParams The filter parameters
+     * @param after Position to continue after, or null for the first page
+     * @param size The page size
+     * @return The videos after the cursor and where the next page starts
+     */
+    VideoCursorPage scrollByFilterParams(VideoFilterParams filterParams, VideoCursor after, int size);
+
     /**
      * Delete a video from the repository
      * @param videoId The id of the video to delete
@@ -88,6 +184,20 @@ public interface VideoRepository {
      * @return Number of videos with the tag
      */
     long countByTag(String tag);
+
+    /**
+     * Count videos by status
+     * @param status The status to count
+     * @return Number of videos in the status
+     */
+    long countByStatus(VideoStatus status);
+
+    /**
+     * Count videos by language
+     * @param language The language, as stored on the videos
+     * @return Number of videos in the language
+     */
+    long countByLanguage(String language);
     
     /**
      * Count videos matching the filter parameters
@@ -97,12 +207,54 @@ public interface VideoRepository {
     long countByFilterParams(VideoFilterParams filterParams);
 
     /**
-     * Updates the status of multiple videos in a batch.
+     * Estimate the number of videos matching the filter parameters without counting them
+     * @param filterParams The filter parameters
+     * @return The estimated number of videos, or -1 if no estimate is available
+     */
+    long estimateCountByFilterParams(VideoFilterParams filterParams);
+
+    /**
+     * Updates the status of multiple videos in a batch, in one statement.
+     * Videos whose current status is not one of the given ones are left untouched.
      * @param videoIds The list of video IDs to update.
+     * @param fromStatuses The statuses a video may be moved from.
      * @param newStatus The new status to set.
      * @return The number of videos updated.
      */
-    int batchUpdateStatus(List<UUID> videoIds, VideoStatus newStatus);
+    int batchUpdateStatus(List<UUID> videoIds, Set<VideoStatus> fromStatuses, VideoStatus newStatus);
+
+    /**
+     * Moves multiple videos to a category in one statement.
+     * @param videoIds The list of video IDs to update
+     * @param category The category to set
+     * @return The number of videos updated
+     */
+    int batchUpdateCategory(List<UUID> videoIds, Category category);
+
+    /**
+     * Adds a tag to the videos that do not have it yet, in one statement.
+     * Does not change the videos' last modified date; see {@link #batchTouch(List)}.
+     * @param videoIds The list of video IDs
+     * @param tag The tag to add
+     * @return The number of videos the tag was added to
+     */
+    int batchAddTag(List<UUID> videoIds, String tag);
+
+    /**
+     * Removes a tag from multiple videos in one statement.
+     * Does not change the videos' last modified date; see {@link #batchTouch(List)}.
+     * @param videoIds The list of video IDs
+     * @param tag The tag to remove
+     * @return The number of videos the tag was removed from
+     */
+    int batchRemoveTag(List<UUID> videoIds, String tag);
+
+    /**
+     * Sets the last modified date of multiple videos to now, in one statement.
+     * @param videoIds The list of video IDs
+     * @return The number of videos updated
+     */
+    int batchTouch(List<UUID> videoIds);
 
     /**
      * Find a video by thumbnail ID
@@ -0,0 +1,54 @@
+package com.streamflix.video.domain;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * One page of a filtered video listing together with however its total was obtained.
+ * Depending on the {@link CountMode}, the total is exact, an estimate, or unknown.
+ * @param <T> The videos' representation: {@link Video} or {@link VideoSummary}
+ */
+public class VideoSlice<T> {
+
+    private final Slice<T> slice;
+    private final long totalElements;
+    private final CountMode countMode;
+
+    /**
+     * @param totalElements The total, or -1 if it was not counted
+     * @param countMode How the total was obtained; {@link CountMode#NONE} if it was not
+     */
+    public VideoSlice(Slice<T> slice, long totalElements, CountMode countMode) {
+        this.slice = slice;
+        this.totalElements = countMode == CountMode.NONE ? -1 : totalElements;
+        this.countMode = countMode;
+    }
+
+    public static <T> VideoSlice<T> uncounted(Slice<T> slice) {
+        return new VideoSlice<>(slice, -1, CountMode.NONE);
+    }
+
+    public Slice<T> getSlice() {
+        return slice;
+    }
+
+    public List<T> getContent() {
+        return slice.getContent();
+    }
+
+    public boolean hasNext() {
+        return slice.hasNext();
+    }
+
+    /**
+     * The total number of matching videos, or -1 if it was not counted.
+     */
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public CountMode getCountMode() {
+        return countMode;
+    }
+}
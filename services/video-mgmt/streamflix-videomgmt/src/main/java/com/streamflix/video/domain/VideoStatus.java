@@ -1,10 +1,29 @@
 package com.streamflix.video.domain;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum VideoStatus {
     PENDING,    // Initial state when metadata is created
     UPLOADED,   // Raw video file has been uploaded to storage
     PROCESSING, // Video is being transcoded
     READY,      // Video is processed and ready for streaming
     FAILED,     // Processing or upload has failed
-    DELETED     // Video has been marked as deleted
-}
\ No newline at end of file
+    DELETED;    // Video has been marked as deleted
+
+    /**
+     * The statuses a video may move to this one from, as enforced one video at a time by
+     * {@link Video#markAsUploaded()} and the other {@code markAs} methods; empty for
+     * {@link #PENDING}, which no video returns to.
+     */
+    public Set<VideoStatus> allowedSources() {
+        return switch (this) {
+            case PENDING -> EnumSet.noneOf(VideoStatus.class);
+            case UPLOADED -> EnumSet.of(PENDING);
+            case PROCESSING -> EnumSet.of(UPLOADED);
+            case READY -> EnumSet.of(PROCESSING);
+            case FAILED -> EnumSet.of(PROCESSING, UPLOADED);
+            case DELETED -> EnumSet.allOf(VideoStatus.class);
+        };
+    }
+}
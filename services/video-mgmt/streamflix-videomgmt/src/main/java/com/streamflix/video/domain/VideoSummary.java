@@ -0,0 +1,94 @@
+package com.streamflix.video.domain;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read-only view of a video for listings: the columns a card needs, with its tags and primary
+ * thumbnail already aggregated. Unlike {@link Video} it is not an entity, so loading a page of
+ * them leaves nothing in the persistence context and skips the description and archive fields.
+ */
+public class VideoSummary {
+
+    private final UUID id;
+    private final String title;
+    private final VideoStatus status;
+    private final Integer releaseYear;
+    private final String language;
+    private final UUID categoryId;
+    private final String categoryName;
+    private final List<String> tags;
+    private final String thumbnailUrl;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public VideoSummary(UUID id, String title, VideoStatus status, Integer releaseYear, String language,
+                        UUID categoryId, String categoryName, List<String> tags, String thumbnailUrl,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.status = status;
+        this.releaseYear = releaseYear;
+        this.language = language;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.tags = List.copyOf(tags);
+        this.thumbnailUrl = thumbnailUrl;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public VideoStatus getStatus() {
+        return status;
+    }
+
+    public Integer getReleaseYear() {
+        return releaseYear;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    /**
+     * The category's id, or null if the video has none.
+     */
+    public UUID getCategoryId() {
+        return categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    /**
+     * The tags in alphabetical order.
+     */
+    public List<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * URL of the primary thumbnail, falling back to the default one, or null if there are none.
+     */
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,21 @@
+package com.streamflix.video.domain.event;
+
+import com.streamflix.video.domain.Video;
+
+import java.util.List;
+
+/**
+ * Domain event for videos created together by a bulk request.
+ * Listeners handle the batch at once rather than one {@link VideoCreatedDomainEvent} per video.
+ */
+public class VideosCreatedDomainEvent {
+    private final List<Video> videos;
+
+    public VideosCreatedDomainEvent(List<Video> videos) {
+        this.videos = List.copyOf(videos);
+    }
+
+    public List<Video> getVideos() {
+        return videos;
+    }
+}
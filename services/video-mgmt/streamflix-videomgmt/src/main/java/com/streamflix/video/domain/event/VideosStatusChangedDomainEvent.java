@@ -0,0 +1,28 @@
+package com.streamflix.video.domain.event;
+
+import com.streamflix.video.domain.VideoStatus;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Domain event for videos moved to the same status together by a bulk request.
+ * Carries identifiers only: the videos were updated with a set-based statement, not loaded.
+ */
+public class VideosStatusChangedDomainEvent {
+    private final List<UUID> videoIds;
+    private final VideoStatus newStatus;
+
+    public VideosStatusChangedDomainEvent(List<UUID> videoIds, VideoStatus newStatus) {
+        this.videoIds = List.copyOf(videoIds);
+        this.newStatus = newStatus;
+    }
+
+    public List<UUID> getVideoIds() {
+        return videoIds;
+    }
+
+    public VideoStatus getNewStatus() {
+        return newStatus;
+    }
+}
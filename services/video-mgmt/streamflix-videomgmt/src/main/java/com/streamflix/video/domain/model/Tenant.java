@@ -1,15 +1,23 @@
 package com.streamflix.video.domain.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.time.LocalDateTime;
 import java.util.*;
 
 /**
  * Represents a tenant in the multi-tenant architecture.
  * Each tenant can be a different customer or organization.
+ * Held in the second-level cache by id and by identifier, which every request resolves.
  */
 @Entity
 @Table(name = "tenants")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tenants")
+@NaturalIdCache(region = "tenants-natural-id")
 public class Tenant {
     
     @Id
@@ -19,6 +27,7 @@ public class Tenant {
     @Column(nullable = false, unique = true)
     private String name;
     
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true)
     private String identifier;
     
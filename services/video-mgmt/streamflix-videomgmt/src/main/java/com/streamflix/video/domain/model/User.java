@@ -1,14 +1,23 @@
 package com.streamflix.video.domain.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.time.LocalDateTime;
 import java.util.*;
 
 /**
  * Represents a user in the system with authentication and authorization information.
+ * Held in the second-level cache with its roles, by id and by API key, which authenticates
+ * service-to-service calls.
  */
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-natural-id")
 public class User {
     
     @Id
@@ -28,9 +37,11 @@ public class User {
     @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
     @Enumerated(EnumType.STRING)
     @Column(name = "role")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users-roles")
     private Set<Role> roles = new HashSet<>();
     
-    @Column(name = "api_key")
+    @NaturalId(mutable = true)
+    @Column(name = "api_key", unique = true)
     private String apiKey;
     
     @Column(name = "created_at", nullable = false)
@@ -0,0 +1,190 @@
+package com.streamflix.video.infrastructure.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Counts reads of videos, category pages and tag pages per tenant, so that new pods know what to preload.
+ * <p>
+ * Reads are counted in memory and added to daily Redis sorted sets every 30 seconds, one set per
+ * tenant scope and kind, trimmed to the hottest entries. The previous day counts at half weight,
+ * so the ranking follows shifts in traffic within a day or two.
+ */
+@Component
+public class AccessStatsRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessStatsRecorder.class);
+
+    public static final String KIND_VIDEO = "video";
+    public static final String KIND_CATEGORY_PAGE = "category-page";
+    public static final String KIND_TAG_PAGE = "tag-page";
+
+    private static final String STATS_PREFIX = "vm:hot:";
+    private static final String TENANTS = "tenants";
+    private static final String SEPARATOR = "|";
+    private static final Duration RETENTION = Duration.ofDays(2);
+    private static final double PREVIOUS_DAY_WEIGHT = 0.5;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ListCacheKeys listCacheKeys;
+    private final boolean recordingEnabled;
+    private final int maxBufferedKeys;
+    private final int maxTrackedKeys;
+    private volatile ConcurrentHashMap<String, LongAdder> buffer = new ConcurrentHashMap<>();
+
+    public AccessStatsRecorder(StringRedisTemplate redisTemplate,
+                               ListCacheKeys listCacheKeys,
+                               CacheWarmupProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.listCacheKeys = listCacheKeys;
+        this.recordingEnabled = properties.isRecordingEnabled();
+        this.maxBufferedKeys = properties.getMaxBufferedKeys();
+        this.maxTrackedKeys = properties.getMaxTrackedKeys();
+    }
+
+    public void recordVideo(UUID videoId) {
+        record(KIND_VIDEO, videoId.toString());
+    }
+
+    public void recordCategoryPage(UUID categoryId, int page, int size) {
+        record(KIND_CATEGORY_PAGE, categoryId + ":" + page + ":" + size);
+    }
+
+    public void recordTagPage(String tag, int page, int size) {
+        // The tag goes last since it may itself contain the separator
+        record(KIND_TAG_PAGE, page + ":" + size + ":" + tag);
+    }
+
+    /**
+     * Tenant scopes with the most recorded reads, hottest first.
+     */
+    public List<String> hottestScopes(int limit) {
+        return hottest(day -> statsKey(day, TENANTS), limit);
+    }
+
+    /**
+     * Members of one kind with the most recorded reads in a tenant scope, hottest first.
+     */
+    public List<String> hottest(String scope, String kind, int limit) {
+        return hottest(day -> statsKey(day, scope + ":" + kind), limit);
+    }
+
+    @Scheduled(fixedDelay = 30000)
+    public void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        Map<String, LongAdder> drained = buffer;
+        buffer = new ConcurrentHashMap<>();
+
+        String day = day(LocalDate.now(ZoneOffset.UTC));
+        long ttlSeconds = RETENTION.getSeconds();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                Set<String> touched = new HashSet<>();
+                Map<String, Long> scopeHits = new HashMap<>();
+                drained.forEach((bufferKey, count) -> {
+                    String[] parts = bufferKey.split("\\" + SEPARATOR, 3);
+                    String key = statsKey(day, parts[0] + ":" + parts[1]);
+                    long hits = count.sum();
+                    connection.zSetCommands().zIncrBy(bytes(key), hits, bytes(parts[2]));
+                    touched.add(key);
+                    scopeHits.merge(parts[0], hits, Long::sum);
+                });
+                String tenantsKey = statsKey(day, TENANTS);
+                scopeHits.forEach((scope, hits) -> connection.zSetCommands().zIncrBy(bytes(tenantsKey), hits, bytes(scope)));
+                touched.add(tenantsKey);
+                for (String key : touched) {
+                    trim(connection, key, ttlSeconds);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            // Statistics only steer warm-up, losing one interval is harmless
+            logger.warn("Failed to flush {} access statistics entries: {}", drained.size(), e.getMessage());
+        }
+    }
+
+    private void record(String kind, String member) {
+        if (!recordingEnabled) {
+            return;
+        }
+        String bufferKey = listCacheKeys.tenantScope() + SEPARATOR + kind + SEPARATOR + member;
+        ConcurrentHashMap<String, LongAdder> current = buffer;
+        LongAdder count = current.get(bufferKey);
+        if (count == null) {
+            if (current.size() >= maxBufferedKeys) {
+                return;
+            }
+            count = current.computeIfAbsent(bufferKey, k -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    private void trim(RedisConnection connection, String key, long ttlSeconds) {
+        byte[] rawKey = bytes(key);
+        connection.zSetCommands().zRemRange(rawKey, 0, -(maxTrackedKeys + 1L));
+        connection.keyCommands().expire(rawKey, ttlSeconds);
+    }
+
+    private List<String> hottest(Function<String, String> keyForDay, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        Map<String, Double> scores = new HashMap<>();
+        addScores(scores, keyForDay.apply(day(today)), limit, 1.0);
+        addScores(scores, keyForDay.apply(day(today.minusDays(1))), limit, PREVIOUS_DAY_WEIGHT);
+
+        List<Map.Entry<String, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()));
+        return ranked.stream().limit(limit).map(Map.Entry::getKey).toList();
+    }
+
+    private void addScores(Map<String, Double> scores, String key, int limit, double weight) {
+        Set<ZSetOperations.TypedTuple<String>> entries = redisTemplate.opsForZSet().reverseRangeWithScores(key, 0, limit - 1);
+        if (entries == null) {
+            return;
+        }
+        for (ZSetOperations.TypedTuple<String> entry : entries) {
+            if (entry.getValue() != null && entry.getScore() != null) {
+                scores.merge(entry.getValue(), entry.getScore() * weight, Double::sum);
+            }
+        }
+    }
+
+    private static String statsKey(String day, String suffix) {
+        return STATS_PREFIX + day + ":" + suffix;
+    }
+
+    private static String day(LocalDate date) {
+        return date.format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
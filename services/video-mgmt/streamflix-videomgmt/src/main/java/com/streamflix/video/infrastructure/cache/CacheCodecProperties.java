@@ -0,0 +1,50 @@
+package com.streamflix.video.infrastructure.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Selects how cache values are encoded in Redis.
+ * Both codecs read entries written by the other, so switching between them only costs cache hits
+ * for values written in a format the old pods cannot decode.
+ */
+@ConfigurationProperties(prefix = "app.cache.codec")
+public class CacheCodecProperties {
+
+    public enum Format {
+        /** Versioned binary encoding of videos, categories, thumbnails and pages of them. */
+        BINARY,
+        /** Jackson with embedded type information, as used before the binary codec existed. */
+        JSON
+    }
+
+    private Format format = Format.BINARY;
+
+    private boolean compressionEnabled = true;
+
+    /** Encoded values larger than this many bytes are deflated before they are written. */
+    private int compressionThreshold = 2048;
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public void setFormat(Format format) {
+        this.format = format;
+    }
+
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    public void setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+}
@@ -0,0 +1,110 @@
+package com.streamflix.video.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Publishes local-tier invalidations to the other pods and applies the ones they publish.
+ * Every pod subscribes to the same Redis channel; messages carrying this pod's own origin
+ * are ignored because the local tier was already updated before publishing.
+ * <p>
+ * Besides the layered caches, any per-pod cache can take part by registering how to evict an
+ * entry and how to clear it, as the Hibernate second-level cache does.
+ */
+@Component
+public class CacheInvalidationBroadcaster implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBroadcaster.class);
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, LocalInvalidation> localCaches = new ConcurrentHashMap<>();
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final NearCacheProperties properties;
+    private final CacheTierMetrics metrics;
+
+    public CacheInvalidationBroadcaster(StringRedisTemplate redisTemplate,
+                                        ObjectMapper objectMapper,
+                                        NearCacheProperties properties,
+                                        CacheTierMetrics metrics) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Register a layered cache so that remote invalidations can reach its local tier.
+     */
+    public void register(TwoTierCache cache) {
+        register(cache.getName(), cache::evictLocal, cache::clearLocal);
+    }
+
+    /**
+     * Register any per-pod cache under a name unique across the service.
+     * @param evictLocal Drops a single entry, by the key it was published with
+     * @param clearLocal Drops all entries
+     */
+    public void register(String cacheName, Consumer<String> evictLocal, Runnable clearLocal) {
+        localCaches.put(cacheName, new LocalInvalidation(evictLocal, clearLocal));
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish(new CacheInvalidationMessage(instanceId, cacheName, key));
+    }
+
+    public void publishClear(String cacheName) {
+        publish(new CacheInvalidationMessage(instanceId, cacheName, null));
+    }
+
+    private void publish(CacheInvalidationMessage message) {
+        try {
+            redisTemplate.convertAndSend(properties.getInvalidationChannel(), objectMapper.writeValueAsString(message));
+            metrics.recordInvalidationSent(message.getCacheName());
+        } catch (Exception e) {
+            // Other pods fall back to the local TTL; the write itself already succeeded
+            logger.error("Failed to publish cache invalidation {}: {}", message, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            CacheInvalidationMessage invalidation = objectMapper.readValue(
+                new String(message.getBody(), StandardCharsets.UTF_8), CacheInvalidationMessage.class);
+            if (instanceId.equals(invalidation.getOrigin())) {
+                return;
+            }
+
+            LocalInvalidation cache = localCaches.get(invalidation.getCacheName());
+            if (cache == null) {
+                return;
+            }
+
+            metrics.recordInvalidationReceived(invalidation.getCacheName());
+            if (invalidation.isClear()) {
+                cache.clearLocal().run();
+            } else {
+                cache.evictLocal().accept(invalidation.getKey());
+            }
+            logger.debug("Applied remote cache invalidation: {}", invalidation);
+        } catch (Exception e) {
+            logger.error("Failed to apply cache invalidation message: {}", e.getMessage(), e);
+        }
+    }
+
+    private record LocalInvalidation(Consumer<String> evictLocal, Runnable clearLocal) {
+    }
+}
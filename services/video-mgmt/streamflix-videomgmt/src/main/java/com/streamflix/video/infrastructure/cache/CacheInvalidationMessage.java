@@ -0,0 +1,60 @@
+package com.streamflix.video.infrastructure.cache;
+
+/**
+ * Message broadcast over Redis pub/sub when a layered cache entry changes,
+ * telling every other pod to drop its local copy.
+ * A {@code null} key means the whole cache was cleared.
+ */
+public class CacheInvalidationMessage {
+
+    private String origin;
+    private String cacheName;
+    private String key;
+
+    // Default constructor for Jackson
+    public CacheInvalidationMessage() {
+    }
+
+    public CacheInvalidationMessage(String origin, String cacheName, String key) {
+        this.origin = origin;
+        this.cacheName = cacheName;
+        this.key = key;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public void setCacheName(String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public boolean isClear() {
+        return key == null;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheInvalidationMessage{" +
+                "origin='" + origin + '\'' +
+                ", cacheName='" + cacheName + '\'' +
+                ", key='" + key + '\'' +
+                '}';
+    }
+}
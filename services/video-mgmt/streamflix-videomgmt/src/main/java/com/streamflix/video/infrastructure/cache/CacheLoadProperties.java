@@ -0,0 +1,57 @@
+package com.streamflix.video.infrastructure.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * How cache misses are loaded: request coalescing and probabilistic early refresh.
+ * Both only apply to {@code @Cacheable(sync = true)} methods, since those hand the loader to the cache;
+ * early refresh further only to caches with a {@link CacheReloader} (see {@link CacheReloaders}).
+ */
+@ConfigurationProperties(prefix = "app.cache.load")
+public class CacheLoadProperties {
+
+    private boolean coalescingEnabled = true;
+
+    private boolean earlyRefreshEnabled = false;
+
+    /**
+     * Scales the early refresh window. 1.0 is the usual choice; larger values refresh earlier.
+     * A load taking 50ms with beta 1.0 mostly refreshes in the last few hundred milliseconds of the TTL.
+     */
+    private double earlyRefreshBeta = 1.0;
+
+    /** Upper bound on the keys whose load time is remembered for early refresh. */
+    private long earlyRefreshMaxKeys = 10_000;
+
+    public boolean isCoalescingEnabled() {
+        return coalescingEnabled;
+    }
+
+    public void setCoalescingEnabled(boolean coalescingEnabled) {
+        this.coalescingEnabled = coalescingEnabled;
+    }
+
+    public boolean isEarlyRefreshEnabled() {
+        return earlyRefreshEnabled;
+    }
+
+    public void setEarlyRefreshEnabled(boolean earlyRefreshEnabled) {
+        this.earlyRefreshEnabled = earlyRefreshEnabled;
+    }
+
+    public double getEarlyRefreshBeta() {
+        return earlyRefreshBeta;
+    }
+
+    public void setEarlyRefreshBeta(double earlyRefreshBeta) {
+        this.earlyRefreshBeta = earlyRefreshBeta;
+    }
+
+    public long getEarlyRefreshMaxKeys() {
+        return earlyRefreshMaxKeys;
+    }
+
+    public void setEarlyRefreshMaxKeys(long earlyRefreshMaxKeys) {
+        this.earlyRefreshMaxKeys = earlyRefreshMaxKeys;
+    }
+}
@@ -0,0 +1,19 @@
+package com.streamflix.video.infrastructure.cache;
+
+/**
+ * Loads the current value of one cache entry for an early refresh (see {@link CoalescingCache}).
+ * <p>
+ * The value loader Spring hands to {@code @Cacheable(sync = true)} belongs to one method invocation,
+ * whose interceptors have already run; calling it again from another thread would skip the
+ * transaction, replica routing and metrics around the method. A reloader calls the service through
+ * its proxy instead, on a method that does not consult the cache.
+ */
+@FunctionalInterface
+public interface CacheReloader {
+
+    /**
+     * @param key The cache key of the entry
+     * @return The value to store under the key, or null / an empty {@code Optional} to store nothing
+     */
+    Object reload(Object key);
+}
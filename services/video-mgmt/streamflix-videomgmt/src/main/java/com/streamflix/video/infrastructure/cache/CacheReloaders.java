@@ -0,0 +1,19 @@
+package com.streamflix.video.infrastructure.cache;
+
+import com.streamflix.video.application.port.VideoService;
+import com.streamflix.video.infrastructure.config.CacheConfig;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Registers the reloaders that early refresh uses. Only single videos have one; list pages are
+ * reloaded on their regular miss, which also records them in {@link ListCacheDependencyIndex}.
+ */
+@Component
+public class CacheReloaders {
+
+    public CacheReloaders(TwoTierCacheManager cacheManager, VideoService videoService) {
+        cacheManager.registerReloader(CacheConfig.VIDEO_CACHE, key -> videoService.reloadVideo((UUID) key));
+    }
+}
@@ -0,0 +1,109 @@
+package com.streamflix.video.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Metrics for the layered cache: hit/miss counts per cache name and tier,
+ * cross-pod invalidation traffic, coalesced loads, early refreshes and lookups answered without the database.
+ */
+@Component
+public class CacheTierMetrics {
+
+    public static final String TIER_LOCAL = "l1";
+    public static final String TIER_REDIS = "l2";
+
+    private static final String REQUESTS = "video.cache.requests";
+    private static final String INVALIDATIONS = "video.cache.invalidations";
+    private static final String COALESCED_WAITERS = "video.cache.coalesced.waiters";
+    private static final String EARLY_REFRESHES = "video.cache.early.refreshes";
+    private static final String LOOKUP_GUARDS = "video.cache.lookup.guards";
+
+    public static final String REFRESH_SCHEDULED = "scheduled";
+    public static final String REFRESH_REJECTED = "rejected";
+    public static final String REFRESH_COMPLETED = "completed";
+    public static final String REFRESH_FAILED = "failed";
+
+    private final MeterRegistry registry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public CacheTierMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void recordHit(String cacheName, String tier) {
+        counter(REQUESTS, "Layered cache lookups by tier", cacheName, tier, "hit").increment();
+    }
+
+    public void recordMiss(String cacheName, String tier) {
+        counter(REQUESTS, "Layered cache lookups by tier", cacheName, tier, "miss").increment();
+    }
+
+    public void recordInvalidationSent(String cacheName) {
+        counter(INVALIDATIONS, "Cross-pod cache invalidation messages", cacheName, TIER_LOCAL, "sent").increment();
+    }
+
+    public void recordInvalidationReceived(String cacheName) {
+        counter(INVALIDATIONS, "Cross-pod cache invalidation messages", cacheName, TIER_LOCAL, "received").increment();
+    }
+
+    /**
+     * A caller that waited for another caller's in-flight load instead of running its own.
+     * @param flightName The cache name, or the name of the coalesced query
+     */
+    public void recordCoalescedWaiter(String flightName) {
+        counters.computeIfAbsent(COALESCED_WAITERS + ':' + flightName,
+            k -> Counter.builder(COALESCED_WAITERS)
+                .description("Callers served by another caller's in-flight load")
+                .tag("name", flightName)
+                .register(registry)).increment();
+    }
+
+    /**
+     * Progress of a probabilistic early refresh, see {@link #REFRESH_SCHEDULED} and the other outcomes.
+     */
+    public void recordEarlyRefresh(String cacheName, String outcome) {
+        counters.computeIfAbsent(EARLY_REFRESHES + ':' + cacheName + ':' + outcome,
+            k -> Counter.builder(EARLY_REFRESHES)
+                .description("Background reloads of cache entries before they expire")
+                .tag("cache", cacheName)
+                .tag("result", outcome)
+                .register(registry)).increment();
+    }
+
+    /**
+     * Outcome of a negative cache or existence filter check made before an identifier lookup.
+     * @param mechanism {@code negative} or {@code filter}
+     */
+    public void recordLookupGuard(String mechanism, CachedEntityType type, String result) {
+        counters.computeIfAbsent(LOOKUP_GUARDS + ':' + mechanism + ':' + type + ':' + result,
+            k -> Counter.builder(LOOKUP_GUARDS)
+                .description("Identifier lookups checked against the negative cache and existence filters")
+                .tag("mechanism", mechanism)
+                .tag("type", type.keyPart())
+                .tag("result", result)
+                .register(registry)).increment();
+    }
+
+    /**
+     * Expose Caffeine's own statistics (size, evictions, load times) for a local cache.
+     */
+    public void monitorLocalCache(String cacheName, com.github.benmanes.caffeine.cache.Cache<?, ?> localCache) {
+        CaffeineCacheMetrics.monitor(registry, localCache, cacheName, "tier", TIER_LOCAL);
+    }
+
+    private Counter counter(String name, String description, String cacheName, String tier, String result) {
+        return counters.computeIfAbsent(name + ':' + cacheName + ':' + tier + ':' + result,
+            k -> Counter.builder(name)
+                .description(description)
+                .tag("cache", cacheName)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry));
+    }
+}
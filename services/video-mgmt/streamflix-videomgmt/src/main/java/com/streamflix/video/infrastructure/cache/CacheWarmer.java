@@ -0,0 +1,240 @@
+package com.streamflix.video.infrastructure.cache;
+
+import com.streamflix.video.application.port.VideoService;
+import com.streamflix.video.infrastructure.multitenancy.TenantContextHolder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Preloads the hottest videos, category pages and tag pages of the hottest tenants when the pod starts.
+ * <p>
+ * Loads go through {@link VideoService} under the tenant's context, so they fill the near cache and
+ * Redis exactly as requests would, and run the request code paths through the JIT on the way.
+ * Application runners complete before the pod is considered started; in addition this bean is the
+ * {@code cacheWarmup} health indicator, which keeps the readiness group OUT_OF_SERVICE and reports
+ * progress until warm-up has finished or timed out.
+ */
+@Component("cacheWarmup")
+public class CacheWarmer implements ApplicationRunner, HealthIndicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmer.class);
+
+    enum State { PENDING, RUNNING, COMPLETED, TIMED_OUT, FAILED, SKIPPED }
+
+    private final VideoService videoService;
+    private final AccessStatsRecorder accessStats;
+    private final CacheWarmupProperties properties;
+    private final MeterRegistry registry;
+    private final AtomicInteger planned = new AtomicInteger();
+    private final AtomicInteger loaded = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final Counter loadedCounter;
+    private final Counter failedCounter;
+    private volatile State state = State.PENDING;
+    private volatile Duration duration;
+
+    public CacheWarmer(VideoService videoService,
+                       AccessStatsRecorder accessStats,
+                       CacheWarmupProperties properties,
+                       MeterRegistry registry) {
+        this.videoService = videoService;
+        this.accessStats = accessStats;
+        this.properties = properties;
+        this.registry = registry;
+        this.loadedCounter = Counter.builder("video.cache.warmup.loads")
+            .description("Cache entries preloaded at startup")
+            .tag("result", "loaded")
+            .register(registry);
+        this.failedCounter = Counter.builder("video.cache.warmup.loads")
+            .description("Cache entries preloaded at startup")
+            .tag("result", "failed")
+            .register(registry);
+        Gauge.builder("video.cache.warmup.progress", this, CacheWarmer::progress)
+            .description("Fraction of planned warm-up loads that have finished")
+            .register(registry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            state = State.SKIPPED;
+            return;
+        }
+        state = State.RUNNING;
+        long start = System.nanoTime();
+        try {
+            List<WarmupTask> tasks = plan();
+            planned.set(tasks.size());
+            logger.info("Warming caches with {} loads", tasks.size());
+            state = load(tasks, start + properties.getTimeout().toNanos()) ? State.COMPLETED : State.TIMED_OUT;
+        } catch (RuntimeException e) {
+            // Warm-up is an optimization; a pod with cold caches still serves correctly
+            logger.warn("Cache warm-up failed: {}", e.getMessage());
+            state = State.FAILED;
+        } finally {
+            duration = Duration.ofNanos(System.nanoTime() - start);
+            Timer.builder("video.cache.warmup.duration")
+                .description("Time from start of warm-up until readiness")
+                .tag("result", state.name().toLowerCase())
+                .register(registry)
+                .record(duration);
+        }
+        logger.info("Cache warm-up {} after {} ms: {} of {} loaded, {} failed",
+            state.name().toLowerCase(), duration.toMillis(), loaded.get(), planned.get(), failed.get());
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = state == State.PENDING || state == State.RUNNING
+            ? Health.outOfService()
+            : Health.up();
+        builder.withDetail("state", state)
+            .withDetail("planned", planned.get())
+            .withDetail("loaded", loaded.get())
+            .withDetail("failed", failed.get());
+        if (duration != null) {
+            builder.withDetail("durationMs", duration.toMillis());
+        }
+        return builder.build();
+    }
+
+    State getState() {
+        return state;
+    }
+
+    private List<WarmupTask> plan() {
+        List<WarmupTask> tasks = new ArrayList<>();
+        for (String scope : accessStats.hottestScopes(properties.getMaxTenants())) {
+            UUID tenantId = tenantOf(scope);
+            if (tenantId == null && !ListCacheKeys.GLOBAL_SCOPE.equals(scope)) {
+                continue;
+            }
+            for (String member : accessStats.hottest(scope, AccessStatsRecorder.KIND_VIDEO, properties.getTopVideos())) {
+                UUID videoId = uuidOrNull(member);
+                if (videoId != null) {
+                    tasks.add(new WarmupTask(tenantId, () -> videoService.getVideo(videoId)));
+                }
+            }
+            for (String member : accessStats.hottest(scope, AccessStatsRecorder.KIND_CATEGORY_PAGE, properties.getTopPages())) {
+                String[] parts = member.split(":", 3);
+                UUID categoryId = parts.length == 3 ? uuidOrNull(parts[0]) : null;
+                if (categoryId != null && isNumber(parts[1]) && isNumber(parts[2])) {
+                    int page = Integer.parseInt(parts[1]);
+                    int size = Integer.parseInt(parts[2]);
+                    tasks.add(new WarmupTask(tenantId, () -> videoService.findVideosByCategory(categoryId, page, size)));
+                }
+            }
+            for (String member : accessStats.hottest(scope, AccessStatsRecorder.KIND_TAG_PAGE, properties.getTopPages())) {
+                String[] parts = member.split(":", 3);
+                if (parts.length == 3 && isNumber(parts[0]) && isNumber(parts[1])) {
+                    int page = Integer.parseInt(parts[0]);
+                    int size = Integer.parseInt(parts[1]);
+                    String tag = parts[2];
+                    tasks.add(new WarmupTask(tenantId, () -> videoService.findVideosByTag(tag, page, size)));
+                }
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * @return false if the deadline passed before all loads finished
+     */
+    private boolean load(List<WarmupTask> tasks, long deadlineNanos) {
+        int parallelism = Math.max(1, properties.getParallelism());
+        Semaphore permits = new Semaphore(parallelism);
+        try {
+            for (WarmupTask task : tasks) {
+                long remaining = deadlineNanos - System.nanoTime();
+                if (remaining <= 0 || !permits.tryAcquire(remaining, TimeUnit.NANOSECONDS)) {
+                    return false;
+                }
+                task.start().whenComplete((result, error) -> {
+                    if (error == null) {
+                        loaded.incrementAndGet();
+                        loadedCounter.increment();
+                    } else {
+                        failed.incrementAndGet();
+                        failedCounter.increment();
+                    }
+                    permits.release();
+                });
+            }
+            return permits.tryAcquire(parallelism, Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private double progress() {
+        int total = planned.get();
+        if (total == 0) {
+            return state == State.PENDING || state == State.RUNNING ? 0.0 : 1.0;
+        }
+        return (double) (loaded.get() + failed.get()) / total;
+    }
+
+    private static UUID tenantOf(String scope) {
+        return ListCacheKeys.GLOBAL_SCOPE.equals(scope) ? null : uuidOrNull(scope);
+    }
+
+    private static boolean isNumber(String value) {
+        return !value.isEmpty() && value.length() < 10 && value.chars().allMatch(Character::isDigit);
+    }
+
+    private static UUID uuidOrNull(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * One service call, started under the tenant context it was recorded in.
+     */
+    private static final class WarmupTask {
+
+        private final UUID tenantId;
+        private final Supplier<CompletableFuture<?>> loader;
+
+        WarmupTask(UUID tenantId, Supplier<CompletableFuture<?>> loader) {
+            this.tenantId = tenantId;
+            this.loader = loader;
+        }
+
+        CompletableFuture<?> start() {
+            // The async executor's task decorator copies the context set here onto the worker thread
+            if (tenantId != null) {
+                TenantContextHolder.setTenantId(tenantId);
+            }
+            try {
+                return loader.get();
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            } finally {
+                TenantContextHolder.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.streamflix.video.infrastructure.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Access statistics recording and the startup cache warm-up that reads them.
+ */
+@ConfigurationProperties(prefix = "app.cache.warmup")
+public class CacheWarmupProperties {
+
+    private boolean enabled = true;
+
+    /** Record access statistics; pods that only read them can turn this off. */
+    private boolean recordingEnabled = true;
+
+    /** Tenants warmed, hottest first. */
+    private int maxTenants = 20;
+
+    /** Videos preloaded per tenant. */
+    private int topVideos = 200;
+
+    /** Category pages and tag pages preloaded per tenant, each. */
+    private int topPages = 50;
+
+    /** Loads running at the same time. */
+    private int parallelism = 8;
+
+    /** Readiness turns UP after this even if warm-up has not finished. */
+    private Duration timeout = Duration.ofSeconds(60);
+
+    /** Distinct keys buffered between two flushes to Redis; further keys are dropped until the next flush. */
+    private int maxBufferedKeys = 20_000;
+
+    /** Entries kept per tenant and kind in each daily statistics set. */
+    private int maxTrackedKeys = 5_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isRecordingEnabled() {
+        return recordingEnabled;
+    }
+
+    public void setRecordingEnabled(boolean recordingEnabled) {
+        this.recordingEnabled = recordingEnabled;
+    }
+
+    public int getMaxTenants() {
+        return maxTenants;
+    }
+
+    public void setMaxTenants(int maxTenants) {
+        this.maxTenants = maxTenants;
+    }
+
+    public int getTopVideos() {
+        return topVideos;
+    }
+
+    public void setTopVideos(int topVideos) {
+        this.topVideos = topVideos;
+    }
+
+    public int getTopPages() {
+        return topPages;
+    }
+
+    public void setTopPages(int topPages) {
+        this.topPages = topPages;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public int getMaxBufferedKeys() {
+        return maxBufferedKeys;
+    }
+
+    public void setMaxBufferedKeys(int maxBufferedKeys) {
+        this.maxBufferedKeys = maxBufferedKeys;
+    }
+
+    public int getMaxTrackedKeys() {
+        return maxTrackedKeys;
+    }
+
+    public void setMaxTrackedKeys(int maxTrackedKeys) {
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+}
@@ -0,0 +1,14 @@
+package com.streamflix.video.infrastructure.cache;
+
+/**
+ * Entity types whose identifiers are tracked by {@link EntityExistenceGuard}.
+ */
+public enum CachedEntityType {
+    VIDEO,
+    CATEGORY,
+    THUMBNAIL;
+
+    String keyPart() {
+        return name().toLowerCase();
+    }
+}
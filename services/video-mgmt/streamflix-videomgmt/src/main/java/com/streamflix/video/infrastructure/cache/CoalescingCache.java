@@ -0,0 +1,334 @@
+package com.streamflix.video.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Decorates a cache so that {@code @Cacheable(sync = true)} loads are coalesced per key, and
+ * optionally refreshed in the background shortly before the Redis entry expires.
+ * <p>
+ * Early refresh follows the probabilistic scheme from "Optimal Probabilistic Cache Stampede Prevention":
+ * a hit triggers a reload when {@code now - loadTime * beta * ln(random) >= expiry}, so keys that are
+ * read often and are expensive to load get refreshed first. Expiry is only known for entries this pod
+ * loaded itself, which for a hot key is every pod that serves it.
+ * <p>
+ * Only caches with a registered {@link CacheReloader} are refreshed early. Spring's value loader is
+ * never called a second time: it belongs to the request that missed and has already run once.
+ * <p>
+ * Empty results ({@code null} or an empty {@code Optional}) are never stored.
+ */
+public class CoalescingCache implements Cache, LoadedValueSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoalescingCache.class);
+
+    private final Cache target;
+    private final RequestCoalescer coalescer;
+    private final CacheTierMetrics metrics;
+    private final Executor refreshExecutor;
+    private final RedisCacheWriter.TtlFunction ttlFunction;
+    private final boolean coalescingEnabled;
+    private final double earlyRefreshBeta;
+    private final com.github.benmanes.caffeine.cache.Cache<String, LoadStamp> loadStamps;
+    private volatile CacheReloader reloader;
+
+    /**
+     * @param ttlFunction TTL of the underlying Redis cache, or null to disable early refresh for this cache
+     */
+    public CoalescingCache(Cache target,
+                           RequestCoalescer coalescer,
+                           CacheTierMetrics metrics,
+                           Executor refreshExecutor,
+                           RedisCacheWriter.TtlFunction ttlFunction,
+                           CacheLoadProperties properties) {
+        this.target = target;
+        this.coalescer = coalescer;
+        this.metrics = metrics;
+        this.refreshExecutor = refreshExecutor;
+        this.ttlFunction = ttlFunction;
+        this.coalescingEnabled = properties.isCoalescingEnabled();
+        this.earlyRefreshBeta = properties.getEarlyRefreshBeta();
+        this.loadStamps = properties.isEarlyRefreshEnabled() && ttlFunction != null
+            ? Caffeine.newBuilder()
+                .maximumSize(properties.getEarlyRefreshMaxKeys())
+                .expireAfter(new StampExpiry())
+                .build()
+            : null;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return target.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return target.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Supplier<Object> loader = () -> call(key, valueLoader);
+        ValueWrapper cached = target.get(key);
+        if (cached != null) {
+            maybeRefreshEarly(key);
+            return (T) cached.get();
+        }
+        return (T) load(key, loader);
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return target.retrieve(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        CompletableFuture<?> lookup = target.retrieve(key);
+        if (lookup == null) {
+            lookup = CompletableFuture.completedFuture(target.get(key));
+        }
+        return lookup.thenCompose(result -> {
+            if (result == null) {
+                return loadAsync(key, valueLoader);
+            }
+            maybeRefreshEarly(key);
+            return CompletableFuture.completedFuture((T) (result instanceof ValueWrapper wrapper ? wrapper.get() : result));
+        });
+    }
+
+    /**
+     * Enables early refresh of this cache's entries, each reloaded by {@code reloader}.
+     */
+    void setReloader(CacheReloader reloader) {
+        this.reloader = reloader;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (isEmpty(value)) {
+            evict(key);
+            return;
+        }
+        target.put(key, value);
+        if (loadStamps != null) {
+            // Keep the measured load time, the entry's expiry starts over
+            loadStamps.asMap().computeIfPresent(localKey(key),
+                (k, stamp) -> LoadStamp.of(ttlFunction.getTimeToLive(key, value), stamp.loadNanos));
+        }
+    }
+
+    /**
+     * Like {@link #put}, for a value loaded rather than written; see {@link TwoTierCache#fill}.
+     */
+    @Override
+    public void fill(Object key, Object value) {
+        if (isEmpty(value)) {
+            return;
+        }
+        LoadedValueSink.fill(target, key, value);
+        if (loadStamps != null) {
+            loadStamps.asMap().computeIfPresent(localKey(key),
+                (k, stamp) -> LoadStamp.of(ttlFunction.getTimeToLive(key, value), stamp.loadNanos));
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if (isEmpty(value)) {
+            return target.get(key);
+        }
+        return target.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        target.evict(key);
+        forgetStamp(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        forgetStamp(key);
+        return target.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        target.clear();
+        if (loadStamps != null) {
+            loadStamps.invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean invalidate() {
+        if (loadStamps != null) {
+            loadStamps.invalidateAll();
+        }
+        return target.invalidate();
+    }
+
+    private Object load(Object key, Supplier<Object> loader) {
+        Supplier<Object> timedLoader = () -> {
+            long start = System.nanoTime();
+            Object value = loader.get();
+            store(key, value, System.nanoTime() - start);
+            return value;
+        };
+        return coalescingEnabled ? coalescer.execute(getName(), localKey(key), timedLoader) : timedLoader.get();
+    }
+
+    private <T> CompletableFuture<T> loadAsync(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        Supplier<CompletableFuture<T>> timedLoader = () -> {
+            long start = System.nanoTime();
+            return valueLoader.get().thenApply(value -> {
+                store(key, value, System.nanoTime() - start);
+                return value;
+            });
+        };
+        return coalescingEnabled ? coalescer.executeAsync(getName(), localKey(key), timedLoader) : timedLoader.get();
+    }
+
+    private void store(Object key, Object value, long loadNanos) {
+        if (isEmpty(value)) {
+            return;
+        }
+        LoadedValueSink.fill(target, key, value);
+        if (loadStamps != null) {
+            LoadStamp stamp = LoadStamp.of(ttlFunction.getTimeToLive(key, value), loadNanos);
+            if (stamp != null) {
+                loadStamps.put(localKey(key), stamp);
+            }
+        }
+    }
+
+    private void maybeRefreshEarly(Object key) {
+        CacheReloader reloader = this.reloader;
+        if (loadStamps == null || reloader == null) {
+            return;
+        }
+        String localKey = localKey(key);
+        LoadStamp stamp = loadStamps.getIfPresent(localKey);
+        if (stamp == null || !stamp.isDueForRefresh(earlyRefreshBeta)) {
+            return;
+        }
+        // Removing the stamp claims the refresh; the reload stamps the entry again
+        if (!loadStamps.asMap().remove(localKey, stamp) || coalescer.isInFlight(getName(), localKey)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(key, () -> reloader.reload(key));
+                    metrics.recordEarlyRefresh(getName(), CacheTierMetrics.REFRESH_COMPLETED);
+                } catch (RuntimeException e) {
+                    logger.warn("Early refresh of {} in cache '{}' failed: {}", localKey, getName(), e.getMessage());
+                    metrics.recordEarlyRefresh(getName(), CacheTierMetrics.REFRESH_FAILED);
+                }
+            });
+            metrics.recordEarlyRefresh(getName(), CacheTierMetrics.REFRESH_SCHEDULED);
+        } catch (RejectedExecutionException e) {
+            // Refresh is best effort; the entry is reloaded on its regular miss instead
+            metrics.recordEarlyRefresh(getName(), CacheTierMetrics.REFRESH_REJECTED);
+        }
+    }
+
+    private void forgetStamp(Object key) {
+        if (loadStamps != null) {
+            loadStamps.invalidate(localKey(key));
+        }
+    }
+
+    private static Object call(Object key, Callable<?> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    private static boolean isEmpty(Object value) {
+        return value == null || (value instanceof Optional<?> optional && optional.isEmpty());
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    /**
+     * When an entry loaded by this pod expires in Redis, and how long loading it took.
+     */
+    static final class LoadStamp {
+
+        final long expiresAtNanos;
+        final long loadNanos;
+
+        private LoadStamp(long expiresAtNanos, long loadNanos) {
+            this.expiresAtNanos = expiresAtNanos;
+            this.loadNanos = loadNanos;
+        }
+
+        /**
+         * @return The stamp, or null for entries without a finite TTL
+         */
+        static LoadStamp of(Duration ttl, long loadNanos) {
+            if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+                return null;
+            }
+            return new LoadStamp(System.nanoTime() + ttl.toNanos(), loadNanos);
+        }
+
+        boolean isDueForRefresh(double beta) {
+            double random = ThreadLocalRandom.current().nextDouble();
+            double headStart = random > 0 ? -loadNanos * beta * Math.log(random) : Double.MAX_VALUE;
+            return System.nanoTime() + headStart >= expiresAtNanos;
+        }
+    }
+
+    /**
+     * Drops a stamp when the Redis entry it describes expires.
+     */
+    private static final class StampExpiry implements Expiry<String, LoadStamp> {
+
+        @Override
+        public long expireAfterCreate(String key, LoadStamp stamp, long currentTime) {
+            return Math.max(0, stamp.expiresAtNanos - System.nanoTime());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, LoadStamp stamp, long currentTime, long currentDuration) {
+            return Math.max(0, stamp.expiresAtNanos - System.nanoTime());
+        }
+
+        @Override
+        public long expireAfterRead(String key, LoadStamp stamp, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.streamflix.video.infrastructure.cache;
+
+import com.streamflix.video.infrastructure.config.CacheConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Answers "does this identifier exist?" without the database where possible, so that lookups of
+ * unknown or deleted identifiers do not each cost a query.
+ * <p>
+ * Identifiers recently found missing are remembered for a short time in the {@code missingIds}
+ * cache. Video and category identifiers are additionally checked against a per-tenant
+ * {@link ExistenceFilter}. Both checks only ever say "definitely missing"; everything else
+ * goes to the database as before.
+ */
+@Component
+public class EntityExistenceGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityExistenceGuard.class);
+
+    private final CacheManager cacheManager;
+    private final ExistenceFilter existenceFilter;
+    private final ListCacheKeys listCacheKeys;
+    private final CacheTierMetrics metrics;
+
+    public EntityExistenceGuard(CacheManager cacheManager,
+                                ExistenceFilter existenceFilter,
+                                ListCacheKeys listCacheKeys,
+                                CacheTierMetrics metrics) {
+        this.cacheManager = cacheManager;
+        this.existenceFilter = existenceFilter;
+        this.listCacheKeys = listCacheKeys;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return false if the identifier is known not to exist for the current tenant
+     */
+    public boolean mayExist(CachedEntityType type, UUID id) {
+        if (id == null) {
+            return false;
+        }
+        String scope = listCacheKeys.tenantScope();
+        try {
+            if (missingIds().get(missingKey(scope, type, id)) != null) {
+                metrics.recordLookupGuard("negative", type, "hit");
+                return false;
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Negative cache unavailable for {} {}: {}", type.keyPart(), id, e.getMessage());
+        }
+        return existenceFilter.mightContain(type, scope, id);
+    }
+
+    /**
+     * Remember that a lookup of the identifier found nothing.
+     */
+    public void recordMissing(CachedEntityType type, UUID id) {
+        if (id == null) {
+            return;
+        }
+        try {
+            LoadedValueSink.fill(missingIds(), missingKey(listCacheKeys.tenantScope(), type, id), Boolean.TRUE);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to remember missing {} {}: {}", type.keyPart(), id, e.getMessage());
+        }
+    }
+
+    /**
+     * Make a newly persisted identifier visible to the checks, for its own tenant and for
+     * callers without a tenant context.
+     */
+    public void recordCreated(CachedEntityType type, UUID tenantId, UUID id) {
+        if (id != null) {
+            recordCreated(type, tenantId, List.of(id));
+        }
+    }
+
+    /**
+     * Make identifiers persisted together visible to the checks, as {@link #recordCreated(CachedEntityType, UUID, UUID)}
+     * does one.
+     */
+    public void recordCreated(CachedEntityType type, UUID tenantId, List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Set<String> scopes = new LinkedHashSet<>();
+        scopes.add(listCacheKeys.tenantScope());
+        scopes.add(ListCacheKeys.GLOBAL_SCOPE);
+        if (tenantId != null) {
+            scopes.add(tenantId.toString());
+        }
+        addToScopes(type, scopes, ids);
+
+        // A filter built concurrently may have read the table before this row was committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addToScopes(type, scopes, ids);
+                }
+            });
+        }
+    }
+
+    /**
+     * The existence filter cannot forget identifiers, so deletes are covered by the negative cache.
+     */
+    public void recordDeleted(CachedEntityType type, UUID id) {
+        recordMissing(type, id);
+    }
+
+    private void addToScopes(CachedEntityType type, Set<String> scopes, List<UUID> ids) {
+        for (String scope : scopes) {
+            existenceFilter.addAll(type, scope, ids);
+            for (UUID id : ids) {
+                try {
+                    missingIds().evict(missingKey(scope, type, id));
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to clear missing marker of {} {}: {}", type.keyPart(), id, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private Cache missingIds() {
+        return cacheManager.getCache(CacheConfig.MISSING_IDS_CACHE);
+    }
+
+    private static String missingKey(String scope, CachedEntityType type, UUID id) {
+        return scope + ":" + type.keyPart() + ":" + id;
+    }
+}
@@ -0,0 +1,248 @@
+package com.streamflix.video.infrastructure.cache;
+
+import com.streamflix.video.infrastructure.persistence.JpaCategoryRepository;
+import com.streamflix.video.infrastructure.persistence.JpaVideoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.BitFieldSubCommands;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Bloom filter of existing video and category identifiers, one per tenant scope, stored as a Redis bitmap
+ * so that every pod sees identifiers added by the others.
+ * <p>
+ * The bit just past the filter marks it as complete. Until that bit is set the filter answers
+ * "might exist" for everything and a build is started in the background, which reads all identifiers
+ * of the scope in keyset-paginated batches. Because readiness lives in the same key as the bits,
+ * losing the key to eviction or a flush can only make the filter more permissive, never wrong.
+ * <p>
+ * Bits are never cleared, so removed identifiers turn into false positives and are answered by the
+ * negative cache instead. Deleting the key rebuilds the filter from scratch.
+ */
+@Component
+public class ExistenceFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExistenceFilter.class);
+
+    private static final String KEY_PREFIX = "vm:exists:";
+    private static final String BUILD_LOCK_SUFFIX = ":building";
+    private static final Duration BUILD_LOCK_TTL = Duration.ofMinutes(10);
+    private static final BitFieldSubCommands.BitFieldType BIT = BitFieldSubCommands.BitFieldType.unsigned(1);
+    private static final int IDS_PER_COMMAND = 500;
+    private static final UUID LOWEST_UUID = new UUID(0L, 0L);
+
+    private final StringRedisTemplate redisTemplate;
+    private final JpaVideoRepository videoRepository;
+    private final JpaCategoryRepository categoryRepository;
+    private final CacheTierMetrics metrics;
+    private final Executor maintenanceExecutor;
+    private final boolean enabled;
+    private final long bitCount;
+    private final int hashCount;
+    private final int buildBatchSize;
+    private final Set<String> buildsInProgress = ConcurrentHashMap.newKeySet();
+
+    public ExistenceFilter(StringRedisTemplate redisTemplate,
+                           JpaVideoRepository videoRepository,
+                           JpaCategoryRepository categoryRepository,
+                           CacheTierMetrics metrics,
+                           ExistenceFilterProperties properties,
+                           @Qualifier("cacheMaintenanceExecutor") Executor maintenanceExecutor) {
+        this.redisTemplate = redisTemplate;
+        this.videoRepository = videoRepository;
+        this.categoryRepository = categoryRepository;
+        this.metrics = metrics;
+        this.maintenanceExecutor = maintenanceExecutor;
+        this.enabled = properties.isFilterEnabled();
+        this.buildBatchSize = properties.getBuildBatchSize();
+
+        // Standard Bloom filter sizing: m = -n ln p / (ln 2)^2, k = m/n ln 2
+        long n = Math.max(1, properties.getExpectedInsertions());
+        double p = properties.getFalsePositiveRate();
+        this.bitCount = Math.max(64, (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2))));
+        this.hashCount = (int) Math.max(1, Math.min(16, Math.round((double) bitCount / n * Math.log(2))));
+        logger.info("Existence filters use {} bits ({} KiB) and {} hashes per tenant and type",
+            bitCount, bitCount / 8 / 1024, hashCount);
+    }
+
+    /**
+     * @return false only when the identifier definitely does not exist in the scope
+     */
+    public boolean mightContain(CachedEntityType type, String scope, UUID id) {
+        if (!enabled || !isTracked(type)) {
+            return true;
+        }
+        String key = filterKey(scope, type);
+        try {
+            BitFieldSubCommands commands = BitFieldSubCommands.create().get(BIT).valueAt(bitCount);
+            for (long offset : offsets(id)) {
+                commands = commands.get(BIT).valueAt(offset);
+            }
+            List<Long> bits = redisTemplate.opsForValue().bitField(key, commands);
+            if (bits == null || bits.isEmpty() || bits.get(0) == 0L) {
+                scheduleBuild(type, scope, key);
+                metrics.recordLookupGuard("filter", type, "not_ready");
+                return true;
+            }
+            for (int i = 1; i < bits.size(); i++) {
+                if (bits.get(i) == 0L) {
+                    metrics.recordLookupGuard("filter", type, "absent");
+                    return false;
+                }
+            }
+            metrics.recordLookupGuard("filter", type, "maybe");
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Existence filter {} unavailable, falling through to the database: {}", key, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * Record a new identifier. Must happen before the identifier can be handed to a reader.
+     */
+    public void add(CachedEntityType type, String scope, UUID id) {
+        if (id != null) {
+            addAll(type, scope, List.of(id));
+        }
+    }
+
+    /**
+     * Record new identifiers, a few hundred per command.
+     */
+    public void addAll(CachedEntityType type, String scope, List<UUID> ids) {
+        if (!enabled || !isTracked(type) || ids.isEmpty()) {
+            return;
+        }
+        String key = filterKey(scope, type);
+        try {
+            for (int from = 0; from < ids.size(); from += IDS_PER_COMMAND) {
+                setBits(key, ids.subList(from, Math.min(ids.size(), from + IDS_PER_COMMAND)));
+            }
+        } catch (RuntimeException e) {
+            // A filter missing these ids would answer 404 for them, so drop the filter rather than risk that
+            logger.error("Failed to add {} ids to existence filter {}, dropping the filter: {}", ids.size(), key,
+                e.getMessage());
+            try {
+                redisTemplate.delete(key);
+            } catch (RuntimeException ignored) {
+                // Redis is unreachable, so lookups fail open anyway
+            }
+        }
+    }
+
+    private void scheduleBuild(CachedEntityType type, String scope, String key) {
+        if (!buildsInProgress.add(key)) {
+            return;
+        }
+        try {
+            maintenanceExecutor.execute(() -> {
+                try {
+                    build(type, scope, key);
+                } finally {
+                    buildsInProgress.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            buildsInProgress.remove(key);
+        }
+    }
+
+    private void build(CachedEntityType type, String scope, String key) {
+        String lockKey = key + BUILD_LOCK_SUFFIX;
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, "1", BUILD_LOCK_TTL))) {
+            return;
+        }
+        try {
+            UUID tenantId = ListCacheKeys.GLOBAL_SCOPE.equals(scope) ? null : UUID.fromString(scope);
+            UUID after = LOWEST_UUID;
+            long total = 0;
+            List<UUID> ids;
+            do {
+                ids = nextIds(type, tenantId, after);
+                for (int from = 0; from < ids.size(); from += IDS_PER_COMMAND) {
+                    setBits(key, ids.subList(from, Math.min(ids.size(), from + IDS_PER_COMMAND)));
+                }
+                total += ids.size();
+                if (!ids.isEmpty()) {
+                    after = ids.get(ids.size() - 1);
+                }
+            } while (ids.size() == buildBatchSize);
+
+            redisTemplate.opsForValue().setBit(key, bitCount, true);
+            logger.info("Built {} existence filter for scope {} from {} ids", type.keyPart(), scope, total);
+        } catch (RuntimeException e) {
+            logger.error("Failed to build {} existence filter for scope {}: {}", type.keyPart(), scope, e.getMessage());
+        } finally {
+            redisTemplate.delete(lockKey);
+        }
+    }
+
+    private List<UUID> nextIds(CachedEntityType type, UUID tenantId, UUID after) {
+        PageRequest batch = PageRequest.of(0, buildBatchSize);
+        if (type == CachedEntityType.VIDEO) {
+            return tenantId != null
+                ? videoRepository.findIdsByTenantIdAfter(tenantId, after, batch)
+                : videoRepository.findIdsAfter(after, batch);
+        }
+        return tenantId != null
+            ? categoryRepository.findIdsByTenantIdAfter(tenantId, after, batch)
+            : categoryRepository.findIdsAfter(after, batch);
+    }
+
+    private void setBits(String key, Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        BitFieldSubCommands commands = BitFieldSubCommands.create();
+        for (UUID id : ids) {
+            for (long offset : offsets(id)) {
+                commands = commands.set(BIT).valueAt(offset).to(1);
+            }
+        }
+        redisTemplate.opsForValue().bitField(key, commands);
+    }
+
+    /**
+     * Bit positions for an identifier, using double hashing over two mixed halves of the UUID.
+     */
+    long[] offsets(UUID id) {
+        long h1 = mix(id.getMostSignificantBits() ^ Long.rotateLeft(id.getLeastSignificantBits(), 32));
+        long h2 = mix(id.getLeastSignificantBits() + 0x9E3779B97F4A7C15L) | 1L;
+        long[] offsets = new long[hashCount];
+        for (int i = 0; i < hashCount; i++) {
+            offsets[i] = Math.floorMod(h1 + i * h2, bitCount);
+        }
+        return offsets;
+    }
+
+    private static long mix(long value) {
+        // MurmurHash3 finalizer
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static boolean isTracked(CachedEntityType type) {
+        return type == CachedEntityType.VIDEO || type == CachedEntityType.CATEGORY;
+    }
+
+    private static String filterKey(String scope, CachedEntityType type) {
+        return KEY_PREFIX + scope + ":" + type.keyPart();
+    }
+}
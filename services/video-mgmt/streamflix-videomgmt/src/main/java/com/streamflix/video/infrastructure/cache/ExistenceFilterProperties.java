@@ -0,0 +1,66 @@
+package com.streamflix.video.infrastructure.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the per-tenant existence filters and the TTL of remembered misses.
+ */
+@ConfigurationProperties(prefix = "app.cache.existence")
+public class ExistenceFilterProperties {
+
+    private boolean filterEnabled = true;
+
+    /** Identifiers per tenant and entity type the filter is sized for. */
+    private long expectedInsertions = 1_000_000;
+
+    /** False positive rate at {@code expectedInsertions}; false positives only cost a database lookup. */
+    private double falsePositiveRate = 0.01;
+
+    /** Identifiers read per query while a filter is being built. */
+    private int buildBatchSize = 5_000;
+
+    /** How long an identifier that was not found is answered from the cache. */
+    private Duration negativeTtl = Duration.ofSeconds(60);
+
+    public boolean isFilterEnabled() {
+        return filterEnabled;
+    }
+
+    public void setFilterEnabled(boolean filterEnabled) {
+        this.filterEnabled = filterEnabled;
+    }
+
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public void setExpectedInsertions(long expectedInsertions) {
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public int getBuildBatchSize() {
+        return buildBatchSize;
+    }
+
+    public void setBuildBatchSize(int buildBatchSize) {
+        this.buildBatchSize = buildBatchSize;
+    }
+
+    public Duration getNegativeTtl() {
+        return negativeTtl;
+    }
+
+    public void setNegativeTtl(Duration negativeTtl) {
+        this.negativeTtl = negativeTtl;
+    }
+}
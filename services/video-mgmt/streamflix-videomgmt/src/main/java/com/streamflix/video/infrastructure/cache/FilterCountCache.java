@@ -0,0 +1,68 @@
+package com.streamflix.video.infrastructure.cache;
+
+import com.streamflix.video.infrastructure.config.CacheConfig;
+import com.streamflix.video.presentation.dto.VideoFilterParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recent totals of filtered video listings, per tenant and filter.
+ * <p>
+ * Every count the service obtains, exact or estimated, is kept for {@code app.cache.filter-counts.ttl}
+ * so that further estimated-count requests for the same filter, on any page and in any sort order,
+ * need neither a count query nor planning. Entries are never invalidated: an estimate is allowed
+ * to lag behind inserts and deletes by up to the TTL.
+ */
+@Component
+public class FilterCountCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(FilterCountCache.class);
+
+    private final CacheManager cacheManager;
+    private final ListCacheKeys listCacheKeys;
+    private final FilterCountProperties properties;
+
+    public FilterCountCache(CacheManager cacheManager,
+                            ListCacheKeys listCacheKeys,
+                            FilterCountProperties properties) {
+        this.cacheManager = cacheManager;
+        this.listCacheKeys = listCacheKeys;
+        this.properties = properties;
+    }
+
+    /**
+     * @return The cached total for the filter in the current tenant, or null if none is cached
+     */
+    public Long get(VideoFilterParams filterParams) {
+        try {
+            Cache.ValueWrapper cached = counts().get(listCacheKeys.filterCount(filterParams));
+            // JSON-encoded entries may come back as Integer
+            return cached != null && cached.get() instanceof Number count ? count.longValue() : null;
+        } catch (RuntimeException e) {
+            logger.warn("Filter count cache unavailable: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public void put(VideoFilterParams filterParams, long count) {
+        try {
+            LoadedValueSink.fill(counts(), listCacheKeys.filterCount(filterParams), count);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to cache filter count: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Planner estimates below this are not trusted; counting that few rows is cheap.
+     */
+    public long getExactThreshold() {
+        return properties.getExactThreshold();
+    }
+
+    private Cache counts() {
+        return cacheManager.getCache(CacheConfig.FILTER_COUNTS_CACHE);
+    }
+}
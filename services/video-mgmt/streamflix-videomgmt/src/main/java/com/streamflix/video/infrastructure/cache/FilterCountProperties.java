@@ -0,0 +1,34 @@
+package com.streamflix.video.infrastructure.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Caching of filtered video counts, which estimated-count listings answer from.
+ */
+@ConfigurationProperties(prefix = "app.cache.filter-counts")
+public class FilterCountProperties {
+
+    /** How long a count is reused by estimated-count listings of the same filter. */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /** Planner estimates below this are replaced by an exact count, which is cheap for so few rows. */
+    private long exactThreshold = 1_000;
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public long getExactThreshold() {
+        return exactThreshold;
+    }
+
+    public void setExactThreshold(long exactThreshold) {
+        this.exactThreshold = exactThreshold;
+    }
+}
@@ -0,0 +1,267 @@
+package com.streamflix.video.infrastructure.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.metamodel.mapping.NaturalIdMapping;
+import org.hibernate.metamodel.mapping.SingularAttributeMapping;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.descriptor.java.JavaType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the Hibernate second-level cache of every pod in step with writes made on any of them.
+ * <p>
+ * Hibernate updates the regions of the pod that writes, but the others would serve the old
+ * state until it expires. So once a transaction that updated or deleted a cached entity, or
+ * changed a cached collection, has committed, the entity or the owner of the collection is
+ * published on the invalidation channel and the other pods evict it. When the natural id of a
+ * cached entity changed, or the entity was deleted, its old and new natural id values are
+ * published as well, and only those entries of the natural id region are evicted: the region
+ * also resolves every other tenant's identifier and every user's API key, and wiping it on each
+ * write would send all of them back to the database. Inserts need nothing: no pod can have
+ * cached them yet.
+ * Writes that bypass Hibernate, such as SQL scripts, are only caught up with by the region TTL.
+ */
+@Component
+public class HibernateCacheInvalidation implements PostUpdateEventListener, PostDeleteEventListener,
+        PostCollectionUpdateEventListener, PostCollectionRecreateEventListener, PostCollectionRemoveEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(HibernateCacheInvalidation.class);
+
+    // Invalidations are published under this prefix and the entity name or collection role
+    static final String CACHE_NAME_PREFIX = "hibernate:";
+    // Natural id invalidations are published under the entity's name with this suffix, keyed by
+    // the values of the natural id attributes as a JSON array of strings
+    static final String NATURAL_ID_SUFFIX = "#natural-id";
+
+    private static final TypeReference<List<String>> NATURAL_ID_VALUES = new TypeReference<>() {
+    };
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheInvalidationBroadcaster broadcaster;
+    private final ObjectMapper objectMapper;
+
+    public HibernateCacheInvalidation(EntityManagerFactory entityManagerFactory,
+                                      CacheInvalidationBroadcaster broadcaster,
+                                      ObjectMapper objectMapper) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.broadcaster = broadcaster;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Listen to the writes of the session factory and register its cached entities and
+     * collections for remote invalidations; nothing to do without a second-level cache.
+     */
+    @PostConstruct
+    public void registerListeners() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        if (!sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()) {
+            return;
+        }
+        Cache cache = sessionFactory.getCache();
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.canWriteToCache()) {
+                String entityName = persister.getEntityName();
+                JavaType<Object> idType = idType(persister);
+                broadcaster.register(CACHE_NAME_PREFIX + entityName,
+                    id -> cache.evictEntityData(entityName, idType.fromString(id)),
+                    () -> {
+                        cache.evictEntityData(entityName);
+                        cache.evictNaturalIdData(entityName);
+                    });
+            }
+            if (hasNaturalIdCache(persister)) {
+                String entityName = persister.getEntityName();
+                broadcaster.register(CACHE_NAME_PREFIX + entityName + NATURAL_ID_SUFFIX,
+                    values -> evictNaturalId(sessionFactory, persister, values),
+                    () -> cache.evictNaturalIdData(entityName));
+            }
+        });
+        sessionFactory.getMappingMetamodel().forEachCollectionDescriptor(persister -> {
+            if (persister.hasCache()) {
+                String role = persister.getRole();
+                JavaType<Object> ownerIdType = idType(persister.getOwnerEntityPersister());
+                broadcaster.register(CACHE_NAME_PREFIX + role,
+                    ownerId -> cache.evictCollectionData(role, ownerIdType.fromString(ownerId)),
+                    () -> cache.evictCollectionData(role));
+            }
+        });
+
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_UPDATE, this);
+        listeners.appendListeners(EventType.POST_DELETE, this);
+        listeners.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        listeners.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        listeners.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+        logger.info("Second-level cache invalidations are shared with the other pods");
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        entityChanged(event.getSession(), event.getPersister(), event.getId());
+        naturalIdChanged(event.getSession(), event.getPersister(), event.getOldState(), event.getState());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        entityChanged(event.getSession(), event.getPersister(), event.getId());
+        naturalIdChanged(event.getSession(), event.getPersister(), event.getDeletedState(), null);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        collectionChanged(event);
+    }
+
+    // Published after commit from here rather than by Hibernate's post-commit events
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void entityChanged(EventSource session, EntityPersister persister, Object id) {
+        if (persister.canWriteToCache()) {
+            publishAfterCommit(session, persister.getEntityName(), idType(persister).toString(id));
+        }
+    }
+
+    /**
+     * Publish the natural id values an update moved the entity away from and to, or a delete
+     * freed. Without the old state, as for an update of a detached entity, the values it had are
+     * unknown and the region is cleared instead.
+     * @param newState The state after an update, or null for a delete
+     */
+    private void naturalIdChanged(EventSource session, EntityPersister persister, Object[] oldState, Object[] newState) {
+        if (!hasNaturalIdCache(persister)) {
+            return;
+        }
+        String name = persister.getEntityName() + NATURAL_ID_SUFFIX;
+        if (oldState == null) {
+            session.getActionQueue().registerProcess((success, completedSession) -> {
+                if (success) {
+                    broadcaster.publishClear(CACHE_NAME_PREFIX + name);
+                }
+            });
+            return;
+        }
+        List<String> oldValues = naturalIdValues(persister, oldState);
+        List<String> newValues = newState != null ? naturalIdValues(persister, newState) : null;
+        if (oldValues.equals(newValues)) {
+            return;
+        }
+        publishAfterCommit(session, name, encode(oldValues));
+        if (newValues != null) {
+            publishAfterCommit(session, name, encode(newValues));
+        }
+    }
+
+    private void evictNaturalId(SessionFactoryImplementor sessionFactory, EntityPersister persister, String encoded) {
+        List<SingularAttributeMapping> attributes = persister.getNaturalIdMapping().getNaturalIdAttributes();
+        List<String> values = decode(encoded);
+        Object[] naturalId = new Object[attributes.size()];
+        for (int i = 0; i < naturalId.length; i++) {
+            naturalId[i] = values.get(i) != null ? attributes.get(i).getJavaType().fromString(values.get(i)) : null;
+        }
+        NaturalIdDataAccess access = persister.getNaturalIdMapping().getCacheAccess();
+        // The cache key is built through a session, as Hibernate builds it; this one runs no SQL
+        try (SessionImplementor session = sessionFactory.openTemporarySession()) {
+            access.evict(access.generateCacheKey(naturalId.length == 1 ? naturalId[0] : naturalId,
+                persister.getRootEntityDescriptor().getEntityPersister(), session));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> naturalIdValues(EntityPersister persister, Object[] state) {
+        List<String> values = new ArrayList<>();
+        for (SingularAttributeMapping attribute : persister.getNaturalIdMapping().getNaturalIdAttributes()) {
+            Object value = state[attribute.getStateArrayPosition()];
+            values.add(value != null ? ((JavaType<Object>) attribute.getJavaType()).toString(value) : null);
+        }
+        return values;
+    }
+
+    private String encode(List<String> values) {
+        try {
+            return objectMapper.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode natural id " + values, e);
+        }
+    }
+
+    private List<String> decode(String encoded) {
+        try {
+            return objectMapper.readValue(encoded, NATURAL_ID_VALUES);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed natural id " + encoded, e);
+        }
+    }
+
+    private static boolean hasNaturalIdCache(EntityPersister persister) {
+        NaturalIdMapping naturalIdMapping = persister.getNaturalIdMapping();
+        return naturalIdMapping != null && naturalIdMapping.getCacheAccess() != null;
+    }
+
+    private void collectionChanged(AbstractCollectionEvent event) {
+        Object ownerId = event.getAffectedOwnerIdOrNull();
+        if (ownerId == null) {
+            return;
+        }
+        CollectionPersister persister = event.getSession().getFactory().getMappingMetamodel()
+            .getCollectionDescriptor(event.getCollection().getRole());
+        if (persister.hasCache()) {
+            publishAfterCommit(event.getSession(), persister.getRole(),
+                idType(persister.getOwnerEntityPersister()).toString(ownerId));
+        }
+    }
+
+    private void publishAfterCommit(EventSource session, String name, String key) {
+        session.getActionQueue().registerProcess((success, completedSession) -> {
+            if (success) {
+                broadcaster.publishEvict(CACHE_NAME_PREFIX + name, key);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JavaType<Object> idType(EntityPersister persister) {
+        return (JavaType<Object>) persister.getIdentifierMapping().getJavaType();
+    }
+}
@@ -0,0 +1,398 @@
+package com.streamflix.video.infrastructure.cache;
+
+import com.streamflix.video.domain.Video;
+import com.streamflix.video.infrastructure.config.CacheConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Redis-backed index of which category and tag list-cache entries contain which videos.
+ * <p>
+ * When a list page is loaded, the page key is recorded under its category or tag, and under every
+ * video on the page. When a video changes, only the pages that depend on it are evicted:
+ * <ul>
+ *   <li>pages currently containing the video (its data changed),</li>
+ *   <li>all pages of a category or tag the video joined or left (membership and paging shifted), and</li>
+ *   <li>when the video leaves its lists, as on delete, every page of its categories and tags from the
+ *       first one showing it on (the videos after it move up a row).</li>
+ * </ul>
+ * All index keys are prefixed with the tenant scope, so one tenant's edits never touch another tenant's pages.
+ */
+@Component
+public class ListCacheDependencyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ListCacheDependencyIndex.class);
+
+    private static final String INDEX_PREFIX = "vm:list-idx:";
+    private static final String MEMBER_SEPARATOR = "|";
+
+    /** Index sets outlive the 10 minute list-cache TTL so a live page is never missing from the index. */
+    private static final Duration INDEX_TTL = Duration.ofMinutes(15);
+
+    private final StringRedisTemplate redisTemplate;
+    private final CacheManager cacheManager;
+    private final ListCacheKeys listCacheKeys;
+    private final Counter evictedPages;
+
+    public ListCacheDependencyIndex(StringRedisTemplate redisTemplate,
+                                    CacheManager cacheManager,
+                                    ListCacheKeys listCacheKeys,
+                                    MeterRegistry registry) {
+        this.redisTemplate = redisTemplate;
+        this.cacheManager = cacheManager;
+        this.listCacheKeys = listCacheKeys;
+        this.evictedPages = Counter.builder("video.cache.list.targeted.evictions")
+                .description("List cache pages evicted through the dependency index")
+                .register(registry);
+    }
+
+    /**
+     * Record a freshly loaded category page.
+     */
+    public void recordCategoryPage(UUID categoryId, String pageKey, List<Video> videos) {
+        String scope = listCacheKeys.tenantScope();
+        recordPage(categoryIndexKey(scope, categoryId), scope, CacheConfig.VIDEOS_BY_CATEGORY_CACHE, pageKey, videos);
+    }
+
+    /**
+     * Record a freshly loaded tag page.
+     */
+    public void recordTagPage(String tag, String pageKey, List<Video> videos) {
+        String scope = listCacheKeys.tenantScope();
+        recordPage(tagIndexKey(scope, tag), scope, CacheConfig.VIDEOS_BY_TAG_CACHE, pageKey, videos);
+    }
+
+    /**
+     * Evict the list pages affected by a change to a video.
+     * @param video The video after the change
+     * @param previousCategoryId The category before the change, or null for a new video
+     * @param previousTags The tags before the change, empty for a new video
+     */
+    public void evictForVideo(Video video, UUID previousCategoryId, Set<String> previousTags) {
+        String scope = listCacheKeys.tenantScope();
+        UUID currentCategoryId = video.getCategory() != null ? video.getCategory().getId() : null;
+        Set<String> currentTags = video.getTags();
+
+        Set<String> categoryPages = new HashSet<>();
+        Set<String> tagPages = new HashSet<>();
+
+        try {
+            // Pages that currently show this video
+            if (video.getId() != null) {
+                for (String member : members(videoIndexKey(scope, video.getId()))) {
+                    addPage(member, categoryPages, tagPages);
+                }
+            }
+
+            // Every page of a category the video joined or left
+            if (!Objects.equals(previousCategoryId, currentCategoryId)) {
+                if (previousCategoryId != null) {
+                    categoryPages.addAll(members(categoryIndexKey(scope, previousCategoryId)));
+                }
+                if (currentCategoryId != null) {
+                    categoryPages.addAll(members(categoryIndexKey(scope, currentCategoryId)));
+                }
+            }
+
+            // Every page of a tag the video gained or lost
+            Set<String> changedTags = new HashSet<>(previousTags);
+            changedTags.addAll(currentTags);
+            Set<String> unchangedTags = new HashSet<>(previousTags);
+            unchangedTags.retainAll(currentTags);
+            changedTags.removeAll(unchangedTags);
+            for (String tag : changedTags) {
+                tagPages.addAll(members(tagIndexKey(scope, tag)));
+            }
+        } catch (Exception e) {
+            // Without the index we cannot tell which pages are affected, so fall back to a full flush
+            logger.error("Failed to read list cache index for video {}, clearing list caches: {}",
+                    video.getId(), e.getMessage());
+            clear(CacheConfig.VIDEOS_BY_CATEGORY_CACHE);
+            clear(CacheConfig.VIDEOS_BY_TAG_CACHE);
+            return;
+        }
+
+        evict(CacheConfig.VIDEOS_BY_CATEGORY_CACHE, categoryPages);
+        evict(CacheConfig.VIDEOS_BY_TAG_CACHE, tagPages);
+        logger.debug("Evicted {} category and {} tag pages for video {} in scope {}",
+                categoryPages.size(), tagPages.size(), video.getId(), scope);
+    }
+
+    /**
+     * Evict the list pages affected by a video leaving its lists; see {@link #evictForRemovedVideos}.
+     * @param video The removed video
+     */
+    public void evictForRemovedVideo(Video video) {
+        if (video.getId() != null) {
+            evictForRemovedVideos(List.of(video.getId()));
+        }
+    }
+
+    /**
+     * Evict the list pages affected by videos leaving their lists with their category and tags unchanged,
+     * as on delete, archive or a status change: the pages showing them, and every later page of the same
+     * category or tag, since each video after a removed one moves up a row. Pages before the first one
+     * showing a removed video keep their rows and stay cached.
+     * @param videoIds The removed videos
+     */
+    public void evictForRemovedVideos(Collection<UUID> videoIds) {
+        if (videoIds.isEmpty()) {
+            return;
+        }
+        String scope = listCacheKeys.tenantScope();
+        Set<String> categoryPages = new HashSet<>();
+        Set<String> tagPages = new HashSet<>();
+        try {
+            for (String member : shownPages(scope, videoIds)) {
+                addPage(member, categoryPages, tagPages);
+            }
+            addLaterPages(categoryPages);
+            addLaterPages(tagPages);
+        } catch (Exception e) {
+            logger.error("Failed to read list cache index for {} removed videos, clearing list caches: {}",
+                    videoIds.size(), e.getMessage());
+            clear(CacheConfig.VIDEOS_BY_CATEGORY_CACHE);
+            clear(CacheConfig.VIDEOS_BY_TAG_CACHE);
+            return;
+        }
+
+        evict(CacheConfig.VIDEOS_BY_CATEGORY_CACHE, categoryPages);
+        evict(CacheConfig.VIDEOS_BY_TAG_CACHE, tagPages);
+        logger.debug("Evicted {} category and {} tag pages for {} removed videos in scope {}",
+                categoryPages.size(), tagPages.size(), videoIds.size(), scope);
+    }
+
+    /**
+     * Evict the list pages affected by videos created together: every page of the categories and
+     * tags they joined, each index read once however many of the videos share it.
+     * @param videos The new videos
+     */
+    public void evictForNewVideos(Collection<Video> videos) {
+        Set<UUID> categoryIds = new HashSet<>();
+        Set<String> tags = new HashSet<>();
+        for (Video video : videos) {
+            if (video.getCategory() != null) {
+                categoryIds.add(video.getCategory().getId());
+            }
+            tags.addAll(video.getTags());
+        }
+        // No page shows a new video yet
+        evictForVideos(List.of(), categoryIds, tags);
+    }
+
+    /**
+     * Evict the list pages affected by videos changed together by a bulk request: the pages showing
+     * any of them, read in one pipelined round trip, and every page of the categories and tags they
+     * joined or left, each index read once.
+     * @param videoIds The changed videos
+     * @param changedCategoryIds The categories the videos joined or left
+     * @param changedTags The tags the videos gained or lost
+     */
+    public void evictForVideos(Collection<UUID> videoIds, Set<UUID> changedCategoryIds, Set<String> changedTags) {
+        String scope = listCacheKeys.tenantScope();
+        Set<String> categoryPages = new HashSet<>();
+        Set<String> tagPages = new HashSet<>();
+        try {
+            for (String member : shownPages(scope, videoIds)) {
+                addPage(member, categoryPages, tagPages);
+            }
+            for (UUID categoryId : changedCategoryIds) {
+                categoryPages.addAll(members(categoryIndexKey(scope, categoryId)));
+            }
+            for (String tag : changedTags) {
+                tagPages.addAll(members(tagIndexKey(scope, tag)));
+            }
+        } catch (Exception e) {
+            logger.error("Failed to read list cache index for {} videos, clearing list caches: {}",
+                    videoIds.size(), e.getMessage());
+            clear(CacheConfig.VIDEOS_BY_CATEGORY_CACHE);
+            clear(CacheConfig.VIDEOS_BY_TAG_CACHE);
+            return;
+        }
+
+        evict(CacheConfig.VIDEOS_BY_CATEGORY_CACHE, categoryPages);
+        evict(CacheConfig.VIDEOS_BY_TAG_CACHE, tagPages);
+        logger.debug("Evicted {} category and {} tag pages for {} videos, {} categories and {} tags in scope {}",
+                categoryPages.size(), tagPages.size(), videoIds.size(), changedCategoryIds.size(),
+                changedTags.size(), scope);
+    }
+
+    private void recordPage(String ownerIndexKey, String scope, String cacheName, String pageKey, List<Video> videos) {
+        try {
+            byte[] pageMember = bytes(pageKey);
+            byte[] videoMember = bytes(cacheName + MEMBER_SEPARATOR + pageKey);
+            long ttlSeconds = INDEX_TTL.getSeconds();
+
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                addWithTtl(connection, bytes(ownerIndexKey), pageMember, ttlSeconds);
+                for (Video video : videos) {
+                    if (video.getId() != null) {
+                        addWithTtl(connection, bytes(videoIndexKey(scope, video.getId())), videoMember, ttlSeconds);
+                    }
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            // A missing index entry would leave a stale page behind, so drop the page instead
+            logger.error("Failed to index list cache page {}: {}", pageKey, e.getMessage());
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.evict(pageKey);
+            }
+        }
+    }
+
+    /**
+     * The video index members, {@code cacheName|pageKey}, of every page showing any of the videos,
+     * read in one pipelined round trip.
+     */
+    private List<String> shownPages(String scope, Collection<UUID> videoIds) {
+        if (videoIds.isEmpty()) {
+            return List.of();
+        }
+        List<Object> videoIndexes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (UUID videoId : videoIds) {
+                connection.setCommands().sMembers(bytes(videoIndexKey(scope, videoId)));
+            }
+            return null;
+        });
+        List<String> shown = new ArrayList<>();
+        for (Object members : videoIndexes) {
+            if (members instanceof Collection<?> pages) {
+                pages.forEach(member -> shown.add(String.valueOf(member)));
+            }
+        }
+        return shown;
+    }
+
+    /**
+     * Add to pages of one list cache that show a removed video every cached page of the same category
+     * or tag that ends after the first row any of them starts at.
+     */
+    private void addLaterPages(Set<String> pages) {
+        Map<String, Long> firstRows = new HashMap<>();
+        for (String pageKey : pages) {
+            PageRange range = PageRange.of(pageKey);
+            if (range != null) {
+                firstRows.merge(range.owner(), range.firstRow(), Math::min);
+            }
+        }
+        for (Map.Entry<String, Long> owner : firstRows.entrySet()) {
+            for (String pageKey : members(INDEX_PREFIX + owner.getKey())) {
+                PageRange range = PageRange.of(pageKey);
+                // A page of another size may start before the removed row and still end after it
+                if (range == null || range.endRow() > owner.getValue()) {
+                    pages.add(pageKey);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sort a video index member, {@code cacheName|pageKey}, into the category or tag pages.
+     */
+    private static void addPage(String member, Set<String> categoryPages, Set<String> tagPages) {
+        int separator = member.indexOf(MEMBER_SEPARATOR);
+        if (separator < 0) {
+            return;
+        }
+        String cacheName = member.substring(0, separator);
+        String pageKey = member.substring(separator + 1);
+        if (CacheConfig.VIDEOS_BY_CATEGORY_CACHE.equals(cacheName)) {
+            categoryPages.add(pageKey);
+        } else if (CacheConfig.VIDEOS_BY_TAG_CACHE.equals(cacheName)) {
+            tagPages.add(pageKey);
+        }
+    }
+
+    private static void addWithTtl(RedisConnection connection, byte[] key, byte[] member, long ttlSeconds) {
+        connection.setCommands().sAdd(key, member);
+        connection.keyCommands().expire(key, ttlSeconds);
+    }
+
+    private Set<String> members(String indexKey) {
+        Set<String> members = redisTemplate.opsForSet().members(indexKey);
+        return members != null ? members : Set.of();
+    }
+
+    private void evict(String cacheName, Collection<String> pageKeys) {
+        if (pageKeys.isEmpty()) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        pageKeys.forEach(cache::evict);
+        evictedPages.increment(pageKeys.size());
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private static String videoIndexKey(String scope, UUID videoId) {
+        return INDEX_PREFIX + scope + ":video:" + videoId;
+    }
+
+    private static String categoryIndexKey(String scope, UUID categoryId) {
+        return INDEX_PREFIX + scope + ":category:" + categoryId;
+    }
+
+    private static String tagIndexKey(String scope, String tag) {
+        return INDEX_PREFIX + scope + ":tag:" + tag;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The rows a cached page holds, parsed back from its {@link ListCacheKeys} key,
+     * {@code <owner>:<page>:<size>}. The owner, {@code <scope>:category:<id>} or {@code <scope>:tag:<tag>},
+     * names the page's index set after {@link #INDEX_PREFIX}.
+     */
+    private record PageRange(String owner, long firstRow, long endRow) {
+
+        /**
+         * @return The range, or null for a key not in the page key format
+         */
+        static PageRange of(String pageKey) {
+            int sizeAt = pageKey.lastIndexOf(':');
+            int pageAt = sizeAt > 0 ? pageKey.lastIndexOf(':', sizeAt - 1) : -1;
+            if (pageAt <= 0) {
+                return null;
+            }
+            try {
+                long page = Long.parseLong(pageKey.substring(pageAt + 1, sizeAt));
+                long size = Long.parseLong(pageKey.substring(sizeAt + 1));
+                return new PageRange(pageKey.substring(0, pageAt), page * size, (page + 1) * size);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.streamflix.video.infrastructure.cache;
+
+import com.streamflix.video.infrastructure.multitenancy.TenantContextHolder;
+import com.streamflix.video.presentation.dto.VideoFilterParams;
+import org.springframework.stereotype.Component;
+
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Builds tenant-scoped keys for the category and tag list caches and the filter count cache.
+ * Referenced from {@code @Cacheable} key expressions as {@code @listCacheKeys}, and used by
+ * {@link ListCacheDependencyIndex} so that recorded keys match the ones Spring caches under.
+ */
+@Component("listCacheKeys")
+public class ListCacheKeys {
+
+    static final String GLOBAL_SCOPE = "global";
+
+    // Page keys end in ":<page>:<size>", which ListCacheDependencyIndex parses back
+    public String categoryPage(UUID categoryId, int page, int size) {
+        return tenantScope() + ":category:" + categoryId + ":" + page + ":" + size;
+    }
+
+    public String tagPage(String tag, int page, int size) {
+        return tenantScope() + ":tag:" + tag + ":" + page + ":" + size;
+    }
+
+    /**
+     * Key of a filter's total, which does not depend on page or sort order. Title, search and language
+     * match case-insensitively and tags match any-of, so neither case nor tag order matter either.
+     */
+    public String filterCount(VideoFilterParams params) {
+        return tenantScope() + ":count:" + lowerCase(params.getTitle())
+            + ":" + params.isFuzzyTitle()
+            + ":" + lowerCase(params.getSearch())
+            + ":" + params.getCategoryId()
+            + ":" + params.getYear()
+            + ":" + params.getMinYear()
+            + ":" + params.getMaxYear()
+            + ":" + lowerCase(params.getLanguage())
+            + ":" + params.getStatus()
+            + ":" + (params.getTags() != null ? new TreeSet<>(params.getTags()) : null);
+    }
+
+    /**
+     * The tenant the current request runs for, or a shared scope for calls outside a tenant context.
+     */
+    public String tenantScope() {
+        UUID tenantId = TenantContextHolder.getTenantIdOptional();
+        return tenantId != null ? tenantId.toString() : GLOBAL_SCOPE;
+    }
+
+    private static String lowerCase(String value) {
+        return value != null ? value.toLowerCase() : null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.streamflix.video.infrastructure.cache;
+
+import org.springframework.cache.Cache;
+
+/**
+ * A cache layer that takes fills: values stored because they were just loaded, which unlike writes
+ * need no cross-pod invalidation (see {@link TwoTierCache}). Each layer {@link TwoTierCacheManager}
+ * builds implements it and hands the fill on to the layer below.
+ */
+public interface LoadedValueSink {
+
+    /**
+     * Store a value that was just loaded because no tier had it.
+     */
+    void fill(Object key, Object value);
+
+    /**
+     * Fill an entry of any cache: through its layers when it takes fills, as a plain put otherwise.
+     */
+    static void fill(Cache cache, Object key, Object value) {
+        if (cache instanceof LoadedValueSink sink) {
+            sink.fill(key, value);
+        } else {
+            cache.put(key, value);
+        }
+    }
+}
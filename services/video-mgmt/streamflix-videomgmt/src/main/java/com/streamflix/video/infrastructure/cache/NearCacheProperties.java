@@ -0,0 +1,73 @@
+package com.streamflix.video.infrastructure.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for the in-process (L1) cache tier that sits in front of Redis.
+ * Only cache names listed under {@code caches} get a local tier; all others go straight to Redis.
+ */
+@ConfigurationProperties(prefix = "app.cache.near")
+public class NearCacheProperties {
+
+    private boolean enabled = true;
+
+    private String invalidationChannel = "streamflix:video-mgmt:cache-invalidation";
+
+    private Map<String, CacheSpec> caches = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    public void setInvalidationChannel(String invalidationChannel) {
+        this.invalidationChannel = invalidationChannel;
+    }
+
+    public Map<String, CacheSpec> getCaches() {
+        return caches;
+    }
+
+    public void setCaches(Map<String, CacheSpec> caches) {
+        this.caches = caches;
+    }
+
+    /**
+     * Bounds for a single local cache.
+     * Weight is measured in videos: a single video entry weighs 1, a list page weighs its element count,
+     * so the bound caps both the number of entries and the amount of entity data held on the heap.
+     */
+    public static class CacheSpec {
+
+        private long maxWeight = 50_000;
+
+        private Duration ttl = Duration.ofSeconds(30);
+
+        public long getMaxWeight() {
+            return maxWeight;
+        }
+
+        public void setMaxWeight(long maxWeight) {
+            this.maxWeight = maxWeight;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
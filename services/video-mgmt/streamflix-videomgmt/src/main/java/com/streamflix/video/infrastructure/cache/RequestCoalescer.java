@@ -0,0 +1,114 @@
+package com.streamflix.video.infrastructure.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Per-pod single-flight: concurrent callers asking for the same key share one load.
+ * The first caller runs the loader; everyone arriving while it is in flight waits for and
+ * receives the same result, or the same exception. Nothing is retained once the load completes.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final CacheTierMetrics metrics;
+
+    public RequestCoalescer(CacheTierMetrics metrics, MeterRegistry registry) {
+        this.metrics = metrics;
+        Gauge.builder("video.cache.inflight.loads", inFlight, ConcurrentMap::size)
+            .description("Loads currently being shared between concurrent callers")
+            .register(registry);
+    }
+
+    /**
+     * Run the loader, or wait for an identical load already running on this pod.
+     * @param flightName Cache or query name, used to namespace keys and tag metrics
+     * @param key Key identifying identical loads within the name
+     * @param loader Produces the value; its exceptions are rethrown to every caller
+     * @return The loaded value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String flightName, String key, Supplier<T> loader) {
+        String flightKey = flightName + ':' + key;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            metrics.recordCoalescedWaiter(flightName);
+            return (T) await(existing);
+        }
+
+        try {
+            T value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #execute}: callers arriving while a load is in flight get its future.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeAsync(String flightName, String key, Supplier<CompletableFuture<T>> loader) {
+        String flightKey = flightName + ':' + key;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            metrics.recordCoalescedWaiter(flightName);
+            return (CompletableFuture<T>) existing;
+        }
+
+        flight.whenComplete((value, error) -> inFlight.remove(flightKey, flight));
+        try {
+            loader.get().whenComplete((value, error) -> {
+                if (error != null) {
+                    flight.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+                } else {
+                    flight.complete(value);
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+        }
+        return (CompletableFuture<T>) flight;
+    }
+
+    /**
+     * Whether a load for the key is currently running on this pod.
+     */
+    public boolean isInFlight(String flightName, String key) {
+        return inFlight.containsKey(flightName + ':' + key);
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shared load", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Shared load failed", cause);
+        }
+    }
+}
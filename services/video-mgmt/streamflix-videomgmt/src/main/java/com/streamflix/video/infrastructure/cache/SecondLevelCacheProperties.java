@@ -0,0 +1,40 @@
+package com.streamflix.video.infrastructure.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Bounds for the regions of the Hibernate second-level cache, which hold tenants, categories
+ * and users on each pod's heap (see SecondLevelCacheConfig).
+ */
+@ConfigurationProperties(prefix = "app.cache.second-level")
+public class SecondLevelCacheProperties {
+
+    /**
+     * Entries per region; an entity, a natural id or a user's roles each count as one.
+     */
+    private long maxEntries = 10_000;
+
+    /**
+     * Time after which an entry is reloaded. Writes through Hibernate evict entries on every pod
+     * straight away; this only bounds staleness after writes that bypass it, such as SQL scripts.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+}
@@ -0,0 +1,32 @@
+package com.streamflix.video.infrastructure.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The outermost layer of {@link TwoTierCacheManager}'s caches. Besides puts and evictions, fills made
+ * inside a transaction wait for it to commit too, since the value may have been read from rows the
+ * transaction wrote.
+ */
+class TransactionAwareCache extends TransactionAwareCacheDecorator implements LoadedValueSink {
+
+    TransactionAwareCache(Cache targetCache) {
+        super(targetCache);
+    }
+
+    @Override
+    public void fill(Object key, Object value) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    LoadedValueSink.fill(getTargetCache(), key, value);
+                }
+            });
+        } else {
+            LoadedValueSink.fill(getTargetCache(), key, value);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.streamflix.video.infrastructure.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Cache with an in-process (L1) tier in front of a shared Redis (L2) cache.
+ * Reads are served from the local tier when possible; every write or eviction goes to Redis
+ * first, then updates the local tier and broadcasts an invalidation to the other pods.
+ * Local keys use the same string form Redis uses, so remote invalidations can match them.
+ * <p>
+ * A fill, storing a value just loaded because no tier had it, is not a write: it changes no data,
+ * and any copy another pod holds was already invalidated by the write that made it stale. Fills
+ * go through {@link #fill} and broadcast nothing, leaving {@link #put} to {@code @CachePut}.
+ */
+public class TwoTierCache implements Cache, LoadedValueSink {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private final Cache redisCache;
+    private final CacheInvalidationBroadcaster broadcaster;
+    private final CacheTierMetrics metrics;
+
+    public TwoTierCache(String name,
+                        com.github.benmanes.caffeine.cache.Cache<String, Object> localCache,
+                        Cache redisCache,
+                        CacheInvalidationBroadcaster broadcaster,
+                        CacheTierMetrics metrics) {
+        this.name = name;
+        this.localCache = localCache;
+        this.redisCache = redisCache;
+        this.broadcaster = broadcaster;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return redisCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object local = getLocal(key);
+        if (local != null) {
+            return new SimpleValueWrapper(local);
+        }
+
+        ValueWrapper remote = redisCache.get(key);
+        Object value = remote != null ? remote.get() : null;
+        recordRemote(key, value);
+        return remote;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        fill(key, value);
+        return value;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        Object local = getLocal(key);
+        if (local != null) {
+            return CompletableFuture.completedFuture(new SimpleValueWrapper(local));
+        }
+
+        CompletableFuture<?> remote = redisCache.retrieve(key);
+        if (remote == null) {
+            return null;
+        }
+        return remote.thenApply(result -> {
+            Object value = result instanceof ValueWrapper wrapper ? wrapper.get() : result;
+            recordRemote(key, value);
+            return result;
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        Object local = getLocal(key);
+        if (local != null) {
+            return CompletableFuture.completedFuture((T) local);
+        }
+
+        // Redis cannot tell us whether this was a hit or a load, so only the local tier is counted here
+        return redisCache.retrieve(key, valueLoader).thenApply(value -> {
+            if (value != null) {
+                localCache.put(localKey(key), value);
+            }
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        redisCache.put(key, value);
+        if (value != null) {
+            localCache.put(localKey(key), value);
+        } else {
+            localCache.invalidate(localKey(key));
+        }
+        broadcaster.publishEvict(name, localKey(key));
+    }
+
+    /**
+     * Store a loaded value in both tiers without broadcasting, as for a fill.
+     */
+    @Override
+    public void fill(Object key, Object value) {
+        redisCache.put(key, value);
+        if (value != null) {
+            localCache.put(localKey(key), value);
+        } else {
+            localCache.invalidate(localKey(key));
+        }
+    }
+
+    // Only stores what no pod can hold yet, so like a fill it broadcasts nothing
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = redisCache.putIfAbsent(key, value);
+        Object current = existing != null ? existing.get() : value;
+        if (current != null) {
+            localCache.put(localKey(key), current);
+        } else {
+            localCache.invalidate(localKey(key));
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        redisCache.evict(key);
+        localCache.invalidate(localKey(key));
+        broadcaster.publishEvict(name, localKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = redisCache.evictIfPresent(key);
+        localCache.invalidate(localKey(key));
+        broadcaster.publishEvict(name, localKey(key));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        redisCache.clear();
+        localCache.invalidateAll();
+        broadcaster.publishClear(name);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = redisCache.invalidate();
+        localCache.invalidateAll();
+        broadcaster.publishClear(name);
+        return invalidated;
+    }
+
+    /**
+     * Drop a single entry from the local tier only, in response to a remote invalidation.
+     */
+    void evictLocal(String key) {
+        localCache.invalidate(key);
+    }
+
+    /**
+     * Drop all entries from the local tier only, in response to a remote clear.
+     */
+    void clearLocal() {
+        localCache.invalidateAll();
+    }
+
+    private Object getLocal(Object key) {
+        Object local = localCache.getIfPresent(localKey(key));
+        if (local != null) {
+            metrics.recordHit(name, CacheTierMetrics.TIER_LOCAL);
+        } else {
+            metrics.recordMiss(name, CacheTierMetrics.TIER_LOCAL);
+        }
+        return local;
+    }
+
+    private void recordRemote(Object key, Object value) {
+        if (value != null) {
+            metrics.recordHit(name, CacheTierMetrics.TIER_REDIS);
+            localCache.put(localKey(key), value);
+        } else {
+            metrics.recordMiss(name, CacheTierMetrics.TIER_REDIS);
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
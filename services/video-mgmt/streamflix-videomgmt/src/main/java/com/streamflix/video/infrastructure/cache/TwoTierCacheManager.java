@@ -0,0 +1,111 @@
+package com.streamflix.video.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * CacheManager that layers an in-process tier on top of the Redis caches named in
+ * {@link NearCacheProperties}. Every cache it hands out is transaction-aware, so puts, evictions
+ * and the resulting cross-pod invalidations only happen after the surrounding transaction commits,
+ * and coalesces concurrent loads of the same key (see {@link CoalescingCache}).
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoTierCacheManager.class);
+
+    private final CacheManager redisCacheManager;
+    private final NearCacheProperties properties;
+    private final CacheInvalidationBroadcaster broadcaster;
+    private final CacheTierMetrics metrics;
+    private final CacheLoadProperties loadProperties;
+    private final RequestCoalescer coalescer;
+    private final Executor refreshExecutor;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CoalescingCache> coalescingCaches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager redisCacheManager,
+                               NearCacheProperties properties,
+                               CacheInvalidationBroadcaster broadcaster,
+                               CacheTierMetrics metrics,
+                               CacheLoadProperties loadProperties,
+                               RequestCoalescer coalescer,
+                               Executor refreshExecutor) {
+        this.redisCacheManager = redisCacheManager;
+        this.properties = properties;
+        this.broadcaster = broadcaster;
+        this.metrics = metrics;
+        this.loadProperties = loadProperties;
+        this.coalescer = coalescer;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache redisCache = redisCacheManager.getCache(name);
+        if (redisCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> new TransactionAwareCache(coalesce(decorate(redisCache), redisCache)));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    /**
+     * Lets the named cache refresh its entries early, each reloaded by {@code reloader}.
+     * Caches without a reloader are only loaded on a miss.
+     */
+    public void registerReloader(String cacheName, CacheReloader reloader) {
+        getCache(cacheName);
+        CoalescingCache cache = coalescingCaches.get(cacheName);
+        if (cache == null) {
+            throw new IllegalArgumentException("No cache named '" + cacheName + "'");
+        }
+        cache.setReloader(reloader);
+    }
+
+    private Cache coalesce(Cache cache, Cache redisCache) {
+        // Early refresh needs to know when the shared entry expires, which only Redis caches can tell
+        CoalescingCache coalescing = new CoalescingCache(cache, coalescer, metrics, refreshExecutor,
+            redisCache instanceof RedisCache rc ? rc.getCacheConfiguration().getTtlFunction() : null,
+            loadProperties);
+        coalescingCaches.put(redisCache.getName(), coalescing);
+        return coalescing;
+    }
+
+    private Cache decorate(Cache redisCache) {
+        NearCacheProperties.CacheSpec spec = properties.getCaches().get(redisCache.getName());
+        if (!properties.isEnabled() || spec == null) {
+            return redisCache;
+        }
+
+        com.github.benmanes.caffeine.cache.Cache<String, Object> localCache = Caffeine.newBuilder()
+            .maximumWeight(spec.getMaxWeight())
+            .weigher((String key, Object value) -> value instanceof Collection<?> values ? Math.max(1, values.size()) : 1)
+            .expireAfterWrite(spec.getTtl())
+            .recordStats()
+            .build();
+
+        TwoTierCache cache = new TwoTierCache(redisCache.getName(), localCache, redisCache, broadcaster, metrics);
+        broadcaster.register(cache);
+        metrics.monitorLocalCache(redisCache.getName(), localCache);
+        logger.info("Enabled local cache tier for '{}' (maxWeight={}, ttl={})",
+            redisCache.getName(), spec.getMaxWeight(), spec.getTtl());
+        return cache;
+    }
+}
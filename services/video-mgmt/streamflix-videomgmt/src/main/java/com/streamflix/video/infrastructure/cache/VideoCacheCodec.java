@@ -0,0 +1,566 @@
+package com.streamflix.video.infrastructure.cache;
+
+import com.streamflix.video.domain.Category;
+import com.streamflix.video.domain.Thumbnail;
+import com.streamflix.video.domain.Video;
+import com.streamflix.video.domain.VideoStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Redis value serializer with a compact binary encoding for {@link Video}, {@link Category} and
+ * {@link Thumbnail} values, for lists and pages of them, and for an {@link Optional} of one.
+ * <p>
+ * Binary entries start with a three byte header: a marker byte, the schema version and a flags byte.
+ * Entries without the marker are handed to the JSON serializer, so values written before the codec
+ * was introduced, or by pods running with {@code app.cache.codec.format=json}, stay readable.
+ * Entries from a newer schema version are reported as a cache miss rather than an error, which keeps
+ * a rollback from failing requests while the newer entries expire.
+ * <p>
+ * Values of any other type are always written as JSON.
+ */
+public class VideoCacheCodec implements RedisSerializer<Object> {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoCacheCodec.class);
+
+    /** Cannot start a JSON document, which makes binary and JSON entries distinguishable. */
+    static final byte MARKER = (byte) 0xB5;
+
+    /** Bump when the encoding changes, and keep decoding every older version. */
+    static final int SCHEMA_VERSION = 1;
+
+    private static final int HEADER_LENGTH = 3;
+    private static final int FLAG_DEFLATED = 0x01;
+
+    private static final int TYPE_VIDEO = 1;
+    private static final int TYPE_CATEGORY = 2;
+    private static final int TYPE_THUMBNAIL = 3;
+    private static final int TYPE_LIST = 4;
+    private static final int TYPE_PAGE = 5;
+    private static final int TYPE_OPTIONAL = 6;
+
+    // Category references inside one value: a page of a category repeats the same category for every video
+    private static final int CATEGORY_NULL = 0;
+    private static final int CATEGORY_INLINE = 1;
+    private static final int CATEGORY_BACK_REFERENCE = 2;
+
+    private static final int VIDEO_CONTAINS_PERSONAL_DATA = 0x01;
+    private static final int VIDEO_ANONYMIZED = 0x02;
+    private static final int VIDEO_ARCHIVED = 0x04;
+
+    private static final int THUMBNAIL_DEFAULT = 0x01;
+    private static final int THUMBNAIL_PRIMARY = 0x02;
+
+    // Identifiers and audit timestamps have no setters on the entities
+    private static final Field VIDEO_ID = accessibleField(Video.class, "id");
+    private static final Field VIDEO_CREATED_AT = accessibleField(Video.class, "createdAt");
+    private static final Field VIDEO_UPDATED_AT = accessibleField(Video.class, "updatedAt");
+    private static final Field CATEGORY_ID = accessibleField(Category.class, "id");
+    private static final Field THUMBNAIL_ID = accessibleField(Thumbnail.class, "id");
+
+    private final CacheCodecProperties.Format format;
+    private final boolean compressionEnabled;
+    private final int compressionThreshold;
+    private final RedisSerializer<Object> jsonSerializer;
+
+    public VideoCacheCodec(CacheCodecProperties properties) {
+        this(properties, new GenericJackson2JsonRedisSerializer());
+    }
+
+    VideoCacheCodec(CacheCodecProperties properties, RedisSerializer<Object> jsonSerializer) {
+        this.format = properties.getFormat();
+        this.compressionEnabled = properties.isCompressionEnabled();
+        this.compressionThreshold = properties.getCompressionThreshold();
+        this.jsonSerializer = jsonSerializer;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        if (format == CacheCodecProperties.Format.JSON || !isBinaryEncodable(value)) {
+            return jsonSerializer.serialize(value);
+        }
+
+        try {
+            byte[] body = encode(value);
+            int flags = 0;
+            if (compressionEnabled && body.length > compressionThreshold) {
+                byte[] deflated = deflate(body);
+                if (deflated.length < body.length) {
+                    body = deflated;
+                    flags |= FLAG_DEFLATED;
+                }
+            }
+
+            byte[] entry = new byte[HEADER_LENGTH + body.length];
+            entry[0] = MARKER;
+            entry[1] = (byte) SCHEMA_VERSION;
+            entry[2] = (byte) flags;
+            System.arraycopy(body, 0, entry, HEADER_LENGTH, body.length);
+            return entry;
+        } catch (IOException e) {
+            throw new SerializationException("Could not encode cache value of type " + value.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MARKER) {
+            return jsonSerializer.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH) {
+            throw new SerializationException("Truncated binary cache entry");
+        }
+
+        int version = bytes[1] & 0xFF;
+        if (version > SCHEMA_VERSION) {
+            logger.debug("Ignoring cache entry written with schema version {} (this build reads up to {})",
+                    version, SCHEMA_VERSION);
+            return null;
+        }
+
+        int flags = bytes[2] & 0xFF;
+        InputStream body = new ByteArrayInputStream(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+        if ((flags & FLAG_DEFLATED) != 0) {
+            body = new InflaterInputStream(body);
+        }
+
+        try (DataInputStream in = new DataInputStream(body)) {
+            return readValue(in, new ArrayList<>());
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Could not decode binary cache entry (schema version " + version + ")", e);
+        }
+    }
+
+    private static boolean isBinaryEncodable(Object value) {
+        if (value instanceof Optional<?> optional) {
+            return optional.isEmpty() || isEntity(optional.get());
+        }
+        if (value instanceof Page<?> page) {
+            return allEntities(page.getContent());
+        }
+        if (value instanceof List<?> list) {
+            return allEntities(list);
+        }
+        return isEntity(value);
+    }
+
+    private static boolean allEntities(Collection<?> values) {
+        for (Object value : values) {
+            if (!isEntity(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isEntity(Object value) {
+        return value instanceof Video || value instanceof Category || value instanceof Thumbnail;
+    }
+
+    // --- Encoding ---
+
+    private static byte[] encode(Object value) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            writeValue(out, value, new HashMap<>());
+        }
+        return buffer.toByteArray();
+    }
+
+    private static void writeValue(DataOutputStream out, Object value, Map<UUID, Integer> categories) throws IOException {
+        if (value instanceof Video video) {
+            out.writeByte(TYPE_VIDEO);
+            writeVideo(out, video, categories);
+        } else if (value instanceof Category category) {
+            out.writeByte(TYPE_CATEGORY);
+            writeCategoryReference(out, category, categories);
+        } else if (value instanceof Thumbnail thumbnail) {
+            out.writeByte(TYPE_THUMBNAIL);
+            writeThumbnail(out, thumbnail);
+        } else if (value instanceof Page<?> page) {
+            out.writeByte(TYPE_PAGE);
+            writePageable(out, page.getPageable());
+            writeVarLong(out, page.getTotalElements());
+            writeElements(out, page.getContent(), categories);
+        } else if (value instanceof List<?> list) {
+            out.writeByte(TYPE_LIST);
+            writeElements(out, list, categories);
+        } else if (value instanceof Optional<?> optional) {
+            // Service methods returning CompletableFuture<Optional<T>> cache the Optional itself
+            out.writeByte(TYPE_OPTIONAL);
+            out.writeBoolean(optional.isPresent());
+            if (optional.isPresent()) {
+                writeValue(out, optional.get(), categories);
+            }
+        } else {
+            throw new IOException("Unsupported cache value type " + value.getClass().getName());
+        }
+    }
+
+    private static void writeElements(DataOutputStream out, List<?> elements, Map<UUID, Integer> categories) throws IOException {
+        writeVarInt(out, elements.size());
+        for (Object element : elements) {
+            writeValue(out, element, categories);
+        }
+    }
+
+    private static void writeVideo(DataOutputStream out, Video video, Map<UUID, Integer> categories) throws IOException {
+        writeUuid(out, video.getId());
+        writeString(out, video.getTitle());
+        writeString(out, video.getDescription());
+        writeUuid(out, video.getTenantId());
+        writeUuid(out, video.getUserId());
+        writeString(out, video.getStatus() != null ? video.getStatus().name() : null);
+        writeNullableInt(out, video.getReleaseYear());
+        writeString(out, video.getLanguage());
+        writeDateTime(out, video.getCreatedAt());
+        writeDateTime(out, video.getUpdatedAt());
+
+        int flags = 0;
+        if (video.isContainsPersonalData()) flags |= VIDEO_CONTAINS_PERSONAL_DATA;
+        if (video.isAnonymized()) flags |= VIDEO_ANONYMIZED;
+        if (video.isArchived()) flags |= VIDEO_ARCHIVED;
+        out.writeByte(flags);
+        writeDateTime(out, video.getArchivedAt());
+        writeString(out, video.getArchiveStorageLocation());
+        writeString(out, video.getStorageLocation());
+
+        Set<String> tags = video.getTags();
+        writeVarInt(out, tags.size());
+        for (String tag : tags) {
+            writeString(out, tag);
+        }
+
+        writeCategoryReference(out, video.getCategory(), categories);
+
+        List<Thumbnail> thumbnails = video.getThumbnails();
+        writeVarInt(out, thumbnails.size());
+        for (Thumbnail thumbnail : thumbnails) {
+            writeThumbnail(out, thumbnail);
+        }
+    }
+
+    private static void writeCategoryReference(DataOutputStream out, Category category, Map<UUID, Integer> categories) throws IOException {
+        if (category == null) {
+            out.writeByte(CATEGORY_NULL);
+            return;
+        }
+        Integer index = category.getId() != null ? categories.get(category.getId()) : null;
+        if (index != null) {
+            out.writeByte(CATEGORY_BACK_REFERENCE);
+            writeVarInt(out, index);
+            return;
+        }
+        out.writeByte(CATEGORY_INLINE);
+        writeUuid(out, category.getId());
+        writeString(out, category.getName());
+        writeString(out, category.getDescription());
+        writeUuid(out, category.getTenantId());
+        if (category.getId() != null) {
+            categories.put(category.getId(), categories.size());
+        }
+    }
+
+    private static void writeThumbnail(DataOutputStream out, Thumbnail thumbnail) throws IOException {
+        writeUuid(out, thumbnail.getId());
+        writeString(out, thumbnail.getUrl());
+        writeNullableInt(out, thumbnail.getWidth());
+        writeNullableInt(out, thumbnail.getHeight());
+        writeUuid(out, thumbnail.getTenantId());
+        int flags = 0;
+        if (thumbnail.isDefault()) flags |= THUMBNAIL_DEFAULT;
+        if (thumbnail.isPrimary()) flags |= THUMBNAIL_PRIMARY;
+        out.writeByte(flags);
+    }
+
+    private static void writePageable(DataOutputStream out, Pageable pageable) throws IOException {
+        out.writeBoolean(pageable.isPaged());
+        if (pageable.isUnpaged()) {
+            return;
+        }
+        writeVarInt(out, pageable.getPageNumber());
+        writeVarInt(out, pageable.getPageSize());
+        List<Sort.Order> orders = pageable.getSort().toList();
+        writeVarInt(out, orders.size());
+        for (Sort.Order order : orders) {
+            writeString(out, order.getProperty());
+            out.writeBoolean(order.isAscending());
+        }
+    }
+
+    // --- Decoding ---
+
+    private static Object readValue(DataInputStream in, List<Category> categories) throws IOException {
+        int type = in.readUnsignedByte();
+        return switch (type) {
+            case TYPE_VIDEO -> readVideo(in, categories);
+            case TYPE_CATEGORY -> readCategoryReference(in, categories);
+            case TYPE_THUMBNAIL -> readThumbnail(in);
+            case TYPE_LIST -> readElements(in, categories);
+            case TYPE_PAGE -> {
+                Pageable pageable = readPageable(in);
+                long total = readVarLong(in);
+                yield new PageImpl<>(readElements(in, categories), pageable, total);
+            }
+            case TYPE_OPTIONAL -> in.readBoolean() ? Optional.of(readValue(in, categories)) : Optional.empty();
+            default -> throw new IOException("Unknown value type " + type);
+        };
+    }
+
+    private static List<Object> readElements(DataInputStream in, List<Category> categories) throws IOException {
+        int size = readVarInt(in);
+        List<Object> elements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            elements.add(readValue(in, categories));
+        }
+        return elements;
+    }
+
+    private static Video readVideo(DataInputStream in, List<Category> categories) throws IOException {
+        UUID id = readUuid(in);
+        String title = readString(in);
+        String description = readString(in);
+        UUID tenantId = readUuid(in);
+        UUID userId = readUuid(in);
+        Video video = new Video(title, description, tenantId, userId);
+        setField(VIDEO_ID, video, id);
+
+        String status = readString(in);
+        video.setStatus(status != null ? VideoStatus.valueOf(status) : null);
+        video.setReleaseYear(readNullableInt(in));
+        video.setLanguage(readString(in));
+        LocalDateTime createdAt = readDateTime(in);
+        LocalDateTime updatedAt = readDateTime(in);
+
+        int flags = in.readUnsignedByte();
+        video.setContainsPersonalData((flags & VIDEO_CONTAINS_PERSONAL_DATA) != 0);
+        video.setAnonymized((flags & VIDEO_ANONYMIZED) != 0);
+        video.setArchived((flags & VIDEO_ARCHIVED) != 0);
+        video.setArchivedAt(readDateTime(in));
+        video.setArchiveStorageLocation(readString(in));
+        video.setStorageLocation(readString(in));
+
+        int tagCount = readVarInt(in);
+        Set<String> tags = new HashSet<>(Math.max(4, tagCount * 2));
+        for (int i = 0; i < tagCount; i++) {
+            tags.add(readString(in));
+        }
+        video.setTags(tags);
+
+        video.setCategory(readCategoryReference(in, categories));
+
+        int thumbnailCount = readVarInt(in);
+        for (int i = 0; i < thumbnailCount; i++) {
+            video.addThumbnail(readThumbnail(in));
+        }
+
+        // The setters above touch updatedAt, so the audit timestamps are restored last
+        setField(VIDEO_CREATED_AT, video, createdAt);
+        setField(VIDEO_UPDATED_AT, video, updatedAt);
+        return video;
+    }
+
+    private static Category readCategoryReference(DataInputStream in, List<Category> categories) throws IOException {
+        int kind = in.readUnsignedByte();
+        switch (kind) {
+            case CATEGORY_NULL:
+                return null;
+            case CATEGORY_BACK_REFERENCE:
+                return categories.get(readVarInt(in));
+            case CATEGORY_INLINE:
+                UUID id = readUuid(in);
+                Category category = new Category(readString(in), readString(in), readUuid(in));
+                setField(CATEGORY_ID, category, id);
+                if (id != null) {
+                    categories.add(category);
+                }
+                return category;
+            default:
+                throw new IOException("Unknown category reference kind " + kind);
+        }
+    }
+
+    private static Thumbnail readThumbnail(DataInputStream in) throws IOException {
+        UUID id = readUuid(in);
+        String url = readString(in);
+        Integer width = readNullableInt(in);
+        Integer height = readNullableInt(in);
+        Thumbnail thumbnail = new Thumbnail(url, width, height, readUuid(in));
+        setField(THUMBNAIL_ID, thumbnail, id);
+        int flags = in.readUnsignedByte();
+        thumbnail.setDefault((flags & THUMBNAIL_DEFAULT) != 0);
+        thumbnail.setPrimary((flags & THUMBNAIL_PRIMARY) != 0);
+        return thumbnail;
+    }
+
+    private static Pageable readPageable(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return Pageable.unpaged();
+        }
+        int page = readVarInt(in);
+        int size = readVarInt(in);
+        int orderCount = readVarInt(in);
+        List<Sort.Order> orders = new ArrayList<>(orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            String property = readString(in);
+            orders.add(in.readBoolean() ? Sort.Order.asc(property) : Sort.Order.desc(property));
+        }
+        return PageRequest.of(page, size, Sort.by(orders));
+    }
+
+    // --- Primitives ---
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    /** Length is written as {@code utf8Length + 1} so that zero can stand for null. */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, utf8.length + 1);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length - 1];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getMostSignificantBits());
+            out.writeLong(value.getLeastSignificantBits());
+        }
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+    }
+
+    private static void writeNullableInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeVarInt(out, value);
+        }
+    }
+
+    private static Integer readNullableInt(DataInputStream in) throws IOException {
+        return in.readBoolean() ? readVarInt(in) : null;
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            writeVarInt(out, value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        long epochSecond = in.readLong();
+        return LocalDateTime.ofEpochSecond(epochSecond, readVarInt(in), ZoneOffset.UTC);
+    }
+
+    private static byte[] deflate(byte[] body) throws IOException {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 2);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(buffer, deflater)) {
+            out.write(body);
+        } finally {
+            deflater.end();
+        }
+        return buffer.toByteArray();
+    }
+
+    private static Field accessibleField(Class<?> type, String name) {
+        try {
+            Field field = type.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Missing field " + type.getSimpleName() + "." + name, e);
+        }
+    }
+
+    private static void setField(Field field, Object target, Object value) {
+        try {
+            field.set(target, value);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot set " + field.getName() + " on " + target.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.streamflix.video.infrastructure.catalogimport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Splits a catalogue file into numbered records, leaving their parsing and validation to the
+ * workers where it can be: NDJSON lines are handed on as text, so a malformed line rejects only
+ * itself, while CSV records, which may span lines, are parsed here into their header's fields.
+ */
+final class CatalogFileReader implements Closeable {
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    /**
+     * A record of the file: the text of an NDJSON line or the fields of a CSV record.
+     */
+    record RawRecord(long rowNo, String line, JsonNode fields) {
+    }
+
+    private final BufferedReader reader;
+    private final MappingIterator<JsonNode> csvRecords;
+    private long rowNo;
+
+    private CatalogFileReader(BufferedReader reader, MappingIterator<JsonNode> csvRecords) {
+        this.reader = reader;
+        this.csvRecords = csvRecords;
+    }
+
+    static CatalogFileReader open(Path file, CatalogImport.Format format) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        if (format == CatalogImport.Format.NDJSON) {
+            return new CatalogFileReader(reader, null);
+        }
+        try {
+            MappingIterator<JsonNode> records = CSV_MAPPER.readerFor(JsonNode.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues(reader);
+            return new CatalogFileReader(reader, records);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The next record, or null at the end of the file
+     * @throws IOException if the file cannot be read, or is not CSV where CSV is expected
+     */
+    RawRecord next() throws IOException {
+        if (csvRecords == null) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                rowNo++;
+                if (!line.isBlank()) {
+                    return new RawRecord(rowNo, line, null);
+                }
+            }
+            return null;
+        }
+        try {
+            if (!csvRecords.hasNextValue()) {
+                return null;
+            }
+            return new RawRecord(++rowNo, null, csvRecords.nextValue());
+        } catch (JsonProcessingException e) {
+            throw new IOException("Malformed CSV after row " + rowNo + ": " + e.getOriginalMessage(), e);
+        } catch (RuntimeJsonMappingException e) {
+            throw new IOException("Malformed CSV after row " + rowNo + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (csvRecords != null) {
+            csvRecords.close();
+        }
+        reader.close();
+    }
+}
@@ -0,0 +1,73 @@
+package com.streamflix.video.infrastructure.catalogimport;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The progress of a catalogue import, as last committed.
+ * <p>
+ * Rows are numbered from 1: lines for NDJSON, records after the header for CSV.
+ */
+public record CatalogImport(UUID id,
+                            UUID tenantId,
+                            Format format,
+                            Status status,
+                            long rowsRead,
+                            long rowsStaged,
+                            long rowsRejected,
+                            long rowsMerged,
+                            int attempts,
+                            String error,
+                            LocalDateTime createdAt,
+                            LocalDateTime loadedAt,
+                            LocalDateTime completedAt,
+                            LocalDateTime heartbeatAt) {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    public enum Status {
+        /** Waiting for a thread */
+        PENDING,
+        /** Validating rows into the staging tables */
+        LOADING,
+        /** Merging staged rows into the tenant's tables */
+        MERGING,
+        COMPLETED,
+        FAILED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == FAILED;
+        }
+    }
+
+    /**
+     * A row that was not imported, with the reason.
+     */
+    public record Reject(long rowNo, String error) {
+    }
+
+    /**
+     * @return Rows read per second while loading, up to now if still loading
+     */
+    public double loadRowsPerSecond() {
+        return perSecond(rowsRead, createdAt, loadedAt != null ? loadedAt : heartbeatAt);
+    }
+
+    /**
+     * @return Rows merged per second since loading finished, up to now if still merging
+     */
+    public double mergeRowsPerSecond() {
+        return loadedAt != null ? perSecond(rowsMerged, loadedAt, completedAt != null ? completedAt : heartbeatAt) : 0;
+    }
+
+    private static double perSecond(long rows, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            return 0;
+        }
+        long millis = Duration.between(from, to).toMillis();
+        return millis > 0 ? rows * 1_000.0 / millis : 0;
+    }
+}
@@ -0,0 +1,99 @@
+package com.streamflix.video.infrastructure.catalogimport;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Catalogue imports: files of new videos staged through {@code COPY} and merged into a tenant's
+ * videos in chunks (see V11).
+ */
+@ConfigurationProperties(prefix = "app.catalog-import")
+public class CatalogImportProperties {
+
+    /** Run and resume imports; off where the schema is not migrated, such as under H2. */
+    private boolean enabled = true;
+
+    /** Directory the uploaded files are kept in until their import finishes; shared by all instances. */
+    private String spoolDirectory = System.getProperty("java.io.tmpdir") + "/catalog-imports";
+
+    /** Rows validated by a worker and copied into staging in one transaction. */
+    private int stageBatchSize = 5_000;
+
+    /** Batches validated ahead of the one being copied. */
+    private int pipelineDepth = 4;
+
+    /** Staged rows merged into the tenant's tables per transaction. */
+    private int mergeChunkSize = 5_000;
+
+    /** Time between searches for imports whose instance stopped working on them. */
+    private long resumeIntervalMs = 60_000;
+
+    /** Time without progress after which an unfinished import is taken over by another instance. */
+    private long staleAfterMs = 300_000;
+
+    /** Attempts at an import, the first included, before it fails for good. */
+    private int maxAttempts = 5;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getSpoolDirectory() {
+        return spoolDirectory;
+    }
+
+    public void setSpoolDirectory(String spoolDirectory) {
+        this.spoolDirectory = spoolDirectory;
+    }
+
+    public int getStageBatchSize() {
+        return stageBatchSize;
+    }
+
+    public void setStageBatchSize(int stageBatchSize) {
+        this.stageBatchSize = stageBatchSize;
+    }
+
+    public int getPipelineDepth() {
+        return pipelineDepth;
+    }
+
+    public void setPipelineDepth(int pipelineDepth) {
+        this.pipelineDepth = pipelineDepth;
+    }
+
+    public int getMergeChunkSize() {
+        return mergeChunkSize;
+    }
+
+    public void setMergeChunkSize(int mergeChunkSize) {
+        this.mergeChunkSize = mergeChunkSize;
+    }
+
+    public long getResumeIntervalMs() {
+        return resumeIntervalMs;
+    }
+
+    public void setResumeIntervalMs(long resumeIntervalMs) {
+        this.resumeIntervalMs = resumeIntervalMs;
+    }
+
+    public long getStaleAfterMs() {
+        return staleAfterMs;
+    }
+
+    public void setStaleAfterMs(long staleAfterMs) {
+        this.staleAfterMs = staleAfterMs;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+}
@@ -0,0 +1,417 @@
+package com.streamflix.video.infrastructure.catalogimport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamflix.video.application.VideoEventPublisher;
+import com.streamflix.video.domain.Video;
+import com.streamflix.video.domain.event.VideosCreatedDomainEvent;
+import com.streamflix.video.infrastructure.cache.CachedEntityType;
+import com.streamflix.video.infrastructure.cache.EntityExistenceGuard;
+import com.streamflix.video.infrastructure.cache.ListCacheDependencyIndex;
+import com.streamflix.video.infrastructure.multitenancy.TenantContextHolder;
+import com.streamflix.video.infrastructure.persistence.JpaVideoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Runs one attempt at a catalogue import, from where the last one committed.
+ * <p>
+ * Loading reads the file on this thread and hands batches of records to the worker pool for
+ * parsing and validation, keeping up to {@code pipelineDepth} batches in flight, and copies the
+ * results into the staging tables in file order, one transaction per batch with {@code COPY}.
+ * Merging then moves the staged rows into {@code videos}, {@code video_tags} and {@code thumbnails}
+ * a chunk of rows at a time with set-based {@code INSERT ... SELECT}s. Every transaction also
+ * advances the import's progress and heartbeat, fenced by the attempt number, so an attempt that
+ * another instance has taken over rolls back instead of writing twice.
+ * <p>
+ * The side effects of creating videos, the existence filter, list cache eviction and the created
+ * events, follow each merged chunk as they follow a bulk create; a crash between a chunk's commit
+ * and them loses them for that chunk only.
+ */
+@Component
+public class CatalogImportRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogImportRunner.class);
+
+    private static final String COPY_VIDEOS = "COPY catalog_import_videos "
+        + "(import_id, row_no, id, title, description, category_id, release_year, language) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_TAGS = "COPY catalog_import_tags (import_id, row_no, tag) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_THUMBNAILS = "COPY catalog_import_thumbnails "
+        + "(import_id, row_no, position, id, url, width, height) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_REJECTS = "COPY catalog_import_rejects (import_id, row_no, error) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String CHUNK_END = """
+        SELECT max(row_no) FROM (
+            SELECT row_no FROM catalog_import_videos WHERE import_id = ? AND row_no > ? ORDER BY row_no LIMIT ?) chunk""";
+
+    // A category deleted since validation leaves its videos without one rather than failing the chunk
+    private static final String MERGE_VIDEOS = """
+        INSERT INTO videos (id, title, description, tenant_id, category_id, release_year, language, status,
+                            created_at, updated_at, contains_personal_data, is_anonymized, archived)
+        SELECT s.id, s.title, s.description, ?, c.id, s.release_year, s.language, 'PENDING', ?, ?, false, false, false
+          FROM catalog_import_videos s
+          LEFT JOIN categories c ON c.id = s.category_id AND c.tenant_id = ?
+         WHERE s.import_id = ? AND s.row_no > ? AND s.row_no <= ?
+         ORDER BY s.id
+        RETURNING id""";
+
+    private static final String MERGE_TAGS = """
+        INSERT INTO video_tags (video_id, tag, tenant_id)
+        SELECT v.id, t.tag, ?
+          FROM catalog_import_tags t
+          JOIN catalog_import_videos v ON v.import_id = t.import_id AND v.row_no = t.row_no
+         WHERE t.import_id = ? AND t.row_no > ? AND t.row_no <= ?
+         ORDER BY v.id, t.tag""";
+
+    private static final String MERGE_THUMBNAILS = """
+        INSERT INTO thumbnails (id, video_id, url, width, height, is_default, is_primary, tenant_id)
+        SELECT t.id, v.id, t.url, t.width, t.height, t.position = 0, t.position = 0, ?
+          FROM catalog_import_thumbnails t
+          JOIN catalog_import_videos v ON v.import_id = t.import_id AND v.row_no = t.row_no
+         WHERE t.import_id = ? AND t.row_no > ? AND t.row_no <= ?
+         ORDER BY t.id""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final TransactionTemplate transaction;
+    private final ObjectMapper objectMapper;
+    private final CatalogImportProperties properties;
+    private final AsyncTaskExecutor workers;
+    private final EntityExistenceGuard existenceGuard;
+    private final ListCacheDependencyIndex listCacheIndex;
+    private final VideoEventPublisher eventPublisher;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final JpaVideoRepository videoRepository;
+    private final Counter stagedRows;
+    private final Counter rejectedRows;
+    private final Counter mergedRows;
+
+    public CatalogImportRunner(JdbcTemplate jdbcTemplate,
+                               @Qualifier("dataSource") DataSource dataSource,
+                               PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper,
+                               CatalogImportProperties properties,
+                               @Qualifier("catalogImportWorkerExecutor") AsyncTaskExecutor workers,
+                               EntityExistenceGuard existenceGuard,
+                               ListCacheDependencyIndex listCacheIndex,
+                               VideoEventPublisher eventPublisher,
+                               ApplicationEventPublisher applicationEventPublisher,
+                               JpaVideoRepository videoRepository,
+                               MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.workers = workers;
+        this.existenceGuard = existenceGuard;
+        this.listCacheIndex = listCacheIndex;
+        this.eventPublisher = eventPublisher;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.videoRepository = videoRepository;
+        this.stagedRows = rowCounter(meterRegistry, "staged");
+        this.rejectedRows = rowCounter(meterRegistry, "rejected");
+        this.mergedRows = rowCounter(meterRegistry, "merged");
+    }
+
+    /**
+     * Take an import claimed with the attempt number as far as it goes.
+     * @throws ImportTakenOverException if another attempt has claimed the import meanwhile
+     */
+    void run(UUID importId, int attempt) {
+        Map<String, Object> job = jdbcTemplate.queryForMap(
+            "SELECT tenant_id, format, file_path, status, rows_read, merged_through_row FROM catalog_imports WHERE id = ?",
+            importId);
+        UUID tenantId = (UUID) job.get("tenant_id");
+        CatalogImport.Status status = CatalogImport.Status.valueOf((String) job.get("status"));
+        Path file = Path.of((String) job.get("file_path"));
+        TenantContextHolder.setTenantId(tenantId);
+        try {
+            if (status == CatalogImport.Status.PENDING || status == CatalogImport.Status.LOADING) {
+                advance(importId, attempt, "status = 'LOADING'");
+                load(importId, attempt, tenantId, file, CatalogImport.Format.valueOf((String) job.get("format")),
+                    ((Number) job.get("rows_read")).longValue());
+                advance(importId, attempt, "status = 'MERGING', loaded_at = now()");
+            }
+            merge(importId, attempt, tenantId, ((Number) job.get("merged_through_row")).longValue());
+            transaction.executeWithoutResult(s -> {
+                advance(importId, attempt, "status = 'COMPLETED', completed_at = now()");
+                deleteStaging(importId);
+            });
+            deleteFile(file);
+            logger.info("Catalogue import {} completed", importId);
+        } catch (IOException e) {
+            logger.error("Catalogue import {} failed: {}", importId, e.getMessage());
+            fail(importId, attempt, e.getMessage());
+        } finally {
+            TenantContextHolder.clear();
+        }
+    }
+
+    /**
+     * Mark an import failed for good, unless another attempt owns it, keeping its rejects for the report.
+     */
+    void fail(UUID importId, int attempt, String error) {
+        List<String> files = transaction.execute(s -> {
+            List<String> paths = jdbcTemplate.queryForList("UPDATE catalog_imports SET status = 'FAILED', error = ?, "
+                + "completed_at = now(), heartbeat_at = now() WHERE id = ? AND attempts = ? RETURNING file_path",
+                String.class, error, importId, attempt);
+            if (!paths.isEmpty()) {
+                deleteStaging(importId);
+            }
+            return paths;
+        });
+        files.forEach(file -> deleteFile(Path.of(file)));
+    }
+
+    private void load(UUID importId, int attempt, UUID tenantId, Path file, CatalogImport.Format format, long rowsRead)
+            throws IOException {
+        if (!Files.isReadable(file)) {
+            throw new IOException("The uploaded file " + file + " is no longer available");
+        }
+        Map<UUID, String> categories = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM categories WHERE tenant_id = ?",
+            rs -> { categories.put(rs.getObject(1, UUID.class), rs.getString(2)); }, tenantId);
+        CatalogRecordValidator validator = new CatalogRecordValidator(objectMapper, categories);
+
+        int batchSize = properties.getStageBatchSize();
+        Deque<Future<List<CatalogRow>>> inFlight = new ArrayDeque<>();
+        try (CatalogFileReader reader = CatalogFileReader.open(file, format)) {
+            List<CatalogFileReader.RawRecord> batch = new ArrayList<>(batchSize);
+            CatalogFileReader.RawRecord record;
+            while ((record = reader.next()) != null) {
+                if (record.rowNo() <= rowsRead) {
+                    continue; // Staged or rejected by an earlier attempt
+                }
+                batch.add(record);
+                if (batch.size() == batchSize) {
+                    inFlight.addLast(validate(validator, batch));
+                    batch = new ArrayList<>(batchSize);
+                    if (inFlight.size() > properties.getPipelineDepth()) {
+                        stage(importId, attempt, await(inFlight.removeFirst()));
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                inFlight.addLast(validate(validator, batch));
+            }
+            while (!inFlight.isEmpty()) {
+                stage(importId, attempt, await(inFlight.removeFirst()));
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private Future<List<CatalogRow>> validate(CatalogRecordValidator validator, List<CatalogFileReader.RawRecord> batch) {
+        try {
+            return workers.submit(() -> validator.validate(batch));
+        } catch (TaskRejectedException e) {
+            // Other imports fill the pool; validate here rather than wait
+            return CompletableFuture.completedFuture(validator.validate(batch));
+        }
+    }
+
+    private static List<CatalogRow> await(Future<List<CatalogRow>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while validating catalogue rows", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Copy a validated batch into staging and record that its rows are read, in one transaction.
+     */
+    private void stage(UUID importId, int attempt, List<CatalogRow> rows) {
+        String id = importId.toString();
+        StringBuilder videos = new StringBuilder();
+        StringBuilder tags = new StringBuilder();
+        StringBuilder thumbnails = new StringBuilder();
+        StringBuilder rejects = new StringBuilder();
+        int staged = 0;
+        for (CatalogRow row : rows) {
+            if (row.isRejected()) {
+                csvLine(rejects, id, row.rowNo(), row.error());
+                continue;
+            }
+            staged++;
+            csvLine(videos, id, row.rowNo(), row.id(), row.title(), row.description(), row.categoryId(),
+                row.releaseYear(), row.language());
+            for (String tag : row.tags()) {
+                csvLine(tags, id, row.rowNo(), tag);
+            }
+            for (int position = 0; position < row.thumbnails().size(); position++) {
+                CatalogRow.Thumbnail thumbnail = row.thumbnails().get(position);
+                csvLine(thumbnails, id, row.rowNo(), position, thumbnail.id(), thumbnail.url(), thumbnail.width(),
+                    thumbnail.height());
+            }
+        }
+        int stagedCount = staged;
+        int rejectedCount = rows.size() - staged;
+        long lastRow = rows.get(rows.size() - 1).rowNo();
+        transaction.executeWithoutResult(s -> {
+            copy(COPY_VIDEOS, videos);
+            copy(COPY_TAGS, tags);
+            copy(COPY_THUMBNAILS, thumbnails);
+            copy(COPY_REJECTS, rejects);
+            advance(importId, attempt, "rows_read = " + lastRow + ", rows_staged = rows_staged + " + stagedCount
+                + ", rows_rejected = rows_rejected + " + rejectedCount);
+        });
+        stagedRows.increment(stagedCount);
+        rejectedRows.increment(rejectedCount);
+    }
+
+    private void copy(String sql, CharSequence csv) {
+        if (csv.isEmpty()) {
+            return;
+        }
+        try {
+            // The transaction's connection, so the rows commit with the progress recorded for them
+            PGConnection connection = DataSourceUtils.getConnection(dataSource).unwrap(PGConnection.class);
+            connection.getCopyAPI().copyIn(sql, new StringReader(csv.toString()));
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("COPY into staging failed: " + e.getMessage(), e);
+        }
+    }
+
+    private void merge(UUID importId, int attempt, UUID tenantId, long mergedThroughRow) {
+        long from = mergedThroughRow;
+        Chunk chunk;
+        while ((chunk = mergeChunk(importId, attempt, tenantId, from)) != null) {
+            mergedRows.increment(chunk.videoIds().size());
+            afterMerge(tenantId, chunk);
+            from = chunk.lastRow();
+        }
+    }
+
+    private Chunk mergeChunk(UUID importId, int attempt, UUID tenantId, long from) {
+        return transaction.execute(s -> {
+            Long lastRow = jdbcTemplate.queryForObject(CHUNK_END, Long.class, importId, from, properties.getMergeChunkSize());
+            if (lastRow == null) {
+                return null;
+            }
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<UUID> videoIds = jdbcTemplate.queryForList(MERGE_VIDEOS, UUID.class,
+                tenantId, now, now, tenantId, importId, from, lastRow);
+            jdbcTemplate.update(MERGE_TAGS, tenantId, importId, from, lastRow);
+            jdbcTemplate.update(MERGE_THUMBNAILS, tenantId, importId, from, lastRow);
+            Set<UUID> categoryIds = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT DISTINCT category_id FROM catalog_import_videos "
+                    + "WHERE import_id = ? AND row_no > ? AND row_no <= ? AND category_id IS NOT NULL",
+                UUID.class, importId, from, lastRow));
+            Set<String> tags = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT DISTINCT tag FROM catalog_import_tags WHERE import_id = ? AND row_no > ? AND row_no <= ?",
+                String.class, importId, from, lastRow));
+            advance(importId, attempt, "merged_through_row = " + lastRow + ", rows_merged = rows_merged + " + videoIds.size());
+            return new Chunk(lastRow, videoIds, categoryIds, tags);
+        });
+    }
+
+    private void afterMerge(UUID tenantId, Chunk chunk) {
+        existenceGuard.recordCreated(CachedEntityType.VIDEO, tenantId, chunk.videoIds());
+        listCacheIndex.evictForVideos(List.of(), chunk.categoryIds(), chunk.tags());
+        transaction.executeWithoutResult(s -> {
+            List<Video> videos = videoRepository.findAllById(chunk.videoIds());
+            eventPublisher.publishVideosCreated(videos);
+            applicationEventPublisher.publishEvent(new VideosCreatedDomainEvent(videos));
+        });
+    }
+
+    /**
+     * Apply the assignments to the import and refresh its heartbeat, if the attempt still owns it.
+     */
+    private void advance(UUID importId, int attempt, String assignments) {
+        if (jdbcTemplate.update("UPDATE catalog_imports SET " + assignments + ", heartbeat_at = now() "
+                + "WHERE id = ? AND attempts = ?", importId, attempt) == 0) {
+            throw new ImportTakenOverException(importId, attempt);
+        }
+    }
+
+    private void deleteStaging(UUID importId) {
+        jdbcTemplate.update("DELETE FROM catalog_import_thumbnails WHERE import_id = ?", importId);
+        jdbcTemplate.update("DELETE FROM catalog_import_tags WHERE import_id = ?", importId);
+        jdbcTemplate.update("DELETE FROM catalog_import_videos WHERE import_id = ?", importId);
+    }
+
+    private static void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete imported file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Append a line of PostgreSQL's CSV format, in which an unquoted empty field is NULL.
+     */
+    private static void csvLine(StringBuilder csv, Object... fields) {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            Object field = fields[i];
+            if (field instanceof String text) {
+                csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else if (field != null) {
+                csv.append(field);
+            }
+        }
+        csv.append('\n');
+    }
+
+    private static Counter rowCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("catalog.import.rows")
+            .description("Rows of catalogue imports by outcome")
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+
+    private record Chunk(long lastRow, List<UUID> videoIds, Set<UUID> categoryIds, Set<String> tags) {
+    }
+
+    /**
+     * The import was claimed by a newer attempt, possibly on another instance, while this one ran.
+     */
+    static class ImportTakenOverException extends RuntimeException {
+
+        ImportTakenOverException(UUID importId, int attempt) {
+            super("Catalogue import " + importId + " was taken over from attempt " + attempt);
+        }
+    }
+}
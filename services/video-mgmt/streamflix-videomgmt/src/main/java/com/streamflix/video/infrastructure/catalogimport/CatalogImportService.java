@@ -0,0 +1,184 @@
+package com.streamflix.video.infrastructure.catalogimport;
+
+import com.streamflix.video.domain.TimeOrderedUuids;
+import com.streamflix.video.infrastructure.multitenancy.TenantContextHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Imports a partner's back catalogue from an NDJSON or CSV file, far faster than creating the
+ * videos through the API: the file is spooled to disk, and {@link CatalogImportRunner} validates
+ * it into staging tables with {@code COPY} and merges them into the tenant's tables in chunks.
+ * <p>
+ * Progress is committed with the work it describes. An import whose instance crashed or was
+ * stopped stops refreshing its heartbeat, and the periodic {@link #resumeAbandoned()} of any
+ * instance claims it and carries on from its last commit; the spool directory must therefore be
+ * shared by the instances.
+ */
+@Service
+@EnableConfigurationProperties(CatalogImportProperties.class)
+public class CatalogImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogImportService.class);
+
+    private static final String COLUMNS = "id, tenant_id, format, status, rows_read, rows_staged, rows_rejected, "
+        + "rows_merged, attempts, error, created_at, loaded_at, completed_at, heartbeat_at";
+
+    private static final String UNFINISHED = "status IN ('PENDING', 'LOADING', 'MERGING') "
+        + "AND heartbeat_at < now() - make_interval(secs => ?)";
+
+    private static final RowMapper<CatalogImport> ROW_MAPPER = (rs, rowNum) -> new CatalogImport(
+        rs.getObject("id", UUID.class),
+        rs.getObject("tenant_id", UUID.class),
+        CatalogImport.Format.valueOf(rs.getString("format")),
+        CatalogImport.Status.valueOf(rs.getString("status")),
+        rs.getLong("rows_read"),
+        rs.getLong("rows_staged"),
+        rs.getLong("rows_rejected"),
+        rs.getLong("rows_merged"),
+        rs.getInt("attempts"),
+        rs.getString("error"),
+        toLocalDateTime(rs.getTimestamp("created_at")),
+        toLocalDateTime(rs.getTimestamp("loaded_at")),
+        toLocalDateTime(rs.getTimestamp("completed_at")),
+        toLocalDateTime(rs.getTimestamp("heartbeat_at")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogImportRunner runner;
+    private final CatalogImportProperties properties;
+    private final TaskExecutor executor;
+
+    public CatalogImportService(JdbcTemplate jdbcTemplate,
+                                CatalogImportRunner runner,
+                                CatalogImportProperties properties,
+                                @Qualifier("catalogImportExecutor") TaskExecutor executor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.runner = runner;
+        this.properties = properties;
+        this.executor = executor;
+    }
+
+    /**
+     * Spool a catalogue file and start importing it into the tenant's videos.
+     * @param content The file, read to its end before this returns
+     * @return The new import
+     * @throws IOException if the file cannot be spooled
+     */
+    public CatalogImport start(UUID tenantId, CatalogImport.Format format, InputStream content) throws IOException {
+        if (!properties.isEnabled()) {
+            throw new IllegalStateException("Catalogue imports are disabled");
+        }
+        UUID id = TimeOrderedUuids.next();
+        Path directory = Path.of(properties.getSpoolDirectory());
+        Files.createDirectories(directory);
+        Path file = directory.resolve(id + "." + format.name().toLowerCase(Locale.ROOT));
+        Files.copy(content, file);
+        try {
+            jdbcTemplate.update("INSERT INTO catalog_imports (id, tenant_id, format, file_path, status) "
+                + "VALUES (?, ?, ?, ?, 'PENDING')", id, tenantId, format.name(), file.toString());
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        logger.info("Started catalogue import {} of {} bytes of {} for tenant {}", id, Files.size(file), format, tenantId);
+        submit(id, 1);
+        return jdbcTemplate.queryForObject("SELECT " + COLUMNS + " FROM catalog_imports WHERE id = ?", ROW_MAPPER, id);
+    }
+
+    /**
+     * @return The import, if it belongs to the current tenant or there is none
+     */
+    public Optional<CatalogImport> find(UUID id) {
+        UUID tenantId = TenantContextHolder.getTenantIdOptional();
+        List<CatalogImport> imports = tenantId != null
+            ? jdbcTemplate.query("SELECT " + COLUMNS + " FROM catalog_imports WHERE id = ? AND tenant_id = ?",
+                ROW_MAPPER, id, tenantId)
+            : jdbcTemplate.query("SELECT " + COLUMNS + " FROM catalog_imports WHERE id = ?", ROW_MAPPER, id);
+        return imports.stream().findFirst();
+    }
+
+    /**
+     * @param afterRow The last row of the previous page, or 0 for the first
+     * @return The import's rejected rows after the given one, in file order
+     */
+    public List<CatalogImport.Reject> rejects(UUID id, long afterRow, int limit) {
+        return jdbcTemplate.query("SELECT row_no, error FROM catalog_import_rejects "
+                + "WHERE import_id = ? AND row_no > ? ORDER BY row_no LIMIT ?",
+            (rs, rowNum) -> new CatalogImport.Reject(rs.getLong("row_no"), rs.getString("error")),
+            id, afterRow, limit);
+    }
+
+    /**
+     * Claim the unfinished imports whose heartbeat has stopped, and carry on with them.
+     */
+    @Scheduled(fixedDelayString = "${app.catalog-import.resume-interval-ms:60000}")
+    public void resumeAbandoned() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        double staleSeconds = properties.getStaleAfterMs() / 1000.0;
+        try {
+            for (UUID id : jdbcTemplate.queryForList("SELECT id FROM catalog_imports WHERE " + UNFINISHED,
+                    UUID.class, staleSeconds)) {
+                // Only one instance wins the claim; a runner of an earlier attempt is fenced off by the number
+                List<Integer> claimed = jdbcTemplate.queryForList("UPDATE catalog_imports SET attempts = attempts + 1, "
+                    + "heartbeat_at = now() WHERE id = ? AND " + UNFINISHED + " RETURNING attempts",
+                    Integer.class, id, staleSeconds);
+                if (claimed.isEmpty()) {
+                    continue;
+                }
+                int attempt = claimed.get(0);
+                if (attempt > properties.getMaxAttempts()) {
+                    logger.error("Catalogue import {} failed after {} attempts", id, attempt - 1);
+                    runner.fail(id, attempt, "Gave up after " + (attempt - 1) + " attempts");
+                } else {
+                    logger.info("Resuming catalogue import {}, attempt {}", id, attempt);
+                    submit(id, attempt);
+                }
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Failed to resume abandoned catalogue imports: {}", e.getMessage());
+        }
+    }
+
+    private void submit(UUID id, int attempt) {
+        try {
+            executor.execute(() -> {
+                try {
+                    runner.run(id, attempt);
+                } catch (CatalogImportRunner.ImportTakenOverException e) {
+                    logger.info(e.getMessage());
+                } catch (RuntimeException e) {
+                    logger.error("Catalogue import {} stopped in attempt {}, to be resumed: {}", id, attempt,
+                        e.getMessage(), e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            logger.warn("No thread for catalogue import {}, to be resumed once it is abandoned", id);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,254 @@
+package com.streamflix.video.infrastructure.catalogimport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamflix.video.domain.TimeOrderedUuids;
+import com.streamflix.video.domain.exception.CategoryNotFoundException;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Turns the records of a catalogue file into staged rows with the rules of the bulk create
+ * endpoint, normalising what a partner's export commonly varies in: surrounding whitespace,
+ * numbers written as text, duplicate tags and the case of language codes and category names.
+ * <p>
+ * A record is a JSON object or a CSV record with the same field names. CSV has no arrays, so there
+ * {@code tags} is separated by {@code |} and a single thumbnail is given by {@code thumbnailUrl},
+ * {@code thumbnailWidth} and {@code thumbnailHeight}; NDJSON may use either form. The category is
+ * given by {@code categoryId}, or by {@code category} with its name.
+ * <p>
+ * Thread-safe: workers validate batches of one import concurrently.
+ */
+final class CatalogRecordValidator {
+
+    static final int MAX_TITLE_LENGTH = 255;
+    static final int MAX_DESCRIPTION_LENGTH = 2000;
+    static final int MAX_LANGUAGE_LENGTH = 10;
+    static final int MAX_TAG_LENGTH = 100;
+    static final int MAX_URL_LENGTH = 2048;
+    static final int MAX_THUMBNAILS = 20;
+
+    private static final Pattern TAG_SEPARATOR = Pattern.compile("\\|");
+
+    private final ObjectMapper objectMapper;
+    private final Set<UUID> categoryIds;
+    private final Map<String, UUID> categoriesByName = new HashMap<>();
+
+    /**
+     * @param categories The names of the tenant's categories by identifier
+     */
+    CatalogRecordValidator(ObjectMapper objectMapper, Map<UUID, String> categories) {
+        this.objectMapper = objectMapper;
+        this.categoryIds = Set.copyOf(categories.keySet());
+        categories.forEach((id, name) -> categoriesByName.putIfAbsent(name.trim().toLowerCase(Locale.ROOT), id));
+    }
+
+    List<CatalogRow> validate(List<CatalogFileReader.RawRecord> records) {
+        List<CatalogRow> rows = new ArrayList<>(records.size());
+        for (CatalogFileReader.RawRecord record : records) {
+            rows.add(validate(record));
+        }
+        return rows;
+    }
+
+    CatalogRow validate(CatalogFileReader.RawRecord record) {
+        JsonNode fields = record.fields();
+        if (fields == null) {
+            try {
+                fields = objectMapper.readTree(record.line());
+            } catch (JsonProcessingException e) {
+                return CatalogRow.rejected(record.rowNo(), "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        if (!fields.isObject()) {
+            return CatalogRow.rejected(record.rowNo(), "Row is not a JSON object");
+        }
+        try {
+            return validate(record.rowNo(), fields);
+        } catch (InvalidRowException e) {
+            return CatalogRow.rejected(record.rowNo(), e.getMessage());
+        }
+    }
+
+    private CatalogRow validate(long rowNo, JsonNode fields) {
+        String title = text(fields, "title");
+        if (title == null) {
+            throw new InvalidRowException("Video title cannot be empty");
+        }
+        if (title.length() > MAX_TITLE_LENGTH) {
+            throw new InvalidRowException("Title must be between 1 and " + MAX_TITLE_LENGTH + " characters");
+        }
+        String description = text(fields, "description");
+        if (description != null && description.length() > MAX_DESCRIPTION_LENGTH) {
+            throw new InvalidRowException("Description cannot exceed " + MAX_DESCRIPTION_LENGTH + " characters");
+        }
+        String language = text(fields, "language");
+        if (language != null) {
+            language = language.toLowerCase(Locale.ROOT);
+            if (language.length() > MAX_LANGUAGE_LENGTH) {
+                throw new InvalidRowException("Language code cannot exceed " + MAX_LANGUAGE_LENGTH + " characters");
+            }
+        }
+        Integer releaseYear = integer(fields, "releaseYear");
+        if (releaseYear != null && (releaseYear < 1900 || releaseYear > 2100)) {
+            throw new InvalidRowException("Release year must be between 1900 and 2100");
+        }
+        return new CatalogRow(rowNo, TimeOrderedUuids.next(), title, description, category(fields), releaseYear,
+            language, tags(fields), thumbnails(fields), null);
+    }
+
+    private UUID category(JsonNode fields) {
+        String id = text(fields, "categoryId");
+        if (id != null) {
+            UUID categoryId;
+            try {
+                categoryId = UUID.fromString(id);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidRowException("categoryId is not a UUID: " + id);
+            }
+            if (!categoryIds.contains(categoryId)) {
+                throw new InvalidRowException(new CategoryNotFoundException(categoryId).getMessage());
+            }
+            return categoryId;
+        }
+        String name = text(fields, "category");
+        if (name == null) {
+            return null;
+        }
+        UUID categoryId = categoriesByName.get(name.toLowerCase(Locale.ROOT));
+        if (categoryId == null) {
+            throw new InvalidRowException("Category not found with name: " + name);
+        }
+        return categoryId;
+    }
+
+    private List<String> tags(JsonNode fields) {
+        JsonNode node = fields.get("tags");
+        Set<String> tags = new LinkedHashSet<>();
+        if (node == null || node.isNull()) {
+            return List.of();
+        }
+        if (node.isArray()) {
+            for (JsonNode element : node) {
+                if (!element.isValueNode() || element.isNull() || element.asText().isBlank()) {
+                    throw new InvalidRowException("Tags cannot be empty");
+                }
+                tags.add(element.asText().trim());
+            }
+        } else if (node.isValueNode()) {
+            // Separators at either end or doubled are an export artefact rather than empty tags
+            for (String tag : TAG_SEPARATOR.split(node.asText())) {
+                if (!tag.isBlank()) {
+                    tags.add(tag.trim());
+                }
+            }
+        } else {
+            throw new InvalidRowException("tags must be an array or text");
+        }
+        for (String tag : tags) {
+            if (tag.length() > MAX_TAG_LENGTH) {
+                throw new InvalidRowException("Tags cannot exceed " + MAX_TAG_LENGTH + " characters");
+            }
+        }
+        return List.copyOf(tags);
+    }
+
+    private List<CatalogRow.Thumbnail> thumbnails(JsonNode fields) {
+        JsonNode node = fields.get("thumbnails");
+        List<CatalogRow.Thumbnail> thumbnails = new ArrayList<>();
+        if (node != null && !node.isNull()) {
+            if (!node.isArray()) {
+                throw new InvalidRowException("thumbnails must be an array");
+            }
+            if (node.size() > MAX_THUMBNAILS) {
+                throw new InvalidRowException("A video cannot have more than " + MAX_THUMBNAILS + " thumbnails");
+            }
+            for (JsonNode thumbnail : node) {
+                if (!thumbnail.isObject()) {
+                    throw new InvalidRowException("thumbnails must hold objects");
+                }
+                thumbnails.add(thumbnail(thumbnail, "url", "width", "height"));
+            }
+        } else if (text(fields, "thumbnailUrl") != null) {
+            thumbnails.add(thumbnail(fields, "thumbnailUrl", "thumbnailWidth", "thumbnailHeight"));
+        }
+        return thumbnails;
+    }
+
+    private CatalogRow.Thumbnail thumbnail(JsonNode fields, String urlField, String widthField, String heightField) {
+        String url = text(fields, urlField);
+        if (url == null) {
+            throw new InvalidRowException(urlField + " cannot be empty");
+        }
+        if (url.length() > MAX_URL_LENGTH) {
+            throw new InvalidRowException(urlField + " cannot exceed " + MAX_URL_LENGTH + " characters");
+        }
+        try {
+            URI uri = new URI(url);
+            if (!("http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme()))
+                    || uri.getHost() == null) {
+                throw new InvalidRowException(urlField + " must be an http or https URL: " + url);
+            }
+        } catch (URISyntaxException e) {
+            throw new InvalidRowException(urlField + " is not a valid URL: " + url);
+        }
+        Integer width = integer(fields, widthField);
+        Integer height = integer(fields, heightField);
+        if ((width != null && width <= 0) || (height != null && height <= 0)) {
+            throw new InvalidRowException("Thumbnail dimensions must be positive");
+        }
+        return new CatalogRow.Thumbnail(TimeOrderedUuids.next(), url, width, height);
+    }
+
+    /**
+     * @return The trimmed text of a field, or null if it is missing or blank
+     */
+    private static String text(JsonNode fields, String name) {
+        JsonNode node = fields.get(name);
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        if (!node.isValueNode()) {
+            throw new InvalidRowException(name + " must be text");
+        }
+        String text = node.asText().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static Integer integer(JsonNode fields, String name) {
+        JsonNode node = fields.get(name);
+        if (node != null && node.isIntegralNumber() && node.canConvertToInt()) {
+            return node.intValue();
+        }
+        String text = text(fields, name);
+        if (text == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(text);
+        } catch (NumberFormatException e) {
+            throw new InvalidRowException(name + " must be a whole number: " + text);
+        }
+    }
+
+    /**
+     * Ends the validation of a row with the reason it is rejected.
+     */
+    private static final class InvalidRowException extends RuntimeException {
+
+        InvalidRowException(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
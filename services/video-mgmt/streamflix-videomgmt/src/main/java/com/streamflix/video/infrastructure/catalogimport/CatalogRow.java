@@ -0,0 +1,32 @@
+package com.streamflix.video.infrastructure.catalogimport;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A validated and normalised row of a catalogue file, ready for staging, or the reason it was
+ * rejected. Identifiers are assigned at validation and staged with the row, so a merge repeated
+ * after a crash creates the same videos.
+ */
+record CatalogRow(long rowNo,
+                  UUID id,
+                  String title,
+                  String description,
+                  UUID categoryId,
+                  Integer releaseYear,
+                  String language,
+                  List<String> tags,
+                  List<Thumbnail> thumbnails,
+                  String error) {
+
+    record Thumbnail(UUID id, String url, Integer width, Integer height) {
+    }
+
+    static CatalogRow rejected(long rowNo, String error) {
+        return new CatalogRow(rowNo, null, null, null, null, null, null, List.of(), List.of(), error);
+    }
+
+    boolean isRejected() {
+        return error != null;
+    }
+}
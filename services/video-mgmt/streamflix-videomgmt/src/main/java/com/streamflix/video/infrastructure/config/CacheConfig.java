@@ -1,6 +1,18 @@
 package com.streamflix.video.infrastructure.config;
 
-import org.springframework.cache.CacheManager;
+import com.streamflix.video.infrastructure.cache.CacheCodecProperties;
+import com.streamflix.video.infrastructure.cache.CacheInvalidationBroadcaster;
+import com.streamflix.video.infrastructure.cache.CacheLoadProperties;
+import com.streamflix.video.infrastructure.cache.CacheTierMetrics;
+import com.streamflix.video.infrastructure.cache.CacheWarmupProperties;
+import com.streamflix.video.infrastructure.cache.ExistenceFilterProperties;
+import com.streamflix.video.infrastructure.cache.FilterCountProperties;
+import com.streamflix.video.infrastructure.cache.NearCacheProperties;
+import com.streamflix.video.infrastructure.cache.RequestCoalescer;
+import com.streamflix.video.infrastructure.cache.TwoTierCacheManager;
+import com.streamflix.video.infrastructure.cache.VideoCacheCodec;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.context.annotation.Bean;
@@ -8,40 +20,80 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties({NearCacheProperties.class, CacheCodecProperties.class, CacheLoadProperties.class,
+    ExistenceFilterProperties.class, CacheWarmupProperties.class, FilterCountProperties.class})
 public class CacheConfig {
     public static final String VIDEO_CACHE = "video";
     public static final String VIDEOS_BY_CATEGORY_CACHE = "videosByCategory";
     public static final String VIDEOS_BY_TAG_CACHE = "videosByTag";
+    public static final String MISSING_IDS_CACHE = "missingIds";
+    public static final String FILTER_COUNTS_CACHE = "filterCounts";
 
+    /**
+     * Value encoding for all Redis caches. Reads both the binary and the JSON format,
+     * and writes the one selected by {@code app.cache.codec.format}.
+     */
     @Bean
-    public RedisCacheConfiguration defaultCacheConfig() {
+    public RedisSerializer<Object> cacheValueSerializer(CacheCodecProperties cacheCodecProperties) {
+        return new VideoCacheCodec(cacheCodecProperties);
+    }
+
+    @Bean
+    public RedisCacheConfiguration defaultCacheConfig(RedisSerializer<Object> cacheValueSerializer) {
         return RedisCacheConfiguration.defaultCacheConfig()
             .disableCachingNullValues()
             .serializeValuesWith(RedisSerializationContext.SerializationPair
-                .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                .fromSerializer(cacheValueSerializer));
     }
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        RedisCacheConfiguration defaultConfig = defaultCacheConfig();
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                     RedisCacheConfiguration defaultConfig,
+                                     NearCacheProperties nearCacheProperties,
+                                     CacheInvalidationBroadcaster invalidationBroadcaster,
+                                     CacheTierMetrics cacheTierMetrics,
+                                     CacheLoadProperties cacheLoadProperties,
+                                     ExistenceFilterProperties existenceFilterProperties,
+                                     FilterCountProperties filterCountProperties,
+                                     RequestCoalescer requestCoalescer,
+                                     @Qualifier("cacheRefreshExecutor") Executor cacheRefreshExecutor) {
         Map<String, RedisCacheConfiguration> configs = new HashMap<>();
         configs.put(VIDEO_CACHE, defaultConfig.entryTtl(Duration.ofHours(1)));
         configs.put(VIDEOS_BY_CATEGORY_CACHE, defaultConfig.entryTtl(Duration.ofMinutes(10)));
         configs.put(VIDEOS_BY_TAG_CACHE, defaultConfig.entryTtl(Duration.ofMinutes(10)));
-        return RedisCacheManager.builder(redisConnectionFactory)
+        configs.put(MISSING_IDS_CACHE, defaultConfig.entryTtl(existenceFilterProperties.getNegativeTtl()));
+        configs.put(FILTER_COUNTS_CACHE, defaultConfig.entryTtl(filterCountProperties.getTtl()));
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
             .cacheDefaults(defaultConfig)
             .withInitialCacheConfigurations(configs)
-            .transactionAware()
             .build();
+        redisCacheManager.afterPropertiesSet();
+        // Transaction awareness is applied by the two-tier manager so the local tier
+        // and cross-pod invalidations follow the same after-commit semantics as Redis
+        return new TwoTierCacheManager(redisCacheManager, nearCacheProperties, invalidationBroadcaster, cacheTierMetrics,
+            cacheLoadProperties, requestCoalescer, cacheRefreshExecutor);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                           NearCacheProperties nearCacheProperties,
+                                                                           CacheInvalidationBroadcaster invalidationBroadcaster) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(invalidationBroadcaster, new ChannelTopic(nearCacheProperties.getInvalidationChannel()));
+        return container;
     }
 
     @Bean("cacheKeyGenerator")
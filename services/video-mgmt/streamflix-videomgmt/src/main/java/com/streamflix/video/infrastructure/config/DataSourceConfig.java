@@ -1,8 +1,18 @@
 package com.streamflix.video.infrastructure.config;
 
+import com.streamflix.video.infrastructure.replication.HedgedReadProperties;
+import com.streamflix.video.infrastructure.replication.ReadYourWritesContext;
+import com.streamflix.video.infrastructure.replication.ReplicaNode;
+import com.streamflix.video.infrastructure.replication.ReplicaPool;
+import com.streamflix.video.infrastructure.replication.ReplicaRoutingProperties;
 import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -11,10 +21,13 @@ import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
+@EnableConfigurationProperties({ReplicaRoutingProperties.class, HedgedReadProperties.class})
 public class DataSourceConfig {
 
     @Bean
@@ -30,23 +43,24 @@ public class DataSourceConfig {
         return primaryDataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
     }
 
-    @Bean
-    @ConfigurationProperties(prefix = "spring.datasource.replica.hikari")
-    public DataSourceProperties replicaDataSourceProperties() {
-        return new DataSourceProperties();
-    }
-
-    @Bean
-    public HikariDataSource replicaDataSource(DataSourceProperties replicaDataSourceProperties) {
-        return replicaDataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    /**
+     * The replicas under {@code app.datasource.routing.replicas}; adding one is a configuration change.
+     */
+    @Bean(destroyMethod = "close")
+    public ReplicaPool replicaPool(ReplicaRoutingProperties routingProperties, MeterRegistry meterRegistry) {
+        return ReplicaPool.create(routingProperties, meterRegistry);
     }
 
     @Bean
-    public DataSource routingDataSource(DataSource primaryDataSource, DataSource replicaDataSource) {
-        RoutingDataSource routingDataSource = new RoutingDataSource();
+    public DataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                        ReplicaPool replicaPool,
+                                        ReplicaRoutingProperties routingProperties) {
+        RoutingDataSource routingDataSource = new RoutingDataSource(replicaPool, routingProperties);
         Map<Object, Object> targetDataSources = new HashMap<>();
         targetDataSources.put(DataSourceType.PRIMARY, primaryDataSource);
-        targetDataSources.put(DataSourceType.REPLICA, replicaDataSource);
+        for (ReplicaNode replica : replicaPool.getReplicas()) {
+            targetDataSources.put(replica.getName(), replica);
+        }
         routingDataSource.setTargetDataSources(targetDataSources);
         routingDataSource.setDefaultTargetDataSource(primaryDataSource);
         return routingDataSource;
@@ -62,13 +76,54 @@ public class DataSourceConfig {
     }
 }
 
+/**
+ * Sends writes to the primary and reads to a replica chosen by the {@link ReplicaPool}. A read goes
+ * to the primary too when no replica is usable: all are ejected, lag by more than
+ * {@code app.datasource.routing.max-lag}, or have not yet replayed a write the current session made.
+ * A replica that fails to hand out a connection is charged with the failure and the read retried
+ * on the primary.
+ */
 class RoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoutingDataSource.class);
+
+    private final ReplicaPool replicaPool;
+    private final ReplicaRoutingProperties properties;
+
+    RoutingDataSource(ReplicaPool replicaPool, ReplicaRoutingProperties properties) {
+        this.replicaPool = replicaPool;
+        this.properties = properties;
+    }
+
     @Override
     protected Object determineCurrentLookupKey() {
-        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? DataSourceType.REPLICA : DataSourceType.PRIMARY;
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return DataSourceType.PRIMARY;
+        }
+        ReplicaPool.Selection selection = replicaPool.select(requiredLsn());
+        replicaPool.recordRead(selection);
+        return selection.replica() != null ? selection.replica().getName() : DataSourceType.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (!(target instanceof ReplicaNode replica)) {
+            return target.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            logger.warn("Replica {} refused a connection, reading from the primary: {}", replica.getName(), e.getMessage());
+            return getResolvedDefaultDataSource().getConnection();
+        }
+    }
+
+    private long requiredLsn() {
+        return properties.isReadYourWrites() ? ReadYourWritesContext.requiredLsn() : 0;
     }
 }
 
 enum DataSourceType {
-    PRIMARY, REPLICA
+    PRIMARY
 }
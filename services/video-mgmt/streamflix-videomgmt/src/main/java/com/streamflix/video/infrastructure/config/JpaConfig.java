@@ -1,9 +1,11 @@
 package com.streamflix.video.infrastructure.config;
 
 import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
 import org.springframework.boot.autoconfigure.flyway.FlywayProperties;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -17,10 +19,12 @@ import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionExecutionListener;
 
 import jakarta.persistence.EntityManagerFactory;
 import javax.sql.DataSource;
-import java.util.Properties;
+import java.util.HashMap;
+import java.util.Map;
 import org.springframework.beans.factory.annotation.Qualifier;
 
 /**
@@ -59,6 +63,9 @@ public class JpaConfig {
                 .dataSource(flywayDataSource)
                 .locations(flywayProperties.getLocations().toArray(new String[0]))
                 .baselineOnMigrate(flywayProperties.isBaselineOnMigrate())
+                // CREATE INDEX CONCURRENTLY waits out every open transaction, including the one Flyway
+                // holds its advisory lock in by default; a session-level lock lets such migrations finish
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
                 .load();
         return flyway;
     }
@@ -68,7 +75,8 @@ public class JpaConfig {
     @Lazy
     public LocalContainerEntityManagerFactoryBean entityManagerFactory(
             @Qualifier("dataSource") DataSource dataSource, 
-            JpaProperties jpaProperties) {
+            JpaProperties jpaProperties,
+            ObjectProvider<HibernatePropertiesCustomizer> hibernatePropertiesCustomizers) {
         LocalContainerEntityManagerFactoryBean em = new LocalContainerEntityManagerFactoryBean();
         em.setDataSource(dataSource);
         em.setPackagesToScan("com.streamflix.video");
@@ -76,17 +84,21 @@ public class JpaConfig {
         HibernateJpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
         em.setJpaVendorAdapter(vendorAdapter);
         
-        Properties properties = new Properties();
-        properties.putAll(jpaProperties.getProperties());
-        em.setJpaProperties(properties);
+        Map<String, Object> properties = new HashMap<>(jpaProperties.getProperties());
+        // e.g. the second-level cache manager of SecondLevelCacheConfig, which is not a plain property
+        hibernatePropertiesCustomizers.orderedStream().forEach(customizer -> customizer.customize(properties));
+        em.setJpaPropertyMap(properties);
         
         return em;
     }
     
     @Bean
-    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                         ObjectProvider<TransactionExecutionListener> listeners) {
         JpaTransactionManager transactionManager = new JpaTransactionManager();
         transactionManager.setEntityManagerFactory(entityManagerFactory);
+        // e.g. WriteLsnRecorder, which keeps a session's reads off replicas that lack its writes
+        transactionManager.setTransactionExecutionListeners(listeners.orderedStream().toList());
         return transactionManager;
     }
 }
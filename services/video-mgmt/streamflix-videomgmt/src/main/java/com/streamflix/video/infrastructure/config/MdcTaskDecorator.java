@@ -0,0 +1,35 @@
+package com.streamflix.video.infrastructure.config;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+/**
+ * Copies the caller's MDC, such as the correlation id set by {@link LoggingFilter}, onto the
+ * thread that runs an {@code @Async} task, so its log lines can be traced back to the request.
+ */
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            try {
+                setContext(context);
+                runnable.run();
+            } finally {
+                setContext(previous);
+            }
+        };
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context != null) {
+            MDC.setContextMap(context);
+        } else {
+            MDC.clear();
+        }
+    }
+}
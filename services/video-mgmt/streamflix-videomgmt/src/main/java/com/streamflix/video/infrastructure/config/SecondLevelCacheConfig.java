@@ -0,0 +1,65 @@
+package com.streamflix.video.infrastructure.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.streamflix.video.infrastructure.cache.SecondLevelCacheProperties;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Regions of the Hibernate second-level cache, in Caffeine on each pod's heap through JCache.
+ * <p>
+ * Tenants, categories and users are cached by id and by natural id (tenant identifier, category
+ * name and tenant, user API key), so that resolving the tenant, the category of a video and the
+ * caller of an API key stop costing a query per request. Hibernate keeps the regions of the pod
+ * that writes up to date; HibernateCacheInvalidation evicts the same entries on the other pods.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    // The regions named by the @Cache and @NaturalIdCache annotations of the entities
+    public static final List<String> REGIONS = List.of(
+        "tenants", "tenants-natural-id",
+        "categories", "categories-natural-id",
+        "users", "users-natural-id", "users-roles");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        for (String region : REGIONS) {
+            if (cacheManager.getCache(region) == null) {
+                cacheManager.createCache(region, regionConfiguration(properties));
+            }
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Hands the cache manager to Hibernate; with {@code missing_cache_strategy: fail}, an entity
+     * naming a region that is not created here stops the application from starting.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(SecondLevelCacheProperties properties) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(properties.getMaxEntries()));
+        configuration.setExpireAfterWrite(OptionalLong.of(properties.getTtl().toNanos()));
+        // Hibernate caches immutable disassembled state, so there is nothing to gain from copies
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
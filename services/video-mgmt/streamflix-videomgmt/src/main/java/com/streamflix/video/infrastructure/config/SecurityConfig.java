@@ -75,6 +75,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList("*")); // In production, restrict to specific domains
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-API-Key"));
+        configuration.setExposedHeaders(Arrays.asList("ETag", "X-Next-Cursor"));
         configuration.setMaxAge(3600L);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
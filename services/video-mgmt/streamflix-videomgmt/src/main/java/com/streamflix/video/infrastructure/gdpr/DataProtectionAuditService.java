@@ -5,11 +5,13 @@ import com.streamflix.video.infrastructure.multitenancy.TenantContextHolder;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 /**
@@ -23,10 +25,13 @@ public class DataProtectionAuditService {
     
     private final JdbcTemplate jdbcTemplate;
     private final ObjectMapper objectMapper;
+    private final int defaultRetentionDays;
     
-    public DataProtectionAuditService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+    public DataProtectionAuditService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                      @Value("${app.archiving.default-retention-days:365}") int defaultRetentionDays) {
         this.jdbcTemplate = jdbcTemplate;
         this.objectMapper = objectMapper;
+        this.defaultRetentionDays = defaultRetentionDays;
     }
     
     /**
@@ -85,26 +90,42 @@ public class DataProtectionAuditService {
     }
     
     /**
-     * Get the recent activity history for a user
+     * Get the recent activity history for a user, within the tenant's retention period
      * @param userId The user ID
      * @param limit Maximum number of records to return
      * @return List of activity records
      */
     public List<Map<String, Object>> getUserActivityHistory(UUID userId, int limit) {
         UUID tenantId = TenantContextHolder.getTenantId();
+        // Bounding created_at keeps the partitions before the retention period out of the plan,
+        // and hides expired rows the next partition maintenance run has not purged yet
+        LocalDateTime since = LocalDateTime.now().minusDays(retentionDays(tenantId));
         
         return jdbcTemplate.queryForList(
             "SELECT id, event_type, ip_address, created_at, details " +
             "FROM user_activity_logs " +
-            "WHERE user_id = ? AND tenant_id = ? " +
+            "WHERE user_id = ? AND tenant_id = ? AND created_at >= ? " +
             "ORDER BY created_at DESC " +
             "LIMIT ?",
             userId.toString(),
             tenantId.toString(),
+            since,
             limit
         );
     }
     
+    /**
+     * Days the tenant's activity logs are kept, from its retention policy or the default
+     */
+    private int retentionDays(UUID tenantId) {
+        List<Integer> days = jdbcTemplate.queryForList(
+            "SELECT active_data_retention_days FROM data_retention_policies WHERE tenant_id = ?",
+            Integer.class,
+            tenantId
+        );
+        return days.isEmpty() ? defaultRetentionDays : days.get(0);
+    }
+    
     /**
      * Delete activity logs for a user (as part of right to erasure)
      * @param userId The user ID
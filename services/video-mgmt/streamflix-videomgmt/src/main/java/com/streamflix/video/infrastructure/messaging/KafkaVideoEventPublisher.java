@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.streamflix.video.application.VideoEventPublisher;
 import com.streamflix.video.domain.Video;
+import com.streamflix.video.domain.VideoSummary;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +12,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -50,6 +52,21 @@ public class KafkaVideoEventPublisher implements VideoEventPublisher {
         publishEvent(videoCreatedTopic, createEventPayload(video, "VIDEO_CREATED"));
     }
 
+    /**
+     * Sends the events back to back without logging each payload; the producer groups them into
+     * per-partition batches (see linger.ms and batch.size) instead of one request per video.
+     */
+    @Override
+    public void publishVideosCreated(List<Video> videos) {
+        int sent = 0;
+        for (Video video : videos) {
+            if (send(videoCreatedTopic, createEventPayload(video, "VIDEO_CREATED"), false)) {
+                sent++;
+            }
+        }
+        logger.info("Publishing {} VIDEO_CREATED events to topic {}", sent, videoCreatedTopic);
+    }
+
     @Override
     public void publishVideoUpdated(Video video) {
         publishEvent(videoUpdatedTopic, createEventPayload(video, "VIDEO_UPDATED"));
@@ -60,6 +77,16 @@ public class KafkaVideoEventPublisher implements VideoEventPublisher {
         publishEvent(videoStatusChangedTopic, createEventPayload(video, "VIDEO_STATUS_CHANGED"));
     }
 
+    @Override
+    public void publishVideosUpdated(List<VideoSummary> videos) {
+        publishBatch(videoUpdatedTopic, videos, "VIDEO_UPDATED");
+    }
+
+    @Override
+    public void publishVideosStatusChanged(List<VideoSummary> videos) {
+        publishBatch(videoStatusChangedTopic, videos, "VIDEO_STATUS_CHANGED");
+    }
+
     @Override
     public void publishVideoDeleted(Video video) {
         publishEvent(videoDeletedTopic, createEventPayload(video, "VIDEO_DELETED"));
@@ -84,15 +111,53 @@ public class KafkaVideoEventPublisher implements VideoEventPublisher {
         return event;
     }
     
+    /**
+     * Helper method to create the same payload from a summary of a video changed in bulk
+     */
+    private VideoEvent createEventPayload(VideoSummary video, String eventType) {
+        VideoEvent event = new VideoEvent();
+        event.setEventId(UUID.randomUUID().toString());
+        event.setEventType(eventType);
+        event.setTimestamp(System.currentTimeMillis());
+        event.setVideoId(video.getId().toString());
+        event.setVideoTitle(video.getTitle());
+        event.setVideoStatus(video.getStatus().toString());
+        return event;
+    }
+
+    /**
+     * Helper method to send the events of a bulk change back to back, logging only their count
+     */
+    private void publishBatch(String topic, List<VideoSummary> videos, String eventType) {
+        int sent = 0;
+        for (VideoSummary video : videos) {
+            if (send(topic, createEventPayload(video, eventType), false)) {
+                sent++;
+            }
+        }
+        logger.info("Publishing {} {} events to topic {}", sent, eventType, topic);
+    }
+
     /**
      * Helper method to publish an event to a Kafka topic
      */
     private void publishEvent(String topic, VideoEvent event) {
+        send(topic, event, true);
+    }
+
+    /**
+     * Helper method to serialize an event and hand it to the producer
+     * @param logPayload Whether to log the payload at info level; bulk sends only log a count
+     * @return false if the event could not be serialized
+     */
+    private boolean send(String topic, VideoEvent event, boolean logPayload) {
         try {
             String payload = objectMapper.writeValueAsString(event);
             String key = event.getVideoId();
             
-            logger.info("Publishing event {} to topic {}: {}", event.getEventType(), topic, payload);
+            if (logPayload) {
+                logger.info("Publishing event {} to topic {}: {}", event.getEventType(), topic, payload);
+            }
             
             kafkaTemplate.send(topic, key, payload)
                 .whenComplete((result, ex) -> {
@@ -102,8 +167,10 @@ public class KafkaVideoEventPublisher implements VideoEventPublisher {
                         logger.error("Failed to send event to topic {}: {}", topic, ex.getMessage(), ex);
                     }
                 });
+            return true;
         } catch (JsonProcessingException e) {
             logger.error("Error serializing event: {}", e.getMessage(), e);
+            return false;
         }
     }
     
@@ -2,6 +2,7 @@ package com.streamflix.video.infrastructure.messaging;
 
 import com.streamflix.video.application.VideoEventPublisher;
 import com.streamflix.video.domain.Video;
+import com.streamflix.video.domain.VideoSummary;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,6 +10,7 @@ import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -47,6 +49,20 @@ public class SpringCloudStreamEventPublisher implements VideoEventPublisher {
         publishEvent(VideoEventChannels.VIDEO_STATUS_CHANGED_OUTPUT, eventPayload);
     }
 
+    @Override
+    public void publishVideosUpdated(List<VideoSummary> videos) {
+        for (VideoSummary video : videos) {
+            publishEvent(VideoEventChannels.VIDEO_UPDATED_OUTPUT, createEventPayload(video, "VIDEO_UPDATED"));
+        }
+    }
+
+    @Override
+    public void publishVideosStatusChanged(List<VideoSummary> videos) {
+        for (VideoSummary video : videos) {
+            publishEvent(VideoEventChannels.VIDEO_STATUS_CHANGED_OUTPUT, createEventPayload(video, "VIDEO_STATUS_CHANGED"));
+        }
+    }
+
     @Override
     public void publishVideoDeleted(Video video) {
         Map<String, Object> eventPayload = createEventPayload(video, "VIDEO_DELETED");
@@ -88,6 +104,33 @@ public class SpringCloudStreamEventPublisher implements VideoEventPublisher {
         return event;
     }
     
+    /**
+     * Helper method to create the payload of a video changed in bulk from its summary;
+     * the description is not part of a summary, so updated events carry everything else
+     */
+    private Map<String, Object> createEventPayload(VideoSummary video, String eventType) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("eventId", UUID.randomUUID().toString());
+        event.put("eventType", eventType);
+        event.put("timestamp", System.currentTimeMillis());
+        event.put("videoId", video.getId().toString());
+        event.put("videoTitle", video.getTitle());
+        event.put("videoStatus", video.getStatus().toString());
+
+        if ("VIDEO_UPDATED".equals(eventType)) {
+            if (video.getCategoryId() != null) {
+                event.put("categoryId", video.getCategoryId().toString());
+                event.put("categoryName", video.getCategoryName());
+            }
+
+            event.put("tags", video.getTags());
+            event.put("releaseYear", video.getReleaseYear());
+            event.put("language", video.getLanguage());
+        }
+
+        return event;
+    }
+
     /**
      * Helper method to publish an event to a Spring Cloud Stream binding
      */
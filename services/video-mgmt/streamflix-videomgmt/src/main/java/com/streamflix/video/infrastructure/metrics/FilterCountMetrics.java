@@ -0,0 +1,105 @@
+package com.streamflix.video.infrastructure.metrics;
+
+import com.streamflix.video.domain.CountMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Metrics for how filtered video listings obtain their totals.
+ * <p>
+ * {@code video.filter.requests} counts requests per count mode, {@code video.filter.count.source}
+ * where each total came from, and {@code video.filter.count.query} times the count queries that
+ * did run. Every total obtained without one adds the recent average count query time to
+ * {@code video.filter.count.saved}, an estimate of the database time the count modes save.
+ */
+@Component
+public class FilterCountMetrics {
+
+    /** The total came from a COUNT query. */
+    public static final String SOURCE_QUERY = "query";
+    /** The page was the last one, so the total follows from its offset and size. */
+    public static final String SOURCE_LAST_PAGE = "last_page";
+    public static final String SOURCE_CACHE = "cache";
+    public static final String SOURCE_PLANNER = "planner";
+    /** No total was requested. */
+    public static final String SOURCE_NONE = "none";
+
+    private static final String REQUESTS = "video.filter.requests";
+    private static final String COUNT_SOURCES = "video.filter.count.source";
+    private static final String SAVED = "video.filter.count.saved";
+
+    /** Weight of the newest sample in the average count query time. */
+    private static final double SMOOTHING = 0.2;
+
+    private final MeterRegistry registry;
+    private final Timer countQueryTimer;
+    private final AtomicLong averageQueryNanos = new AtomicLong();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public FilterCountMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.countQueryTimer = Timer.builder("video.filter.count.query")
+            .description("Time taken by COUNT queries of filtered video listings")
+            .register(registry);
+    }
+
+    public void recordRequest(CountMode countMode) {
+        counters.computeIfAbsent(REQUESTS + ':' + countMode,
+            k -> Counter.builder(REQUESTS)
+                .description("Filtered video listings by count mode")
+                .tag("count_mode", tag(countMode))
+                .register(registry))
+            .increment();
+    }
+
+    /**
+     * Record where the total of a listing came from, and the query time saved if it was not a count query.
+     */
+    public void recordCountSource(CountMode countMode, String source) {
+        counters.computeIfAbsent(COUNT_SOURCES + ':' + countMode + ':' + source,
+            k -> Counter.builder(COUNT_SOURCES)
+                .description("Totals of filtered video listings by where they came from")
+                .tag("count_mode", tag(countMode))
+                .tag("source", source)
+                .register(registry))
+            .increment();
+        if (!SOURCE_QUERY.equals(source)) {
+            counters.computeIfAbsent(SAVED + ':' + countMode,
+                k -> Counter.builder(SAVED)
+                    .description("Estimated database time saved by not running count queries")
+                    .baseUnit("seconds")
+                    .tag("count_mode", tag(countMode))
+                    .register(registry))
+                .increment(averageQueryNanos.get() / (double) TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    /**
+     * Run and time a count query.
+     */
+    public long timeCountQuery(LongSupplier countQuery) {
+        long start = System.nanoTime();
+        try {
+            return countQuery.getAsLong();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            countQueryTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            averageQueryNanos.updateAndGet(average -> average == 0
+                ? elapsed
+                : Math.round(average + SMOOTHING * (elapsed - average)));
+        }
+    }
+
+    private static String tag(CountMode countMode) {
+        return countMode.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -37,10 +37,18 @@ public class VideoServiceMetrics {
         createCounter.increment();
     }
 
+    public void incrementCreate(int count) {
+        createCounter.increment(count);
+    }
+
     public void incrementUpdate() {
         updateCounter.increment();
     }
 
+    public void incrementUpdate(int count) {
+        updateCounter.increment(count);
+    }
+
     public void incrementDelete() {
         deleteCounter.increment();
     }
@@ -0,0 +1,34 @@
+package com.streamflix.video.infrastructure.multitenancy;
+
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.UUID;
+
+/**
+ * Copies the caller's tenant context onto the thread that runs an {@code @Async} task,
+ * so tenant-scoped repositories and cache keys see the same tenant as the request.
+ */
+public class TenantContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        UUID tenantId = TenantContextHolder.getTenantIdOptional();
+        return () -> {
+            UUID previous = TenantContextHolder.getTenantIdOptional();
+            try {
+                if (tenantId != null) {
+                    TenantContextHolder.setTenantId(tenantId);
+                } else {
+                    TenantContextHolder.clear();
+                }
+                runnable.run();
+            } finally {
+                if (previous != null) {
+                    TenantContextHolder.setTenantId(previous);
+                } else {
+                    TenantContextHolder.clear();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,306 @@
+package com.streamflix.video.infrastructure.partitioning;
+
+import com.streamflix.video.infrastructure.partitioning.PartitioningProperties.ActivityLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the range partitions of {@code user_activity_logs} by {@code created_at} (see V9): the
+ * current one and {@code premake} more exist ahead of the rows that go in them, and a partition
+ * whose whole range is older than the longest retention of any tenant is dropped or detached, so
+ * expired logs leave without a row-level {@code DELETE} and the vacuum work it brings. The logs of
+ * tenants with a shorter retention are deleted from the partitions that outlive it, in batches.
+ * <p>
+ * Partitions are named after the period they start, {@code user_activity_logs_p202610} monthly or
+ * {@code user_activity_logs_p20261018} daily. A period partly covered by an existing partition,
+ * such as the one V9 made of the original table, gets a partition for the rest of it only.
+ * <p>
+ * This bean is also the {@code activityLogPartitions} health indicator: an activity logged at a
+ * time no partition covers fails to insert, so the service is DOWN once the partitions end before
+ * the next period does, which leaves a period's notice to fix the maintenance run.
+ */
+@Component("activityLogPartitions")
+@ConditionalOnProperty(name = "app.partitioning.activity-log.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(PartitioningProperties.class)
+@DependsOnDatabaseInitialization
+public class ActivityLogPartitionManager implements HealthIndicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogPartitionManager.class);
+
+    static final String TABLE = "user_activity_logs";
+
+    private static final Pattern RANGE = Pattern.compile("FROM \\((?:'([^']*)'|MINVALUE)\\) TO \\((?:'([^']*)'|MAXVALUE)\\)");
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    // Tenants without a policy keep their logs for the default retention
+    private static final String SHORTER_RETENTIONS = """
+        SELECT t.id, COALESCE(p.active_data_retention_days, ?) AS days
+          FROM tenants t LEFT JOIN data_retention_policies p ON p.tenant_id = t.id
+         WHERE COALESCE(p.active_data_retention_days, ?) < ?""";
+
+    // Pruned on created_at to the partitions older than the tenant's cutoff
+    private static final String PURGE_BATCH = """
+        DELETE FROM user_activity_logs
+         WHERE (id, created_at) IN (
+               SELECT id, created_at FROM user_activity_logs
+                WHERE tenant_id = ? AND created_at < ?
+                LIMIT ?)""";
+
+    /**
+     * A partition and its bounds, null for {@code MINVALUE} and {@code MAXVALUE}; {@code to} is exclusive.
+     */
+    record Range(String name, LocalDateTime from, LocalDateTime to) {
+
+        boolean contains(LocalDateTime time) {
+            return (from == null || !from.isAfter(time)) && (to == null || to.isAfter(time));
+        }
+    }
+
+    /**
+     * How long a tenant's activity logs are kept, in days.
+     */
+    record TenantRetention(UUID tenantId, int days) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ActivityLog properties;
+    private final int defaultRetentionDays;
+    private final Clock clock;
+
+    @Autowired
+    public ActivityLogPartitionManager(JdbcTemplate jdbcTemplate,
+                                       PartitioningProperties properties,
+                                       @Value("${app.archiving.default-retention-days:365}") int defaultRetentionDays) {
+        this(jdbcTemplate, properties, defaultRetentionDays, Clock.systemDefaultZone());
+    }
+
+    ActivityLogPartitionManager(JdbcTemplate jdbcTemplate, PartitioningProperties properties,
+                                int defaultRetentionDays, Clock clock) {
+        if (properties.getActivityLog().getPremake() < 0) {
+            throw new IllegalArgumentException("Premade partitions cannot be negative, was " + properties.getActivityLog().getPremake());
+        }
+        if (properties.getActivityLog().getPurgeBatchSize() <= 0) {
+            throw new IllegalArgumentException("Purge batch size must be positive, was " + properties.getActivityLog().getPurgeBatchSize());
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties.getActivityLog();
+        this.defaultRetentionDays = defaultRetentionDays;
+        this.clock = clock;
+    }
+
+    /**
+     * Make sure the current partitions exist before the first activity is logged.
+     */
+    @PostConstruct
+    public void initializePartitions() {
+        maintain();
+    }
+
+    /**
+     * Create the partitions due and retire the expired ones.
+     */
+    @Scheduled(fixedDelayString = "${app.partitioning.activity-log.maintenance-interval-ms:3600000}")
+    public void maintain() {
+        try {
+            if (!isPartitioned()) {
+                logger.warn("{} is not partitioned yet (see V9); leaving its partitions alone", TABLE);
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now(clock);
+            createAhead(now);
+            retireExpired(now);
+            purgeShorterRetentions(now);
+        } catch (DataAccessException ex) {
+            logger.warn("Activity log partition maintenance failed, retrying on the next run: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Create a partition for each period from the current one to {@code premake} periods ahead,
+     * leaving out whatever part of a period existing partitions cover.
+     */
+    void createAhead(LocalDateTime now) {
+        List<Range> ranges = new ArrayList<>(partitions());
+        LocalDateTime period = periodStart(now);
+        for (int i = 0; i <= properties.getPremake(); i++, period = nextPeriod(period)) {
+            LocalDateTime from = period;
+            LocalDateTime to = nextPeriod(period);
+            Range covering = covering(ranges, from);
+            while (covering != null && covering.to() != null && covering.to().isBefore(to)) {
+                from = covering.to();
+                covering = covering(ranges, from);
+            }
+            if (covering != null) {
+                continue;
+            }
+            for (Range range : ranges) {
+                if (range.from() != null && range.from().isAfter(from) && range.from().isBefore(to)) {
+                    to = range.from();
+                }
+            }
+            String name = partitionName(period);
+            jdbcTemplate.execute(String.format("CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                name, TABLE, from, to));
+            ranges.add(new Range(name, from, to));
+            logger.info("Created activity log partition {} for [{}, {})", name, from, to);
+        }
+    }
+
+    /**
+     * Drop or detach the partitions whose rows are all past the longest retention of any tenant.
+     */
+    void retireExpired(LocalDateTime now) {
+        LocalDateTime cutoff = now.minusDays(retentionDays());
+        for (Range range : partitions()) {
+            if (range.to() == null || range.to().isAfter(cutoff)) {
+                continue;
+            }
+            if (properties.getRetentionAction() == ActivityLog.RetentionAction.DETACH) {
+                // Waits for queries using the partition instead of blocking the table; not in a transaction
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + range.name() + " CONCURRENTLY");
+                logger.info("Detached expired activity log partition {}, ending {}", range.name(), range.to());
+            } else {
+                jdbcTemplate.execute("DROP TABLE " + range.name());
+                logger.info("Dropped expired activity log partition {}, ending {}", range.name(), range.to());
+            }
+        }
+    }
+
+    /**
+     * Delete the logs of each tenant whose retention is shorter than the longest one and has
+     * passed, which retiring partitions would otherwise keep until the longest retention passes.
+     */
+    void purgeShorterRetentions(LocalDateTime now) {
+        int longest = retentionDays();
+        List<TenantRetention> retentions = jdbcTemplate.query(SHORTER_RETENTIONS,
+            (rs, rowNum) -> new TenantRetention(rs.getObject("id", UUID.class), rs.getInt("days")),
+            defaultRetentionDays, defaultRetentionDays, longest);
+        int batchSize = properties.getPurgeBatchSize();
+        for (TenantRetention retention : retentions) {
+            LocalDateTime cutoff = now.minusDays(retention.days());
+            long purged = 0;
+            int deleted;
+            do {
+                deleted = jdbcTemplate.update(PURGE_BATCH, retention.tenantId(), cutoff, batchSize);
+                purged += deleted;
+            } while (deleted >= batchSize);
+            if (purged > 0) {
+                logger.info("Purged {} activity logs of tenant {} older than {}", purged, retention.tenantId(), cutoff);
+            }
+        }
+    }
+
+    @Override
+    public Health health() {
+        try {
+            if (!isPartitioned()) {
+                return Health.up().withDetail("partitioned", false).build();
+            }
+            LocalDateTime now = LocalDateTime.now(clock);
+            LocalDateTime required = nextPeriod(nextPeriod(periodStart(now)));
+            LocalDateTime coveredUntil = coveredUntil(partitions(), now);
+            Health.Builder builder = coveredUntil == null || !coveredUntil.isBefore(required) ? Health.up() : Health.down();
+            return builder
+                .withDetail("coveredUntil", coveredUntil != null ? coveredUntil.toString() : "MAXVALUE")
+                .withDetail("required", required.toString())
+                .build();
+        } catch (DataAccessException ex) {
+            return Health.unknown().withDetail("error", ex.getMessage()).build();
+        }
+    }
+
+    /**
+     * The end of the partitions that cover {@code time} without a gap, {@code time} itself if none
+     * covers it, or null if they cover every later time.
+     */
+    static LocalDateTime coveredUntil(List<Range> ranges, LocalDateTime time) {
+        LocalDateTime until = time;
+        Range covering = covering(ranges, until);
+        while (covering != null) {
+            if (covering.to() == null) {
+                return null;
+            }
+            until = covering.to();
+            covering = covering(ranges, until);
+        }
+        return until;
+    }
+
+    /**
+     * The attached partitions with their bounds.
+     */
+    List<Range> partitions() {
+        return jdbcTemplate.query("""
+            SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) AS bound
+              FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+             WHERE i.inhparent = to_regclass(?)""",
+            (rs, rowNum) -> range(rs.getString("relname"), rs.getString("bound")), TABLE);
+    }
+
+    /**
+     * Longest retention of activity logs over all tenants, in days.
+     */
+    int retentionDays() {
+        Integer longest = jdbcTemplate.queryForObject(
+            "SELECT max(active_data_retention_days) FROM data_retention_policies", Integer.class);
+        return longest != null ? Math.max(longest, defaultRetentionDays) : defaultRetentionDays;
+    }
+
+    String partitionName(LocalDateTime periodStart) {
+        return TABLE + "_p" + periodStart.format(properties.getGranularity() == ActivityLog.Granularity.DAILY ? DAY : MONTH);
+    }
+
+    private boolean isPartitioned() {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM pg_partitioned_table WHERE partrelid = to_regclass(?)", Integer.class, TABLE);
+        return count != null && count > 0;
+    }
+
+    private LocalDateTime periodStart(LocalDateTime time) {
+        LocalDateTime day = time.truncatedTo(ChronoUnit.DAYS);
+        return properties.getGranularity() == ActivityLog.Granularity.DAILY ? day : day.withDayOfMonth(1);
+    }
+
+    private LocalDateTime nextPeriod(LocalDateTime periodStart) {
+        return properties.getGranularity() == ActivityLog.Granularity.DAILY ? periodStart.plusDays(1) : periodStart.plusMonths(1);
+    }
+
+    private static Range covering(List<Range> ranges, LocalDateTime time) {
+        return ranges.stream().filter(range -> range.contains(time)).findFirst().orElse(null);
+    }
+
+    static Range range(String name, String bound) {
+        Matcher matcher = RANGE.matcher(bound);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Unexpected bound of partition " + name + ": " + bound);
+        }
+        return new Range(name, timestamp(matcher.group(1)), timestamp(matcher.group(2)));
+    }
+
+    private static LocalDateTime timestamp(String literal) {
+        return literal != null ? LocalDateTime.parse(literal.replace(' ', 'T')) : null;
+    }
+}
@@ -0,0 +1,281 @@
+package com.streamflix.video.infrastructure.partitioning;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.streamflix.video.infrastructure.partitioning.PostgresPartitionManager.TABLES;
+
+/**
+ * Moves the rows of the unpartitioned tables into their partitioned twins while the service keeps
+ * running, then swaps the twins in under the tables' names.
+ * <ol>
+ *   <li>An {@code AFTER} row trigger on each table mirrors every insert, update and delete into the
+ *   twin from the moment the job starts, so only rows older than that need copying.</li>
+ *   <li>Those are copied a chunk at a time in id order. Each chunk takes share locks on its rows, so
+ *   a concurrent update or delete of one of them either lands before the copy (which then copies
+ *   the new version, or skips the row) or waits for it (and its trigger overwrites the copy). Where
+ *   the copy got to is kept in {@code partition_migration_progress}, so a restart resumes there.</li>
+ *   <li>Once all three tables are copied, and if {@code app.partitioning.migration.cutover} is set,
+ *   one transaction locks them, checks the row counts match, drops the triggers, renames each table
+ *   to {@code <table>_unpartitioned} and its twin to {@code <table>}, and recreates the constraints
+ *   and triggers the twins lack: tenant-qualified foreign keys between them and from
+ *   {@code video_tags}, and the triggers of the old tables, such as the search document one of V7.</li>
+ * </ol>
+ * {@code video_tags} stays unpartitioned. Its foreign key to {@code videos} is re-created on
+ * {@code (tenant_id, video_id)}, as a partitioned table can only be referenced by its
+ * {@code (tenant_id, id)} key, and keeps its {@code ON DELETE CASCADE}. Any other foreign key into
+ * the migrated tables fails the swap, to be re-created on the tenant or dropped by hand first.
+ * The {@code _unpartitioned} tables are left in place as a way back and are dropped by hand.
+ * {@code TRUNCATE} of the old tables is not mirrored.
+ */
+@Component
+@ConditionalOnProperty(name = {"app.partitioning.enabled", "app.partitioning.migration.enabled"}, havingValue = "true")
+public class PartitionMigrationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMigrationJob.class);
+
+    static final String UNPARTITIONED_SUFFIX = "_unpartitioned";
+
+    private final PostgresPartitionManager partitionManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final PartitioningProperties.Migration properties;
+
+    private volatile boolean swapped;
+
+    public PartitionMigrationJob(PostgresPartitionManager partitionManager,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 PartitioningProperties properties) {
+        if (properties.getMigration().getChunkSize() < 1) {
+            throw new IllegalArgumentException("Migration chunk size must be positive, was " + properties.getMigration().getChunkSize());
+        }
+        this.partitionManager = partitionManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.properties = properties.getMigration();
+    }
+
+    /**
+     * Create the progress table and start mirroring writes, before the first chunk is copied.
+     */
+    @PostConstruct
+    public void prepare() {
+        swapped = isSwapped();
+        if (swapped) {
+            return;
+        }
+        jdbcTemplate.execute("""
+            CREATE TABLE IF NOT EXISTS partition_migration_progress (
+                table_name VARCHAR(63) PRIMARY KEY,
+                last_id UUID NOT NULL DEFAULT '00000000-0000-0000-0000-000000000000',
+                rows_copied BIGINT NOT NULL DEFAULT 0,
+                copied_at TIMESTAMP WITHOUT TIME ZONE,
+                swapped_at TIMESTAMP WITHOUT TIME ZONE
+            )""");
+        for (String table : TABLES) {
+            jdbcTemplate.update("INSERT INTO partition_migration_progress (table_name) VALUES (?) ON CONFLICT DO NOTHING", table);
+            transaction.executeWithoutResult(status -> installSyncTrigger(table));
+        }
+        logger.info("Mirroring writes of {} into their partitioned tables", TABLES);
+    }
+
+    /**
+     * Copy the next chunk, or swap the tables in once everything is copied and cutover is enabled.
+     */
+    @Scheduled(fixedDelayString = "${app.partitioning.migration.interval-ms:1000}")
+    public void run() {
+        if (swapped) {
+            return;
+        }
+        try {
+            if (!copyNextChunk() && properties.isCutover()) {
+                cutover();
+            }
+        } catch (DataAccessException ex) {
+            logger.warn("Partition migration step failed, retrying on the next run: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Copy the next chunk of the first table with rows left to copy.
+     *
+     * @return whether a chunk was copied; false once every table is copied
+     */
+    public boolean copyNextChunk() {
+        for (String table : TABLES) {
+            if (Boolean.TRUE.equals(transaction.execute(status -> copyChunk(table)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Swap the partitioned tables in, if every row has been copied.
+     *
+     * @return whether the tables are swapped
+     * @throws IllegalStateException if the row counts of a table and its twin differ; nothing is changed then
+     */
+    public boolean cutover() {
+        if (swapped) {
+            return true;
+        }
+        Integer pending = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM partition_migration_progress WHERE copied_at IS NULL", Integer.class);
+        if (pending == null || pending > 0) {
+            return false;
+        }
+        transaction.executeWithoutResult(status -> swap());
+        swapped = true;
+        logger.info("Swapped in the partitioned tables; the old ones are kept as <table>{}", UNPARTITIONED_SUFFIX);
+        return true;
+    }
+
+    private boolean isSwapped() {
+        return TABLES.stream().allMatch(partitionManager::isPartitioned);
+    }
+
+    private void installSyncTrigger(String table) {
+        String twin = table + PostgresPartitionManager.PARTITIONED_SUFFIX;
+        List<String> columns = partitionManager.columns(twin);
+        String columnList = columns.stream().map(PartitionMigrationJob::quote).collect(Collectors.joining(", "));
+        String values = columns.stream().map(column -> "NEW." + quote(column)).collect(Collectors.joining(", "));
+        String updates = columns.stream()
+            .filter(column -> !column.equals("tenant_id") && !column.equals("id"))
+            .map(column -> quote(column) + " = EXCLUDED." + quote(column))
+            .collect(Collectors.joining(", "));
+
+        jdbcTemplate.execute(String.format("""
+            CREATE OR REPLACE FUNCTION %1$s_partition_sync() RETURNS trigger AS $$
+            BEGIN
+                IF TG_OP = 'DELETE' THEN
+                    DELETE FROM %2$s WHERE tenant_id = OLD.tenant_id AND id = OLD.id;
+                    RETURN NULL;
+                END IF;
+                IF TG_OP = 'UPDATE' AND (OLD.tenant_id, OLD.id) IS DISTINCT FROM (NEW.tenant_id, NEW.id) THEN
+                    DELETE FROM %2$s WHERE tenant_id = OLD.tenant_id AND id = OLD.id;
+                END IF;
+                INSERT INTO %2$s (%3$s) VALUES (%4$s)
+                    ON CONFLICT (tenant_id, id) DO UPDATE SET %5$s;
+                RETURN NULL;
+            END
+            $$ LANGUAGE plpgsql""", table, twin, columnList, values, updates));
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS trg_" + table + "_partition_sync ON " + table);
+        jdbcTemplate.execute("CREATE TRIGGER trg_" + table + "_partition_sync AFTER INSERT OR UPDATE OR DELETE ON " + table
+            + " FOR EACH ROW EXECUTE FUNCTION " + table + "_partition_sync()");
+    }
+
+    /**
+     * Copy the table's next chunk of rows, and record how far the copy got, in the caller's transaction.
+     * The progress row is locked first, so instances running the job side by side take turns.
+     * Rows the trigger has mirrored already are left as they are: they are at least as new.
+     *
+     * @return whether rows were copied; false once the table is done
+     */
+    private boolean copyChunk(String table) {
+        Map<String, Object> progress = jdbcTemplate.queryForMap(
+            "SELECT last_id, copied_at FROM partition_migration_progress WHERE table_name = ? FOR UPDATE", table);
+        if (progress.get("copied_at") != null) {
+            return false;
+        }
+        String twin = table + PostgresPartitionManager.PARTITIONED_SUFFIX;
+        String columnList = partitionManager.columns(twin).stream()
+            .map(PartitionMigrationJob::quote).collect(Collectors.joining(", "));
+        Map<String, Object> chunk = jdbcTemplate.queryForMap(String.format("""
+            WITH chunk AS (
+                SELECT * FROM %1$s WHERE id > ? ORDER BY id LIMIT ? FOR SHARE
+            ), copied AS (
+                INSERT INTO %2$s (%3$s) SELECT %3$s FROM chunk ON CONFLICT (tenant_id, id) DO NOTHING
+            )
+            SELECT count(*) AS chunk_rows, (SELECT id FROM chunk ORDER BY id DESC LIMIT 1) AS last_id FROM chunk""",
+            table, twin, columnList), progress.get("last_id"), properties.getChunkSize());
+        long rows = ((Number) chunk.get("chunk_rows")).longValue();
+        if (rows == 0) {
+            jdbcTemplate.update("UPDATE partition_migration_progress SET copied_at = now() WHERE table_name = ?", table);
+            logger.info("Copied all rows of {} into {}", table, twin);
+            return false;
+        }
+        jdbcTemplate.update("UPDATE partition_migration_progress SET last_id = ?, rows_copied = rows_copied + ? WHERE table_name = ?",
+            chunk.get("last_id"), rows, table);
+        logger.debug("Copied {} rows of {} up to id {}", rows, table, chunk.get("last_id"));
+        return true;
+    }
+
+    private void swap() {
+        jdbcTemplate.execute("SET LOCAL lock_timeout = " + properties.getLockTimeoutMs());
+        jdbcTemplate.execute("LOCK TABLE " + String.join(", ", TABLES) + ", video_tags IN ACCESS EXCLUSIVE MODE");
+        if (isSwapped()) {
+            // Another instance swapped them while this one waited for the locks
+            return;
+        }
+
+        for (String table : TABLES) {
+            String twin = table + PostgresPartitionManager.PARTITIONED_SUFFIX;
+            Long rows = jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+            Long copied = jdbcTemplate.queryForObject("SELECT count(*) FROM " + twin, Long.class);
+            if (!rows.equals(copied)) {
+                throw new IllegalStateException(table + " has " + rows + " rows but " + twin + " has " + copied);
+            }
+        }
+
+        // Foreign keys into the tables from tables that stay unpartitioned would follow the old tables.
+        // Only the one of video_tags has a tenant-qualified replacement; any other stops the swap.
+        String migrated = TABLES.stream().map(table -> "'" + table + "'::regclass").collect(Collectors.joining(", "));
+        List<String[]> foreignKeys = jdbcTemplate.query("SELECT conname, conrelid::regclass::text AS owner, "
+            + "confrelid::regclass::text AS referenced FROM pg_constraint "
+            + "WHERE contype = 'f' AND confrelid IN (" + migrated + ") AND conrelid NOT IN (" + migrated + ")",
+            (rs, rowNum) -> new String[] {rs.getString("owner"), rs.getString("conname"), rs.getString("referenced")});
+        for (String[] foreignKey : foreignKeys) {
+            if (!"video_tags".equals(foreignKey[0]) || !"videos".equals(foreignKey[2])) {
+                throw new IllegalStateException("Foreign key " + foreignKey[1] + " of " + foreignKey[0] + " into "
+                    + foreignKey[2] + " has no partitioned replacement; re-create it on (tenant_id, ...) or drop it first");
+            }
+        }
+        for (String[] foreignKey : foreignKeys) {
+            logger.info("Dropping foreign key {} of {}", foreignKey[1], foreignKey[0]);
+            jdbcTemplate.execute("ALTER TABLE " + foreignKey[0] + " DROP CONSTRAINT " + quote(foreignKey[1]));
+        }
+
+        for (String table : TABLES) {
+            jdbcTemplate.execute("DROP TRIGGER trg_" + table + "_partition_sync ON " + table);
+            jdbcTemplate.execute("DROP FUNCTION " + table + "_partition_sync()");
+            jdbcTemplate.execute("ALTER TABLE " + table + " RENAME TO " + table + UNPARTITIONED_SUFFIX);
+            jdbcTemplate.execute("ALTER TABLE " + table + PostgresPartitionManager.PARTITIONED_SUFFIX + " RENAME TO " + table);
+        }
+
+        jdbcTemplate.execute("ALTER TABLE videos ADD CONSTRAINT fk_videos_tenant_category "
+            + "FOREIGN KEY (tenant_id, category_id) REFERENCES categories (tenant_id, id)");
+        jdbcTemplate.execute("ALTER TABLE thumbnails ADD CONSTRAINT fk_thumbnails_tenant_video "
+            + "FOREIGN KEY (tenant_id, video_id) REFERENCES videos (tenant_id, id) ON DELETE CASCADE");
+        jdbcTemplate.execute("ALTER TABLE video_tags ADD CONSTRAINT fk_video_tags_tenant_video "
+            + "FOREIGN KEY (tenant_id, video_id) REFERENCES videos (tenant_id, id) ON DELETE CASCADE");
+
+        // The triggers of the old tables, such as the search vector (V7) and counter (V10) ones
+        for (String table : TABLES) {
+            List<String> triggers = jdbcTemplate.queryForList("SELECT pg_get_triggerdef(oid) FROM pg_trigger "
+                + "WHERE tgrelid = to_regclass(?) AND NOT tgisinternal", String.class, table + UNPARTITIONED_SUFFIX);
+            for (String definition : triggers) {
+                jdbcTemplate.execute(definition.replaceFirst(" ON \\S+ ", " ON " + table + " "));
+            }
+        }
+
+        jdbcTemplate.update("UPDATE partition_migration_progress SET swapped_at = now()");
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,193 @@
+package com.streamflix.video.infrastructure.partitioning;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Hash partitioning of videos, categories and thumbnails by tenant, the online migration of
+ * existing rows into the partitioned tables, and the upkeep of the time partitions of
+ * {@code user_activity_logs}.
+ */
+@ConfigurationProperties(prefix = "app.partitioning")
+public class PartitioningProperties {
+
+    /** Create the partitioned tables at startup. */
+    private boolean enabled = false;
+
+    /**
+     * Hash partitions per table. Fixed once the tables exist: changing it means rebuilding them,
+     * so pick enough for the largest expected number of tenants per partition.
+     */
+    private int partitionCount = 16;
+
+    private final Migration migration = new Migration();
+
+    private final ActivityLog activityLog = new ActivityLog();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    public void setPartitionCount(int partitionCount) {
+        this.partitionCount = partitionCount;
+    }
+
+    public Migration getMigration() {
+        return migration;
+    }
+
+    public ActivityLog getActivityLog() {
+        return activityLog;
+    }
+
+    /**
+     * Copying rows of the unpartitioned tables while the service keeps writing to them.
+     */
+    public static class Migration {
+
+        /** Run the copy job; off by default, as it adds a trigger to every write until cutover. */
+        private boolean enabled = false;
+
+        /** Rows copied per transaction; each chunk holds share locks on its rows until it commits. */
+        private int chunkSize = 1000;
+
+        /** Pause between chunks, in milliseconds. */
+        private long intervalMs = 1000;
+
+        /**
+         * Swap the partitioned tables in once every row is copied. Off by default, so the swap,
+         * which briefly locks the tables exclusively, can be scheduled for a quiet moment.
+         */
+        private boolean cutover = false;
+
+        /** How long the swap waits for its exclusive locks before giving up until the next run, in milliseconds. */
+        private long lockTimeoutMs = 5000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public long getIntervalMs() {
+            return intervalMs;
+        }
+
+        public void setIntervalMs(long intervalMs) {
+            this.intervalMs = intervalMs;
+        }
+
+        public boolean isCutover() {
+            return cutover;
+        }
+
+        public void setCutover(boolean cutover) {
+            this.cutover = cutover;
+        }
+
+        public long getLockTimeoutMs() {
+            return lockTimeoutMs;
+        }
+
+        public void setLockTimeoutMs(long lockTimeoutMs) {
+            this.lockTimeoutMs = lockTimeoutMs;
+        }
+    }
+
+    /**
+     * Range partitions of {@code user_activity_logs} by {@code created_at} (see V9): created ahead
+     * of the rows that go in them, and retired whole once every tenant's retention has passed.
+     */
+    public static class ActivityLog {
+
+        public enum Granularity { DAILY, MONTHLY }
+
+        public enum RetentionAction { DROP, DETACH }
+
+        /** Create and retire partitions; requires V9 to have partitioned the table. */
+        private boolean enabled = true;
+
+        /** Time span of one partition. A change applies to the partitions created from then on. */
+        private Granularity granularity = Granularity.MONTHLY;
+
+        /**
+         * Partitions kept ready beyond the current one. Rows with no partition for their time fail
+         * to insert, so this must outlast any outage of the maintenance run.
+         */
+        private int premake = 3;
+
+        /** Drop expired partitions, or detach them to be archived and dropped by hand. */
+        private RetentionAction retentionAction = RetentionAction.DROP;
+
+        /** Pause between maintenance runs, in milliseconds. */
+        private long maintenanceIntervalMs = 3_600_000;
+
+        /** Rows deleted per statement when purging the logs of tenants with a shorter retention. */
+        private int purgeBatchSize = 10_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Granularity getGranularity() {
+            return granularity;
+        }
+
+        public void setGranularity(Granularity granularity) {
+            this.granularity = granularity;
+        }
+
+        public int getPremake() {
+            return premake;
+        }
+
+        public void setPremake(int premake) {
+            this.premake = premake;
+        }
+
+        public RetentionAction getRetentionAction() {
+            return retentionAction;
+        }
+
+        public void setRetentionAction(RetentionAction retentionAction) {
+            this.retentionAction = retentionAction;
+        }
+
+        public long getMaintenanceIntervalMs() {
+            return maintenanceIntervalMs;
+        }
+
+        public void setMaintenanceIntervalMs(long maintenanceIntervalMs) {
+            this.maintenanceIntervalMs = maintenanceIntervalMs;
+        }
+
+        public int getPurgeBatchSize() {
+            return purgeBatchSize;
+        }
+
+        public void setPurgeBatchSize(int purgeBatchSize) {
+            this.purgeBatchSize = purgeBatchSize;
+        }
+    }
+}
@@ -1,23 +1,76 @@
 package com.streamflix.video.infrastructure.partitioning;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Component responsible for setting up and maintaining database partitioning.
  * Uses PostgreSQL's declarative partitioning to horizontally partition tables by tenant.
+ * <p>
+ * Each of {@link #TABLES} gets a twin partitioned by {@code HASH (tenant_id)} into a fixed number
+ * of partitions ({@code app.partitioning.partition-count}), named {@code <table>_p00} onwards.
+ * Every tenant hashes into exactly one of them, so new tenants need no DDL, and a query with
+ * {@code tenant_id = ?} is planned against that one partition. The twin is named
+ * {@code <table>_partitioned} until {@link PartitionMigrationJob} has copied the rows over and
+ * swapped it in under the table's own name, which is what the entities map to.
+ * <p>
+ * Primary keys are {@code (tenant_id, id)}, as a unique key on a partitioned table must contain
+ * the partition key, and every index leads with {@code tenant_id}. A plain index on {@code id}
+ * (and on {@code video_id} for thumbnails) keeps lookups by key alone, such as the loads of a
+ * video's category or thumbnails, to one index probe per partition.
  */
 @Component
 @ConditionalOnProperty(name = "app.partitioning.enabled", havingValue = "true")
+@EnableConfigurationProperties(PartitioningProperties.class)
+@DependsOnDatabaseInitialization
 public class PostgresPartitionManager {
 
+    private static final Logger logger = LoggerFactory.getLogger(PostgresPartitionManager.class);
+
+    /** Tables partitioned by tenant, in the order their rows are copied: referenced tables first. */
+    public static final List<String> TABLES = List.of("categories", "videos", "thumbnails");
+
+    static final String PARTITIONED_SUFFIX = "_partitioned";
+
+    /** Indexes of each partitioned table besides its primary key, as {@code name -> (columns)}. */
+    private static final Map<String, Map<String, String>> INDEXES = Map.of(
+        "categories", Map.of(
+            "idx_categories_part_id", "(id)"),
+        "videos", Map.of(
+            "idx_videos_part_id", "(id)",
+            "idx_videos_part_tenant_status", "(tenant_id, status)",
+            // Keyset pagination seeks on (sort field, id) within the tenant
+            "idx_videos_part_tenant_updated_at_id", "(tenant_id, updated_at, id)",
+            "idx_videos_part_tenant_created_at_id", "(tenant_id, created_at, id)",
+            "idx_videos_part_tenant_title_id", "(tenant_id, title, id)",
+            "idx_videos_part_tenant_release_year_id", "(tenant_id, release_year, id)",
+            "idx_videos_part_tenant_language_id", "(tenant_id, language, id)",
+            "idx_videos_part_tenant_category_updated_at_id", "(tenant_id, category_id, updated_at, id)"),
+        "thumbnails", Map.of(
+            "idx_thumbnails_part_id", "(id)",
+            "idx_thumbnails_part_video_id", "(video_id)",
+            "idx_thumbnails_part_tenant_video_id", "(tenant_id, video_id)")
+    );
+
     private final JdbcTemplate jdbcTemplate;
+    private final int partitionCount;
 
-    public PostgresPartitionManager(JdbcTemplate jdbcTemplate) {
+    public PostgresPartitionManager(JdbcTemplate jdbcTemplate, PartitioningProperties properties) {
+        if (properties.getPartitionCount() < 1) {
+            throw new IllegalArgumentException("Partition count must be positive, was " + properties.getPartitionCount());
+        }
         this.jdbcTemplate = jdbcTemplate;
+        this.partitionCount = properties.getPartitionCount();
     }
 
     /**
@@ -25,113 +78,130 @@ public class PostgresPartitionManager {
      */
     @PostConstruct
     public void initializePartitioning() {
-        // Only run if we need to set up partitioning
-        if (isPartitioningSetUp()) {
-            return;
+        ensureLayout();
+    }
+
+    /**
+     * Create whatever part of the partitioned tables, their partitions and indexes is missing.
+     * Idempotent, and cheap once everything exists.
+     *
+     * @throws IllegalStateException if a table was already partitioned with another partition count
+     */
+    public void ensureLayout() {
+        for (String table : TABLES) {
+            String parent = partitionedTable(table);
+            if (!parent.equals(table)) {
+                createParent(table, parent);
+            }
+            createPartitions(parent);
+            createIndexes(table, parent);
         }
+    }
 
-        // Create partitioned tables
-        setupVideoPartitioning();
-        setupCategoryPartitioning();
-        setupThumbnailPartitioning();
+    /**
+     * The partitioned table holding the table's rows from now on: the table itself once swapped
+     * in, its {@code _partitioned} twin before.
+     */
+    public String partitionedTable(String table) {
+        return isPartitioned(table) ? table : table + PARTITIONED_SUFFIX;
     }
 
-    private boolean isPartitioningSetUp() {
+    /**
+     * Whether the table exists and is partitioned.
+     */
+    public boolean isPartitioned(String table) {
         Integer count = jdbcTemplate.queryForObject(
-            "SELECT COUNT(*) FROM information_schema.tables WHERE table_name = 'videos_partitioned'", 
-            Integer.class);
+            "SELECT count(*) FROM pg_partitioned_table WHERE partrelid = to_regclass(?)", Integer.class, table);
         return count != null && count > 0;
     }
 
-    private void setupVideoPartitioning() {
-        // Create the partitioned table
-        jdbcTemplate.execute("""
-            CREATE TABLE IF NOT EXISTS videos_partitioned (
-                id UUID NOT NULL,
-                title VARCHAR(255) NOT NULL,
-                description VARCHAR(2000),
-                tenant_id UUID NOT NULL,
-                category_id UUID,
-                release_year INTEGER,
-                language VARCHAR(10),
-                status VARCHAR(255) NOT NULL,
-                created_at TIMESTAMP WITHOUT TIME ZONE,
-                updated_at TIMESTAMP WITHOUT TIME ZONE,
-                PRIMARY KEY (tenant_id, id)
-            ) PARTITION BY HASH (tenant_id);
-        """);
-
-        // Create default partition
-        jdbcTemplate.execute("""
-            CREATE TABLE IF NOT EXISTS videos_default_partition
-            PARTITION OF videos_partitioned DEFAULT;
-        """);
+    /**
+     * Columns of the table in their declared order.
+     */
+    public List<String> columns(String table) {
+        return jdbcTemplate.queryForList("""
+            SELECT column_name FROM information_schema.columns
+             WHERE table_schema = current_schema() AND table_name = ?
+             ORDER BY ordinal_position""", String.class, table);
     }
 
-    private void setupCategoryPartitioning() {
-        // Create the partitioned table
-        jdbcTemplate.execute("""
-            CREATE TABLE IF NOT EXISTS categories_partitioned (
-                id UUID NOT NULL,
-                name VARCHAR(255) NOT NULL,
-                description VARCHAR(2000),
-                tenant_id UUID NOT NULL,
-                PRIMARY KEY (tenant_id, id)
-            ) PARTITION BY HASH (tenant_id);
-        """);
-
-        // Create default partition
-        jdbcTemplate.execute("""
-            CREATE TABLE IF NOT EXISTS categories_default_partition
-            PARTITION OF categories_partitioned DEFAULT;
-        """);
+    public int getPartitionCount() {
+        return partitionCount;
     }
 
-    private void setupThumbnailPartitioning() {
-        // Create the partitioned table
-        jdbcTemplate.execute("""
-            CREATE TABLE IF NOT EXISTS thumbnails_partitioned (
-                id UUID NOT NULL,
-                url VARCHAR(255) NOT NULL,
-                width INTEGER,
-                height INTEGER,
-                is_default BOOLEAN,
-                is_primary BOOLEAN,
-                video_id UUID NOT NULL,
-                tenant_id UUID NOT NULL,
-                PRIMARY KEY (tenant_id, id)
-            ) PARTITION BY HASH (tenant_id);
-        """);
-
-        // Create default partition
-        jdbcTemplate.execute("""
-            CREATE TABLE IF NOT EXISTS thumbnails_default_partition
-            PARTITION OF thumbnails_partitioned DEFAULT;
-        """);
+    /**
+     * Name of one hash partition of the table, {@code videos_p03} for remainder 3.
+     */
+    String partitionName(String table, int remainder) {
+        int digits = Math.max(2, String.valueOf(partitionCount - 1).length());
+        return String.format("%s_p%0" + digits + "d", table, remainder);
+    }
+
+    private void createParent(String table, String parent) {
+        if (tableExists(parent) && attachedPartitions(parent) == 0) {
+            // Left by an earlier layout that never got its partitions; without any it holds no rows
+            logger.info("Recreating {}, which has no partitions", parent);
+            jdbcTemplate.execute("DROP TABLE " + parent);
+        }
+        // Same columns, types and defaults as the table, so rows copy over column for column
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + parent + " (LIKE " + table + " INCLUDING DEFAULTS, "
+            + "PRIMARY KEY (tenant_id, id)) PARTITION BY HASH (tenant_id)");
+    }
+
+    private void createPartitions(String parent) {
+        int existing = attachedPartitions(parent);
+        if (existing == partitionCount) {
+            return;
+        }
+        if (existing != 0) {
+            throw new IllegalStateException(parent + " has " + existing + " partitions but app.partitioning.partition-count is "
+                + partitionCount + "; the count cannot change without rebuilding the table");
+        }
+        String table = parent.endsWith(PARTITIONED_SUFFIX)
+            ? parent.substring(0, parent.length() - PARTITIONED_SUFFIX.length()) : parent;
+        for (int remainder = 0; remainder < partitionCount; remainder++) {
+            jdbcTemplate.execute(String.format("CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES WITH (MODULUS %d, REMAINDER %d)",
+                partitionName(table, remainder), parent, partitionCount, remainder));
+        }
+        logger.info("Created {} hash partitions of {}", partitionCount, parent);
+    }
+
+    private void createIndexes(String table, String parent) {
+        List<String> statements = new ArrayList<>();
+        INDEXES.get(table).forEach((name, columns) ->
+            statements.add("CREATE INDEX IF NOT EXISTS " + name + " ON " + parent + " " + columns));
+        if (table.equals("categories")) {
+            statements.add("CREATE UNIQUE INDEX IF NOT EXISTS uk_categories_part_tenant_name ON " + parent + " (tenant_id, name)");
+        }
+        if (table.equals("videos")) {
+            if (columns(parent).contains("search_vector")) {
+                statements.add("CREATE INDEX IF NOT EXISTS idx_videos_part_search_vector ON " + parent + " USING GIN (search_vector)");
+            }
+            if (trigramIndexSupported()) {
+                statements.add("CREATE INDEX IF NOT EXISTS idx_videos_part_tenant_title_trgm ON " + parent
+                    + " USING GIN (tenant_id, lower(title) gin_trgm_ops)");
+            }
+        }
+        statements.forEach(jdbcTemplate::execute);
+    }
+
+    private boolean tableExists(String table) {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    private int attachedPartitions(String parent) {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM pg_inherits WHERE inhparent = to_regclass(?)", Integer.class, parent);
+        return count != null ? count : 0;
     }
 
     /**
-     * Create a new partition for a specific tenant
-     * @param tenantId The tenant ID
+     * Whether the extensions of the title trigram index (see V8) are installed.
      */
-    public void createTenantPartition(String tenantId) {
-        // Create partitions for each table type
-        jdbcTemplate.execute(String.format("""
-            CREATE TABLE IF NOT EXISTS videos_tenant_%s
-            PARTITION OF videos_partitioned
-            FOR VALUES WITH (MODULUS 100, REMAINDER %d);
-        """, tenantId, Math.abs(tenantId.hashCode() % 100)));
-
-        jdbcTemplate.execute(String.format("""
-            CREATE TABLE IF NOT EXISTS categories_tenant_%s
-            PARTITION OF categories_partitioned
-            FOR VALUES WITH (MODULUS 100, REMAINDER %d);
-        """, tenantId, Math.abs(tenantId.hashCode() % 100)));
-
-        jdbcTemplate.execute(String.format("""
-            CREATE TABLE IF NOT EXISTS thumbnails_tenant_%s
-            PARTITION OF thumbnails_partitioned
-            FOR VALUES WITH (MODULUS 100, REMAINDER %d);
-        """, tenantId, Math.abs(tenantId.hashCode() % 100)));
+    private boolean trigramIndexSupported() {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM pg_extension WHERE extname IN ('pg_trgm', 'btree_gin')", Integer.class);
+        return count != null && count == 2;
     }
 }
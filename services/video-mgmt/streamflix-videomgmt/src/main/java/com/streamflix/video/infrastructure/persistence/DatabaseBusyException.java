@@ -0,0 +1,17 @@
+package com.streamflix.video.infrastructure.persistence;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A transaction could not start because the instance already runs as many as it allows and none
+ * finished in time. Nothing was done; the caller may retry later.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class DatabaseBusyException extends CannotCreateTransactionException {
+
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,130 @@
+package com.streamflix.video.infrastructure.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the transactions running at once with a fair semaphore, taken before a transaction
+ * begins and given back when it completes.
+ * <p>
+ * This is what bounds database work, rather than the size of the thread pools in front of it:
+ * with a virtual thread per request and per {@code @Async} task there is no pool to size, and a
+ * burst simply waits here, in arrival order, until a permit is free or the acquire timeout
+ * passes. A transaction started while its thread already holds a permit, such as a
+ * {@code REQUIRES_NEW} inside another, runs on that permit, so nested transactions cannot
+ * deadlock on the cap.
+ * <p>
+ * Work that takes a connection of its own outside any transaction, such as the attempts of a
+ * hedged read, counts against the same cap through {@link #tryAcquireDetached()}.
+ */
+@Component
+@EnableConfigurationProperties(DatabaseConcurrencyProperties.class)
+public class DatabaseConcurrencyLimiter implements TransactionExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseConcurrencyLimiter.class);
+
+    // The transaction that took the permit held by the current thread
+    private static final ThreadLocal<TransactionExecution> PERMIT_OWNER = new ThreadLocal<>();
+
+    private final DatabaseConcurrencyProperties properties;
+    private final Semaphore permits;
+    private final Counter rejected;
+
+    public DatabaseConcurrencyLimiter(DatabaseConcurrencyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.permits = new Semaphore(properties.getMaxConcurrentTransactions(), true);
+        Gauge.builder("db.transactions.active", this,
+                limiter -> limiter.properties.getMaxConcurrentTransactions() - limiter.permits.availablePermits())
+            .description("Transactions holding a permit")
+            .register(meterRegistry);
+        Gauge.builder("db.transactions.waiting", permits, Semaphore::getQueueLength)
+            .description("Transactions waiting for a permit")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("db.transactions.rejected")
+            .description("Transactions that gave up waiting for a permit")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void beforeBegin(TransactionExecution transaction) {
+        if (!properties.isEnabled() || PERMIT_OWNER.get() != null) {
+            return;
+        }
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(properties.getAcquireTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseBusyException("Interrupted while waiting to start a transaction");
+        }
+        if (!acquired) {
+            rejected.increment();
+            logger.warn("No transaction permit within {}, {} waiting", properties.getAcquireTimeout(), permits.getQueueLength());
+            throw new DatabaseBusyException("Too many concurrent transactions, try again later");
+        }
+        PERMIT_OWNER.set(transaction);
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (PERMIT_OWNER.get() != transaction) {
+            return;
+        }
+        if (beginFailure != null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            release();
+            return;
+        }
+        // Completion is the one callback every way out of a transaction goes through
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release();
+            }
+        });
+    }
+
+    /**
+     * Take a permit for database work on a connection of its own, outside any transaction, if one
+     * is free now and no transaction is waiting for it. Such work is optional and never waits: the
+     * caller does without it instead.
+     * @return whether a permit was taken, to be given back with {@link #releaseDetached()}
+     */
+    public boolean tryAcquireDetached() {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        try {
+            // Unlike tryAcquire(), honours the fairness of the semaphore
+            return permits.tryAcquire(0, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Give back a permit taken with {@link #tryAcquireDetached()}.
+     */
+    public void releaseDetached() {
+        if (properties.isEnabled()) {
+            permits.release();
+        }
+    }
+
+    private void release() {
+        PERMIT_OWNER.remove();
+        permits.release();
+    }
+}
@@ -0,0 +1,46 @@
+package com.streamflix.video.infrastructure.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Cap on the transactions running at once (see DatabaseConcurrencyLimiter), which bounds the
+ * database work of an instance however many threads ask for it.
+ */
+@ConfigurationProperties(prefix = "app.database.concurrency")
+public class DatabaseConcurrencyProperties {
+
+    /** Limit concurrent transactions; without it, callers beyond the pools wait in HikariCP. */
+    private boolean enabled = true;
+
+    /** Transactions running at once, about the connections of the primary and replica pools together. */
+    private int maxConcurrentTransactions = 30;
+
+    /** Time a transaction waits for its turn before failing with DatabaseBusyException. */
+    private Duration acquireTimeout = Duration.ofSeconds(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxConcurrentTransactions() {
+        return maxConcurrentTransactions;
+    }
+
+    public void setMaxConcurrentTransactions(int maxConcurrentTransactions) {
+        this.maxConcurrentTransactions = maxConcurrentTransactions;
+    }
+
+    public Duration getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    public void setAcquireTimeout(Duration acquireTimeout) {
+        this.acquireTimeout = acquireTimeout;
+    }
+}
@@ -1,9 +1,14 @@
 package com.streamflix.video.infrastructure.persistence;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.streamflix.video.domain.Category;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -27,4 +32,42 @@ public interface JpaCategoryRepository extends JpaRepository<Category, UUID> {
      * @return true if a category with the given name exists, false otherwise
      */
     boolean existsByName(String name);
-}
\ No newline at end of file
+
+    /**
+     * Find the categories of a tenant.
+     *
+     * @param tenantId the tenant ID
+     * @return the tenant's categories
+     */
+    List<Category> findByTenantId(UUID tenantId);
+
+    /**
+     * Find a page of the categories of a tenant.
+     *
+     * @param tenantId the tenant ID
+     * @param pageable the page
+     * @return the page of the tenant's categories
+     */
+    Page<Category> findByTenantId(UUID tenantId, Pageable pageable);
+
+    /**
+     * Identifiers of a tenant's categories in ascending order, starting after the given one.
+     *
+     * @param tenantId the tenant ID
+     * @param afterId the last identifier of the previous batch
+     * @param pageable the batch size
+     * @return the next batch of identifiers
+     */
+    @Query("SELECT c.id FROM Category c WHERE c.tenantId = :tenantId AND c.id > :afterId ORDER BY c.id")
+    List<UUID> findIdsByTenantIdAfter(@Param("tenantId") UUID tenantId, @Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Identifiers of all categories in ascending order, starting after the given one.
+     *
+     * @param afterId the last identifier of the previous batch
+     * @param pageable the batch size
+     * @return the next batch of identifiers
+     */
+    @Query("SELECT c.id FROM Category c WHERE c.id > :afterId ORDER BY c.id")
+    List<UUID> findIdsAfter(@Param("afterId") UUID afterId, Pageable pageable);
+}
@@ -0,0 +1,108 @@
+package com.streamflix.video.infrastructure.persistence;
+
+import com.streamflix.video.domain.Category;
+import com.streamflix.video.domain.CategoryRepository;
+import com.streamflix.video.infrastructure.multitenancy.TenantContextHolder;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.StreamSupport;
+
+/**
+ * Implementation of the CategoryRepository interface using Spring Data JPA.
+ * This is an adapter in the hexagonal architecture.
+ * <p>
+ * Lookups by id and by name go through the second-level cache, so resolving the category of
+ * a video rarely reaches PostgreSQL. The cache is shared by all tenants: with a tenant in the
+ * context, categories of other tenants are filtered out after loading, and names resolve within
+ * that tenant (or the default tenant without one).
+ */
+@Component
+public class JpaCategoryRepositoryAdapter implements CategoryRepository {
+
+    private final JpaCategoryRepository jpaCategoryRepository;
+    private final EntityManager entityManager;
+    private final UUID defaultTenantId;
+
+    public JpaCategoryRepositoryAdapter(JpaCategoryRepository jpaCategoryRepository,
+                                        EntityManager entityManager,
+                                        @Value("${app.multitenancy.default-tenant-id}") String defaultTenantId) {
+        this.jpaCategoryRepository = jpaCategoryRepository;
+        this.entityManager = entityManager;
+        this.defaultTenantId = UUID.fromString(defaultTenantId);
+    }
+
+    @Override
+    public Category save(Category category) {
+        return jpaCategoryRepository.save(category);
+    }
+
+    @Override
+    public Optional<Category> findById(UUID id) {
+        return Optional.ofNullable(entityManager.find(Category.class, id)).filter(this::isVisible);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Category> findAllById(Iterable<UUID> ids) {
+        List<UUID> idList = StreamSupport.stream(ids.spliterator(), false).distinct().toList();
+        if (idList.isEmpty()) {
+            return List.of();
+        }
+        // Cached categories are served from the cache and only the rest are queried, in one go
+        return entityManager.unwrap(Session.class).byMultipleIds(Category.class).multiLoad(idList).stream()
+            .filter(Objects::nonNull)
+            .filter(this::isVisible)
+            .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Category> findByName(String name) {
+        UUID tenantId = TenantContextHolder.getTenantIdOptional();
+        return entityManager.unwrap(Session.class).byNaturalId(Category.class)
+            .using("name", name)
+            .using("tenantId", tenantId != null ? tenantId : defaultTenantId)
+            .loadOptional();
+    }
+
+    @Override
+    public List<Category> findAll() {
+        UUID tenantId = TenantContextHolder.getTenantIdOptional();
+        return tenantId != null ? jpaCategoryRepository.findByTenantId(tenantId) : jpaCategoryRepository.findAll();
+    }
+
+    @Override
+    public List<Category> findAll(int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by("name"));
+        UUID tenantId = TenantContextHolder.getTenantIdOptional();
+        return tenantId != null
+            ? jpaCategoryRepository.findByTenantId(tenantId, pageRequest).getContent()
+            : jpaCategoryRepository.findAll(pageRequest).getContent();
+    }
+
+    @Override
+    public void deleteById(UUID categoryId) {
+        // Deleted as an entity rather than by query, which evicts it from the cache on every pod
+        findById(categoryId).ifPresent(jpaCategoryRepository::delete);
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return findById(id).isPresent();
+    }
+
+    private boolean isVisible(Category category) {
+        UUID tenantId = TenantContextHolder.getTenantIdOptional();
+        return tenantId == null || tenantId.equals(category.getTenantId());
+    }
+}
@@ -2,7 +2,10 @@ package com.streamflix.video.infrastructure.persistence;
 
 import com.streamflix.video.domain.TenantRepository;
 import com.streamflix.video.domain.model.Tenant;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,14 +14,18 @@ import java.util.UUID;
 /**
  * Implementation of the TenantRepository interface using Spring Data JPA.
  * This is an adapter in the hexagonal architecture.
+ * <p>
+ * Tenants are looked up by id and by identifier through the second-level cache.
  */
 @Component
 public class JpaTenantRepositoryAdapter implements TenantRepository {
     
     private final JpaTenantRepository jpaTenantRepository;
+    private final EntityManager entityManager;
     
-    public JpaTenantRepositoryAdapter(JpaTenantRepository jpaTenantRepository) {
+    public JpaTenantRepositoryAdapter(JpaTenantRepository jpaTenantRepository, EntityManager entityManager) {
         this.jpaTenantRepository = jpaTenantRepository;
+        this.entityManager = entityManager;
     }
     
     @Override
@@ -32,8 +39,10 @@ public class JpaTenantRepositoryAdapter implements TenantRepository {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Optional<Tenant> findByIdentifier(String identifier) {
-        return jpaTenantRepository.findByIdentifier(identifier);
+        // By natural id, so that the cache resolves the identifier as well as the tenant
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Tenant.class).loadOptional(identifier);
     }
     
     @Override
@@ -2,18 +2,25 @@ package com.streamflix.video.infrastructure.persistence;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
+import com.streamflix.video.domain.Category;
 import com.streamflix.video.domain.Video;
+import com.streamflix.video.domain.VideoRepository;
 import com.streamflix.video.domain.VideoStatus;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -61,13 +68,117 @@ public interface JpaVideoRepository extends VideoRepository, JpaRepository<Video
      */
     @Query("SELECT v FROM Video v JOIN v.thumbnails t WHERE t.id = :thumbnailId")
     Optional<Video> findByThumbnailId(@Param("thumbnailId") UUID thumbnailId);
+
+    /**
+     * Find a tenant's video containing a thumbnail with the given ID
+     * @param thumbnailId The thumbnail ID to search for
+     * @param tenantId The tenant ID
+     * @return Optional containing the video if found
+     */
+    @Query("SELECT v FROM Video v JOIN v.thumbnails t WHERE t.id = :thumbnailId AND t.tenantId = :tenantId AND v.tenantId = :tenantId")
+    Optional<Video> findByThumbnailIdAndTenantId(@Param("thumbnailId") UUID thumbnailId, @Param("tenantId") UUID tenantId);
     
+    /**
+     * Identifiers of a tenant's videos in ascending order, starting after the given one
+     * @param tenantId The tenant ID
+     * @param afterId The last identifier of the previous batch
+     * @param pageable Batch size; the page number is ignored by callers
+     * @return The next batch of identifiers
+     */
+    @Query("SELECT v.id FROM Video v WHERE v.tenantId = :tenantId AND v.id > :afterId ORDER BY v.id")
+    List<UUID> findIdsByTenantIdAfter(@Param("tenantId") UUID tenantId, @Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Identifiers of all videos in ascending order, starting after the given one
+     * @param afterId The last identifier of the previous batch
+     * @param pageable Batch size; the page number is ignored by callers
+     * @return The next batch of identifiers
+     */
+    @Query("SELECT v.id FROM Video v WHERE v.id > :afterId ORDER BY v.id")
+    List<UUID> findIdsAfter(@Param("afterId") UUID afterId, Pageable pageable);
+
     @Override
     @EntityGraph(value = "Video.withCategoryAndThumbnails")
     Optional<Video> findById(UUID id);
 
     @Modifying
     @Transactional
-    @Query("UPDATE Video v SET v.status = :newStatus WHERE v.id IN :videoIds")
-    int batchUpdateStatus(@Param("videoIds") List<UUID> videoIds, @Param("newStatus") VideoStatus newStatus);
+    @Query("UPDATE Video v SET v.status = :newStatus, v.updatedAt = CURRENT_TIMESTAMP "
+        + "WHERE v.id IN :videoIds AND v.status IN :fromStatuses")
+    int batchUpdateStatus(@Param("videoIds") List<UUID> videoIds,
+                          @Param("fromStatuses") Set<VideoStatus> fromStatuses,
+                          @Param("newStatus") VideoStatus newStatus);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Video v SET v.category = :category, v.updatedAt = CURRENT_TIMESTAMP WHERE v.id IN :videoIds")
+    int batchUpdateCategory(@Param("videoIds") List<UUID> videoIds, @Param("category") Category category);
+
+    // Native writes name the only table they touch, or Hibernate would empty the whole second-level cache
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "video_tags"))
+    @Query(value = """
+        INSERT INTO video_tags (video_id, tag, tenant_id)
+        SELECT v.id, :tag, v.tenant_id FROM videos v
+         WHERE v.id IN :videoIds
+           AND NOT EXISTS (SELECT 1 FROM video_tags t WHERE t.video_id = v.id AND t.tag = :tag)""",
+        nativeQuery = true)
+    int batchAddTag(@Param("videoIds") List<UUID> videoIds, @Param("tag") String tag);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "video_tags"))
+    @Query(value = "DELETE FROM video_tags WHERE video_id IN :videoIds AND tag = :tag", nativeQuery = true)
+    int batchRemoveTag(@Param("videoIds") List<UUID> videoIds, @Param("tag") String tag);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Video v SET v.updatedAt = CURRENT_TIMESTAMP WHERE v.id IN :videoIds")
+    int batchTouch(@Param("videoIds") List<UUID> videoIds);
+
+    // The batch updates above, limited to one tenant's videos
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Video v SET v.status = :newStatus, v.updatedAt = CURRENT_TIMESTAMP "
+        + "WHERE v.tenantId = :tenantId AND v.id IN :videoIds AND v.status IN :fromStatuses")
+    int batchUpdateStatusByTenantId(@Param("tenantId") UUID tenantId,
+                                    @Param("videoIds") List<UUID> videoIds,
+                                    @Param("fromStatuses") Set<VideoStatus> fromStatuses,
+                                    @Param("newStatus") VideoStatus newStatus);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Video v SET v.category = :category, v.updatedAt = CURRENT_TIMESTAMP "
+        + "WHERE v.tenantId = :tenantId AND v.id IN :videoIds")
+    int batchUpdateCategoryByTenantId(@Param("tenantId") UUID tenantId,
+                                      @Param("videoIds") List<UUID> videoIds,
+                                      @Param("category") Category category);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "video_tags"))
+    @Query(value = """
+        INSERT INTO video_tags (video_id, tag, tenant_id)
+        SELECT v.id, :tag, v.tenant_id FROM videos v
+         WHERE v.tenant_id = :tenantId AND v.id IN :videoIds
+           AND NOT EXISTS (SELECT 1 FROM video_tags t WHERE t.video_id = v.id AND t.tag = :tag)""",
+        nativeQuery = true)
+    int batchAddTagByTenantId(@Param("tenantId") UUID tenantId, @Param("videoIds") List<UUID> videoIds, @Param("tag") String tag);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "video_tags"))
+    @Query(value = """
+        DELETE FROM video_tags
+         WHERE tag = :tag
+           AND video_id IN (SELECT v.id FROM videos v WHERE v.tenant_id = :tenantId AND v.id IN :videoIds)""",
+        nativeQuery = true)
+    int batchRemoveTagByTenantId(@Param("tenantId") UUID tenantId, @Param("videoIds") List<UUID> videoIds, @Param("tag") String tag);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Video v SET v.updatedAt = CURRENT_TIMESTAMP WHERE v.tenantId = :tenantId AND v.id IN :videoIds")
+    int batchTouchByTenantId(@Param("tenantId") UUID tenantId, @Param("videoIds") List<UUID> videoIds);
 }
\ No newline at end of file
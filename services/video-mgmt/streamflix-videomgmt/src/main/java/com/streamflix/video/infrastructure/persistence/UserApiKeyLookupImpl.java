@@ -0,0 +1,28 @@
+package com.streamflix.video.infrastructure.persistence;
+
+import com.streamflix.video.domain.UserApiKeyLookup;
+import com.streamflix.video.domain.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Spring Data repository fragment behind {@code UserRepository.findByApiKey}, found by its name.
+ * The API key is the user's natural id, so a cached key resolves without a query.
+ */
+public class UserApiKeyLookupImpl implements UserApiKeyLookup {
+
+    private final EntityManager entityManager;
+
+    public UserApiKeyLookupImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByApiKey(String apiKey) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(apiKey);
+    }
+}
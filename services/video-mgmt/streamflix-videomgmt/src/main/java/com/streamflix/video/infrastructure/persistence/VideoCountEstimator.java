@@ -0,0 +1,50 @@
+package com.streamflix.video.infrastructure.persistence;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamflix.video.presentation.dto.VideoFilterParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estimates how many videos match a filter from PostgreSQL's planner statistics.
+ * <p>
+ * The filter is rendered as SQL by {@link VideoFilterSql} and only planned with {@code EXPLAIN},
+ * never executed. Planning reads table statistics, so the cost does not grow with the number of
+ * matches the way {@code COUNT(*)} does. The estimate is the planner's row count for the whole query: usually within a small
+ * factor of the truth, less reliable for combinations of correlated filters.
+ */
+@Component
+public class VideoCountEstimator {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoCountEstimator.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public VideoCountEstimator(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return The planner's estimate of matching videos, or -1 if planning failed
+     */
+    public long estimate(VideoFilterParams params) {
+        List<Object> args = new ArrayList<>();
+        String sql = "EXPLAIN (FORMAT JSON) SELECT v.id" + VideoFilterSql.from(params, args);
+        try {
+            String plan = jdbcTemplate.queryForObject(sql, String.class, args.toArray());
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? rows.asLong() : -1;
+        } catch (Exception e) {
+            logger.warn("Failed to estimate video count for {}: {}", params, e.getMessage());
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.streamflix.video.infrastructure.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Video counts read from the counters the triggers of V10 keep, instead of counted from the
+ * videos, and the reconciliation that repairs their drift.
+ */
+@ConfigurationProperties(prefix = "app.video-counters")
+public class VideoCounterProperties {
+
+    /** Read counts from the counters; off where the schema is not migrated, such as under H2. */
+    private boolean enabled = true;
+
+    /** Time between reconciliations of every tenant's counters with its videos. */
+    private long reconcileIntervalMs = 3_600_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getReconcileIntervalMs() {
+        return reconcileIntervalMs;
+    }
+
+    public void setReconcileIntervalMs(long reconcileIntervalMs) {
+        this.reconcileIntervalMs = reconcileIntervalMs;
+    }
+}
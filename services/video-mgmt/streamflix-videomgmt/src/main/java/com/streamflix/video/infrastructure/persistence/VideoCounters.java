@@ -0,0 +1,158 @@
+package com.streamflix.video.infrastructure.persistence;
+
+import com.streamflix.video.infrastructure.multitenancy.TenantContextHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Video counts per tenant by status, category, tag and language, and in total, read from the
+ * {@code video_counters} table (see V10) rather than counted from the videos.
+ * <p>
+ * Triggers on {@code videos} and {@code video_tags} keep the counters in the same transaction as
+ * every write, whether by JPA, bulk SQL or the archiving jobs, so a count costs a handful of rows
+ * at any number of videos. Each connection adds to one of several slots of a counter and a count
+ * is their sum, so concurrent uploads of one tenant seldom queue on a single row.
+ * <p>
+ * Anything that bypasses the triggers, such as a {@code TRUNCATE} or a trigger disabled for a
+ * restore, leaves the counters off; {@link #reconcileAll()} recounts each tenant periodically and
+ * adds the difference to a slot of its own.
+ */
+@Component
+@EnableConfigurationProperties(VideoCounterProperties.class)
+public class VideoCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoCounters.class);
+
+    /** Slot for the corrections of reconciliation, apart from those of the writers. */
+    static final int RECONCILIATION_SLOT = -1;
+
+    /**
+     * What videos are counted by; the counter of {@link #ALL} has the empty value.
+     */
+    public enum Dimension {
+        ALL, STATUS, CATEGORY, TAG, LANGUAGE;
+
+        String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final VideoCounterProperties properties;
+
+    public VideoCounters(JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         VideoCounterProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        // The recount and the counters it is compared with must come from the same snapshot
+        this.transaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.properties = properties;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * @return The number of videos of the current tenant, or of all tenants without one, counted
+     *         by the dimension with the value
+     */
+    public long count(Dimension dimension, String value) {
+        UUID tenantId = TenantContextHolder.getTenantIdOptional();
+        String key = dimension == Dimension.ALL ? "" : value;
+        Long count = tenantId != null
+            ? jdbcTemplate.queryForObject("SELECT COALESCE(sum(count), 0) FROM video_counters "
+                + "WHERE tenant_id = ? AND dimension = ? AND value = ?", Long.class, tenantId, dimension.key(), key)
+            : jdbcTemplate.queryForObject("SELECT COALESCE(sum(count), 0) FROM video_counters "
+                + "WHERE dimension = ? AND value = ?", Long.class, dimension.key(), key);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Reconcile the counters of every tenant with its videos.
+     */
+    @Scheduled(fixedDelayString = "${app.video-counters.reconcile-interval-ms:3600000}")
+    public void reconcileAll() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            List<UUID> tenants = jdbcTemplate.queryForList(
+                "SELECT id FROM tenants UNION SELECT DISTINCT tenant_id FROM video_counters", UUID.class);
+            for (UUID tenantId : tenants) {
+                reconcile(tenantId);
+            }
+        } catch (DataAccessException ex) {
+            logger.warn("Video counter reconciliation failed, retrying on the next run: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Recount the tenant's videos and add the difference to the counters. Writes that commit
+     * meanwhile add their own changes, which the difference taken in one snapshot leaves alone.
+     *
+     * @return The number of counters that had drifted
+     */
+    int reconcile(UUID tenantId) {
+        try {
+            Integer drifted = transaction.execute(status -> {
+                List<Object[]> drift = jdbcTemplate.query("""
+                    WITH actual AS (
+                        SELECT k.dimension, k.value, count(*) AS count
+                          FROM videos v, video_counter_keys(v.status, v.category_id, v.language) k
+                         WHERE v.tenant_id = ?
+                         GROUP BY 1, 2
+                        UNION ALL
+                        SELECT 'tag', t.tag, count(*)
+                          FROM video_tags t JOIN videos v ON v.id = t.video_id
+                         WHERE v.tenant_id = ?
+                         GROUP BY 2
+                    ), counted AS (
+                        SELECT dimension, value, sum(count) AS count
+                          FROM video_counters
+                         WHERE tenant_id = ?
+                         GROUP BY 1, 2
+                    )
+                    SELECT COALESCE(a.dimension, c.dimension) AS dimension, COALESCE(a.value, c.value) AS value,
+                           COALESCE(a.count, 0) - COALESCE(c.count, 0) AS drift
+                      FROM actual a FULL JOIN counted c ON c.dimension = a.dimension AND c.value = a.value
+                     WHERE COALESCE(a.count, 0) <> COALESCE(c.count, 0)
+                     ORDER BY 1, 2""",
+                    (rs, rowNum) -> new Object[] {tenantId, rs.getString("dimension"), rs.getString("value"),
+                        RECONCILIATION_SLOT, rs.getLong("drift")},
+                    tenantId, tenantId, tenantId);
+                jdbcTemplate.batchUpdate("""
+                    INSERT INTO video_counters (tenant_id, dimension, value, slot, count) VALUES (?, ?, ?, ?, ?)
+                    ON CONFLICT (tenant_id, dimension, value, slot) DO UPDATE SET count = video_counters.count + EXCLUDED.count""",
+                    drift);
+                // Only this slot: writers update the others, which would fail this transaction
+                jdbcTemplate.update("DELETE FROM video_counters WHERE tenant_id = ? AND slot = ? AND count = 0",
+                    tenantId, RECONCILIATION_SLOT);
+                return drift.size();
+            });
+            if (drifted != null && drifted > 0) {
+                logger.warn("Repaired {} drifted video counters of tenant {}", drifted, tenantId);
+            }
+            return drifted != null ? drifted : 0;
+        } catch (ConcurrencyFailureException ex) {
+            // Another instance reconciling the same tenant
+            logger.debug("Video counters of tenant {} changed while reconciling, retrying on the next run", tenantId);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.streamflix.video.infrastructure.persistence;
+
+import com.streamflix.video.domain.VideoStatus;
+import com.streamflix.video.infrastructure.multitenancy.TenantContextHolder;
+import com.streamflix.video.presentation.dto.VideoFilterParams;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Video filters rendered as SQL, for the queries JPA cannot express: planner estimates,
+ * full-text search, fuzzy title matching and summary projections. Mirrors
+ * {@code VideoSpecification.byFilterParams} plus {@code notDeleted}, scoped to the current
+ * tenant when there is one.
+ */
+final class VideoFilterSql {
+
+    /** Search words beyond this many are ignored. */
+    static final int MAX_SEARCH_TERMS = 10;
+
+    private static final Pattern SEARCH_WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    /** Entity property to column, for the sorts a filter may request. */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+        "title", "v.title",
+        "releaseYear", "v.release_year",
+        "language", "v.language",
+        "createdAt", "v.created_at",
+        "updatedAt", "v.updated_at"
+    );
+
+    private VideoFilterSql() {
+    }
+
+    /**
+     * {@code FROM} and {@code WHERE} clauses selecting the videos the filter matches as {@code v},
+     * with their arguments appended to {@code args}.
+     */
+    static String from(VideoFilterParams params, List<Object> args) {
+        return " FROM videos v" + where(params, args);
+    }
+
+    /**
+     * The {@code WHERE} clause of {@link #from}, for queries that join more tables to {@code v}.
+     */
+    static String where(VideoFilterParams params, List<Object> args) {
+        StringBuilder sql = new StringBuilder(" WHERE v.status <> ?");
+        args.add(VideoStatus.DELETED.name());
+
+        UUID tenantId = TenantContextHolder.getTenantIdOptional();
+        if (tenantId != null) {
+            sql.append(" AND v.tenant_id = ?");
+            args.add(tenantId);
+        }
+        String searchTerms = searchTerms(params.getSearch());
+        if (searchTerms != null) {
+            sql.append(" AND v.search_vector @@ video_search_query(?, ?)");
+            args.add(searchTerms);
+            args.add(params.getLanguage());
+        }
+        String fuzzyTitle = fuzzyTitle(params);
+        if (fuzzyTitle != null) {
+            // Some run of words in the title is at least pg_trgm.word_similarity_threshold similar
+            sql.append(" AND lower(v.title) %> ?");
+            args.add(fuzzyTitle);
+        } else if (StringUtils.hasText(params.getTitle())) {
+            sql.append(" AND lower(v.title) LIKE ?");
+            args.add("%" + params.getTitle().toLowerCase() + "%");
+        }
+        if (params.getCategoryId() != null) {
+            sql.append(" AND v.category_id = ?");
+            args.add(params.getCategoryId());
+        }
+        if (params.getYear() != null) {
+            sql.append(" AND v.release_year = ?");
+            args.add(params.getYear());
+        }
+        if (params.getMinYear() != null) {
+            sql.append(" AND v.release_year >= ?");
+            args.add(params.getMinYear());
+        }
+        if (params.getMaxYear() != null) {
+            sql.append(" AND v.release_year <= ?");
+            args.add(params.getMaxYear());
+        }
+        if (StringUtils.hasText(params.getLanguage())) {
+            sql.append(" AND lower(v.language) = ?");
+            args.add(params.getLanguage().toLowerCase());
+        }
+        if (params.getStatus() != null) {
+            sql.append(" AND v.status = ?");
+            args.add(params.getStatus().name());
+        }
+        if (!CollectionUtils.isEmpty(params.getTags())) {
+            sql.append(" AND EXISTS (SELECT 1 FROM video_tags t WHERE t.video_id = v.id AND t.tag IN (")
+                .append(String.join(", ", Collections.nCopies(params.getTags().size(), "?")))
+                .append("))");
+            args.addAll(params.getTags());
+        }
+        return sql.toString();
+    }
+
+    /**
+     * {@code ORDER BY} terms for a sort by entity properties; unknown properties sort by update time.
+     */
+    static String sortOrder(Sort sort) {
+        List<String> terms = new ArrayList<>();
+        sort.forEach(order -> terms.add(SORT_COLUMNS.getOrDefault(order.getProperty(), "v.updated_at")
+            + (order.isAscending() ? " ASC" : " DESC")));
+        return String.join(", ", terms);
+    }
+
+    /**
+     * {@code ORDER BY} terms ranking the filter's matches by relevance, most relevant first,
+     * with their arguments appended to {@code args}: full-text rank, then title similarity.
+     *
+     * @return The order terms, or null if the filter has nothing to rank by
+     */
+    static String relevanceOrder(VideoFilterParams params, List<Object> args) {
+        List<String> terms = new ArrayList<>();
+        String searchTerms = searchTerms(params.getSearch());
+        if (searchTerms != null) {
+            // Title matches (weight A) rank above tag (B) and description (C) matches
+            terms.add("ts_rank_cd(v.search_vector, video_search_query(?, ?)) DESC");
+            args.add(searchTerms);
+            args.add(params.getLanguage());
+        }
+        String fuzzyTitle = fuzzyTitle(params);
+        if (fuzzyTitle != null) {
+            terms.add("word_similarity(?, lower(v.title)) DESC");
+            args.add(fuzzyTitle);
+        }
+        return terms.isEmpty() ? null : String.join(", ", terms);
+    }
+
+    /**
+     * @return The title to match by similarity, trimmed and lower case, or null if the filter
+     *         matches the title as a substring or not at all
+     */
+    static String fuzzyTitle(VideoFilterParams params) {
+        return params.isFuzzyTitle() && StringUtils.hasText(params.getTitle())
+            ? params.getTitle().trim().toLowerCase() : null;
+    }
+
+    /**
+     * Turn free-text search input into {@code to_tsquery} syntax: the words, all required, the
+     * last one matched as a prefix so results follow the user's typing. Only letters and digits
+     * are kept, so the input cannot inject query operators.
+     *
+     * @return The query terms, or null if the input has no words
+     */
+    static String searchTerms(String search) {
+        if (!StringUtils.hasText(search)) {
+            return null;
+        }
+        StringBuilder terms = new StringBuilder();
+        Matcher words = SEARCH_WORD.matcher(search);
+        int count = 0;
+        while (words.find() && count < MAX_SEARCH_TERMS) {
+            if (count++ > 0) {
+                terms.append(" & ");
+            }
+            terms.append(words.group().toLowerCase());
+        }
+        return count == 0 ? null : terms.append(":*").toString();
+    }
+}
@@ -0,0 +1,97 @@
+package com.streamflix.video.infrastructure.persistence;
+
+import com.streamflix.video.presentation.dto.VideoFilterParams;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Video searches ranked by relevance, which JPA cannot express:
+ * <ul>
+ *   <li>full-text search against the {@code search_vector} column, which a trigger keeps in sync
+ *       with title, tags and description, stemmed for each video's language;</li>
+ *   <li>fuzzy title matching by {@code pg_trgm} word similarity, which tolerates typos.</li>
+ * </ul>
+ * Both are served by GIN indexes. This class selects matching identifiers in SQL and callers
+ * load the entities by id, so {@code search_vector} need not be mapped on {@code Video}.
+ */
+@Component
+public class VideoRelevanceSearch {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final double titleSimilarityThreshold;
+
+    public VideoRelevanceSearch(JdbcTemplate jdbcTemplate,
+                                @Value("${app.search.title-similarity-threshold:0.4}") double titleSimilarityThreshold) {
+        if (titleSimilarityThreshold <= 0 || titleSimilarityThreshold > 1) {
+            throw new IllegalArgumentException("Title similarity threshold must be in (0, 1], was " + titleSimilarityThreshold);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.titleSimilarityThreshold = titleSimilarityThreshold;
+    }
+
+    /**
+     * Whether the filter needs this search: its search input has words, or it matches the title fuzzily.
+     */
+    public boolean appliesTo(VideoFilterParams params) {
+        return VideoFilterSql.searchTerms(params.getSearch()) != null || VideoFilterSql.fuzzyTitle(params) != null;
+    }
+
+    /**
+     * Identifiers of the matching videos for one page.
+     *
+     * @param sort The requested order, or unsorted to rank by relevance; ties are broken by id
+     * @param offset Rows to skip
+     * @param limit Rows to return
+     */
+    public List<UUID> findIds(VideoFilterParams params, Sort sort, long offset, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT v.id").append(VideoFilterSql.from(params, args));
+
+        List<Object> relevanceArgs = new ArrayList<>();
+        String relevance = VideoFilterSql.relevanceOrder(params, relevanceArgs);
+        List<String> orderTerms = new ArrayList<>();
+        if (sort.isUnsorted() && relevance != null) {
+            orderTerms.add(relevance);
+            args.addAll(relevanceArgs);
+        } else if (sort.isSorted()) {
+            orderTerms.add(VideoFilterSql.sortOrder(sort));
+        }
+        orderTerms.add("v.id");
+        sql.append(" ORDER BY ").append(String.join(", ", orderTerms)).append(" LIMIT ? OFFSET ?");
+        args.add(limit);
+        args.add(offset);
+
+        applySimilarityThreshold(params);
+        return jdbcTemplate.queryForList(sql.toString(), UUID.class, args.toArray());
+    }
+
+    /**
+     * Number of videos matching the filter.
+     */
+    public long count(VideoFilterParams params) {
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT COUNT(*)" + VideoFilterSql.from(params, args);
+        applySimilarityThreshold(params);
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, args.toArray());
+        return count != null ? count : 0;
+    }
+
+    /**
+     * The {@code %>} operator compares against {@code pg_trgm.word_similarity_threshold} rather than
+     * an argument, which is what lets the trigram index serve it. The setting is made local to the
+     * current transaction, so it does not leak to other users of the pooled connection; outside a
+     * transaction it lapses and PostgreSQL's default of 0.6 applies.
+     */
+    private void applySimilarityThreshold(VideoFilterParams params) {
+        if (VideoFilterSql.fuzzyTitle(params) != null) {
+            jdbcTemplate.queryForObject("SELECT set_config('pg_trgm.word_similarity_threshold', ?, true)",
+                String.class, String.valueOf(titleSimilarityThreshold));
+        }
+    }
+}
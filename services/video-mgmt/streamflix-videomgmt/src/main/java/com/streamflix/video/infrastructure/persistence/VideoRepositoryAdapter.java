@@ -1,31 +1,77 @@
 package com.streamflix.video.infrastructure.persistence;
 
+import com.streamflix.video.domain.Category;
 import com.streamflix.video.domain.Video;
+import com.streamflix.video.domain.VideoCursor;
+import com.streamflix.video.domain.VideoCursorPage;
 import com.streamflix.video.domain.VideoRepository;
+import com.streamflix.video.domain.VideoStatus;
+import com.streamflix.video.domain.VideoSummary;
+import com.streamflix.video.infrastructure.multitenancy.TenantContextHolder;
+import com.streamflix.video.infrastructure.multitenancy.TenantSpecification;
 import com.streamflix.video.infrastructure.persistence.specification.VideoSpecification;
 import com.streamflix.video.presentation.dto.VideoFilterParams;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Adapter implementation of the VideoRepository domain interface.
  * This connects the domain layer to the Spring Data JPA infrastructure.
+ * <p>
+ * With a tenant in the context, every query is narrowed to that tenant's videos with
+ * {@code tenant_id = ?}. Besides isolating tenants, this is what lets PostgreSQL plan each query
+ * against a single partition when the tables are hash partitioned by tenant (see
+ * {@code app.partitioning}). Loads of a video's category and thumbnails by key are the exception.
  */
 @Component
 public class VideoRepositoryAdapter implements VideoRepository {
 
     private final JpaVideoRepository jpaRepository;
+    private final EntityManager entityManager;
+    private final VideoCountEstimator countEstimator;
+    private final VideoRelevanceSearch relevanceSearch;
+    private final VideoSummaryQuery summaryQuery;
+    private final VideoBatchInsert batchInsert;
+    private final VideoCounters counters;
 
-    public VideoRepositoryAdapter(JpaVideoRepository jpaRepository) {
+    public VideoRepositoryAdapter(JpaVideoRepository jpaRepository,
+                                  EntityManager entityManager,
+                                  VideoCountEstimator countEstimator,
+                                  VideoRelevanceSearch relevanceSearch,
+                                  VideoSummaryQuery summaryQuery,
+                                  VideoBatchInsert batchInsert,
+                                  VideoCounters counters) {
         this.jpaRepository = jpaRepository;
+        this.entityManager = entityManager;
+        this.countEstimator = countEstimator;
+        this.relevanceSearch = relevanceSearch;
+        this.summaryQuery = summaryQuery;
+        this.batchInsert = batchInsert;
+        this.counters = counters;
     }
 
     @Override
@@ -33,72 +79,387 @@ public class VideoRepositoryAdapter implements VideoRepository {
         return jpaRepository.save(video);
     }
 
+    @Override
+    public void insertAll(List<Video> videos) {
+        batchInsert.insert(videos);
+    }
+
     @Override
     public Optional<Video> findById(UUID id) {
-        return jpaRepository.findById(id);
+        if (TenantContextHolder.getTenantIdOptional() == null) {
+            return jpaRepository.findById(id);
+        }
+        // Fetch joins would reach the category and thumbnails by key alone, in every partition
+        return jpaRepository.findOne(forCurrentTenant(VideoSpecification.byId(id)))
+            .map(video -> withAssociations(List.of(video)).get(0));
     }
 
     @Override
     public List<Video> findAll(int page, int size) {
-        return jpaRepository.findAll(PageRequest.of(page, size)).getContent();
+        return withAssociations(find(forCurrentTenant(null), PageRequest.of(page, size), size));
     }
 
     @Override
     public List<Video> findByCategory(UUID categoryId, int page, int size) {
-        return jpaRepository.findByCategoryId(categoryId, PageRequest.of(page, size));
+        return withAssociations(find(forCurrentTenant(VideoSpecification.byCategory(categoryId)), PageRequest.of(page, size), size));
     }
 
     @Override
     public List<Video> findByTag(String tag, int page, int size) {
-        return jpaRepository.findByTag(tag, PageRequest.of(page, size));
+        return withAssociations(find(forCurrentTenant(VideoSpecification.byTag(tag)), PageRequest.of(page, size), size));
     }
 
     @Override
     public Page<Video> findByFilterParams(VideoFilterParams filterParams, int page, int size) {
         Pageable pageable = createPageableFromParams(filterParams, page, size);
+        if (relevanceSearch.appliesTo(filterParams)) {
+            List<Video> videos = search(filterParams, pageable, size);
+            return new PageImpl<>(videos, pageable, relevanceSearch.count(filterParams));
+        }
         
         // Create a specification from the filter parameters and include not deleted videos
         Specification<Video> spec = Specification
             .where(VideoSpecification.byFilterParams(filterParams))
             .and(VideoSpecification.notDeleted());
             
-        return jpaRepository.findAll(spec, pageable);
+        Page<Video> videos = jpaRepository.findAll(forCurrentTenant(spec), pageable);
+        withAssociations(videos.getContent());
+        return videos;
+    }
+
+    @Override
+    public Slice<Video> findSliceByFilterParams(VideoFilterParams filterParams, int page, int size) {
+        Pageable pageable = createPageableFromParams(filterParams, page, size);
+        if (relevanceSearch.appliesTo(filterParams)) {
+            List<Video> rows = search(filterParams, pageable, size + 1);
+            boolean hasNext = rows.size() > size;
+            return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, pageable, hasNext);
+        }
+        Specification<Video> spec = Specification
+            .where(VideoSpecification.byFilterParams(filterParams))
+            .and(VideoSpecification.notDeleted());
+
+        // One row beyond the page tells whether another follows, instead of a count query
+        List<Video> rows = withAssociations(find(forCurrentTenant(spec), pageable, size + 1));
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public List<VideoSummary> findSummaries(int page, int size) {
+        return findSummaries(new VideoFilterParams(), page, size);
+    }
+
+    @Override
+    public List<VideoSummary> findSummariesByCategory(UUID categoryId, int page, int size) {
+        VideoFilterParams filterParams = new VideoFilterParams();
+        filterParams.setCategoryId(categoryId);
+        return findSummaries(filterParams, page, size);
+    }
+
+    @Override
+    public List<VideoSummary> findSummariesByTag(String tag, int page, int size) {
+        VideoFilterParams filterParams = new VideoFilterParams();
+        filterParams.setTags(List.of(tag));
+        return findSummaries(filterParams, page, size);
+    }
+
+    @Override
+    public Slice<VideoSummary> findSummarySliceByFilterParams(VideoFilterParams filterParams, int page, int size) {
+        Pageable pageable = createPageableFromParams(filterParams, page, size);
+        List<VideoSummary> rows = relevanceSearch.appliesTo(filterParams)
+            ? summaryQuery.findByIds(searchIds(filterParams, pageable, size + 1))
+            : summaryQuery.find(filterParams, pageable.getSort(), pageable.getOffset(), size + 1);
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public List<VideoSummary> findSummariesByIds(List<UUID> ids) {
+        return summaryQuery.findByIds(ids);
+    }
+
+    private List<VideoSummary> findSummaries(VideoFilterParams filterParams, int page, int size) {
+        Sort sort = Sort.by(VideoCursor.DEFAULT_DIRECTION, VideoCursor.DEFAULT_SORT_FIELD);
+        return summaryQuery.find(filterParams, sort, (long) page * size, size);
+    }
+
+    @Override
+    public VideoCursorPage scrollAll(VideoCursor after, int size) {
+        return scroll(Specification.where(null), after, VideoCursor.DEFAULT_SORT_FIELD, VideoCursor.DEFAULT_DIRECTION, size);
+    }
+
+    @Override
+    public VideoCursorPage scrollByCategory(UUID categoryId, VideoCursor after, int size) {
+        return scroll(VideoSpecification.byCategory(categoryId), after,
+            VideoCursor.DEFAULT_SORT_FIELD, VideoCursor.DEFAULT_DIRECTION, size);
+    }
+
+    @Override
+    public VideoCursorPage scrollByTag(String tag, VideoCursor after, int size) {
+        return scroll(VideoSpecification.byTag(tag), after,
+            VideoCursor.DEFAULT_SORT_FIELD, VideoCursor.DEFAULT_DIRECTION, size);
+    }
+
+    @Override
+    public VideoCursorPage scrollByFilterParams(VideoFilterParams filterParams, VideoCursor after, int size) {
+        Specification<Video> spec = Specification
+            .where(VideoSpecification.byFilterParams(filterParams))
+            .and(VideoSpecification.notDeleted());
+
+        Sort.Order order = createSortFromParams(filterParams).iterator().next();
+        return scroll(spec, after, order.getProperty(), order.getDirection(), size);
     }
 
     @Override
     public void deleteById(UUID videoId) {
-        jpaRepository.deleteById(videoId);
+        jpaRepository.findOne(forCurrentTenant(VideoSpecification.byId(videoId))).ifPresent(jpaRepository::delete);
     }
 
     @Override
     public long count() {
-        return jpaRepository.count();
+        if (counters.isEnabled()) {
+            return counters.count(VideoCounters.Dimension.ALL, null);
+        }
+        return jpaRepository.count(forCurrentTenant(null));
     }
 
     @Override
     public long countByCategory(UUID categoryId) {
-        return jpaRepository.countByCategoryId(categoryId);
+        if (counters.isEnabled()) {
+            return counters.count(VideoCounters.Dimension.CATEGORY, categoryId.toString());
+        }
+        return jpaRepository.count(forCurrentTenant(VideoSpecification.byCategory(categoryId)));
     }
 
     @Override
     public long countByTag(String tag) {
-        return jpaRepository.countByTag(tag);
+        if (counters.isEnabled()) {
+            return counters.count(VideoCounters.Dimension.TAG, tag);
+        }
+        return jpaRepository.count(forCurrentTenant(VideoSpecification.byTag(tag)));
+    }
+
+    @Override
+    public long countByStatus(VideoStatus status) {
+        if (counters.isEnabled()) {
+            return counters.count(VideoCounters.Dimension.STATUS, status.name());
+        }
+        return jpaRepository.count(forCurrentTenant((root, query, cb) -> cb.equal(root.get("status"), status)));
+    }
+
+    @Override
+    public long countByLanguage(String language) {
+        if (counters.isEnabled()) {
+            return counters.count(VideoCounters.Dimension.LANGUAGE, language);
+        }
+        return jpaRepository.count(forCurrentTenant((root, query, cb) -> cb.equal(root.get("language"), language)));
     }
 
     @Override
     public long countByFilterParams(VideoFilterParams filterParams) {
+        if (relevanceSearch.appliesTo(filterParams)) {
+            return relevanceSearch.count(filterParams);
+        }
+        if (counters.isEnabled() && isStatusOnly(filterParams)) {
+            // The counters answer the unfiltered listing and its status filter without a scan
+            VideoStatus status = filterParams.getStatus();
+            if (status == null) {
+                return count() - countByStatus(VideoStatus.DELETED);
+            }
+            return status == VideoStatus.DELETED ? 0 : countByStatus(status);
+        }
         Specification<Video> spec = Specification
             .where(VideoSpecification.byFilterParams(filterParams))
             .and(VideoSpecification.notDeleted());
             
-        return jpaRepository.count(spec);
+        return jpaRepository.count(forCurrentTenant(spec));
+    }
+
+    @Override
+    public long estimateCountByFilterParams(VideoFilterParams filterParams) {
+        return countEstimator.estimate(filterParams);
     }
     
     @Override
     public Optional<Video> findByThumbnailId(UUID thumbnailId) {
-        return jpaRepository.findByThumbnailId(thumbnailId);
+        UUID tenantId = TenantContextHolder.getTenantIdOptional();
+        return tenantId == null
+            ? jpaRepository.findByThumbnailId(thumbnailId)
+            : jpaRepository.findByThumbnailIdAndTenantId(thumbnailId, tenantId);
+    }
+
+    @Override
+    public int batchUpdateStatus(List<UUID> videoIds, Set<VideoStatus> fromStatuses, VideoStatus newStatus) {
+        UUID tenantId = TenantContextHolder.getTenantIdOptional();
+        return tenantId == null
+            ? jpaRepository.batchUpdateStatus(videoIds, fromStatuses, newStatus)
+            : jpaRepository.batchUpdateStatusByTenantId(tenantId, videoIds, fromStatuses, newStatus);
+    }
+
+    @Override
+    public int batchUpdateCategory(List<UUID> videoIds, Category category) {
+        UUID tenantId = TenantContextHolder.getTenantIdOptional();
+        return tenantId == null
+            ? jpaRepository.batchUpdateCategory(videoIds, category)
+            : jpaRepository.batchUpdateCategoryByTenantId(tenantId, videoIds, category);
+    }
+
+    @Override
+    public int batchAddTag(List<UUID> videoIds, String tag) {
+        UUID tenantId = TenantContextHolder.getTenantIdOptional();
+        return tenantId == null
+            ? jpaRepository.batchAddTag(videoIds, tag)
+            : jpaRepository.batchAddTagByTenantId(tenantId, videoIds, tag);
+    }
+
+    @Override
+    public int batchRemoveTag(List<UUID> videoIds, String tag) {
+        UUID tenantId = TenantContextHolder.getTenantIdOptional();
+        return tenantId == null
+            ? jpaRepository.batchRemoveTag(videoIds, tag)
+            : jpaRepository.batchRemoveTagByTenantId(tenantId, videoIds, tag);
+    }
+
+    @Override
+    public int batchTouch(List<UUID> videoIds) {
+        UUID tenantId = TenantContextHolder.getTenantIdOptional();
+        return tenantId == null
+            ? jpaRepository.batchTouch(videoIds)
+            : jpaRepository.batchTouchByTenantId(tenantId, videoIds);
     }
     
+    /**
+     * Run a relevance search for the page's identifiers, then load those videos in that order.
+     * Results are ranked by relevance unless the filter asks for a sort.
+     *
+     * @param filterParams The filter parameters, with search input or a fuzzy title
+     * @param pageable The page, whose sort is used when the filter names one
+     * @param limit Rows to read from the page's offset
+     * @return The videos in result order
+     */
+    private List<Video> search(VideoFilterParams filterParams, Pageable pageable, int limit) {
+        List<UUID> ids = searchIds(filterParams, pageable, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Video> videos = jpaRepository.findAll(forCurrentTenant(VideoSpecification.byIds(ids))).stream()
+            .collect(Collectors.toMap(Video::getId, Function.identity()));
+        return withAssociations(ids.stream().map(videos::get).filter(Objects::nonNull).toList());
+    }
+
+    /**
+     * Identifiers of the relevance search's results from the page's offset, ranked by relevance
+     * unless the filter asks for a sort.
+     */
+    private List<UUID> searchIds(VideoFilterParams filterParams, Pageable pageable, int limit) {
+        boolean byRelevance = filterParams.getSortBy() == null || filterParams.getSortBy().equalsIgnoreCase("relevance");
+        return relevanceSearch.findIds(filterParams, byRelevance ? Sort.unsorted() : pageable.getSort(),
+            pageable.getOffset(), limit);
+    }
+
+    /**
+     * Narrow the specification to the videos of the tenant in the context, if there is one.
+     *
+     * @param spec The specification, or null for all videos
+     * @return The narrowed specification; null when both are absent
+     */
+    private static Specification<Video> forCurrentTenant(Specification<Video> spec) {
+        UUID tenantId = TenantContextHolder.getTenantIdOptional();
+        if (tenantId == null) {
+            return spec;
+        }
+        Specification<Video> tenant = new TenantSpecification<>(tenantId);
+        return spec == null ? tenant : tenant.and(spec);
+    }
+
+    /**
+     * @return Whether the filter sets nothing but possibly the status, so the counters can count it
+     */
+    private static boolean isStatusOnly(VideoFilterParams filterParams) {
+        return !StringUtils.hasText(filterParams.getTitle())
+            && !StringUtils.hasText(filterParams.getSearch())
+            && filterParams.getCategoryId() == null
+            && filterParams.getYear() == null
+            && filterParams.getMinYear() == null
+            && filterParams.getMaxYear() == null
+            && !StringUtils.hasText(filterParams.getLanguage())
+            && CollectionUtils.isEmpty(filterParams.getTags());
+    }
+
+    /**
+     * Read the videos matching the specification from the page's offset, in the page's sort,
+     * without the count query of a {@link Page}.
+     *
+     * @param spec The filter, or null for all videos
+     * @param pageable The page, for its offset and sort
+     * @param limit Rows to read
+     * @return The videos read
+     */
+    private List<Video> find(Specification<Video> spec, Pageable pageable, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Video> query = criteriaBuilder.createQuery(Video.class);
+        Root<Video> root = query.from(Video.class);
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        return entityManager.createQuery(query)
+            .setFirstResult(Math.toIntExact(pageable.getOffset()))
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    /**
+     * Load the tags and thumbnails of a page of videos while the session is still open, since
+     * callers map them to DTOs after the transaction. Both collections (and categories) are batch
+     * fetched, so touching the first video's loads them for the whole page: a constant number of
+     * queries instead of several per video.
+     *
+     * @param videos The page of videos
+     * @return The same videos
+     */
+    private static List<Video> withAssociations(List<Video> videos) {
+        for (Video video : videos) {
+            // The getters return read-only views; size() initializes the lazy collection behind them
+            video.getTags().size();
+            video.getThumbnails().size();
+        }
+        return videos;
+    }
+
+    /**
+     * Fetch one page after the cursor, ordered by the sort field and then by id so that
+     * the order is total and every row has a distinct position.
+     * <p>
+     * One row beyond the page is read to tell whether another page follows, which
+     * replaces the count query offset pages need.
+     *
+     * @param spec The filter of the listing
+     * @param after The cursor to continue after, or null for the first page; its sort wins over the defaults
+     * @param sortField The sort field of the first page
+     * @param direction The sort direction of the first page
+     * @param size The page size
+     * @return The page and the cursor of the next one
+     */
+    private VideoCursorPage scroll(Specification<Video> spec, VideoCursor after,
+                                   String sortField, Sort.Direction direction, int size) {
+        if (after != null) {
+            sortField = getSafeFieldName(after.getSortField());
+            direction = after.getDirection();
+            spec = spec.and(VideoSpecification.after(after));
+        }
+        Sort sort = Sort.by(direction, sortField).and(Sort.by(direction, "id"));
+
+        List<Video> rows = withAssociations(jpaRepository.findBy(forCurrentTenant(spec), query -> query.sortBy(sort).limit(size + 1).all()));
+        if (rows.size() <= size) {
+            return new VideoCursorPage(rows, null);
+        }
+        List<Video> videos = rows.subList(0, size);
+        return new VideoCursorPage(videos, VideoCursor.after(videos.get(size - 1), sortField, direction));
+    }
+
     /**
      * Create a Pageable object from filter parameters
      * 
@@ -108,6 +469,16 @@ public class VideoRepositoryAdapter implements VideoRepository {
      * @return A configured Pageable object
      */
     private Pageable createPageableFromParams(VideoFilterParams filterParams, int page, int size) {
+        return PageRequest.of(page, size, createSortFromParams(filterParams));
+    }
+
+    /**
+     * Create the Sort requested by the filter parameters
+     *
+     * @param filterParams The filter parameters including sort info
+     * @return A single-field Sort, by default the most recently updated first
+     */
+    private Sort createSortFromParams(VideoFilterParams filterParams) {
         Sort sort = Sort.by(Sort.Direction.DESC, "updatedAt"); // default sort
         
         if (filterParams.getSortBy() != null) {
@@ -123,7 +494,7 @@ public class VideoRepositoryAdapter implements VideoRepository {
             sort = Sort.by(direction, sortField);
         }
         
-        return PageRequest.of(page, size, sort);
+        return sort;
     }
     
     /**
@@ -0,0 +1,151 @@
+package com.streamflix.video.infrastructure.persistence;
+
+import com.streamflix.video.domain.VideoStatus;
+import com.streamflix.video.domain.VideoSummary;
+import com.streamflix.video.infrastructure.multitenancy.TenantContextHolder;
+import com.streamflix.video.infrastructure.replication.HedgedReads;
+import com.streamflix.video.presentation.dto.VideoFilterParams;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Video summaries for listings, read with plain SQL rather than through JPA: one query selects
+ * the card columns, the category name, the tags aggregated into an array and the primary
+ * thumbnail's URL, and the rows are mapped straight to {@link VideoSummary}. No entity is
+ * loaded, so there is no persistence context to fill, snapshot or flush, and the description
+ * and archive columns are never read.
+ * <p>
+ * Being single statements, these reads are hedged across replicas when
+ * {@code app.datasource.hedging.enabled} is set (see {@link HedgedReads}).
+ */
+@Component
+public class VideoSummaryQuery {
+
+    /** The summary columns of the videos read as {@code v}, with a slot for each lookup's tenant filter. */
+    private static final String SELECT = """
+        SELECT v.id, v.title, v.status, v.release_year, v.language, v.created_at, v.updated_at,
+               v.category_id, c.name AS category_name,
+               (SELECT array_agg(t.tag ORDER BY t.tag) FROM video_tags t WHERE t.video_id = v.id) AS tags,
+               (SELECT th.url FROM thumbnails th WHERE th.video_id = v.id%s
+                 ORDER BY th.is_primary DESC, th.is_default DESC, th.id LIMIT 1) AS thumbnail_url
+          FROM videos v LEFT JOIN categories c ON c.id = v.category_id%s""";
+
+    private static final RowMapper<VideoSummary> ROW_MAPPER = VideoSummaryQuery::mapRow;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HedgedReads hedgedReads;
+
+    public VideoSummaryQuery(JdbcTemplate jdbcTemplate, ObjectProvider<HedgedReads> hedgedReads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.hedgedReads = hedgedReads.getIfAvailable();
+    }
+
+    /**
+     * Summaries of one page of the videos matching the filter.
+     *
+     * @param sort The order; ties are broken by id
+     * @param offset Rows to skip
+     * @param limit Rows to return
+     */
+    public List<VideoSummary> find(VideoFilterParams params, Sort sort, long offset, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(select(args)).append(VideoFilterSql.where(params, args)).append(" ORDER BY ");
+        if (sort.isSorted()) {
+            sql.append(VideoFilterSql.sortOrder(sort)).append(", ");
+        }
+        sql.append("v.id LIMIT ? OFFSET ?");
+        args.add(limit);
+        args.add(offset);
+        return query(sql.toString(), args.toArray());
+    }
+
+    /**
+     * Summaries of the given videos, in the order of the identifiers; missing videos are skipped.
+     */
+    public List<VideoSummary> findByIds(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(select(args))
+            .append(" WHERE v.id IN (").append(String.join(", ", Collections.nCopies(ids.size(), "?"))).append(")");
+        args.addAll(ids);
+        UUID tenantId = TenantContextHolder.getTenantIdOptional();
+        if (tenantId != null) {
+            sql.append(" AND v.tenant_id = ?");
+            args.add(tenantId);
+        }
+        Map<UUID, VideoSummary> summaries = query(sql.toString(), args.toArray()).stream()
+            .collect(Collectors.toMap(VideoSummary::getId, Function.identity()));
+        return ids.stream().map(summaries::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * The {@code SELECT} and {@code FROM} clauses of a summary query. With a tenant in the context,
+     * the thumbnail and category lookups are narrowed to it as well, with its id appended to
+     * {@code args}: the outer query's {@code v.tenant_id = ?} does not reach them, and without it
+     * they would look in every partition of a partitioned table.
+     */
+    private static String select(List<Object> args) {
+        UUID tenantId = TenantContextHolder.getTenantIdOptional();
+        if (tenantId == null) {
+            return String.format(SELECT, "", "");
+        }
+        args.add(tenantId);
+        args.add(tenantId);
+        return String.format(SELECT, " AND th.tenant_id = ?", " AND c.tenant_id = ?");
+    }
+
+    private List<VideoSummary> query(String sql, Object[] args) {
+        if (hedgedReads == null) {
+            return jdbcTemplate.query(sql, ROW_MAPPER, args);
+        }
+        return hedgedReads.query(sql, ROW_MAPPER, args, () -> jdbcTemplate.query(sql, ROW_MAPPER, args));
+    }
+
+    private static VideoSummary mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new VideoSummary(
+            rs.getObject("id", UUID.class),
+            rs.getString("title"),
+            VideoStatus.valueOf(rs.getString("status")),
+            rs.getObject("release_year", Integer.class),
+            rs.getString("language"),
+            rs.getObject("category_id", UUID.class),
+            rs.getString("category_name"),
+            tags(rs.getArray("tags")),
+            rs.getString("thumbnail_url"),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class));
+    }
+
+    /**
+     * The aggregated tags; {@code array_agg} yields null rather than an empty array for a video without any.
+     */
+    private static List<String> tags(Array array) throws SQLException {
+        if (array == null) {
+            return List.of();
+        }
+        try {
+            return Arrays.stream((Object[]) array.getArray()).map(String::valueOf).toList();
+        } finally {
+            array.free();
+        }
+    }
+}
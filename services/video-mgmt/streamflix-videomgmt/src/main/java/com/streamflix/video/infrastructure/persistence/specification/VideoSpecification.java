@@ -1,6 +1,7 @@
 package com.streamflix.video.infrastructure.persistence.specification;
 
 import com.streamflix.video.domain.Video;
+import com.streamflix.video.domain.VideoCursor;
 import com.streamflix.video.domain.VideoStatus;
 import com.streamflix.video.presentation.dto.VideoFilterParams;
 import jakarta.persistence.criteria.*;
@@ -9,7 +10,9 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -18,6 +21,9 @@ import java.util.UUID;
  */
 public class VideoSpecification {
 
+    /** Sort fields whose column may be NULL. */
+    private static final Set<String> NULLABLE_SORT_FIELDS = Set.of("releaseYear", "language");
+
     /**
      * Create a specification for filtering videos based on provided parameters
      *
@@ -93,6 +99,8 @@ public class VideoSpecification {
                 tagSubquery.select(tagJoin)
                     .where(
                         criteriaBuilder.equal(tagRoot.get("id"), root.get("id")),
+                        // Lets a tenant filter on the outer query narrow the subquery's videos too
+                        criteriaBuilder.equal(tagRoot.get("tenantId"), root.get("tenantId")),
                         tagJoin.in(params.getTags())
                     );
                 
@@ -119,6 +127,7 @@ public class VideoSpecification {
             tagSubquery.select(tagJoin)
                 .where(
                     criteriaBuilder.equal(tagRoot.get("id"), root.get("id")),
+                    criteriaBuilder.equal(tagRoot.get("tenantId"), root.get("tenantId")),
                     criteriaBuilder.equal(tagJoin, tag)
                 );
             
@@ -126,6 +135,26 @@ public class VideoSpecification {
         };
     }
     
+    /**
+     * Create a specification for one video
+     *
+     * @param id The video ID
+     * @return A JPA Specification for the Video entity
+     */
+    public static Specification<Video> byId(UUID id) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("id"), id);
+    }
+
+    /**
+     * Create a specification for the given videos
+     *
+     * @param ids The video IDs
+     * @return A JPA Specification for the Video entity
+     */
+    public static Specification<Video> byIds(Collection<UUID> ids) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(ids);
+    }
+
     /**
      * Create a specification to filter videos by category ID
      *
@@ -146,4 +175,41 @@ public class VideoSpecification {
         return (root, query, criteriaBuilder) -> 
             criteriaBuilder.notEqual(root.get("status"), VideoStatus.DELETED);
     }
-}
\ No newline at end of file
+
+    /**
+     * Create a keyset specification for videos strictly after the cursor, in a listing sorted
+     * by the cursor's sort field and then by id, both in the cursor's direction.
+     * <p>
+     * NULLs are placed as PostgreSQL orders them by default: last ascending, first descending.
+     *
+     * @param cursor The position of the last video already returned
+     * @return A JPA Specification for the Video entity
+     */
+    public static Specification<Video> after(VideoCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            Path<Object> sortPath = root.get(cursor.getSortField());
+            boolean ascending = cursor.getDirection().isAscending();
+            Predicate idAfter = beyond(criteriaBuilder, root.get("id"), cursor.getId(), ascending);
+
+            if (cursor.getSortValue() == null) {
+                Predicate sameKey = criteriaBuilder.and(criteriaBuilder.isNull(sortPath), idAfter);
+                return ascending ? sameKey : criteriaBuilder.or(sameKey, criteriaBuilder.isNotNull(sortPath));
+            }
+
+            Comparable<?> value = (Comparable<?>) cursor.getSortValue();
+            Predicate seek = criteriaBuilder.or(
+                beyond(criteriaBuilder, sortPath, value, ascending),
+                criteriaBuilder.and(criteriaBuilder.equal(sortPath, value), idAfter)
+            );
+            if (ascending && NULLABLE_SORT_FIELDS.contains(cursor.getSortField())) {
+                return criteriaBuilder.or(seek, criteriaBuilder.isNull(sortPath));
+            }
+            return seek;
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate beyond(CriteriaBuilder criteriaBuilder, Expression path, Comparable value, boolean ascending) {
+        return ascending ? criteriaBuilder.greaterThan(path, value) : criteriaBuilder.lessThan(path, value);
+    }
+}
@@ -0,0 +1,90 @@
+package com.streamflix.video.infrastructure.replication;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Hedging of plain-SQL listing reads: a second attempt on another replica, or the primary, when
+ * the first is slow.
+ */
+@ConfigurationProperties(prefix = "app.datasource.hedging")
+public class HedgedReadProperties {
+
+    /** Hedge reads at all; off by default, as every hedge is a second copy of a query. */
+    private boolean enabled = false;
+
+    /** Percentile of first-attempt latency after which the hedge is sent, 0 to 1. */
+    private double delayPercentile = 0.95;
+
+    /** Lower bound of the hedge delay, however fast reads have been. */
+    private Duration minDelay = Duration.ofMillis(5);
+
+    /** Upper bound of the hedge delay, and the delay until enough reads have been timed. */
+    private Duration maxDelay = Duration.ofMillis(200);
+
+    /** Hedges allowed per read, on average: 0.05 caps the extra queries at 5%. */
+    private double budget = 0.05;
+
+    /** Hedges that may be saved up from quiet periods and spent in a burst. */
+    private int burst = 10;
+
+    /** Send the hedge to the primary when no second replica can serve the read. */
+    private boolean hedgeToPrimary = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getDelayPercentile() {
+        return delayPercentile;
+    }
+
+    public void setDelayPercentile(double delayPercentile) {
+        this.delayPercentile = delayPercentile;
+    }
+
+    public Duration getMinDelay() {
+        return minDelay;
+    }
+
+    public void setMinDelay(Duration minDelay) {
+        this.minDelay = minDelay;
+    }
+
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    public void setMaxDelay(Duration maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+
+    public double getBudget() {
+        return budget;
+    }
+
+    public void setBudget(double budget) {
+        this.budget = budget;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    public boolean isHedgeToPrimary() {
+        return hedgeToPrimary;
+    }
+
+    public void setHedgeToPrimary(boolean hedgeToPrimary) {
+        this.hedgeToPrimary = hedgeToPrimary;
+    }
+}
@@ -0,0 +1,370 @@
+package com.streamflix.video.infrastructure.replication;
+
+import com.streamflix.video.infrastructure.persistence.DatabaseConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
+import org.springframework.jdbc.support.SQLExceptionSubclassTranslator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Hedged plain-SQL reads: a query runs on a replica, and if it has not answered by the time most
+ * reads have, the same query is sent to a second replica, or the primary. The first answer wins and
+ * the other statement is cancelled with {@link Statement#cancel()}.
+ * <p>
+ * The hedge delay is the {@code delay-percentile} of recent first-attempt latencies, so only the
+ * slowest reads are hedged, and a token budget caps hedges at {@code budget} per read whatever the
+ * latencies do. Attempts run on their own connections outside the caller's transaction, so
+ * hedging is for single-statement reads that do not need to share its snapshot.
+ * <p>
+ * That costs connections: a hedged read holds one for each attempt in flight, two once hedged,
+ * on top of the one the caller's read-only transaction may already hold under its own permit of
+ * {@link DatabaseConcurrencyLimiter}. So each attempt takes a permit of the limiter too, without
+ * waiting for one: with none free, a read runs the ordinary way on the
+ * transaction's connection, and a slow read is not hedged. Hedging therefore never takes the
+ * pools beyond the cap the limiter keeps them within, and gives way first when they are busy.
+ */
+@Component
+public class HedgedReads {
+
+    private static final Logger logger = LoggerFactory.getLogger(HedgedReads.class);
+
+    // First attempts to time before trusting the percentile
+    private static final long MIN_SAMPLES = 100;
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ReplicaPool pool;
+    private final DataSource primary;
+    private final Executor executor;
+    private final HedgedReadProperties properties;
+    private final ReplicaRoutingProperties routingProperties;
+    private final DatabaseConcurrencyLimiter limiter;
+    private final SQLExceptionTranslator exceptionTranslator = new SQLExceptionSubclassTranslator();
+    private final Budget budget;
+
+    private final Timer firstAttempts;
+    private final Counter reads;
+    private final Counter hedges;
+    private final Counter firstWins;
+    private final Counter hedgeWins;
+    private final Counter budgetExhausted;
+    private final Counter capped;
+
+    private volatile long delayNanos;
+    private volatile long delayComputedAt = System.nanoTime() - DELAY_REFRESH_NANOS;
+
+    public HedgedReads(ReplicaPool pool,
+                       @Qualifier("primaryDataSource") DataSource primary,
+                       @Qualifier("hedgedReadExecutor") Executor executor,
+                       HedgedReadProperties properties,
+                       ReplicaRoutingProperties routingProperties,
+                       DatabaseConcurrencyLimiter limiter,
+                       MeterRegistry registry) {
+        this.pool = pool;
+        this.primary = primary;
+        this.executor = executor;
+        this.properties = properties;
+        this.routingProperties = routingProperties;
+        this.limiter = limiter;
+        this.budget = new Budget(properties.getBudget(), properties.getBurst());
+        this.delayNanos = properties.getMaxDelay().toNanos();
+
+        this.firstAttempts = Timer.builder("video.db.hedge.first.latency")
+            .description("Latency of the first attempt of hedgeable reads, which the hedge delay derives from")
+            .publishPercentiles(properties.getDelayPercentile())
+            .distributionStatisticExpiry(Duration.ofMinutes(1))
+            .register(registry);
+        this.reads = Counter.builder("video.db.hedge.reads")
+            .description("Reads eligible for hedging")
+            .register(registry);
+        this.hedges = Counter.builder("video.db.hedge.sent")
+            .description("Hedge attempts sent after the first attempt was slow")
+            .register(registry);
+        this.firstWins = winCounter(registry, "first");
+        this.hedgeWins = winCounter(registry, "hedge");
+        this.budgetExhausted = Counter.builder("video.db.hedge.budget.exhausted")
+            .description("Slow reads not hedged because the hedge budget was spent")
+            .register(registry);
+        this.capped = Counter.builder("video.db.hedge.capped")
+            .description("Attempts not sent because the database concurrency cap had no permit free")
+            .register(registry);
+        Gauge.builder("video.db.hedge.delay", this, h -> h.delayNanos / 1_000_000.0)
+            .description("Current wait before a read is hedged")
+            .baseUnit("milliseconds")
+            .register(registry);
+    }
+
+    private static Counter winCounter(MeterRegistry registry, String winner) {
+        return Counter.builder("video.db.hedge.wins")
+            .description("Hedged reads by the attempt that answered first")
+            .tag("winner", winner)
+            .register(registry);
+    }
+
+    /**
+     * Run a read, hedged if hedging is on and the read may go to a replica.
+     * @param direct Runs the read the ordinary way, on the transaction's connection; used when the
+     *               read is not hedged
+     */
+    public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object[] args, Supplier<List<T>> direct) {
+        if (!properties.isEnabled() || (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+            return direct.get();
+        }
+        long requiredLsn = routingProperties.isReadYourWrites() ? ReadYourWritesContext.requiredLsn() : 0;
+        ReplicaPool.Selection first = pool.select(requiredLsn);
+        if (first.replica() == null) {
+            return direct.get();
+        }
+
+        if (!limiter.tryAcquireDetached()) {
+            capped.increment();
+            return direct.get();
+        }
+        Attempt<T> firstAttempt = new Attempt<>(first.replica(), sql, rowMapper, args);
+        long start = System.nanoTime();
+        CompletableFuture<List<T>> firstResult;
+        try {
+            firstResult = firstAttempt.start();
+        } catch (TaskRejectedException e) {
+            return direct.get();
+        }
+        pool.recordRead(first);
+        reads.increment();
+        budget.deposit();
+        firstResult.thenRun(() -> firstAttempts.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+
+        try {
+            return firstResult.get(currentDelayNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Slow: hedge below
+        } catch (InterruptedException e) {
+            firstAttempt.cancel();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading", e);
+        } catch (ExecutionException e) {
+            throw translate(sql, e.getCause());
+        }
+
+        ReplicaPool.Selection second = pool.select(requiredLsn, first.replica());
+        DataSource hedgeTarget = second.replica() != null ? second.replica() : properties.isHedgeToPrimary() ? primary : null;
+        if (hedgeTarget == null) {
+            return await(firstResult, firstAttempt, sql);
+        }
+        if (!limiter.tryAcquireDetached()) {
+            capped.increment();
+            return await(firstResult, firstAttempt, sql);
+        }
+        if (!budget.tryAcquire()) {
+            limiter.releaseDetached();
+            budgetExhausted.increment();
+            return await(firstResult, firstAttempt, sql);
+        }
+        Attempt<T> hedge = new Attempt<>(hedgeTarget, sql, rowMapper, args);
+        CompletableFuture<List<T>> hedgeResult;
+        try {
+            hedgeResult = hedge.start();
+        } catch (TaskRejectedException e) {
+            return await(firstResult, firstAttempt, sql);
+        }
+        if (second.replica() != null) {
+            pool.recordRead(second);
+        }
+        hedges.increment();
+
+        CompletableFuture<List<T>> winner = new CompletableFuture<>();
+        firstResult.thenAccept(rows -> {
+            if (winner.complete(rows)) {
+                firstWins.increment();
+                hedge.cancel();
+            }
+        });
+        hedgeResult.thenAccept(rows -> {
+            if (winner.complete(rows)) {
+                hedgeWins.increment();
+                firstAttempt.cancel();
+            }
+        });
+        // Fail only once both have failed, with the first attempt's error
+        CompletableFuture.allOf(firstResult, hedgeResult).whenComplete((ignored, failure) -> {
+            if (firstResult.isCompletedExceptionally() && hedgeResult.isCompletedExceptionally()) {
+                firstResult.whenComplete((rows, error) -> winner.completeExceptionally(error));
+            }
+        });
+        try {
+            return await(winner, firstAttempt, sql);
+        } finally {
+            hedge.cancel();
+        }
+    }
+
+    private <T> List<T> await(CompletableFuture<List<T>> result, Attempt<?> attempt, String sql) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            attempt.cancel();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading", e);
+        } catch (ExecutionException e) {
+            throw translate(sql, e.getCause());
+        }
+    }
+
+    private RuntimeException translate(String sql, Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof SQLException sqlException) {
+            RuntimeException translated = exceptionTranslator.translate("Hedged read", sql, sqlException);
+            return translated != null ? translated : new IllegalStateException(sqlException);
+        }
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+
+    /**
+     * The hedge delay, refreshed from the latency percentile at most once a second.
+     */
+    long currentDelayNanos() {
+        long now = System.nanoTime();
+        if (now - delayComputedAt >= DELAY_REFRESH_NANOS) {
+            delayComputedAt = now;
+            delayNanos = computeDelayNanos();
+        }
+        return delayNanos;
+    }
+
+    private long computeDelayNanos() {
+        long min = properties.getMinDelay().toNanos();
+        long max = properties.getMaxDelay().toNanos();
+        if (firstAttempts.count() < MIN_SAMPLES) {
+            return max;
+        }
+        ValueAtPercentile[] percentiles = firstAttempts.takeSnapshot().percentileValues();
+        if (percentiles.length == 0 || Double.isNaN(percentiles[0].value())) {
+            return max;
+        }
+        long percentile = (long) percentiles[0].value(TimeUnit.NANOSECONDS);
+        return Math.max(min, Math.min(max, percentile));
+    }
+
+    /**
+     * One attempt of a read on its own connection, cancellable while its statement runs. It is
+     * started holding a permit of the limiter, which it gives back once done.
+     */
+    private final class Attempt<T> {
+
+        private final DataSource target;
+        private final String sql;
+        private final RowMapper<T> rowMapper;
+        private final Object[] args;
+        private volatile Statement statement;
+        private volatile boolean cancelled;
+
+        Attempt(DataSource target, String sql, RowMapper<T> rowMapper, Object[] args) {
+            this.target = target;
+            this.sql = sql;
+            this.rowMapper = rowMapper;
+            this.args = args;
+        }
+
+        CompletableFuture<List<T>> start() {
+            try {
+                return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return run();
+                    } catch (SQLException e) {
+                        throw new CompletionException(e);
+                    } finally {
+                        limiter.releaseDetached();
+                    }
+                }, executor);
+            } catch (TaskRejectedException e) {
+                limiter.releaseDetached();
+                throw e;
+            }
+        }
+
+        private List<T> run() throws SQLException {
+            try (Connection connection = target.getConnection()) {
+                connection.setReadOnly(true);
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    statement = ps;
+                    if (cancelled) {
+                        throw new SQLException("Hedged read cancelled before it started");
+                    }
+                    new ArgumentPreparedStatementSetter(args).setValues(ps);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        return new RowMapperResultSetExtractor<>(rowMapper).extractData(rs);
+                    }
+                } finally {
+                    statement = null;
+                }
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            Statement running = statement;
+            if (running != null) {
+                try {
+                    running.cancel();
+                } catch (SQLException e) {
+                    logger.debug("Cannot cancel losing read: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Tokens for hedges: each read deposits {@code budget} of one, each hedge takes one, and at
+     * most {@code burst} are kept.
+     */
+    static final class Budget {
+
+        private final double perRead;
+        private final double burst;
+        private double tokens;
+
+        Budget(double perRead, int burst) {
+            this.perRead = perRead;
+            this.burst = burst;
+        }
+
+        synchronized void deposit() {
+            tokens = Math.min(burst, tokens + perRead);
+        }
+
+        synchronized boolean tryAcquire() {
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.streamflix.video.infrastructure.replication;
+
+import java.util.regex.Pattern;
+
+/**
+ * PostgreSQL write-ahead log positions ({@code pg_lsn}), written as two hexadecimal halves such as
+ * {@code 16/B374D848} and compared as the 64-bit byte offset they stand for.
+ */
+public final class Lsn {
+
+    private static final Pattern PATTERN = Pattern.compile("[0-9A-Fa-f]{1,8}/[0-9A-Fa-f]{1,8}");
+
+    private Lsn() {
+    }
+
+    /**
+     * The position a {@code pg_lsn} text stands for.
+     * @throws IllegalArgumentException if the text is not a log position
+     */
+    public static long parse(String text) {
+        if (text == null || !PATTERN.matcher(text).matches()) {
+            throw new IllegalArgumentException("Not a WAL position: " + text);
+        }
+        int separator = text.indexOf('/');
+        long high = Long.parseLong(text, 0, separator, 16);
+        long low = Long.parseLong(text, separator + 1, text.length(), 16);
+        return high << 32 | low;
+    }
+
+    /**
+     * The {@code pg_lsn} text of a position.
+     */
+    public static String format(long lsn) {
+        return Long.toHexString(lsn >>> 32).toUpperCase() + "/" + Long.toHexString(lsn & 0xFFFFFFFFL).toUpperCase();
+    }
+}
@@ -0,0 +1,109 @@
+package com.streamflix.video.infrastructure.replication;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the read-your-writes session of the current thread: the primary WAL position a replica must
+ * have replayed before it may serve this session's reads, raised by the token the client sent and by
+ * every write the session commits.
+ * <p>
+ * The session is shared, not copied, with the {@code @Async} tasks of the request (see
+ * {@link ReadYourWritesTaskDecorator}), so a write committed on an executor thread is seen by the
+ * request thread and by later reads of the same request.
+ */
+public final class ReadYourWritesContext {
+
+    private static final ThreadLocal<Session> CURRENT_SESSION = new ThreadLocal<>();
+
+    private ReadYourWritesContext() {
+    }
+
+    /**
+     * Start a session on the current thread.
+     * @param requiredLsn The position from the client's token, or 0 without one
+     */
+    public static Session begin(long requiredLsn) {
+        Session session = new Session(requiredLsn);
+        CURRENT_SESSION.set(session);
+        return session;
+    }
+
+    /**
+     * The current thread's session, or null outside of a request.
+     */
+    public static Session current() {
+        return CURRENT_SESSION.get();
+    }
+
+    /**
+     * The position a replica must have replayed to serve the current thread: 0 outside of a session,
+     * and beyond any position once the session is pinned to the primary.
+     */
+    public static long requiredLsn() {
+        Session session = CURRENT_SESSION.get();
+        if (session == null) {
+            return 0;
+        }
+        return session.isPinnedToPrimary() ? Long.MAX_VALUE : session.getRequiredLsn();
+    }
+
+    static void set(Session session) {
+        if (session != null) {
+            CURRENT_SESSION.set(session);
+        } else {
+            CURRENT_SESSION.remove();
+        }
+    }
+
+    public static void clear() {
+        CURRENT_SESSION.remove();
+    }
+
+    /**
+     * The consistency requirements of one client request.
+     */
+    public static final class Session {
+
+        private final AtomicLong requiredLsn;
+        private final AtomicLong writtenLsn = new AtomicLong();
+        private volatile boolean pinnedToPrimary;
+
+        Session(long requiredLsn) {
+            this.requiredLsn = new AtomicLong(requiredLsn);
+        }
+
+        /**
+         * The position a replica must have replayed to serve this session; 0 if any replica will do.
+         */
+        public long getRequiredLsn() {
+            return requiredLsn.get();
+        }
+
+        /**
+         * Record a committed write; later reads need a replica that has replayed it.
+         * @param lsn The primary's WAL position right after the commit
+         */
+        public void recordWrite(long lsn) {
+            writtenLsn.accumulateAndGet(lsn, Math::max);
+            requiredLsn.accumulateAndGet(lsn, Math::max);
+        }
+
+        /**
+         * The position of the session's last write in this request, or 0 if it wrote nothing.
+         */
+        public long getWrittenLsn() {
+            return writtenLsn.get();
+        }
+
+        /**
+         * Send the rest of the session's reads to the primary, for when the position of a write is unknown.
+         */
+        public void pinToPrimary() {
+            pinnedToPrimary = true;
+        }
+
+        public boolean isPinnedToPrimary() {
+            return pinnedToPrimary;
+        }
+    }
+}
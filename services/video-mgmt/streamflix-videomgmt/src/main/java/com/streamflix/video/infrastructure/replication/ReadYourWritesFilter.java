@@ -0,0 +1,154 @@
+package com.streamflix.video.infrastructure.replication;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Opens a read-your-writes session per request and carries the WAL position of the client's last
+ * write between requests in a token, sent both as a response header and as a cookie.
+ * <p>
+ * A request presenting the token, in the header or the cookie, has its reads served by a replica
+ * only once that replica has replayed the position. A request that writes returns the new position;
+ * the token is added before the response is committed, so it also reaches clients of responses
+ * written by the controller.
+ */
+@Component
+@Order(2) // After tenant resolution, before any controller reads
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadYourWritesFilter.class);
+
+    private final ReplicaRoutingProperties properties;
+
+    public ReadYourWritesFilter(ReplicaRoutingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isReadYourWrites();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ReadYourWritesContext.Session session = ReadYourWritesContext.begin(requiredLsn(request));
+        TokenResponse tokenResponse = new TokenResponse(response, session);
+        try {
+            filterChain.doFilter(request, tokenResponse);
+            if (!response.isCommitted()) {
+                tokenResponse.writeToken();
+            }
+        } finally {
+            ReadYourWritesContext.clear();
+        }
+    }
+
+    private long requiredLsn(HttpServletRequest request) {
+        long required = parseToken(request.getHeader(properties.getTokenHeader()));
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (properties.getTokenCookie().equals(cookie.getName())) {
+                    required = Math.max(required, parseToken(cookie.getValue()));
+                }
+            }
+        }
+        return required;
+    }
+
+    private static long parseToken(String token) {
+        if (!StringUtils.hasText(token)) {
+            return 0;
+        }
+        try {
+            return Lsn.parse(token.trim());
+        } catch (IllegalArgumentException e) {
+            // A malformed token only costs consistency, not the request
+            logger.debug("Ignoring read-after token: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Adds the token of the session's last write just before the response is committed.
+     */
+    private final class TokenResponse extends HttpServletResponseWrapper {
+
+        private final ReadYourWritesContext.Session session;
+        private boolean tokenWritten;
+
+        TokenResponse(HttpServletResponse response, ReadYourWritesContext.Session session) {
+            super(response);
+            this.session = session;
+        }
+
+        void writeToken() {
+            long written = session.getWrittenLsn();
+            if (tokenWritten || written == 0 || isCommitted()) {
+                return;
+            }
+            tokenWritten = true;
+            String token = Lsn.format(written);
+            setHeader(properties.getTokenHeader(), token);
+            addHeader("Set-Cookie", ResponseCookie.from(properties.getTokenCookie(), token)
+                .path("/")
+                .httpOnly(true)
+                .maxAge(properties.getTokenTtl())
+                .build()
+                .toString());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeToken();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeToken();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeToken();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeToken();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeToken();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeToken();
+            super.sendRedirect(location);
+        }
+    }
+}
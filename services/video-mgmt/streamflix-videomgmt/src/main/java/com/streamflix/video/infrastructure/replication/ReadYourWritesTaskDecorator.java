@@ -0,0 +1,24 @@
+package com.streamflix.video.infrastructure.replication;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Hands the caller's read-your-writes session to the thread that runs an {@code @Async} task, so
+ * the task's reads respect the request's token and its writes are reported back to the request.
+ */
+public class ReadYourWritesTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        ReadYourWritesContext.Session session = ReadYourWritesContext.current();
+        return () -> {
+            ReadYourWritesContext.Session previous = ReadYourWritesContext.current();
+            try {
+                ReadYourWritesContext.set(session);
+                runnable.run();
+            } finally {
+                ReadYourWritesContext.set(previous);
+            }
+        };
+    }
+}
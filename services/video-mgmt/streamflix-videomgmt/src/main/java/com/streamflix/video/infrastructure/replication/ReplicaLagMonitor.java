@@ -0,0 +1,139 @@
+package com.streamflix.video.infrastructure.replication;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tracks how far each replica has replayed the primary's write-ahead log, which is what
+ * {@link ReplicaPool} decides from whether a read may go to a replica.
+ * <p>
+ * Replay positions are read on a schedule rather than per read, so a routing decision costs no
+ * round trip. A cached position only ever understates a replica's progress, which can send a read
+ * to the primary unnecessarily but never to a replica that lacks a write it must see. Without a
+ * reading younger than {@code max-lag}, a replica is treated as unavailable.
+ * <p>
+ * This bean is also the {@code replicaLag} health indicator. Lagging or unreachable replicas
+ * leave the service UP, since reads fall back to the primary; the details say where reads go.
+ */
+@Component("replicaLag")
+public class ReplicaLagMonitor implements HealthIndicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // A replica that is not in recovery is a primary itself, e.g. when both point at one database
+    private static final String REPLAY_POSITION = """
+        SELECT (CASE WHEN pg_is_in_recovery() THEN pg_last_wal_replay_lsn() ELSE pg_current_wal_lsn() END)::text AS replay_lsn,
+               COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) AS replay_age""";
+    private static final String PRIMARY_POSITION = "SELECT pg_current_wal_lsn()::text";
+
+    record ReplayPosition(long lsn, double ageSeconds) {
+    }
+
+    private final JdbcTemplate primary;
+    private final ReplicaPool pool;
+    private final Clock clock;
+    private volatile String primaryError;
+
+    @Autowired
+    public ReplicaLagMonitor(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                             ReplicaPool pool,
+                             ReplicaRoutingProperties properties) {
+        this(new JdbcTemplate(primaryDataSource), pool, properties, Clock.systemUTC());
+    }
+
+    ReplicaLagMonitor(JdbcTemplate primary, ReplicaPool pool, ReplicaRoutingProperties properties, Clock clock) {
+        this.primary = primary;
+        this.pool = pool;
+        this.clock = clock;
+        primary.setQueryTimeout((int) Math.max(1, properties.getMaxLag().toSeconds()));
+    }
+
+    /**
+     * Read every replica's replay position, then the primary's current position.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-interval-ms:500}")
+    public void refresh() {
+        Map<ReplicaNode, ReplayPosition> positions = new HashMap<>();
+        for (ReplicaNode replica : pool.getReplicas()) {
+            try {
+                positions.put(replica, replica.getProbe().queryForObject(REPLAY_POSITION, (rs, rowNum) ->
+                    new ReplayPosition(Lsn.parse(rs.getString("replay_lsn")), rs.getDouble("replay_age"))));
+            } catch (DataAccessException | IllegalArgumentException e) {
+                if (replica.getLastError() == null) {
+                    logger.warn("Cannot read replay position of replica {}: {}", replica.getName(), e.getMessage());
+                }
+                replica.recordFailure(e.getMessage());
+            }
+        }
+        if (positions.isEmpty()) {
+            return;
+        }
+
+        long primaryLsn;
+        try {
+            // Read second, so lag is overstated rather than understated
+            primaryLsn = Lsn.parse(primary.queryForObject(PRIMARY_POSITION, String.class));
+            primaryError = null;
+        } catch (DataAccessException | IllegalArgumentException e) {
+            // Not the replicas' fault: leave them be, their readings go stale
+            if (primaryError == null) {
+                logger.warn("Cannot read primary WAL position, replica lag unknown: {}", e.getMessage());
+            }
+            primaryError = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            return;
+        }
+        positions.forEach((replica, replay) -> {
+            // The replay timestamp keeps ageing on an idle primary, so it only counts while behind
+            double lagSeconds = primaryLsn > replay.lsn() ? replay.ageSeconds() : 0;
+            replica.recordLag(new ReplicaNode.LagSample(replay.lsn(), primaryLsn, lagSeconds, clock.instant()));
+        });
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = Health.up();
+        ReplicaPool.Selection selection = pool.select(0);
+        builder.withDetail("readsFrom", selection.replica() != null ? "replicas" : "primary");
+        if (selection.replica() == null) {
+            builder.withDetail("reason", selection.verdict());
+        }
+        Map<String, Object> replicas = new LinkedHashMap<>();
+        for (ReplicaNode replica : pool.getReplicas()) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("state", replica.getState());
+            ReplicaNode.LagSample lag = replica.getLag();
+            if (lag != null) {
+                details.put("replayLsn", Lsn.format(lag.replayLsn()));
+                details.put("primaryLsn", Lsn.format(lag.primaryLsn()));
+                details.put("lagBytes", lag.lagBytes());
+                details.put("lagSeconds", lag.lagSeconds());
+                details.put("checkedAt", lag.checkedAt().toString());
+            }
+            details.put("inFlight", replica.getInFlight());
+            details.put("latencyMs", replica.getLatencyMillis());
+            if (replica.getLastError() != null) {
+                details.put("error", replica.getLastError());
+            }
+            replicas.put(replica.getName(), details);
+        }
+        builder.withDetail("replicas", replicas);
+        if (primaryError != null) {
+            builder.withDetail("primaryError", primaryError);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,260 @@
+package com.streamflix.video.infrastructure.replication;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One replica of the read pool: its connection pool, how far it has replayed the primary's log,
+ * and what the router has observed of it.
+ * <p>
+ * Connections handed out are tracked until closed, giving the replica's in-flight count and a
+ * moving average of how long reads hold a connection, which the pool balances on. Repeated
+ * failures, or lag beyond {@code max-lag}, eject the replica; once {@code ejection-time} has passed
+ * with good lag checks it comes back on probation, its share of reads ramping up over
+ * {@code probation}.
+ */
+public class ReplicaNode extends DelegatingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaNode.class);
+
+    // Weight of a replica that has just come back on probation
+    private static final double MIN_PROBATION_WEIGHT = 0.1;
+
+    public enum State { ACTIVE, PROBATION, EJECTED }
+
+    /**
+     * A lag check of this replica.
+     * @param primaryLsn The primary's position, read after the replica's
+     */
+    record LagSample(long replayLsn, long primaryLsn, double lagSeconds, Instant checkedAt) {
+        long lagBytes() {
+            return Math.max(0, primaryLsn - replayLsn);
+        }
+    }
+
+    private final String name;
+    private final JdbcTemplate probe;
+    private final ReplicaRoutingProperties properties;
+    private final Clock clock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile double latencyMillis;
+    private volatile LagSample lag;
+    private volatile String lastError;
+    private volatile State state = State.ACTIVE;
+    private volatile Instant stateSince = Instant.EPOCH;
+    private volatile Runnable onEjection = () -> { };
+
+    ReplicaNode(String name, DataSource dataSource, ReplicaRoutingProperties properties, Clock clock) {
+        this(name, dataSource, new JdbcTemplate(dataSource), properties, clock);
+    }
+
+    ReplicaNode(String name, DataSource dataSource, JdbcTemplate probe, ReplicaRoutingProperties properties,
+                Clock clock) {
+        super(dataSource);
+        this.name = name;
+        this.probe = probe;
+        this.properties = properties;
+        this.clock = clock;
+        probe.setQueryTimeout((int) Math.max(1, properties.getMaxLag().toSeconds()));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        inFlight.incrementAndGet();
+        Connection connection;
+        try {
+            connection = super.getConnection();
+        } catch (SQLException | RuntimeException e) {
+            inFlight.decrementAndGet();
+            recordFailure(e.getMessage());
+            throw e;
+        }
+        return (Connection) Proxy.newProxyInstance(ReplicaNode.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, new TrackedConnection(connection, start));
+    }
+
+    /**
+     * Whether a read needing the given position may use this replica right now.
+     */
+    ReplicaPool.Verdict check(long requiredLsn, Instant now) {
+        LagSample sample = lag;
+        Duration maxLag = properties.getMaxLag();
+        if (sample == null || Duration.between(sample.checkedAt(), now).compareTo(maxLag) > 0) {
+            return ReplicaPool.Verdict.UNAVAILABLE;
+        }
+        if (sample.lagSeconds() > maxLag.toMillis() / 1000.0) {
+            return ReplicaPool.Verdict.LAGGING;
+        }
+        if (state == State.EJECTED) {
+            return ReplicaPool.Verdict.UNAVAILABLE;
+        }
+        if (sample.replayLsn() < requiredLsn) {
+            return ReplicaPool.Verdict.BEHIND_SESSION;
+        }
+        return ReplicaPool.Verdict.REPLICA;
+    }
+
+    /**
+     * The balancing cost of sending one more read here: the average hold time scaled by the reads
+     * already in flight, raised while the replica is on probation. Lower is better.
+     */
+    double cost(Instant now) {
+        return (latencyMillis + 1) * (inFlight.get() + 1) / weight(now);
+    }
+
+    private double weight(Instant now) {
+        if (state != State.PROBATION) {
+            return 1;
+        }
+        double elapsed = Duration.between(stateSince, now).toMillis() / (double) Math.max(1, properties.getProbation().toMillis());
+        return Math.min(1, Math.max(MIN_PROBATION_WEIGHT, elapsed));
+    }
+
+    /**
+     * Record a lag check, moving the replica between states.
+     */
+    synchronized void recordLag(LagSample sample) {
+        lag = sample;
+        lastError = null;
+        consecutiveFailures.set(0);
+        Instant now = sample.checkedAt();
+        if (sample.lagSeconds() > properties.getMaxLag().toMillis() / 1000.0) {
+            eject(now, String.format("lagging %.1fs behind the primary", sample.lagSeconds()));
+        } else if (state == State.EJECTED && !now.isBefore(stateSince.plus(properties.getEjectionTime()))) {
+            logger.info("Replica {} back on probation", name);
+            moveTo(State.PROBATION, now);
+        } else if (state == State.PROBATION && !now.isBefore(stateSince.plus(properties.getProbation()))) {
+            logger.info("Replica {} active again", name);
+            moveTo(State.ACTIVE, now);
+        }
+    }
+
+    /**
+     * Record a failed lag check or connection attempt; enough in a row eject the replica.
+     */
+    void recordFailure(String error) {
+        lastError = error != null ? error : "unknown error";
+        if (consecutiveFailures.incrementAndGet() >= properties.getEjectAfterFailures()) {
+            eject(clock.instant(), lastError);
+        }
+    }
+
+    private synchronized void eject(Instant now, String reason) {
+        if (state != State.EJECTED) {
+            logger.warn("Ejecting replica {} for {}: {}", name, properties.getEjectionTime(), reason);
+            onEjection.run();
+        }
+        // Every further failure restarts the ejection
+        moveTo(State.EJECTED, now);
+    }
+
+    private void moveTo(State next, Instant now) {
+        state = next;
+        stateSince = now;
+    }
+
+    void onEjection(Runnable listener) {
+        this.onEjection = listener;
+    }
+
+    private void recordLatency(long nanos) {
+        double millis = nanos / 1_000_000.0;
+        double smoothing = properties.getLatencySmoothing();
+        synchronized (this) {
+            latencyMillis = latencyMillis == 0 ? millis : latencyMillis + smoothing * (millis - latencyMillis);
+        }
+    }
+
+    JdbcTemplate getProbe() {
+        return probe;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    LagSample getLag() {
+        return lag;
+    }
+
+    String getLastError() {
+        return lastError;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    double getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    /**
+     * Ends the tracking of a connection when it is closed, whichever way the caller closes it.
+     */
+    private final class TrackedConnection implements InvocationHandler {
+
+        private final Connection target;
+        private final long start;
+        private boolean closed;
+
+        TrackedConnection(Connection target, long start) {
+            this.target = target;
+            this.start = start;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        inFlight.decrementAndGet();
+                        recordLatency(System.nanoTime() - start);
+                    }
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.streamflix.video.infrastructure.replication;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The replicas configured under {@code app.datasource.routing.replicas}, and the choice of one for
+ * each read.
+ * <p>
+ * A read may use any replica that is not ejected and has replayed the position the session needs.
+ * Of those, two are drawn at random and the one with the lower {@link ReplicaNode#cost cost} wins,
+ * which steers reads away from slow or busy replicas without sending every read to the single
+ * fastest one. Without a usable replica the read goes to the primary.
+ */
+public class ReplicaPool implements AutoCloseable {
+
+    /**
+     * Where a read goes: a replica, or the primary for the given reason.
+     */
+    public enum Verdict { REPLICA, UNAVAILABLE, LAGGING, BEHIND_SESSION }
+
+    /**
+     * The outcome of choosing a replica; {@code replica} is null when the read goes to the primary.
+     */
+    public record Selection(ReplicaNode replica, Verdict verdict) {
+    }
+
+    private final List<ReplicaNode> replicas;
+    private final Clock clock;
+    private final Map<String, Counter> replicaReads = new HashMap<>();
+    private final Map<Verdict, Counter> primaryReads = new EnumMap<>(Verdict.class);
+
+    /**
+     * Open a connection pool per configured replica. Pools report the {@code hikaricp.*} metrics
+     * tagged with their pool name, {@code HikariPool-<replica>} unless configured.
+     */
+    public static ReplicaPool create(ReplicaRoutingProperties properties, MeterRegistry registry) {
+        List<ReplicaNode> replicas = new ArrayList<>();
+        properties.getReplicas().forEach((name, config) -> {
+            HikariConfig pool = new HikariConfig();
+            config.copyStateTo(pool);
+            if (pool.getPoolName() == null) {
+                pool.setPoolName("HikariPool-" + name);
+            }
+            pool.setReadOnly(true);
+            pool.setMetricRegistry(registry);
+            replicas.add(new ReplicaNode(name, new HikariDataSource(pool), properties, Clock.systemUTC()));
+        });
+        return new ReplicaPool(replicas, registry, Clock.systemUTC());
+    }
+
+    ReplicaPool(List<ReplicaNode> replicas, MeterRegistry registry, Clock clock) {
+        this.replicas = List.copyOf(replicas);
+        this.clock = clock;
+        for (ReplicaNode replica : this.replicas) {
+            String name = replica.getName();
+            Gauge.builder("video.db.replica.lag.bytes", replica, r -> r.getLag() != null ? r.getLag().lagBytes() : Double.NaN)
+                .description("WAL bytes the replica has yet to replay")
+                .tag("replica", name)
+                .baseUnit("bytes")
+                .register(registry);
+            Gauge.builder("video.db.replica.lag.seconds", replica, r -> r.getLag() != null ? r.getLag().lagSeconds() : Double.NaN)
+                .description("Age of the last transaction the replica replayed, while it is behind the primary")
+                .tag("replica", name)
+                .baseUnit("seconds")
+                .register(registry);
+            Gauge.builder("video.db.replica.in.flight", replica, ReplicaNode::getInFlight)
+                .description("Connections the router has handed out to the replica and not yet got back")
+                .tag("replica", name)
+                .register(registry);
+            Gauge.builder("video.db.replica.latency", replica, ReplicaNode::getLatencyMillis)
+                .description("Moving average of how long reads hold a replica connection")
+                .tag("replica", name)
+                .baseUnit("milliseconds")
+                .register(registry);
+            Gauge.builder("video.db.replica.state", replica, r -> r.getState().ordinal())
+                .description("0 active, 1 on probation, 2 ejected")
+                .tag("replica", name)
+                .register(registry);
+            Counter ejections = Counter.builder("video.db.replica.ejections")
+                .description("Times the replica was taken out of the read pool")
+                .tag("replica", name)
+                .register(registry);
+            replica.onEjection(ejections::increment);
+            replicaReads.put(name, readCounter(registry, name, Verdict.REPLICA));
+        }
+        for (Verdict verdict : Verdict.values()) {
+            if (verdict != Verdict.REPLICA) {
+                primaryReads.put(verdict, readCounter(registry, "primary", verdict));
+            }
+        }
+    }
+
+    private static Counter readCounter(MeterRegistry registry, String target, Verdict reason) {
+        return Counter.builder("video.db.reads")
+            .description("Read-only transactions by the data source they were routed to")
+            .tag("target", target)
+            .tag("reason", reason.name().toLowerCase())
+            .register(registry);
+    }
+
+    /**
+     * Choose the replica for a read that needs the given WAL position.
+     * @param requiredLsn The position the replica must have replayed, or 0 for none
+     */
+    public Selection select(long requiredLsn) {
+        return select(requiredLsn, null);
+    }
+
+    /**
+     * Choose a replica for a read that needs the given WAL position, other than the given one.
+     * @param excluded A replica not to choose, such as one already running the read; may be null
+     */
+    public Selection select(long requiredLsn, ReplicaNode excluded) {
+        Instant now = clock.instant();
+        List<ReplicaNode> usable = new ArrayList<>(replicas.size());
+        Verdict closest = Verdict.UNAVAILABLE;
+        for (ReplicaNode replica : replicas) {
+            if (replica == excluded) {
+                continue;
+            }
+            Verdict verdict = replica.check(requiredLsn, now);
+            if (verdict == Verdict.REPLICA) {
+                usable.add(replica);
+            } else if (verdict.ordinal() > closest.ordinal()) {
+                // Report the reason of the replica that came closest to serving the read
+                closest = verdict;
+            }
+        }
+        if (usable.isEmpty()) {
+            return new Selection(null, closest);
+        }
+        if (usable.size() == 1) {
+            return new Selection(usable.get(0), Verdict.REPLICA);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(usable.size());
+        int second = random.nextInt(usable.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ReplicaNode a = usable.get(first);
+        ReplicaNode b = usable.get(second);
+        return new Selection(a.cost(now) <= b.cost(now) ? a : b, Verdict.REPLICA);
+    }
+
+    /**
+     * Count a routed read.
+     */
+    public void recordRead(Selection selection) {
+        if (selection.replica() != null) {
+            replicaReads.get(selection.replica().getName()).increment();
+        } else {
+            primaryReads.get(selection.verdict()).increment();
+        }
+    }
+
+    public List<ReplicaNode> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public void close() {
+        for (ReplicaNode replica : replicas) {
+            if (replica.getTargetDataSource() instanceof HikariDataSource pool) {
+                pool.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.streamflix.video.infrastructure.replication;
+
+import com.zaxxer.hikari.HikariConfig;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Routing of read-only transactions between the primary and the replicas.
+ */
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class ReplicaRoutingProperties {
+
+    /** Replica connection pools by name, each with HikariCP settings such as jdbc-url and maximum-pool-size. */
+    private Map<String, HikariConfig> replicas = new LinkedHashMap<>();
+
+    /** Send a session's reads to the replica only once it has replayed the session's last write. */
+    private boolean readYourWrites = true;
+
+    /** Beyond this replay delay a replica is ejected; without a lag reading this recent it gets no reads. */
+    private Duration maxLag = Duration.ofSeconds(10);
+
+    /** How often the replica's replay position is read. */
+    private long lagCheckIntervalMs = 500;
+
+    /** Request and response header carrying the WAL position of the client's last write. */
+    private String tokenHeader = "X-Read-After";
+
+    /** Cookie carrying the same token, for clients that do not echo the header. */
+    private String tokenCookie = "vm-read-after";
+
+    /** Lifetime of the token cookie. */
+    private Duration tokenTtl = Duration.ofMinutes(1);
+
+    /** Consecutive failed connections or lag checks after which a replica is ejected. */
+    private int ejectAfterFailures = 3;
+
+    /** How long an ejected replica gets no reads, counted from its last failure or excessive lag. */
+    private Duration ejectionTime = Duration.ofSeconds(30);
+
+    /** After ejection, the time over which a replica's share of reads ramps back up to full. */
+    private Duration probation = Duration.ofSeconds(60);
+
+    /** Weight of the newest sample in each replica's moving average of connection hold time, 0 to 1. */
+    private double latencySmoothing = 0.2;
+
+    public Map<String, HikariConfig> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(Map<String, HikariConfig> replicas) {
+        this.replicas = replicas;
+    }
+
+    public boolean isReadYourWrites() {
+        return readYourWrites;
+    }
+
+    public void setReadYourWrites(boolean readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public long getLagCheckIntervalMs() {
+        return lagCheckIntervalMs;
+    }
+
+    public void setLagCheckIntervalMs(long lagCheckIntervalMs) {
+        this.lagCheckIntervalMs = lagCheckIntervalMs;
+    }
+
+    public String getTokenHeader() {
+        return tokenHeader;
+    }
+
+    public void setTokenHeader(String tokenHeader) {
+        this.tokenHeader = tokenHeader;
+    }
+
+    public String getTokenCookie() {
+        return tokenCookie;
+    }
+
+    public void setTokenCookie(String tokenCookie) {
+        this.tokenCookie = tokenCookie;
+    }
+
+    public Duration getTokenTtl() {
+        return tokenTtl;
+    }
+
+    public void setTokenTtl(Duration tokenTtl) {
+        this.tokenTtl = tokenTtl;
+    }
+
+    public int getEjectAfterFailures() {
+        return ejectAfterFailures;
+    }
+
+    public void setEjectAfterFailures(int ejectAfterFailures) {
+        this.ejectAfterFailures = ejectAfterFailures;
+    }
+
+    public Duration getEjectionTime() {
+        return ejectionTime;
+    }
+
+    public void setEjectionTime(Duration ejectionTime) {
+        this.ejectionTime = ejectionTime;
+    }
+
+    public Duration getProbation() {
+        return probation;
+    }
+
+    public void setProbation(Duration probation) {
+        this.probation = probation;
+    }
+
+    public double getLatencySmoothing() {
+        return latencySmoothing;
+    }
+
+    public void setLatencySmoothing(double latencySmoothing) {
+        this.latencySmoothing = latencySmoothing;
+    }
+}
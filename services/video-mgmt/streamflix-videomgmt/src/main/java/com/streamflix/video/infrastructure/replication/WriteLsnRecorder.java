@@ -0,0 +1,54 @@
+package com.streamflix.video.infrastructure.replication;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import javax.sql.DataSource;
+
+/**
+ * Records the primary's WAL position after each write transaction of a read-your-writes session,
+ * so the session's later reads, and the token returned to the client, require a replica that has
+ * replayed the write.
+ * <p>
+ * The position is read after the commit, so it is at or past the commit record. If it cannot be
+ * read, the session's remaining reads go to the primary.
+ */
+@Component
+public class WriteLsnRecorder implements TransactionExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteLsnRecorder.class);
+
+    private final JdbcTemplate primary;
+    private final ReplicaRoutingProperties properties;
+
+    public WriteLsnRecorder(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                            ReplicaRoutingProperties properties) {
+        this(new JdbcTemplate(primaryDataSource), properties);
+    }
+
+    WriteLsnRecorder(JdbcTemplate primary, ReplicaRoutingProperties properties) {
+        this.primary = primary;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        ReadYourWritesContext.Session session = ReadYourWritesContext.current();
+        if (commitFailure != null || session == null || !properties.isReadYourWrites()
+                || !transaction.isNewTransaction() || transaction.isReadOnly()) {
+            return;
+        }
+        try {
+            session.recordWrite(Lsn.parse(primary.queryForObject("SELECT pg_current_wal_lsn()::text", String.class)));
+        } catch (DataAccessException | IllegalArgumentException e) {
+            logger.warn("Cannot read WAL position after commit, session reads go to the primary: {}", e.getMessage());
+            session.pinToPrimary();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.streamflix.video.infrastructure.security;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.concurrency.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Runs an {@code @Async} task as the caller's principal, so {@code @PreAuthorize} checks and the
+ * audit log see the same user as the request rather than an anonymous thread.
+ */
+public class SecurityContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return new DelegatingSecurityContextRunnable(runnable, SecurityContextHolder.getContext());
+    }
+}
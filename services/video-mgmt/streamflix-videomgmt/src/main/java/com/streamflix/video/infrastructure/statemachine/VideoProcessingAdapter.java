@@ -9,6 +9,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumSet;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -37,7 +39,48 @@ public class VideoProcessingAdapter {
         logger.info("Handling video creation: {}", video.getId());
         stateMachineService.initializeStateMachine(video);
     }
+
+    /**
+     * Handle videos created together - initialize their state machines in one batch
+     * @param videos The newly created videos
+     */
+    @Transactional
+    public void handleVideosCreated(List<Video> videos) {
+        logger.info("Handling creation of {} videos", videos.size());
+        stateMachineService.initializeStateMachines(videos);
+    }
     
+    /**
+     * Handle videos moved to a status together by a bulk request - move their state machines with
+     * the transitions a single status change drives, without updating the videos again
+     * @param videoIds The videos, already in the new status
+     * @param status The new status
+     */
+    @Transactional
+    public void handleVideosStatusChanged(List<UUID> videoIds, VideoStatus status) {
+        logger.info("Handling status change of {} videos to {}", videoIds.size(), status);
+        switch (status) {
+            case UPLOADED -> stateMachineService.transitionStateMachines(videoIds,
+                EnumSet.of(VideoProcessingState.PENDING), VideoProcessingState.UPLOADED,
+                VideoProcessingEvent.UPLOAD_COMPLETED, null);
+            case PROCESSING -> stateMachineService.transitionStateMachines(videoIds,
+                EnumSet.of(VideoProcessingState.UPLOADED), VideoProcessingState.VALIDATING,
+                VideoProcessingEvent.START_VALIDATION, null);
+            case READY -> stateMachineService.transitionStateMachines(videoIds,
+                EnumSet.of(VideoProcessingState.GENERATING_THUMBNAILS), VideoProcessingState.READY,
+                VideoProcessingEvent.THUMBNAIL_GENERATION_SUCCEEDED, null);
+            case FAILED -> stateMachineService.transitionStateMachines(videoIds,
+                EnumSet.of(VideoProcessingState.UPLOADED, VideoProcessingState.VALIDATING,
+                    VideoProcessingState.TRANSCODING, VideoProcessingState.EXTRACTING_METADATA,
+                    VideoProcessingState.GENERATING_THUMBNAILS),
+                VideoProcessingState.FAILED, VideoProcessingEvent.MARK_AS_FAILED, "Video processing failed");
+            case DELETED -> stateMachineService.transitionStateMachines(videoIds,
+                EnumSet.complementOf(EnumSet.of(VideoProcessingState.DELETED)), VideoProcessingState.DELETED,
+                VideoProcessingEvent.DELETE, null);
+            default -> logger.warn("Unsupported bulk status change to: {}", status);
+        }
+    }
+
     /**
      * Handle video upload completed
      * @param videoId ID of the uploaded video
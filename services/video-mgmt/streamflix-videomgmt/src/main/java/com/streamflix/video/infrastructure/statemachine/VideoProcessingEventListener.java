@@ -3,6 +3,8 @@ package com.streamflix.video.infrastructure.statemachine;
 import com.streamflix.video.domain.VideoStatus;
 import com.streamflix.video.domain.event.VideoCreatedDomainEvent;
 import com.streamflix.video.domain.event.VideoStatusChangedDomainEvent;
+import com.streamflix.video.domain.event.VideosCreatedDomainEvent;
+import com.streamflix.video.domain.event.VideosStatusChangedDomainEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
@@ -31,7 +33,28 @@ public class VideoProcessingEventListener {
         logger.info("Processing VideoCreatedDomainEvent for video: {}", event.getVideo().getId());
         processingAdapter.handleVideoCreated(event.getVideo());
     }
+
+    /**
+     * Handle videos created by a bulk request
+     * @param event The bulk creation event
+     */
+    @EventListener
+    public void handleVideosCreated(VideosCreatedDomainEvent event) {
+        logger.info("Processing VideosCreatedDomainEvent for {} videos", event.getVideos().size());
+        processingAdapter.handleVideosCreated(event.getVideos());
+    }
     
+    /**
+     * Handle videos moved to a status by a bulk request
+     * @param event The bulk status change event
+     */
+    @EventListener
+    public void handleVideosStatusChanged(VideosStatusChangedDomainEvent event) {
+        logger.info("Processing VideosStatusChangedDomainEvent for {} videos: new status {}",
+                event.getVideoIds().size(), event.getNewStatus());
+        processingAdapter.handleVideosStatusChanged(event.getVideoIds(), event.getNewStatus());
+    }
+
     /**
      * Handle video status changed event
      * @param event The status change event
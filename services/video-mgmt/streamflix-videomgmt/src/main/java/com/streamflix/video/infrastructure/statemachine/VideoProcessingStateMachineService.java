@@ -4,6 +4,8 @@ import com.streamflix.video.domain.Video;
 import com.streamflix.video.domain.VideoStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.statemachine.StateMachine;
 import org.springframework.statemachine.config.StateMachineFactory;
 import org.springframework.statemachine.service.StateMachineService;
@@ -11,7 +13,12 @@ import org.springframework.statemachine.support.DefaultStateMachineContext;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
@@ -24,21 +31,34 @@ public class VideoProcessingStateMachineService {
     
     private static final Logger logger = LoggerFactory.getLogger(VideoProcessingStateMachineService.class);
     private static final String MACHINE_ID_PREFIX = "video-processing-";
+    private static final String INSERT_STATE = """
+        INSERT INTO video_processing_states (video_id, current_state, last_updated, retry_count, compensating_transaction)
+        VALUES (?, ?, ?, 0, false)""";
+    private static final String TRANSITION_STATES = """
+        UPDATE video_processing_states
+           SET current_state = ?, last_event = ?, last_updated = ?, error_details = COALESCE(?, error_details)
+         WHERE current_state IN (%s) AND video_id IN (%s)""";
     
     private final StateMachineFactory<VideoProcessingState, VideoProcessingEvent> stateMachineFactory;
     private final VideoStateMachineListener stateMachineListener;
     private final VideoProcessingStateRepository stateRepository;
     private final StateMachineService<VideoProcessingState, VideoProcessingEvent> stateMachineService;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
     
     public VideoProcessingStateMachineService(
             StateMachineFactory<VideoProcessingState, VideoProcessingEvent> stateMachineFactory,
             VideoStateMachineListener stateMachineListener,
             VideoProcessingStateRepository stateRepository,
-            StateMachineService<VideoProcessingState, VideoProcessingEvent> stateMachineService) {
+            StateMachineService<VideoProcessingState, VideoProcessingEvent> stateMachineService,
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.bulk.jdbc-batch-size:500}") int batchSize) {
         this.stateMachineFactory = stateMachineFactory;
         this.stateMachineListener = stateMachineListener;
         this.stateRepository = stateRepository;
         this.stateMachineService = stateMachineService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
     }
     
     /**
@@ -57,7 +77,57 @@ public class VideoProcessingStateMachineService {
         logger.info("Initialized state machine for video: {}", videoId);
         return stateEntity;
     }
+
+    /**
+     * Initialize the state machines of videos created together, with JDBC batches rather than
+     * one entity save per video
+     * @param videos The newly inserted videos
+     */
+    @Transactional
+    public void initializeStateMachines(List<Video> videos) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_STATE, videos, batchSize, (ps, video) -> {
+            ps.setObject(1, video.getId());
+            ps.setString(2, VideoProcessingState.PENDING.name());
+            ps.setTimestamp(3, now);
+        });
+        logger.info("Initialized state machines for {} videos", videos.size());
+    }
     
+    /**
+     * Apply one transition to the state machines of videos changed together, with one guarded UPDATE
+     * per batch rather than one event per video. A machine is restored from its row whenever an event
+     * is sent to it, so rewriting the rows is enough; rows in any other state are left alone.
+     * @param videoIds The videos whose state machines to move
+     * @param sources The states the transition is taken from
+     * @param target The state to move to
+     * @param event The event recorded as the rows' last event
+     * @param errorDetails Error details to record, or null to keep the current ones
+     * @return The number of state machines moved
+     */
+    @Transactional
+    public int transitionStateMachines(List<UUID> videoIds, Set<VideoProcessingState> sources,
+                                       VideoProcessingState target, VideoProcessingEvent event, String errorDetails) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String states = String.join(", ", Collections.nCopies(sources.size(), "?"));
+        int moved = 0;
+        for (int from = 0; from < videoIds.size(); from += batchSize) {
+            List<UUID> batch = videoIds.subList(from, Math.min(from + batchSize, videoIds.size()));
+            List<Object> args = new ArrayList<>(4 + sources.size() + batch.size());
+            args.add(target.name());
+            args.add(event.name());
+            args.add(now);
+            args.add(errorDetails);
+            sources.forEach(source -> args.add(source.name()));
+            args.addAll(batch);
+            moved += jdbcTemplate.update(
+                TRANSITION_STATES.formatted(states, String.join(", ", Collections.nCopies(batch.size(), "?"))),
+                args.toArray());
+        }
+        logger.info("Moved {} of {} state machines to {} on {}", moved, videoIds.size(), target, event);
+        return moved;
+    }
+
     /**
      * Send an event to a video's state machine to trigger a state transition
      * @param videoId The ID of the video
@@ -1,9 +1,23 @@
 package com.streamflix.video.presentation;
 
 import com.streamflix.video.application.port.VideoService;
+import com.streamflix.video.domain.BulkVideoResult;
+import com.streamflix.video.domain.CountMode;
+import com.streamflix.video.domain.NewVideo;
 import com.streamflix.video.domain.Video;
+import com.streamflix.video.domain.VideoCursor;
+import com.streamflix.video.domain.VideoCursorPage;
+import com.streamflix.video.domain.VideoSlice;
 import com.streamflix.video.domain.VideoStatus;
+import com.streamflix.video.domain.VideoSummary;
+import com.streamflix.video.domain.exception.CategoryNotFoundException;
+import com.streamflix.video.domain.exception.ValidationException;
+import com.streamflix.video.infrastructure.cache.AccessStatsRecorder;
+import com.streamflix.video.infrastructure.persistence.DatabaseBusyException;
+import com.streamflix.video.infrastructure.security.CustomSecurityExpressions;
 import com.streamflix.video.presentation.dto.*;
+import com.streamflix.video.presentation.exception.AsyncFailures;
+import com.streamflix.video.presentation.http.VideoResponseCaching;
 
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
@@ -17,16 +31,20 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -38,11 +56,35 @@ import java.util.stream.Collectors;
 public class VideoController {
 
     private static final Logger logger = LoggerFactory.getLogger(VideoController.class);
+
+    /** Response header carrying the cursor of the next page in cursor mode; absent on the last page. */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String VIEW_DESCRIPTION = "'full' (default) or 'summary': summaries carry no description "
+        + "and only the primary thumbnail, are read without loading entities, and support page paging only";
     
     private final VideoService videoService;
+    private final AccessStatsRecorder accessStats;
+    private final VideoResponseCaching responseCaching;
+    private final CustomSecurityExpressions security;
+    private final CountMode defaultCountMode;
+    private final boolean exactCountAdminOnly;
+    private final int maxBulkVideos;
     
-    public VideoController(VideoService videoService) {
+    public VideoController(VideoService videoService,
+                           AccessStatsRecorder accessStats,
+                           VideoResponseCaching responseCaching,
+                           CustomSecurityExpressions security,
+                           @Value("${app.http.filter.default-count-mode:exact}") String defaultCountMode,
+                           @Value("${app.http.filter.exact-count-admin-only:false}") boolean exactCountAdminOnly,
+                           @Value("${app.bulk.max-videos:5000}") int maxBulkVideos) {
         this.videoService = videoService;
+        this.accessStats = accessStats;
+        this.responseCaching = responseCaching;
+        this.security = security;
+        this.defaultCountMode = CountMode.fromParameter(defaultCountMode);
+        this.exactCountAdminOnly = exactCountAdminOnly;
+        this.maxBulkVideos = maxBulkVideos;
     }
       /**
      * Create a new video - requires ADMIN or CONTENT_MANAGER role
@@ -130,10 +172,250 @@ public class VideoController {
         try {
             return new ResponseEntity<>(responseFuture.get(), HttpStatus.CREATED); // Blocking call, consider reactive approach for full async
         } catch (Exception e) {
-            logger.error("Error creating video asynchronously", e);
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error processing request");
+            throw asyncFailure(e, "Error creating video asynchronously");
+        }
+    }
+
+    /**
+     * Create many videos in one request - requires ADMIN or CONTENT_MANAGER role
+     */
+    @PostMapping("/bulk")
+    @WithSpan
+    @PreAuthorize("@security.isContentManager() or @security.isAdmin()")
+    @Operation(
+        summary = "Create videos in bulk",
+        description = "Creates up to app.bulk.max-videos videos (5000 by default) with pending status in one transaction. "
+            + "Items are validated individually: invalid ones are reported and the rest are still created. "
+            + "Requires ADMIN or CONTENT_MANAGER role.",
+        requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            description = "Videos to create",
+            required = true,
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = BulkCreateVideosRequest.class),
+                example = """
+                {
+                  "videos": [
+                    {"title": "Inception", "categoryId": "f67e6d3e-9a0c-4e95-b552-d6842e80c986", "tags": ["sci-fi"], "releaseYear": 2010, "language": "en"},
+                    {"title": "", "description": "Rejected: no title"}
+                  ]
+                }
+                """
+            )
+        )
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Items processed; see each item's outcome",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = BulkVideoResultDTO.class),
+                example = """
+                {
+                  "succeeded": 1,
+                  "failed": 1,
+                  "items": [
+                    {"index": 0, "videoId": "550e8400-e29b-41d4-a716-446655440000", "succeeded": true},
+                    {"index": 1, "succeeded": false, "error": "Video title cannot be empty"}
+                  ]
+                }
+                """
+            )),
+        @ApiResponse(responseCode = "400", description = "No videos, or more than the maximum per request"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN or CONTENT_MANAGER role")
+    })
+    public ResponseEntity<BulkVideoResultDTO> createVideos(@Valid @RequestBody BulkCreateVideosRequest request) {
+        List<CreateVideoRequest> items = request.getVideos();
+        logger.info("API request to create {} videos in bulk", items.size());
+        Span.current().setAttribute("http.method", "POST");
+        Span.current().setAttribute("http.route", "/api/v1/videos/bulk");
+        Span.current().setAttribute("video.bulk.size", items.size());
+
+        if (items.size() > maxBulkVideos) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "At most " + maxBulkVideos + " videos can be created per request");
+        }
+
+        List<NewVideo> videos = items.stream()
+            .map(item -> item == null ? new NewVideo(null, null, null, null, null, null)
+                : new NewVideo(item.getTitle(), item.getDescription(), item.getCategoryId(), item.getTags(),
+                    item.getReleaseYear(), item.getLanguage()))
+            .toList();
+
+        try {
+            return ResponseEntity.ok(new BulkVideoResultDTO(videoService.createVideos(videos).get())); // Blocking call, consider reactive approach for full async
+        } catch (Exception e) {
+            throw asyncFailure(e, "Error creating videos in bulk");
         }
-    }    /**
+    }
+
+    /**
+     * Update the status of many videos - requires ADMIN or CONTENT_MANAGER role
+     * Service accounts can also update status for automated processing
+     */
+    @PatchMapping("/bulk/status")
+    @WithSpan
+    @PreAuthorize("@security.isContentManager() or @security.isAdmin() or @security.isService()")
+    @Operation(
+        summary = "Update video status in bulk",
+        description = "Moves up to app.bulk.max-videos videos (5000 by default) to one status in chunks of 500, each "
+            + "committed on its own, with the transitions of the single status update. Videos that do not exist, "
+            + "cannot make the transition or belong to a failed chunk are reported and the rest are still updated."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Ids processed; see each id's outcome",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = BulkVideoResultDTO.class),
+                example = """
+                {
+                  "succeeded": 1,
+                  "failed": 1,
+                  "items": [
+                    {"index": 0, "videoId": "550e8400-e29b-41d4-a716-446655440000", "succeeded": true},
+                    {"index": 1, "videoId": "6ba7b810-9dad-11d1-80b4-00c04fd430c8", "succeeded": false, "error": "Video must be in PROCESSING state to be marked as READY"}
+                  ]
+                }
+                """
+            )),
+        @ApiResponse(responseCode = "400", description = "No ids, more than the maximum per request, or a status videos cannot be moved to"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - requires appropriate role")
+    })
+    public ResponseEntity<BulkVideoResultDTO> updateVideoStatuses(@Valid @RequestBody BulkStatusUpdateRequest request) {
+        logger.info("API request to update status of {} videos to {}", request.getVideoIds().size(), request.getStatus());
+        Span.current().setAttribute("http.method", "PATCH");
+        Span.current().setAttribute("http.route", "/api/v1/videos/bulk/status");
+        Span.current().setAttribute("video.bulk.size", request.getVideoIds().size());
+        Span.current().setAttribute("video.new.status", request.getStatus().name());
+        validateBulkSize(request.getVideoIds());
+
+        return bulkResult(() -> videoService.updateVideoStatuses(request.getVideoIds(), request.getStatus()),
+            "updating video status in bulk");
+    }
+
+    /**
+     * Add a tag to many videos - requires ADMIN or CONTENT_MANAGER role
+     */
+    @PostMapping("/bulk/tags/add")
+    @WithSpan
+    @PreAuthorize("@security.isContentManager() or @security.isAdmin()")
+    @Operation(
+        summary = "Add a tag to videos in bulk",
+        description = "Adds a tag to up to app.bulk.max-videos videos (5000 by default) in chunks of 500, each "
+            + "committed on its own; videos that already carry it are left as they are. Requires ADMIN or CONTENT_MANAGER role."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Ids processed; see each id's outcome",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = BulkVideoResultDTO.class),
+                example = """
+                {
+                  "succeeded": 1,
+                  "failed": 1,
+                  "items": [
+                    {"index": 0, "videoId": "550e8400-e29b-41d4-a716-446655440000", "succeeded": true},
+                    {"index": 1, "videoId": "6ba7b810-9dad-11d1-80b4-00c04fd430c8", "succeeded": false, "error": "Video not found with id: 6ba7b810-9dad-11d1-80b4-00c04fd430c8"}
+                  ]
+                }
+                """
+            )),
+        @ApiResponse(responseCode = "400", description = "No ids, more than the maximum per request, or an invalid tag"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN or CONTENT_MANAGER role")
+    })
+    public ResponseEntity<BulkVideoResultDTO> addTagToVideos(@Valid @RequestBody BulkTagUpdateRequest request) {
+        logger.info("API request to add tag {} to {} videos", request.getTag(), request.getVideoIds().size());
+        Span.current().setAttribute("http.method", "POST");
+        Span.current().setAttribute("http.route", "/api/v1/videos/bulk/tags/add");
+        Span.current().setAttribute("video.bulk.size", request.getVideoIds().size());
+        validateBulkSize(request.getVideoIds());
+
+        return bulkResult(() -> videoService.addTagToVideos(request.getVideoIds(), request.getTag()),
+            "adding tag to videos in bulk");
+    }
+
+    /**
+     * Remove a tag from many videos - requires ADMIN or CONTENT_MANAGER role
+     */
+    @PostMapping("/bulk/tags/remove")
+    @WithSpan
+    @PreAuthorize("@security.isContentManager() or @security.isAdmin()")
+    @Operation(
+        summary = "Remove a tag from videos in bulk",
+        description = "Removes a tag from up to app.bulk.max-videos videos (5000 by default) in chunks of 500, each "
+            + "committed on its own; videos without it are left as they are. Requires ADMIN or CONTENT_MANAGER role."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Ids processed; see each id's outcome",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = BulkVideoResultDTO.class),
+                example = """
+                {
+                  "succeeded": 1,
+                  "failed": 1,
+                  "items": [
+                    {"index": 0, "videoId": "550e8400-e29b-41d4-a716-446655440000", "succeeded": true},
+                    {"index": 1, "videoId": "6ba7b810-9dad-11d1-80b4-00c04fd430c8", "succeeded": false, "error": "Video not found with id: 6ba7b810-9dad-11d1-80b4-00c04fd430c8"}
+                  ]
+                }
+                """
+            )),
+        @ApiResponse(responseCode = "400", description = "No ids, more than the maximum per request, or an invalid tag"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN or CONTENT_MANAGER role")
+    })
+    public ResponseEntity<BulkVideoResultDTO> removeTagFromVideos(@Valid @RequestBody BulkTagUpdateRequest request) {
+        logger.info("API request to remove tag {} from {} videos", request.getTag(), request.getVideoIds().size());
+        Span.current().setAttribute("http.method", "POST");
+        Span.current().setAttribute("http.route", "/api/v1/videos/bulk/tags/remove");
+        Span.current().setAttribute("video.bulk.size", request.getVideoIds().size());
+        validateBulkSize(request.getVideoIds());
+
+        return bulkResult(() -> videoService.removeTagFromVideos(request.getVideoIds(), request.getTag()),
+            "removing tag from videos in bulk");
+    }
+
+    /**
+     * Move many videos to a category - requires ADMIN or CONTENT_MANAGER role
+     */
+    @PatchMapping("/bulk/category")
+    @WithSpan
+    @PreAuthorize("@security.isContentManager() or @security.isAdmin()")
+    @Operation(
+        summary = "Move videos to a category in bulk",
+        description = "Moves up to app.bulk.max-videos videos (5000 by default) to a category in chunks of 500, each "
+            + "committed on its own. Requires ADMIN or CONTENT_MANAGER role."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Ids processed; see each id's outcome",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = BulkVideoResultDTO.class),
+                example = """
+                {
+                  "succeeded": 1,
+                  "failed": 1,
+                  "items": [
+                    {"index": 0, "videoId": "550e8400-e29b-41d4-a716-446655440000", "succeeded": true},
+                    {"index": 1, "videoId": "6ba7b810-9dad-11d1-80b4-00c04fd430c8", "succeeded": false, "error": "Video not found with id: 6ba7b810-9dad-11d1-80b4-00c04fd430c8"}
+                  ]
+                }
+                """
+            )),
+        @ApiResponse(responseCode = "400", description = "No ids, or more than the maximum per request"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN or CONTENT_MANAGER role"),
+        @ApiResponse(responseCode = "404", description = "Category not found")
+    })
+    public ResponseEntity<BulkVideoResultDTO> moveVideosToCategory(@Valid @RequestBody BulkCategoryUpdateRequest request) {
+        logger.info("API request to move {} videos to category {}", request.getVideoIds().size(), request.getCategoryId());
+        Span.current().setAttribute("http.method", "PATCH");
+        Span.current().setAttribute("http.route", "/api/v1/videos/bulk/category");
+        Span.current().setAttribute("video.bulk.size", request.getVideoIds().size());
+        validateBulkSize(request.getVideoIds());
+
+        return bulkResult(() -> videoService.moveVideosToCategory(request.getVideoIds(), request.getCategoryId()),
+            "moving videos to category in bulk");
+    }
+
+    /**
      * Retrieve a video by ID - accessible to all authenticated users
      */
     @GetMapping("/{id}")
@@ -189,24 +471,23 @@ public class VideoController {
     })
     public ResponseEntity<VideoDTO> getVideo(
             @Parameter(description = "ID of the video to retrieve") 
-            @PathVariable UUID id) {
+            @PathVariable UUID id,
+            WebRequest request) {
         logger.info("API request to get video with id: {}", id);
         Span.current().setAttribute("http.method", "GET");
         Span.current().setAttribute("http.route", "/api/v1/videos/{id}");
         Span.current().setAttribute("video.id", id.toString());
         
-        CompletableFuture<VideoDTO> responseFuture = videoService.getVideo(id)
-            .thenApply(videoOpt -> videoOpt.map(VideoDTO::new)
+        CompletableFuture<Video> videoFuture = videoService.getVideo(id)
+            .thenApply(videoOpt -> videoOpt
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Video not found")));
 
         try {
-            return new ResponseEntity<>(responseFuture.get(), HttpStatus.OK); // Blocking call
+            Video video = videoFuture.get(); // Blocking call
+            accessStats.recordVideo(id);
+            return responseCaching.forVideo(request, video, () -> new VideoDTO(video));
         } catch (Exception e) {
-            logger.error("Error getting video asynchronously", e);
-            if (e.getCause() instanceof ResponseStatusException rse) {
-                throw rse;
-            }
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error processing request");
+            throw asyncFailure(e, "Error getting video asynchronously");
         }
     }
       /**
@@ -267,11 +548,7 @@ public class VideoController {
         try {
             return new ResponseEntity<>(responseFuture.get(), HttpStatus.OK); // Blocking call
         } catch (Exception e) {
-            logger.error("Error updating video asynchronously", e);
-            if (e.getCause() instanceof ResponseStatusException rse) {
-                throw rse;
-            }
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error processing request");
+            throw asyncFailure(e, "Error updating video asynchronously");
         }
     }
       /**
@@ -305,11 +582,7 @@ public class VideoController {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Video not found");
             }
         } catch (Exception e) {
-            logger.error("Error deleting video asynchronously", e);
-            if (e.getCause() instanceof ResponseStatusException rse) {
-                throw rse;
-            }
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error processing request");
+            throw asyncFailure(e, "Error deleting video asynchronously");
         }
     }
       /**
@@ -348,11 +621,7 @@ public class VideoController {
         try {
             return new ResponseEntity<>(responseFuture.get(), HttpStatus.OK); // Blocking call
         } catch (Exception e) {
-            logger.error("Error updating video status asynchronously", e);
-            if (e.getCause() instanceof ResponseStatusException rse) {
-                throw rse;
-            }
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error processing request");
+            throw asyncFailure(e, "Error updating video status asynchronously");
         }
     }
       /**
@@ -363,33 +632,60 @@ public class VideoController {
     @PreAuthorize("isAuthenticated()")
     @Operation(
         summary = "List videos with pagination",
-        description = "Returns a paginated list of videos. Accessible to all authenticated users."
+        description = "Returns a paginated list of videos. Passing a cursor (empty for the first page) switches "
+            + "to cursor paging, newest update first, with the next cursor in the X-Next-Cursor header. "
+            + "view=summary returns VideoSummaryDTOs, newest update first. "
+            + "Accessible to all authenticated users."
     )
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Successful operation", 
             content = @Content(schema = @Schema(implementation = VideoDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Unknown view, or summary view with a cursor"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<List<VideoDTO>> listVideos(
+    public ResponseEntity<List<?>> listVideos(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Cursor from X-Next-Cursor, or empty for the first page; replaces page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = VIEW_DESCRIPTION)
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request) {
         
         logger.info("API request to list videos, page: {}, size: {}", page, size);
         Span.current().setAttribute("http.method", "GET");
         Span.current().setAttribute("http.route", "/api/v1/videos");
         Span.current().setAttribute("list.page", page);
         Span.current().setAttribute("list.size", size);
+        Span.current().setAttribute("list.view", view);
         
-        CompletableFuture<List<VideoDTO>> responseFuture = videoService.listVideos(page, size)
-            .thenApply(videos -> videos.stream()
-                .map(VideoDTO::new)
-                .collect(Collectors.toList()));
-        
+        if (isSummaryView(view, cursor)) {
+            try {
+                List<VideoSummary> summaries = videoService.listVideoSummaries(page, size).get(); // Blocking call
+                return responseCaching.forSummaryPage(request, summaries, page + ":" + size,
+                    List.of(responseCaching.allVideosKey()), () -> toSummaryDtos(summaries));
+            } catch (Exception e) {
+                throw asyncFailure(e, "Error listing video summaries asynchronously");
+            }
+        }
+
+        if (cursor != null) {
+            VideoCursor after = parseCursor(cursor);
+            try {
+                VideoCursorPage videoPage = videoService.scrollVideos(after, size).get(); // Blocking call
+                return withNextCursor(responseCaching.forPage(request, videoPage.getVideos(), cursor + ":" + size,
+                    List.of(responseCaching.allVideosKey()), () -> toDtos(videoPage.getVideos())), videoPage);
+            } catch (Exception e) {
+                throw asyncFailure(e, "Error scrolling videos asynchronously");
+            }
+        }
+
         try {
-            return new ResponseEntity<>(responseFuture.get(), HttpStatus.OK); // Blocking call
+            List<Video> videos = videoService.listVideos(page, size).get(); // Blocking call
+            return responseCaching.forPage(request, videos, page + ":" + size,
+                List.of(responseCaching.allVideosKey()), () -> toDtos(videos));
         } catch (Exception e) {
-            logger.error("Error listing videos asynchronously", e);
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error processing request");
+            throw asyncFailure(e, "Error listing videos asynchronously");
         }
     }
       /**
@@ -399,7 +695,14 @@ public class VideoController {
     @WithSpan
     @PreAuthorize("isAuthenticated()")    @Operation(
         summary = "Filter videos",
-        description = "Advanced filtering of videos with multiple criteria. Accessible to all authenticated users."
+        description = "Advanced filtering of videos with multiple criteria. Passing a cursor (empty for the first page) "
+            + "switches to cursor paging: no totals are counted, the response carries nextCursor, and later pages "
+            + "keep the sort of the first one. The count parameter selects how totals are obtained: exact runs a "
+            + "count query, estimated answers from cached counts or planner statistics (totalEstimated is then "
+            + "true), none counts nothing and returns totals of -1. The search parameter runs a full-text search, "
+            + "ranked by relevance unless sortBy is given; fuzzy=true matches the title by similarity, tolerating "
+            + "typos. Both support page paging only, as does view=summary, which returns VideoSummaryDTOs. "
+            + "Accessible to all authenticated users."
     )
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Successful operation",
@@ -471,10 +774,16 @@ public class VideoController {
             )),
         @ApiResponse(responseCode = "400", description = "Invalid filter parameters"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
-    })public ResponseEntity<PageResponse<VideoDTO>> filterVideos(
+    })public ResponseEntity<PageResponse<?>> filterVideos(
             // Basic filters
             @Parameter(description = "Filter by video title (partial match)") 
             @RequestParam(required = false) String title,
+            @Parameter(description = "Match the title by similarity instead, tolerating typos; ordered by similarity "
+                + "unless sortBy is given")
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @Parameter(description = "Full-text search over title, tags and description, in the video's language; "
+                + "the last word matches as a prefix")
+            @RequestParam(required = false) String search,
             @Parameter(description = "Filter by category ID") 
             @RequestParam(required = false) UUID categoryId,
             @Parameter(description = "Filter by release year") 
@@ -492,8 +801,9 @@ public class VideoController {
             @RequestParam(required = false) Integer maxYear,
             
             // Sorting
-            @Parameter(description = "Field to sort by (e.g., 'title', 'createdAt', 'updatedAt')") 
-            @RequestParam(required = false, defaultValue = "updatedAt") String sortBy,
+            @Parameter(description = "Field to sort by (e.g., 'title', 'createdAt', 'updatedAt', 'relevance'); "
+                + "defaults to relevance when searching and to updatedAt otherwise")
+            @RequestParam(required = false) String sortBy,
             @Parameter(description = "Sort direction ('asc' or 'desc')") 
             @RequestParam(required = false, defaultValue = "desc") String sortDirection,
             
@@ -501,11 +811,20 @@ public class VideoController {
             @Parameter(description = "Page number (0-based)") 
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size (default: 10, max: 100)") 
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Cursor from nextCursor, or empty for the first page; replaces page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "How to count the total: 'exact', 'estimated' or 'none'")
+            @RequestParam(required = false) String count,
+            @Parameter(description = VIEW_DESCRIPTION)
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request) {
         
         logger.info("API request to filter videos with params: title={}, categoryId={}, year={}, language={}, tags={}, status={}", 
                 title, categoryId, year, language, tags, status);
         Span.current().setAttribute("filter.title", title != null ? title : "");
+        Span.current().setAttribute("filter.search", search != null ? search : "");
+        Span.current().setAttribute("filter.fuzzy", fuzzy);
         Span.current().setAttribute("filter.category_id", categoryId != null ? categoryId.toString() : "");
         Span.current().setAttribute("filter.year", year != null ? year : -1);
         Span.current().setAttribute("filter.language", language != null ? language : "");
@@ -515,6 +834,8 @@ public class VideoController {
         // Create filter params object from request parameters
         VideoFilterParams filterParams = new VideoFilterParams();
         filterParams.setTitle(title);
+        filterParams.setFuzzyTitle(fuzzy);
+        filterParams.setSearch(search);
         filterParams.setCategoryId(categoryId);
         filterParams.setYear(year);
         filterParams.setLanguage(language);
@@ -524,15 +845,49 @@ public class VideoController {
         filterParams.setMaxYear(maxYear);
         filterParams.setSortBy(sortBy);
         filterParams.setSortDirection(sortDirection);
+        boolean summaryView = isSummaryView(view, cursor);
         
-        CompletableFuture<PageResponse<VideoDTO>> responseFuture = videoService.findByFilterParams(filterParams, page, size)
-            .thenApply(videoPage -> new PageResponse<>(videoPage.map(VideoDTO::new)));
-        
+        if (cursor != null) {
+            if (StringUtils.hasText(search) || fuzzy) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Cursor paging is not available for full-text or fuzzy title search");
+            }
+            VideoCursor after = parseCursor(cursor);
+            try {
+                VideoCursorPage videoPage = videoService.scrollByFilterParams(filterParams, after, size).get(); // Blocking call
+                return withNextCursor(responseCaching.forPage(request, videoPage.getVideos(), cursor + ":" + size,
+                    List.of(responseCaching.allVideosKey()),
+                    () -> PageResponse.ofCursor(toDtos(videoPage.getVideos()), size, after == null,
+                        videoPage.hasNext() ? videoPage.getNextCursor().encode() : null)), videoPage);
+            } catch (Exception e) {
+                throw asyncFailure(e, "Error scrolling filtered videos asynchronously");
+            }
+        }
+
+        CountMode countMode = resolveCountMode(count);
+        Span.current().setAttribute("filter.count_mode", countMode.name());
+        if (summaryView) {
+            try {
+                VideoSlice<VideoSummary> summarySlice =
+                    videoService.findSummariesByFilterParams(filterParams, page, size, countMode).get(); // Blocking call
+                String pageVersion = page + ":" + size + ":" + summarySlice.getTotalElements() + ":" + summarySlice.hasNext();
+                return responseCaching.forSummaryPage(request, summarySlice.getContent(), pageVersion,
+                    List.of(responseCaching.allVideosKey()),
+                    () -> PageResponse.ofSlice(summarySlice.getSlice().map(VideoSummaryDTO::new),
+                        summarySlice.getTotalElements(), summarySlice.getCountMode() == CountMode.ESTIMATED));
+            } catch (Exception e) {
+                throw asyncFailure(e, "Error filtering video summaries asynchronously");
+            }
+        }
         try {
-            return new ResponseEntity<>(responseFuture.get(), HttpStatus.OK); // Blocking call
+            VideoSlice<Video> videoSlice = videoService.findByFilterParams(filterParams, page, size, countMode).get(); // Blocking call
+            String pageVersion = page + ":" + size + ":" + videoSlice.getTotalElements() + ":" + videoSlice.hasNext();
+            return responseCaching.forPage(request, videoSlice.getContent(), pageVersion,
+                List.of(responseCaching.allVideosKey()),
+                () -> PageResponse.ofSlice(videoSlice.getSlice().map(VideoDTO::new), videoSlice.getTotalElements(),
+                    videoSlice.getCountMode() == CountMode.ESTIMATED));
         } catch (Exception e) {
-            logger.error("Error filtering videos asynchronously", e);
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error processing request");
+            throw asyncFailure(e, "Error filtering videos asynchronously");
         }
     }
       /**
@@ -543,36 +898,63 @@ public class VideoController {
     @PreAuthorize("isAuthenticated()")
     @Operation(
         summary = "List videos by category",
-        description = "Returns a paginated list of videos that belong to a specific category. Accessible to all authenticated users."
+        description = "Returns a paginated list of videos that belong to a specific category. Passing a cursor (empty for "
+            + "the first page) switches to cursor paging, newest update first, with the next cursor in the "
+            + "X-Next-Cursor header. view=summary returns VideoSummaryDTOs, newest update first. "
+            + "Accessible to all authenticated users."
     )
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Successful operation", 
             content = @Content(schema = @Schema(implementation = VideoDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Unknown view, or summary view with a cursor"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "404", description = "Category not found")
-    })    public ResponseEntity<List<VideoDTO>> findVideosByCategory(
+    })    public ResponseEntity<List<?>> findVideosByCategory(
             @Parameter(description = "ID of the category to filter by") 
             @PathVariable UUID categoryId,
             @Parameter(description = "Page number (0-based)") 
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size (default: 10, max: 100)") 
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Cursor from X-Next-Cursor, or empty for the first page; replaces page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = VIEW_DESCRIPTION)
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request) {
         
         logger.info("API request to find videos by category id: {}", categoryId);
         Span.current().setAttribute("http.method", "GET");
         Span.current().setAttribute("http.route", "/api/v1/videos/by-category/{categoryId}");
         Span.current().setAttribute("filter.category_id", categoryId.toString());
         
-        CompletableFuture<List<VideoDTO>> responseFuture = videoService.findVideosByCategory(categoryId, page, size)
-            .thenApply(videos -> videos.stream()
-                .map(VideoDTO::new)
-                .collect(Collectors.toList()));
-        
+        if (isSummaryView(view, cursor)) {
+            try {
+                List<VideoSummary> summaries = videoService.findVideoSummariesByCategory(categoryId, page, size).get(); // Blocking call
+                return responseCaching.forSummaryPage(request, summaries, page + ":" + size,
+                    List.of(responseCaching.categoryKey(categoryId)), () -> toSummaryDtos(summaries));
+            } catch (Exception e) {
+                throw asyncFailure(e, "Error finding video summaries by category asynchronously");
+            }
+        }
+
+        if (cursor != null) {
+            VideoCursor after = parseCursor(cursor);
+            try {
+                VideoCursorPage videoPage = videoService.scrollVideosByCategory(categoryId, after, size).get(); // Blocking call
+                return withNextCursor(responseCaching.forPage(request, videoPage.getVideos(), cursor + ":" + size,
+                    List.of(responseCaching.categoryKey(categoryId)), () -> toDtos(videoPage.getVideos())), videoPage);
+            } catch (Exception e) {
+                throw asyncFailure(e, "Error scrolling videos by category asynchronously");
+            }
+        }
+
         try {
-            return new ResponseEntity<>(responseFuture.get(), HttpStatus.OK); // Blocking call
+            List<Video> videos = videoService.findVideosByCategory(categoryId, page, size).get(); // Blocking call
+            accessStats.recordCategoryPage(categoryId, page, size);
+            return responseCaching.forPage(request, videos, page + ":" + size,
+                List.of(responseCaching.categoryKey(categoryId)), () -> toDtos(videos));
         } catch (Exception e) {
-            logger.error("Error finding videos by category asynchronously", e);
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error processing request");
+            throw asyncFailure(e, "Error finding videos by category asynchronously");
         }
     }
       /**
@@ -583,35 +965,175 @@ public class VideoController {
     @PreAuthorize("isAuthenticated()")
     @Operation(
         summary = "List videos by tag",
-        description = "Returns a paginated list of videos that have a specific tag. Accessible to all authenticated users."
+        description = "Returns a paginated list of videos that have a specific tag. Passing a cursor (empty for the "
+            + "first page) switches to cursor paging, newest update first, with the next cursor in the "
+            + "X-Next-Cursor header. view=summary returns VideoSummaryDTOs, newest update first. "
+            + "Accessible to all authenticated users."
     )
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Successful operation", 
             content = @Content(schema = @Schema(implementation = VideoDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Unknown view, or summary view with a cursor"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
-    })    public ResponseEntity<List<VideoDTO>> findVideosByTag(
+    })    public ResponseEntity<List<?>> findVideosByTag(
             @Parameter(description = "Tag to filter by") 
             @PathVariable String tag,
             @Parameter(description = "Page number (0-based)") 
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size (default: 10, max: 100)") 
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Cursor from X-Next-Cursor, or empty for the first page; replaces page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = VIEW_DESCRIPTION)
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request) {
         
         logger.info("API request to find videos by tag: {}", tag);
         Span.current().setAttribute("http.method", "GET");
         Span.current().setAttribute("http.route", "/api/v1/videos/by-tag/{tag}");
         Span.current().setAttribute("filter.tag", tag);
         
-        CompletableFuture<List<VideoDTO>> responseFuture = videoService.findVideosByTag(tag, page, size)
-            .thenApply(videos -> videos.stream()
-                .map(VideoDTO::new)
-                .collect(Collectors.toList()));
-        
+        if (isSummaryView(view, cursor)) {
+            try {
+                List<VideoSummary> summaries = videoService.findVideoSummariesByTag(tag, page, size).get(); // Blocking call
+                return responseCaching.forSummaryPage(request, summaries, page + ":" + size,
+                    List.of(responseCaching.tagKey(tag)), () -> toSummaryDtos(summaries));
+            } catch (Exception e) {
+                throw asyncFailure(e, "Error finding video summaries by tag asynchronously");
+            }
+        }
+
+        if (cursor != null) {
+            VideoCursor after = parseCursor(cursor);
+            try {
+                VideoCursorPage videoPage = videoService.scrollVideosByTag(tag, after, size).get(); // Blocking call
+                return withNextCursor(responseCaching.forPage(request, videoPage.getVideos(), cursor + ":" + size,
+                    List.of(responseCaching.tagKey(tag)), () -> toDtos(videoPage.getVideos())), videoPage);
+            } catch (Exception e) {
+                throw asyncFailure(e, "Error scrolling videos by tag asynchronously");
+            }
+        }
+
         try {
-            return new ResponseEntity<>(responseFuture.get(), HttpStatus.OK); // Blocking call
+            List<Video> videos = videoService.findVideosByTag(tag, page, size).get(); // Blocking call
+            accessStats.recordTagPage(tag, page, size);
+            return responseCaching.forPage(request, videos, page + ":" + size,
+                List.of(responseCaching.tagKey(tag)), () -> toDtos(videos));
+        } catch (Exception e) {
+            throw asyncFailure(e, "Error finding videos by tag asynchronously");
+        }
+    }
+
+    /**
+     * The requested count mode, or the configured default. Exact counts may be reserved for
+     * admins, in which case other callers asking for one get an estimate instead.
+     */
+    private CountMode resolveCountMode(String count) {
+        CountMode countMode;
+        try {
+            countMode = count != null ? CountMode.fromParameter(count) : defaultCountMode;
+        } catch (ValidationException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (countMode == CountMode.EXACT && exactCountAdminOnly && !security.isAdmin()) {
+            return CountMode.ESTIMATED;
+        }
+        return countMode;
+    }
+
+    private void validateBulkSize(List<UUID> videoIds) {
+        if (videoIds.size() > maxBulkVideos) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "At most " + maxBulkVideos + " videos can be changed per request");
+        }
+    }
+
+    /**
+     * Wait for a bulk update; a request the service rejects as a whole is a 400, or a 404 for an unknown category.
+     */
+    private ResponseEntity<BulkVideoResultDTO> bulkResult(Supplier<CompletableFuture<BulkVideoResult>> update,
+                                                          String action) {
+        try {
+            return ResponseEntity.ok(new BulkVideoResultDTO(update.get().get())); // Blocking call
+        } catch (ValidationException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
-            logger.error("Error finding videos by tag asynchronously", e);
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error processing request");
+            Throwable cause = AsyncFailures.unwrap(e);
+            if (cause instanceof ValidationException ve) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ve.getMessage());
+            }
+            if (cause instanceof CategoryNotFoundException cnf) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, cnf.getMessage());
+            }
+            throw asyncFailure(e, "Error " + action);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * What to throw when an async service call failed: the status the service chose, a
+     * DatabaseBusyException for its handler to turn into a 503, or else a logged 500.
+     */
+    private RuntimeException asyncFailure(Exception e, String message) {
+        Throwable cause = AsyncFailures.unwrap(e);
+        if (cause instanceof ResponseStatusException rse) {
+            return rse;
+        }
+        if (cause instanceof DatabaseBusyException busy) {
+            return busy;
+        }
+        logger.error(message, e);
+        return new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error processing request");
+    }
+
+    /**
+     * Whether the view parameter asks for summaries rather than full videos.
+     */
+    private static boolean isSummaryView(String view, String cursor) {
+        if ("full".equalsIgnoreCase(view)) {
+            return false;
+        }
+        if (!"summary".equalsIgnoreCase(view)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown view '" + view + "', expected 'full' or 'summary'");
+        }
+        if (cursor != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor paging is not available for the summary view");
+        }
+        return true;
+    }
+
+    /**
+     * Decode a cursor parameter; an empty one asks for the first page in cursor mode.
+     */
+    private static VideoCursor parseCursor(String cursor) {
+        if (cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return VideoCursor.decode(cursor);
+        } catch (ValidationException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static <T> ResponseEntity<T> withNextCursor(ResponseEntity<T> response, VideoCursorPage videoPage) {
+        if (!videoPage.hasNext()) {
+            return response;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        headers.set(NEXT_CURSOR_HEADER, videoPage.getNextCursor().encode());
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+
+    private static List<VideoDTO> toDtos(List<Video> videos) {
+        return videos.stream()
+            .map(VideoDTO::new)
+            .collect(Collectors.toList());
+    }
+
+    private static List<VideoSummaryDTO> toSummaryDtos(List<VideoSummary> summaries) {
+        return summaries.stream()
+            .map(VideoSummaryDTO::new)
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,98 @@
+package com.streamflix.video.presentation.controller;
+
+import com.streamflix.video.infrastructure.catalogimport.CatalogImport;
+import com.streamflix.video.infrastructure.catalogimport.CatalogImportService;
+import com.streamflix.video.infrastructure.multitenancy.TenantContextHolder;
+import com.streamflix.video.presentation.dto.CatalogImportDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller for importing a back catalogue from a file.
+ * <p>
+ * The file is the raw request body, NDJSON ({@code application/x-ndjson}, a JSON object per line)
+ * or CSV ({@code text/csv}, with a header), of the fields of the bulk create request; see
+ * CatalogRecordValidator for the CSV forms of tags and thumbnails. The import runs in the
+ * background; its progress and rejected rows are read back by its ID.
+ */
+@RestController
+@RequestMapping("/api/v1/catalog-imports")
+public class CatalogImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogImportController.class);
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int MAX_REJECTS_PAGE = 1000;
+
+    private final CatalogImportService catalogImportService;
+    private final UUID defaultTenantId;
+
+    public CatalogImportController(CatalogImportService catalogImportService,
+                                   @Value("${app.multitenancy.default-tenant-id}") String defaultTenantId) {
+        this.catalogImportService = catalogImportService;
+        this.defaultTenantId = UUID.fromString(defaultTenantId);
+    }
+
+    /**
+     * Start importing a catalogue file
+     * @param body The file
+     * @return The new import, with its location
+     */
+    @PostMapping(consumes = {NDJSON, "text/csv"})
+    @PreAuthorize("@security.isContentManager() or @security.isAdmin()")
+    public ResponseEntity<CatalogImportDTO> startImport(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                        InputStream body) throws IOException {
+        CatalogImport.Format format = MediaType.parseMediaType(NDJSON).includes(contentType)
+            ? CatalogImport.Format.NDJSON
+            : CatalogImport.Format.CSV;
+        UUID tenantId = TenantContextHolder.getTenantIdOptional();
+        CatalogImport started = catalogImportService.start(tenantId != null ? tenantId : defaultTenantId, format, body);
+        logger.info("Accepted catalogue import {}", started.id());
+        return ResponseEntity.accepted()
+            .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(started.id()).toUri())
+            .body(new CatalogImportDTO(started));
+    }
+
+    /**
+     * Get the progress of an import
+     * @param id ID of the import
+     * @return Rows read, staged, rejected and merged, and their rates
+     */
+    @GetMapping("/{id}")
+    @PreAuthorize("@security.isContentManager() or @security.isAdmin()")
+    public ResponseEntity<CatalogImportDTO> getImport(@PathVariable UUID id) {
+        return catalogImportService.find(id)
+            .map(catalogImport -> ResponseEntity.ok(new CatalogImportDTO(catalogImport)))
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get a page of the rows an import rejected
+     * @param id ID of the import
+     * @param afterRow The last row of the previous page
+     * @param limit Page size, at most 1000
+     * @return The rows with the reasons, in file order
+     */
+    @GetMapping("/{id}/rejects")
+    @PreAuthorize("@security.isContentManager() or @security.isAdmin()")
+    public ResponseEntity<List<CatalogImport.Reject>> getRejects(@PathVariable UUID id,
+                                                                 @RequestParam(defaultValue = "0") long afterRow,
+                                                                 @RequestParam(defaultValue = "100") int limit) {
+        if (catalogImportService.find(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(catalogImportService.rejects(id, afterRow, Math.max(1, Math.min(limit, MAX_REJECTS_PAGE))));
+    }
+}
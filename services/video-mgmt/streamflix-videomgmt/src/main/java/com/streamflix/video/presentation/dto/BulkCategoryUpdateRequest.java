@@ -0,0 +1,26 @@
+package com.streamflix.video.presentation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+/**
+ * DTO for moving many videos to one category.
+ */
+@Schema(description = "Request object for moving videos to a category in bulk")
+public class BulkCategoryUpdateRequest extends BulkVideoIdsRequest {
+    @Schema(description = "ID of the category to move the videos to", required = true,
+        example = "f67e6d3e-9a0c-4e95-b552-d6842e80c986")
+    @NotNull(message = "Category ID is required")
+    private UUID categoryId;
+
+    // Getters and setters
+    public UUID getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(UUID categoryId) {
+        this.categoryId = categoryId;
+    }
+}
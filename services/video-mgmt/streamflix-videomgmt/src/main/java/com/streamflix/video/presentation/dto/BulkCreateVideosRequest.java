@@ -0,0 +1,27 @@
+package com.streamflix.video.presentation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for creating many videos in one request.
+ * Items are not validated as a whole: each one that fails is reported and the rest are still created.
+ */
+@Schema(description = "Request object for creating videos in bulk")
+public class BulkCreateVideosRequest {
+    @Schema(description = "Videos to create, in the order their results are reported", required = true)
+    @NotEmpty(message = "At least one video is required")
+    private List<CreateVideoRequest> videos = new ArrayList<>();
+
+    // Getters and setters
+    public List<CreateVideoRequest> getVideos() {
+        return videos;
+    }
+
+    public void setVideos(List<CreateVideoRequest> videos) {
+        this.videos = videos != null ? videos : new ArrayList<>();
+    }
+}
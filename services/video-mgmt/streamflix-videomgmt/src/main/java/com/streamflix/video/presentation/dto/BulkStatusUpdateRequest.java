@@ -0,0 +1,24 @@
+package com.streamflix.video.presentation.dto;
+
+import com.streamflix.video.domain.VideoStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO for moving many videos to one status.
+ */
+@Schema(description = "Request object for updating the status of videos in bulk")
+public class BulkStatusUpdateRequest extends BulkVideoIdsRequest {
+    @Schema(description = "New status of the videos", required = true, example = "READY")
+    @NotNull(message = "Status is required")
+    private VideoStatus status;
+
+    // Getters and setters
+    public VideoStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(VideoStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,25 @@
+package com.streamflix.video.presentation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO for adding one tag to, or removing it from, many videos.
+ */
+@Schema(description = "Request object for adding or removing a tag on videos in bulk")
+public class BulkTagUpdateRequest extends BulkVideoIdsRequest {
+    @Schema(description = "The tag", required = true, example = "award-winner")
+    @NotBlank(message = "Tag is required")
+    @Size(max = 100, message = "Tags cannot exceed 100 characters")
+    private String tag;
+
+    // Getters and setters
+    public String getTag() {
+        return tag;
+    }
+
+    public void setTag(String tag) {
+        this.tag = tag;
+    }
+}
@@ -0,0 +1,28 @@
+package com.streamflix.video.presentation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Base DTO for changing many existing videos in one request.
+ * Each id is reported on its own: ids that cannot be changed do not stop the others.
+ */
+public abstract class BulkVideoIdsRequest {
+    @Schema(description = "IDs of the videos to change, in the order their results are reported", required = true,
+        example = "[\"550e8400-e29b-41d4-a716-446655440000\", \"6ba7b810-9dad-11d1-80b4-00c04fd430c8\"]")
+    @NotEmpty(message = "At least one video id is required")
+    private List<UUID> videoIds = new ArrayList<>();
+
+    // Getters and setters
+    public List<UUID> getVideoIds() {
+        return videoIds;
+    }
+
+    public void setVideoIds(List<UUID> videoIds) {
+        this.videoIds = videoIds != null ? videoIds : new ArrayList<>();
+    }
+}
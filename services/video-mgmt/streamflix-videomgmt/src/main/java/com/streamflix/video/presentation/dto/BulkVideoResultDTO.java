@@ -0,0 +1,114 @@
+package com.streamflix.video.presentation.dto;
+
+import com.streamflix.video.domain.BulkVideoResult;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for the per-item report of a bulk video operation.
+ */
+@Schema(description = "Outcome of a bulk video operation, one entry per request item")
+public class BulkVideoResultDTO {
+    @Schema(description = "Number of items that succeeded", example = "998")
+    private long succeeded;
+
+    @Schema(description = "Number of items that were rejected", example = "2")
+    private long failed;
+
+    @Schema(description = "Outcome of each item, in request order")
+    private List<ItemDTO> items;
+
+    // Default constructor
+    public BulkVideoResultDTO() {}
+
+    // Constructor to convert domain result to DTO
+    public BulkVideoResultDTO(BulkVideoResult result) {
+        this.succeeded = result.getSucceeded();
+        this.failed = result.getFailed();
+        this.items = result.getItems().stream().map(ItemDTO::new).toList();
+    }
+
+    // Getters and setters
+    public long getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(long succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public List<ItemDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ItemDTO> items) {
+        this.items = items;
+    }
+
+    @Schema(description = "Outcome of one item of a bulk video operation")
+    public static class ItemDTO {
+        @Schema(description = "Position of the item in the request, from 0", example = "0")
+        private int index;
+
+        @Schema(description = "Video the item created or affected", example = "550e8400-e29b-41d4-a716-446655440000")
+        private UUID videoId;
+
+        @Schema(description = "Whether the item succeeded", example = "true")
+        private boolean succeeded;
+
+        @Schema(description = "Why the item was rejected; absent if it succeeded", example = "Video title cannot be empty")
+        private String error;
+
+        // Default constructor
+        public ItemDTO() {}
+
+        public ItemDTO(BulkVideoResult.Item item) {
+            this.index = item.getIndex();
+            this.videoId = item.getVideoId();
+            this.succeeded = item.isSucceeded();
+            this.error = item.getError();
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public UUID getVideoId() {
+            return videoId;
+        }
+
+        public void setVideoId(UUID videoId) {
+            this.videoId = videoId;
+        }
+
+        public boolean isSucceeded() {
+            return succeeded;
+        }
+
+        public void setSucceeded(boolean succeeded) {
+            this.succeeded = succeeded;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+}
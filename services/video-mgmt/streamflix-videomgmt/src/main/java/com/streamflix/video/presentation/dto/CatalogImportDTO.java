@@ -0,0 +1,161 @@
+package com.streamflix.video.presentation.dto;
+
+import com.streamflix.video.infrastructure.catalogimport.CatalogImport;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for the progress of a catalogue import.
+ */
+@Schema(description = "Progress of a catalogue import; rows are lines of NDJSON or records after the CSV header, from 1")
+public class CatalogImportDTO {
+    @Schema(description = "Import ID")
+    private UUID id;
+
+    @Schema(description = "Format of the imported file", example = "NDJSON")
+    private String format;
+
+    @Schema(description = "PENDING, LOADING, MERGING, COMPLETED or FAILED", example = "MERGING")
+    private String status;
+
+    @Schema(description = "Rows validated so far", example = "250000")
+    private long rowsRead;
+
+    @Schema(description = "Valid rows staged for merging", example = "249990")
+    private long rowsStaged;
+
+    @Schema(description = "Rows rejected by validation; see the rejects report", example = "10")
+    private long rowsRejected;
+
+    @Schema(description = "Videos created so far", example = "120000")
+    private long rowsMerged;
+
+    @Schema(description = "Rows validated per second", example = "41000.5")
+    private double loadRowsPerSecond;
+
+    @Schema(description = "Videos created per second", example = "18000.2")
+    private double mergeRowsPerSecond;
+
+    @Schema(description = "Why the import failed")
+    private String error;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    // Default constructor
+    public CatalogImportDTO() {}
+
+    public CatalogImportDTO(CatalogImport catalogImport) {
+        this.id = catalogImport.id();
+        this.format = catalogImport.format().name();
+        this.status = catalogImport.status().name();
+        this.rowsRead = catalogImport.rowsRead();
+        this.rowsStaged = catalogImport.rowsStaged();
+        this.rowsRejected = catalogImport.rowsRejected();
+        this.rowsMerged = catalogImport.rowsMerged();
+        this.loadRowsPerSecond = catalogImport.loadRowsPerSecond();
+        this.mergeRowsPerSecond = catalogImport.mergeRowsPerSecond();
+        this.error = catalogImport.error();
+        this.createdAt = catalogImport.createdAt();
+        this.completedAt = catalogImport.completedAt();
+    }
+
+    // Getters and setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsStaged() {
+        return rowsStaged;
+    }
+
+    public void setRowsStaged(long rowsStaged) {
+        this.rowsStaged = rowsStaged;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public void setRowsRejected(long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public long getRowsMerged() {
+        return rowsMerged;
+    }
+
+    public void setRowsMerged(long rowsMerged) {
+        this.rowsMerged = rowsMerged;
+    }
+
+    public double getLoadRowsPerSecond() {
+        return loadRowsPerSecond;
+    }
+
+    public void setLoadRowsPerSecond(double loadRowsPerSecond) {
+        this.loadRowsPerSecond = loadRowsPerSecond;
+    }
+
+    public double getMergeRowsPerSecond() {
+        return mergeRowsPerSecond;
+    }
+
+    public void setMergeRowsPerSecond(double mergeRowsPerSecond) {
+        this.mergeRowsPerSecond = mergeRowsPerSecond;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
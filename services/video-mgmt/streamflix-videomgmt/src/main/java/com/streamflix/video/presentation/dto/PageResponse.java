@@ -5,6 +5,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 /**
  * Wrapper for paginated API responses.
@@ -15,13 +16,13 @@ public class PageResponse<T> {
     @Schema(description = "List of items on the current page")
     private List<T> content;
     
-    @Schema(description = "Total number of items across all pages", example = "42")
+    @Schema(description = "Total number of items across all pages, or -1 when not counted", example = "42")
     private long totalElements;
     
-    @Schema(description = "Total number of pages", example = "5")
+    @Schema(description = "Total number of pages, or -1 when not counted", example = "5")
     private int totalPages;
     
-    @Schema(description = "Current page number (0-based)", example = "0")
+    @Schema(description = "Current page number (0-based), or -1 in cursor mode", example = "0")
     private int currentPage;
     
     @Schema(description = "Number of items per page", example = "10")
@@ -36,6 +37,12 @@ public class PageResponse<T> {
     @Schema(description = "Whether the page is empty", example = "false")
     private boolean empty;
 
+    @Schema(description = "Cursor of the next page in cursor mode; null on the last page and in page mode")
+    private String nextCursor;
+
+    @Schema(description = "Whether the totals are an estimate rather than an exact count", example = "false")
+    private boolean totalEstimated;
+
     // Default constructor
     public PageResponse() {}
 
@@ -51,6 +58,45 @@ public class PageResponse<T> {
         this.empty = page.isEmpty();
     }
 
+    /**
+     * Page of a listing whose total may be estimated or not counted at all.
+     * @param totalElements The total, or -1 if it was not counted
+     * @param totalEstimated Whether the total is an estimate
+     */
+    public static <T> PageResponse<T> ofSlice(Slice<T> slice, long totalElements, boolean totalEstimated) {
+        PageResponse<T> response = new PageResponse<>();
+        response.content = slice.getContent();
+        response.totalElements = totalElements;
+        response.totalPages = totalElements < 0 ? -1
+            : slice.getSize() == 0 ? 1 : (int) Math.ceil((double) totalElements / slice.getSize());
+        response.currentPage = slice.getNumber();
+        response.pageSize = slice.getSize();
+        response.first = slice.isFirst();
+        response.last = slice.isLast();
+        response.empty = slice.isEmpty();
+        response.totalEstimated = totalEstimated;
+        return response;
+    }
+
+    /**
+     * Page of a cursor listing, which knows whether more items follow but not how many.
+     * @param first Whether the page was requested without a cursor
+     * @param nextCursor Cursor of the next page, or null if this is the last one
+     */
+    public static <T> PageResponse<T> ofCursor(List<T> content, int pageSize, boolean first, String nextCursor) {
+        PageResponse<T> response = new PageResponse<>();
+        response.content = content;
+        response.totalElements = -1;
+        response.totalPages = -1;
+        response.currentPage = -1;
+        response.pageSize = pageSize;
+        response.first = first;
+        response.last = nextCursor == null;
+        response.empty = content.isEmpty();
+        response.nextCursor = nextCursor;
+        return response;
+    }
+
     // Getters and setters
     public List<T> getContent() {
         return content;
@@ -115,4 +161,20 @@ public class PageResponse<T> {
     public void setEmpty(boolean empty) {
         this.empty = empty;
     }
-}
\ No newline at end of file
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isTotalEstimated() {
+        return totalEstimated;
+    }
+
+    public void setTotalEstimated(boolean totalEstimated) {
+        this.totalEstimated = totalEstimated;
+    }
+}
@@ -15,7 +15,15 @@ public class VideoFilterParams {
 
     @Schema(description = "Filter by video title (partial match)", example = "Marvel")
     private String title;
+
+    @Schema(description = "Match the title by trigram similarity instead of as a substring, tolerating typos; "
+        + "results are ordered by similarity unless sortBy is given", example = "false")
+    private boolean fuzzyTitle;
     
+    @Schema(description = "Full-text search over title, tags and description; results are ranked by relevance "
+        + "unless sortBy is given, and the last word matches as a prefix", example = "star wa")
+    private String search;
+
     @Schema(description = "Filter by category ID", example = "f67e6d3e-9a0c-4e95-b552-d6842e80c986")
     private UUID categoryId;
     
@@ -37,7 +45,7 @@ public class VideoFilterParams {
     @Schema(description = "Filter by maximum release year", example = "2025")
     private Integer maxYear;
     
-    @Schema(description = "Field to sort by", example = "releaseYear", allowableValues = {"title", "releaseYear", "createdAt", "updatedAt"})
+    @Schema(description = "Field to sort by", example = "releaseYear", allowableValues = {"title", "releaseYear", "createdAt", "updatedAt", "relevance"})
     private String sortBy;
     
     @Schema(description = "Direction of sorting", example = "desc", allowableValues = {"asc", "desc"})
@@ -56,6 +64,22 @@ public class VideoFilterParams {
         this.title = title;
     }
 
+    public boolean isFuzzyTitle() {
+        return fuzzyTitle;
+    }
+
+    public void setFuzzyTitle(boolean fuzzyTitle) {
+        this.fuzzyTitle = fuzzyTitle;
+    }
+
+    public String getSearch() {
+        return search;
+    }
+
+    public void setSearch(String search) {
+        this.search = search;
+    }
+
     public UUID getCategoryId() {
         return categoryId;
     }
@@ -132,6 +156,8 @@ public class VideoFilterParams {
     public String toString() {
         return "VideoFilterParams{" +
                 "title='" + title + '\'' +
+                ", fuzzyTitle=" + fuzzyTitle +
+                ", search='" + search + '\'' +
                 ", categoryId=" + categoryId +
                 ", year=" + year +
                 ", language='" + language + '\'' +
@@ -0,0 +1,157 @@
+package com.streamflix.video.presentation.dto;
+
+import com.streamflix.video.domain.VideoStatus;
+import com.streamflix.video.domain.VideoSummary;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for video listings in the summary view.
+ */
+@Schema(description = "Video summary for listings: no description, only the primary thumbnail")
+public class VideoSummaryDTO {
+    @Schema(description = "Unique identifier of the video", example = "550e8400-e29b-41d4-a716-446655440000")
+    private UUID id;
+
+    @Schema(description = "Title of the video", example = "Inception")
+    private String title;
+
+    @Schema(description = "Identifier of the category the video belongs to", example = "f67e6d3e-9a0c-4e95-b552-d6842e80c986")
+    private UUID categoryId;
+
+    @Schema(description = "Name of the category the video belongs to", example = "Sci-Fi")
+    private String categoryName;
+
+    @Schema(description = "Tags of the video in alphabetical order", example = "[\"action\", \"sci-fi\", \"thriller\"]")
+    private List<String> tags;
+
+    @Schema(description = "Year when the video was released", example = "2010")
+    private Integer releaseYear;
+
+    @Schema(description = "Language code of the video (ISO 639-1)", example = "en")
+    private String language;
+
+    @Schema(description = "URL of the primary thumbnail, or of the default one if none is primary",
+            example = "https://storage.streamflix.com/thumbnails/inception/cover.jpg")
+    private String thumbnailUrl;
+
+    @Schema(description = "Current processing status of the video", example = "READY",
+            allowableValues = {"PENDING", "UPLOADED", "PROCESSING", "READY", "FAILED", "DELETED"})
+    private VideoStatus status;
+
+    @Schema(description = "Timestamp when the video was created", example = "2025-05-12T10:30:00")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Timestamp when the video was last updated", example = "2025-05-12T15:45:00")
+    private LocalDateTime updatedAt;
+
+    // Default constructor
+    public VideoSummaryDTO() {}
+
+    // Constructor to convert the read model to DTO
+    public VideoSummaryDTO(VideoSummary summary) {
+        this.id = summary.getId();
+        this.title = summary.getTitle();
+        this.categoryId = summary.getCategoryId();
+        this.categoryName = summary.getCategoryName();
+        this.tags = summary.getTags();
+        this.releaseYear = summary.getReleaseYear();
+        this.language = summary.getLanguage();
+        this.thumbnailUrl = summary.getThumbnailUrl();
+        this.status = summary.getStatus();
+        this.createdAt = summary.getCreatedAt();
+        this.updatedAt = summary.getUpdatedAt();
+    }
+
+    // Getters and setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public UUID getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(UUID categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public Integer getReleaseYear() {
+        return releaseYear;
+    }
+
+    public void setReleaseYear(Integer releaseYear) {
+        this.releaseYear = releaseYear;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    public VideoStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(VideoStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,25 @@
+package com.streamflix.video.presentation.exception;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Failures of the {@code @Async} service calls controllers wait for, which arrive wrapped in
+ * {@link ExecutionException} or {@link CompletionException}.
+ */
+public final class AsyncFailures {
+
+    private AsyncFailures() {
+    }
+
+    /**
+     * The exception the service call actually failed with, without the wrappers of the future.
+     */
+    public static Throwable unwrap(Throwable failure) {
+        Throwable cause = failure;
+        while ((cause instanceof ExecutionException || cause instanceof CompletionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
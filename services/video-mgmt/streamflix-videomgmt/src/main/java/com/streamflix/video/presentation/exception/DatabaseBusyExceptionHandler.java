@@ -0,0 +1,48 @@
+package com.streamflix.video.presentation.exception;
+
+import com.streamflix.video.infrastructure.persistence.DatabaseBusyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Answers requests whose transaction could not get a turn (see DatabaseConcurrencyLimiter) with a
+ * 503 and a Retry-After of the time they waited, whether the request's own thread or an
+ * {@code @Async} task it waited for ran into the limit.
+ */
+@ControllerAdvice
+public class DatabaseBusyExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseBusyExceptionHandler.class);
+
+    private final long retryAfterSeconds;
+
+    public DatabaseBusyExceptionHandler(@Value("${app.database.concurrency.acquire-timeout:5s}") Duration acquireTimeout) {
+        this.retryAfterSeconds = Math.max(1, (acquireTimeout.toMillis() + 999) / 1000);
+    }
+
+    @ExceptionHandler(DatabaseBusyException.class)
+    public ResponseEntity<Object> handleDatabaseBusyException(DatabaseBusyException ex) {
+        logger.warn("Request rejected: {}", ex.getMessage());
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+            .body(body);
+    }
+}
@@ -0,0 +1,221 @@
+package com.streamflix.video.presentation.http;
+
+import com.streamflix.video.domain.Category;
+import com.streamflix.video.domain.Thumbnail;
+import com.streamflix.video.domain.Video;
+import com.streamflix.video.domain.VideoSummary;
+import com.streamflix.video.infrastructure.cache.ListCacheKeys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET support for video responses: strong ETags, Last-Modified, Cache-Control
+ * and CDN surrogate keys.
+ * <p>
+ * A video's ETag is a digest of everything its representation is built from: {@code updatedAt}
+ * plus the category and thumbnail fields, which can change without touching the video row.
+ * A page's ETag digests the page descriptor and the ETags of its videos in order, so adding,
+ * removing or reordering videos changes it too. When the request's validators match, a 304 is
+ * returned before the response body is even built.
+ * <p>
+ * Surrogate keys name every video, category and tag a response depends on, so a CDN purge
+ * of {@link #videoKey}, {@link #categoryKey} or {@link #tagKey} drops every affected response.
+ * <p>
+ * Only anonymous responses, which the security configuration allows for public listings alone,
+ * may be stored by a CDN, and only when {@code app.http.public-surrogate-control} is set. A
+ * response to an authenticated request is {@code private} and varies on {@code Authorization},
+ * so no shared cache hands it to a caller without the same credentials.
+ */
+@Component
+public class VideoResponseCaching {
+
+    public static final String SURROGATE_KEY = "Surrogate-Key";
+    public static final String SURROGATE_CONTROL = "Surrogate-Control";
+
+    private final ListCacheKeys listCacheKeys;
+    private final String cacheControl;
+    private final String publicSurrogateControl;
+    private final String tenantHeader;
+
+    public VideoResponseCaching(ListCacheKeys listCacheKeys,
+                                @Value("${app.http.cache-control:no-cache}") String cacheControl,
+                                @Value("${app.http.public-surrogate-control:}") String publicSurrogateControl,
+                                @Value("${app.multitenancy.header-name:X-Tenant-ID}") String tenantHeader) {
+        this.listCacheKeys = listCacheKeys;
+        this.cacheControl = cacheControl;
+        this.publicSurrogateControl = publicSurrogateControl;
+        this.tenantHeader = tenantHeader;
+    }
+
+    /**
+     * Respond with a single video, or 304 if the client's copy is current.
+     */
+    public <T> ResponseEntity<T> forVideo(WebRequest request, Video video, Supplier<T> body) {
+        String etag = quote(digest(version(video)));
+        long lastModified = epochMillis(video.getUpdatedAt());
+        Set<String> keys = new LinkedHashSet<>();
+        addKeys(keys, video);
+        return respond(request, etag, lastModified, keys, body);
+    }
+
+    /**
+     * Respond with a page of videos, or 304 if the client's copy is current.
+     * <p>
+     * Pages carry no Last-Modified: a video leaving the page does not make the newest
+     * {@code updatedAt} any newer, so only the ETag can tell that the page changed.
+     * @param pageVersion What identifies the page beyond its videos, e.g. the total count
+     * @param listKeys Surrogate keys for the list itself, such as {@link #categoryKey}
+     */
+    public <T> ResponseEntity<T> forPage(WebRequest request, List<Video> videos, String pageVersion,
+                                         Collection<String> listKeys, Supplier<T> body) {
+        StringBuilder version = new StringBuilder(pageVersion);
+        Set<String> keys = new LinkedHashSet<>(listKeys);
+        for (Video video : videos) {
+            version.append('|').append(digest(version(video)));
+            addKeys(keys, video);
+        }
+        return respond(request, quote(digest(version.toString())), -1, keys, body);
+    }
+
+    /**
+     * Respond with a page of video summaries, or 304 if the client's copy is current.
+     * Summary ETags cover only what a summary shows, and never match those of the full view.
+     * @see #forPage
+     */
+    public <T> ResponseEntity<T> forSummaryPage(WebRequest request, List<VideoSummary> summaries, String pageVersion,
+                                                Collection<String> listKeys, Supplier<T> body) {
+        StringBuilder version = new StringBuilder("summary:").append(pageVersion);
+        Set<String> keys = new LinkedHashSet<>(listKeys);
+        for (VideoSummary summary : summaries) {
+            version.append('|').append(digest(version(summary)));
+            keys.add(videoKey(summary.getId()));
+            if (summary.getCategoryId() != null) {
+                keys.add(categoryKey(summary.getCategoryId()));
+            }
+        }
+        return respond(request, quote(digest(version.toString())), -1, keys, body);
+    }
+
+    public String videoKey(UUID videoId) {
+        return "video/" + videoId;
+    }
+
+    public String categoryKey(UUID categoryId) {
+        return "category/" + categoryId;
+    }
+
+    /**
+     * Tags are per tenant, so their keys carry the tenant scope.
+     */
+    public String tagKey(String tag) {
+        return listCacheKeys.tenantScope() + "/tag/" + URLEncoder.encode(tag, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Key of unfiltered and filtered listings, which any change in the tenant may affect.
+     */
+    public String allVideosKey() {
+        return listCacheKeys.tenantScope() + "/videos";
+    }
+
+    private <T> ResponseEntity<T> respond(WebRequest request, String etag, long lastModified,
+                                          Set<String> keys, Supplier<T> body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        if (lastModified >= 0) {
+            headers.setLastModified(lastModified);
+        }
+        headers.set(SURROGATE_KEY, String.join(" ", keys));
+        if (isAuthenticated(request)) {
+            headers.set(HttpHeaders.CACHE_CONTROL, "private, " + cacheControl);
+            // Responses differ per tenant and per caller even for the same URL
+            headers.setVary(List.of(tenantHeader, HttpHeaders.AUTHORIZATION));
+        } else {
+            headers.set(HttpHeaders.CACHE_CONTROL, cacheControl);
+            if (StringUtils.hasText(publicSurrogateControl)) {
+                headers.set(SURROGATE_CONTROL, publicSurrogateControl);
+            }
+            headers.setVary(List.of(tenantHeader));
+        }
+
+        if (request.checkNotModified(etag, lastModified)) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+        return new ResponseEntity<>(body.get(), headers, HttpStatus.OK);
+    }
+
+    private static boolean isAuthenticated(WebRequest request) {
+        // Anonymous authentication leaves no principal on the request
+        return request.getUserPrincipal() != null || request.getHeader(HttpHeaders.AUTHORIZATION) != null;
+    }
+
+    private void addKeys(Set<String> keys, Video video) {
+        keys.add(videoKey(video.getId()));
+        if (video.getCategory() != null) {
+            keys.add(categoryKey(video.getCategory().getId()));
+        }
+    }
+
+    private static String version(Video video) {
+        StringBuilder version = new StringBuilder(128)
+            .append(video.getId()).append('|')
+            .append(video.getUpdatedAt()).append('|')
+            .append(video.getStatus()).append('|')
+            .append(video.getTags());
+        Category category = video.getCategory();
+        if (category != null) {
+            version.append('|').append(category.getId())
+                .append('|').append(category.getName())
+                .append('|').append(category.getDescription());
+        }
+        for (Thumbnail thumbnail : video.getThumbnails()) {
+            version.append('|').append(thumbnail.getId())
+                .append(',').append(thumbnail.getUrl())
+                .append(',').append(thumbnail.getWidth())
+                .append(',').append(thumbnail.getHeight())
+                .append(',').append(thumbnail.isDefault());
+        }
+        return version.toString();
+    }
+
+    private static String version(VideoSummary summary) {
+        return new StringBuilder(128)
+            .append(summary.getId()).append('|')
+            .append(summary.getUpdatedAt()).append('|')
+            .append(summary.getStatus()).append('|')
+            .append(summary.getTags()).append('|')
+            .append(summary.getCategoryId()).append('|')
+            .append(summary.getCategoryName()).append('|')
+            .append(summary.getThumbnailUrl())
+            .toString();
+    }
+
+    private static String digest(String value) {
+        return DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+
+    private static long epochMillis(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+}
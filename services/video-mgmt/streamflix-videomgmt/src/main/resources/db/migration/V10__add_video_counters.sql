@@ -0,0 +1,147 @@
+-- Video counts per tenant by category, tag, status and language, plus the tenant's total, kept
+-- current by triggers in the same transaction as the writes, so counting reads a few rows
+-- instead of scanning videos and video_tags.
+--
+-- A count is the sum of its rows over slot. Each connection adds to its own slot of 8, so
+-- concurrent writers of one tenant rarely wait on the same row; slot -1 holds the corrections
+-- made by reconciliation (VideoCounters). A single slot may go negative.
+CREATE TABLE IF NOT EXISTS video_counters (
+    tenant_id UUID NOT NULL,
+    dimension VARCHAR(16) NOT NULL,
+    value TEXT NOT NULL,
+    slot SMALLINT NOT NULL,
+    count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (tenant_id, dimension, value, slot)
+);
+
+-- Counts over all tenants
+CREATE INDEX IF NOT EXISTS idx_video_counters_dimension_value ON video_counters (dimension, value);
+
+CREATE OR REPLACE FUNCTION video_counter_slot() RETURNS SMALLINT AS $$
+    SELECT (pg_backend_pid() % 8)::SMALLINT
+$$ LANGUAGE sql STABLE;
+
+-- The counters a video counts towards
+CREATE OR REPLACE FUNCTION video_counter_keys(status TEXT, category_id UUID, language TEXT)
+RETURNS TABLE (dimension VARCHAR(16), value TEXT) AS $$
+    SELECT k.dimension, k.value
+      FROM (VALUES ('all', ''), ('status', status), ('category', category_id::text), ('language', language)) AS k(dimension, value)
+     WHERE k.value IS NOT NULL
+$$ LANGUAGE sql IMMUTABLE;
+
+-- One statement's changes, netted per counter: moving a video to another status adds -1 and +1
+-- to the two statuses and nothing to the total. Counters are updated in key order, so
+-- concurrent statements take their row locks in the same order.
+CREATE OR REPLACE FUNCTION videos_count_changes() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO video_counters (tenant_id, dimension, value, slot, count)
+        SELECT r.tenant_id, k.dimension, k.value, video_counter_slot(), count(*)
+          FROM new_rows r, video_counter_keys(r.status, r.category_id, r.language) k
+         GROUP BY 1, 2, 3
+         ORDER BY 1, 2, 3
+        ON CONFLICT (tenant_id, dimension, value, slot) DO UPDATE SET count = video_counters.count + EXCLUDED.count;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO video_counters (tenant_id, dimension, value, slot, count)
+        SELECT r.tenant_id, k.dimension, k.value, video_counter_slot(), -count(*)
+          FROM old_rows r, video_counter_keys(r.status, r.category_id, r.language) k
+         GROUP BY 1, 2, 3
+         ORDER BY 1, 2, 3
+        ON CONFLICT (tenant_id, dimension, value, slot) DO UPDATE SET count = video_counters.count + EXCLUDED.count;
+    ELSE
+        INSERT INTO video_counters (tenant_id, dimension, value, slot, count)
+        SELECT c.tenant_id, c.dimension, c.value, video_counter_slot(), sum(c.delta)
+          FROM (SELECT r.tenant_id, k.dimension, k.value, 1 AS delta
+                  FROM new_rows r, video_counter_keys(r.status, r.category_id, r.language) k
+                UNION ALL
+                SELECT r.tenant_id, k.dimension, k.value, -1
+                  FROM old_rows r, video_counter_keys(r.status, r.category_id, r.language) k) c
+         GROUP BY 1, 2, 3
+        HAVING sum(c.delta) <> 0
+         ORDER BY 1, 2, 3
+        ON CONFLICT (tenant_id, dimension, value, slot) DO UPDATE SET count = video_counters.count + EXCLUDED.count;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+-- Tags count towards their video's tenant. Tags deleted along with their video find it gone;
+-- videos_count_deleted_tags has counted those off before the video was deleted.
+CREATE OR REPLACE FUNCTION video_tags_count_changes() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO video_counters (tenant_id, dimension, value, slot, count)
+        SELECT v.tenant_id, 'tag', r.tag, video_counter_slot(), count(*)
+          FROM new_rows r JOIN videos v ON v.id = r.video_id
+         GROUP BY 1, 3
+         ORDER BY 1, 3
+        ON CONFLICT (tenant_id, dimension, value, slot) DO UPDATE SET count = video_counters.count + EXCLUDED.count;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO video_counters (tenant_id, dimension, value, slot, count)
+        SELECT v.tenant_id, 'tag', r.tag, video_counter_slot(), -count(*)
+          FROM old_rows r JOIN videos v ON v.id = r.video_id
+         GROUP BY 1, 3
+         ORDER BY 1, 3
+        ON CONFLICT (tenant_id, dimension, value, slot) DO UPDATE SET count = video_counters.count + EXCLUDED.count;
+    ELSE
+        INSERT INTO video_counters (tenant_id, dimension, value, slot, count)
+        SELECT v.tenant_id, 'tag', c.tag, video_counter_slot(), sum(c.delta)
+          FROM (SELECT video_id, tag, 1 AS delta FROM new_rows
+                UNION ALL
+                SELECT video_id, tag, -1 FROM old_rows) c
+          JOIN videos v ON v.id = c.video_id
+         GROUP BY 1, 3
+        HAVING sum(c.delta) <> 0
+         ORDER BY 1, 3
+        ON CONFLICT (tenant_id, dimension, value, slot) DO UPDATE SET count = video_counters.count + EXCLUDED.count;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION videos_count_deleted_tags() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO video_counters (tenant_id, dimension, value, slot, count)
+    SELECT OLD.tenant_id, 'tag', tag, video_counter_slot(), -1
+      FROM video_tags
+     WHERE video_id = OLD.id
+     ORDER BY tag
+    ON CONFLICT (tenant_id, dimension, value, slot) DO UPDATE SET count = video_counters.count + EXCLUDED.count;
+    RETURN OLD;
+END
+$$ LANGUAGE plpgsql;
+
+-- Transition tables allow one event per trigger
+DROP TRIGGER IF EXISTS trg_videos_count_insert ON videos;
+CREATE TRIGGER trg_videos_count_insert AFTER INSERT ON videos
+    REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION videos_count_changes();
+DROP TRIGGER IF EXISTS trg_videos_count_update ON videos;
+CREATE TRIGGER trg_videos_count_update AFTER UPDATE ON videos
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION videos_count_changes();
+DROP TRIGGER IF EXISTS trg_videos_count_delete ON videos;
+CREATE TRIGGER trg_videos_count_delete AFTER DELETE ON videos
+    REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION videos_count_changes();
+DROP TRIGGER IF EXISTS trg_videos_count_deleted_tags ON videos;
+CREATE TRIGGER trg_videos_count_deleted_tags BEFORE DELETE ON videos
+    FOR EACH ROW EXECUTE FUNCTION videos_count_deleted_tags();
+
+DROP TRIGGER IF EXISTS trg_video_tags_count_insert ON video_tags;
+CREATE TRIGGER trg_video_tags_count_insert AFTER INSERT ON video_tags
+    REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION video_tags_count_changes();
+DROP TRIGGER IF EXISTS trg_video_tags_count_update ON video_tags;
+CREATE TRIGGER trg_video_tags_count_update AFTER UPDATE ON video_tags
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION video_tags_count_changes();
+DROP TRIGGER IF EXISTS trg_video_tags_count_delete ON video_tags;
+CREATE TRIGGER trg_video_tags_count_delete AFTER DELETE ON video_tags
+    REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION video_tags_count_changes();
+
+-- Writes wait on the triggers' locks until this commits, so the counts below match them
+TRUNCATE video_counters;
+INSERT INTO video_counters (tenant_id, dimension, value, slot, count)
+SELECT v.tenant_id, k.dimension, k.value, 0, count(*)
+  FROM videos v, video_counter_keys(v.status, v.category_id, v.language) k
+ GROUP BY 1, 2, 3
+UNION ALL
+SELECT v.tenant_id, 'tag', t.tag, 0, count(*)
+  FROM video_tags t JOIN videos v ON v.id = t.video_id
+ GROUP BY 1, 3;
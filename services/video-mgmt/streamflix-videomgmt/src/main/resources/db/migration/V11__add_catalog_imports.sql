@@ -0,0 +1,68 @@
+-- Catalogue imports (CatalogImportService): a partner's NDJSON or CSV file is validated and copied
+-- into the staging tables below with COPY, then merged into videos, video_tags and thumbnails in
+-- chunks. Each staged batch and each merged chunk commits together with the progress it makes, so
+-- an import interrupted by a crash resumes from its last commit and neither skips nor repeats rows.
+CREATE TABLE IF NOT EXISTS catalog_imports (
+    id UUID PRIMARY KEY,
+    tenant_id UUID NOT NULL REFERENCES tenants(id),
+    format VARCHAR(10) NOT NULL,
+    file_path TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    -- Every row up to this one is staged or rejected
+    rows_read BIGINT NOT NULL DEFAULT 0,
+    rows_staged BIGINT NOT NULL DEFAULT 0,
+    rows_rejected BIGINT NOT NULL DEFAULT 0,
+    -- Every staged row up to this one is merged
+    merged_through_row BIGINT NOT NULL DEFAULT 0,
+    rows_merged BIGINT NOT NULL DEFAULT 0,
+    attempts INTEGER NOT NULL DEFAULT 1,
+    error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    loaded_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    -- Refreshed with every commit; an unfinished import whose heartbeat stops is resumed
+    heartbeat_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_catalog_imports_unfinished ON catalog_imports (heartbeat_at)
+    WHERE status IN ('PENDING', 'LOADING', 'MERGING');
+
+-- Rows are keyed by their row in the file. Logged like any table, as progress committed with them
+-- must not outlive them.
+CREATE TABLE IF NOT EXISTS catalog_import_videos (
+    import_id UUID NOT NULL,
+    row_no BIGINT NOT NULL,
+    id UUID NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    category_id UUID,
+    release_year INTEGER,
+    language VARCHAR(10),
+    PRIMARY KEY (import_id, row_no)
+);
+
+CREATE TABLE IF NOT EXISTS catalog_import_tags (
+    import_id UUID NOT NULL,
+    row_no BIGINT NOT NULL,
+    tag VARCHAR(100) NOT NULL,
+    PRIMARY KEY (import_id, row_no, tag)
+);
+
+CREATE TABLE IF NOT EXISTS catalog_import_thumbnails (
+    import_id UUID NOT NULL,
+    row_no BIGINT NOT NULL,
+    position SMALLINT NOT NULL,
+    id UUID NOT NULL,
+    url VARCHAR(2048) NOT NULL,
+    width INTEGER,
+    height INTEGER,
+    PRIMARY KEY (import_id, row_no, position)
+);
+
+-- Kept after the import finishes, for its report
+CREATE TABLE IF NOT EXISTS catalog_import_rejects (
+    import_id UUID NOT NULL,
+    row_no BIGINT NOT NULL,
+    error TEXT NOT NULL,
+    PRIMARY KEY (import_id, row_no)
+);
@@ -0,0 +1,7 @@
+-- Built CONCURRENTLY so logins and user writes carry on meanwhile. Flyway runs a script made only
+-- of such statements outside a transaction, so nothing else may be added here. The build waits for
+-- every open transaction to end, so Flyway must hold its own lock at session level rather than in
+-- one (flyway.postgresql.transactional.lock=false, set in JpaConfig), or this migration never ends.
+-- A key duplicated after V12's check fails the build and leaves an INVALID index, which IF NOT EXISTS
+-- would then skip: drop it before retrying.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_users_api_key ON users (api_key);
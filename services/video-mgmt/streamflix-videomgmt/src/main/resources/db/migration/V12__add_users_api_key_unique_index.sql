@@ -0,0 +1,23 @@
+-- An API key identifies one user: it is the natural id by which ApiKeyAuthFilter looks users up
+-- through the second-level cache. Users without a key (NULL) are unaffected.
+--
+-- The unique index is built CONCURRENTLY in V12_1, which cannot run in this script's transaction.
+-- Check for keys shared by several users first, so the migration stops here with the offending
+-- keys named, rather than leaving an INVALID index behind; resolve them and run it again.
+DO $$
+DECLARE
+    duplicates TEXT;
+BEGIN
+    SELECT string_agg(quote_literal(api_key) || ' (' || users || ' users)', ', ')
+      INTO duplicates
+      FROM (SELECT api_key, count(*) AS users
+              FROM users
+             WHERE api_key IS NOT NULL
+             GROUP BY api_key
+            HAVING count(*) > 1
+             LIMIT 20) shared;
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'API keys shared by several users, give each its own before adding uk_users_api_key: %', duplicates;
+    END IF;
+END
+$$;
@@ -0,0 +1,6 @@
+-- Columns of the Video entity that no migration created: the archiving state of a video and where
+-- its media and archive live. Existing videos are not archived.
+ALTER TABLE videos ADD COLUMN IF NOT EXISTS archived BOOLEAN NOT NULL DEFAULT false;
+ALTER TABLE videos ADD COLUMN IF NOT EXISTS archived_at TIMESTAMP;
+ALTER TABLE videos ADD COLUMN IF NOT EXISTS archive_storage_location VARCHAR(255);
+ALTER TABLE videos ADD COLUMN IF NOT EXISTS storage_location VARCHAR(255);
@@ -0,0 +1,17 @@
+-- Composite indexes for keyset (cursor) pagination of video listings.
+-- Every listing is of one tenant, sorted by one field and then by id; a B-tree on
+-- (tenant_id, field, id) serves both sort directions and lets the seek predicate start right
+-- after the cursor within the tenant, instead of walking every tenant's rows in sort order.
+--
+-- Built CONCURRENTLY so writes to videos carry on meanwhile. Flyway runs a script made only of
+-- such statements outside a transaction, so nothing else may be added here, and takes its own lock
+-- at session level (see JpaConfig), since a build waits for every open transaction to end. A build
+-- that fails leaves an INVALID index behind, which IF NOT EXISTS would then skip: drop it before retrying.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_videos_tenant_updated_at_id ON videos(tenant_id, updated_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_videos_tenant_created_at_id ON videos(tenant_id, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_videos_tenant_title_id ON videos(tenant_id, title, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_videos_tenant_release_year_id ON videos(tenant_id, release_year, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_videos_tenant_language_id ON videos(tenant_id, language, id);
+
+-- Category listings seek within one category of the tenant, newest update first
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_videos_tenant_category_updated_at_id ON videos(tenant_id, category_id, updated_at, id);
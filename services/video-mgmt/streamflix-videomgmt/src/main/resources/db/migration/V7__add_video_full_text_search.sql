@@ -0,0 +1,100 @@
+-- Full-text search over video title, tags and description.
+-- A maintained tsvector column replaces lower(title) LIKE '%term%', which no B-tree can serve.
+
+-- Text search configuration for a video's language code ('en', 'pt-BR', ...); unknown codes get 'simple'
+CREATE OR REPLACE FUNCTION video_search_config(lang VARCHAR) RETURNS regconfig AS $$
+    SELECT CASE lower(split_part(coalesce(lang, ''), '-', 1))
+        WHEN 'en' THEN 'english'
+        WHEN 'es' THEN 'spanish'
+        WHEN 'fr' THEN 'french'
+        WHEN 'de' THEN 'german'
+        WHEN 'it' THEN 'italian'
+        WHEN 'pt' THEN 'portuguese'
+        WHEN 'nl' THEN 'dutch'
+        WHEN 'sv' THEN 'swedish'
+        WHEN 'da' THEN 'danish'
+        WHEN 'no' THEN 'norwegian'
+        WHEN 'fi' THEN 'finnish'
+        WHEN 'ru' THEN 'russian'
+        WHEN 'tr' THEN 'turkish'
+        ELSE 'simple'
+    END::regconfig
+$$ LANGUAGE sql IMMUTABLE;
+
+-- Search document of one video: title weighs most, then tags, then description
+CREATE OR REPLACE FUNCTION video_search_document(video UUID, title TEXT, description TEXT, lang VARCHAR)
+RETURNS tsvector AS $$
+    SELECT setweight(to_tsvector(video_search_config(lang), coalesce(title, '')), 'A')
+        || setweight(to_tsvector(video_search_config(lang), coalesce(
+               (SELECT string_agg(t.tag, ' ') FROM video_tags t WHERE t.video_id = video), '')), 'B')
+        || setweight(to_tsvector(video_search_config(lang), coalesce(description, '')), 'C')
+$$ LANGUAGE sql STABLE;
+
+-- Query for search terms already in to_tsquery syntax. Without a language the terms are parsed with
+-- every configuration above, so each video matches in the configuration its document was built with.
+CREATE OR REPLACE FUNCTION video_search_query(terms TEXT, lang VARCHAR) RETURNS tsquery AS $$
+    SELECT CASE WHEN lang IS NULL OR lang = '' THEN
+            to_tsquery('simple', terms) || to_tsquery('english', terms) || to_tsquery('spanish', terms)
+            || to_tsquery('french', terms) || to_tsquery('german', terms) || to_tsquery('italian', terms)
+            || to_tsquery('portuguese', terms) || to_tsquery('dutch', terms) || to_tsquery('swedish', terms)
+            || to_tsquery('danish', terms) || to_tsquery('norwegian', terms) || to_tsquery('finnish', terms)
+            || to_tsquery('russian', terms) || to_tsquery('turkish', terms)
+        ELSE to_tsquery(video_search_config(lang), terms)
+    END
+$$ LANGUAGE sql IMMUTABLE;
+
+ALTER TABLE videos ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+-- Rebuild the document when a searchable column of the video changes
+CREATE OR REPLACE FUNCTION videos_search_vector_update() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector := video_search_document(NEW.id, NEW.title, NEW.description, NEW.language);
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_videos_search_vector ON videos;
+CREATE TRIGGER trg_videos_search_vector
+    BEFORE INSERT OR UPDATE OF title, description, language ON videos
+    FOR EACH ROW EXECUTE FUNCTION videos_search_vector_update();
+
+-- Rebuild the documents of the videos whose tags a statement changed, each once however many of
+-- its tags the statement touched, so adding twenty tags to a video rebuilds its document once
+-- rather than twenty times. Only search_vector is written, so the videos trigger above does not
+-- fire again.
+CREATE OR REPLACE FUNCTION video_tags_search_vector_update() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE videos v
+           SET search_vector = video_search_document(v.id, v.title, v.description, v.language)
+         WHERE v.id IN (SELECT video_id FROM new_rows);
+    ELSIF TG_OP = 'DELETE' THEN
+        UPDATE videos v
+           SET search_vector = video_search_document(v.id, v.title, v.description, v.language)
+         WHERE v.id IN (SELECT video_id FROM old_rows);
+    ELSE
+        UPDATE videos v
+           SET search_vector = video_search_document(v.id, v.title, v.description, v.language)
+         WHERE v.id IN (SELECT video_id FROM new_rows UNION SELECT video_id FROM old_rows);
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+-- Transition tables allow one event per trigger
+DROP TRIGGER IF EXISTS trg_video_tags_search_vector ON video_tags;
+DROP TRIGGER IF EXISTS trg_video_tags_search_vector_insert ON video_tags;
+CREATE TRIGGER trg_video_tags_search_vector_insert AFTER INSERT ON video_tags
+    REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION video_tags_search_vector_update();
+DROP TRIGGER IF EXISTS trg_video_tags_search_vector_update ON video_tags;
+CREATE TRIGGER trg_video_tags_search_vector_update AFTER UPDATE ON video_tags
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION video_tags_search_vector_update();
+DROP TRIGGER IF EXISTS trg_video_tags_search_vector_delete ON video_tags;
+CREATE TRIGGER trg_video_tags_search_vector_delete AFTER DELETE ON video_tags
+    REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION video_tags_search_vector_update();
+
+-- Backfill existing videos, then index; building the GIN index after the backfill is much
+-- faster than maintaining it row by row
+UPDATE videos SET search_vector = video_search_document(id, title, description, language);
+
+CREATE INDEX IF NOT EXISTS idx_videos_search_vector ON videos USING GIN (search_vector);
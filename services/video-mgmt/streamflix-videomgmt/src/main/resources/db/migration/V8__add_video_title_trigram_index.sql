@@ -0,0 +1,8 @@
+-- Trigram index on lower(title) for fuzzy title matching (word similarity, the %> operator).
+-- It also serves the existing lower(title) LIKE '%term%' filter, which no B-tree can.
+-- btree_gin lets tenant_id lead the index, so a tenant's search reads only that tenant's entries;
+-- queries without a tenant can still use the title column alone.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX IF NOT EXISTS idx_videos_tenant_title_trgm ON videos USING GIN (tenant_id, lower(title) gin_trgm_ops);
@@ -0,0 +1,49 @@
+-- Range partition user_activity_logs by created_at, so expired logs leave by dropping a whole
+-- partition (ActivityLogPartitionManager) instead of by DELETE, and a history query bounded by
+-- time reads only the partitions in its range.
+--
+-- The existing table becomes the partition user_activity_logs_legacy for every time up to the end
+-- of the current month, attached as is rather than copied. Attaching scans it once and builds the
+-- two indexes below on it, and inserts wait for that; the application creates the partitions from
+-- the next month on at startup.
+DO $$
+DECLARE
+    legacy_end TIMESTAMP WITHOUT TIME ZONE;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('user_activity_logs')) THEN
+        RETURN;
+    END IF;
+
+    LOCK TABLE user_activity_logs IN SHARE ROW EXCLUSIVE MODE;
+    SELECT date_trunc('month', GREATEST(max(created_at), localtimestamp)) + interval '1 month'
+      INTO legacy_end
+      FROM user_activity_logs;
+
+    ALTER TABLE user_activity_logs RENAME TO user_activity_logs_legacy;
+    ALTER INDEX user_activity_logs_pkey RENAME TO user_activity_logs_legacy_pkey;
+    -- Served by the partitioned index on (user_id, created_at), or by pruning on created_at
+    DROP INDEX IF EXISTS idx_user_activity_tenant;
+    DROP INDEX IF EXISTS idx_user_activity_user;
+    DROP INDEX IF EXISTS idx_user_activity_event;
+    DROP INDEX IF EXISTS idx_user_activity_created;
+
+    -- A unique key of a partitioned table must contain the partition key
+    CREATE TABLE user_activity_logs (
+        id UUID NOT NULL DEFAULT gen_random_uuid(),
+        user_id UUID NOT NULL,
+        tenant_id UUID NOT NULL,
+        event_type VARCHAR(50) NOT NULL,
+        ip_address VARCHAR(50),
+        user_agent VARCHAR(255),
+        created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+        details JSONB,
+        CONSTRAINT user_activity_logs_pkey PRIMARY KEY (id, created_at),
+        CONSTRAINT fk_user_activity_tenant FOREIGN KEY (tenant_id) REFERENCES tenants(id)
+    ) PARTITION BY RANGE (created_at);
+
+    CREATE INDEX idx_user_activity_user_created ON user_activity_logs (user_id, created_at);
+
+    EXECUTE format('ALTER TABLE user_activity_logs ATTACH PARTITION user_activity_logs_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+        legacy_end);
+END
+$$;
@@ -2,9 +2,19 @@ package com.streamflix.video.application.service;
 
 import com.streamflix.video.application.VideoEventPublisher;
 import com.streamflix.video.domain.*;
+import com.streamflix.video.domain.event.VideosCreatedDomainEvent;
+import com.streamflix.video.domain.event.VideosStatusChangedDomainEvent;
 import com.streamflix.video.domain.exception.CategoryNotFoundException;
 import com.streamflix.video.domain.exception.ValidationException;
 import com.streamflix.video.domain.exception.VideoNotFoundException;
+import com.streamflix.video.infrastructure.cache.CachedEntityType;
+import com.streamflix.video.infrastructure.cache.EntityExistenceGuard;
+import com.streamflix.video.infrastructure.cache.FilterCountCache;
+import com.streamflix.video.infrastructure.cache.ListCacheDependencyIndex;
+import com.streamflix.video.infrastructure.cache.ListCacheKeys;
+import com.streamflix.video.infrastructure.cache.RequestCoalescer;
+import com.streamflix.video.infrastructure.config.CacheConfig;
+import com.streamflix.video.infrastructure.metrics.FilterCountMetrics;
 import com.streamflix.video.infrastructure.metrics.VideoServiceMetrics;
 import com.streamflix.video.presentation.dto.VideoFilterParams;
 import com.streamflix.video.util.TestDataFactory;
@@ -14,12 +24,24 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
 
 import java.util.*;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -40,6 +62,33 @@ class VideoServiceImplTest {
     @Mock
     private VideoServiceMetrics metrics;
 
+    @Mock
+    private ListCacheDependencyIndex listCacheIndex;
+
+    @Mock
+    private ListCacheKeys listCacheKeys;
+
+    @Mock
+    private RequestCoalescer requestCoalescer;
+
+    @Mock
+    private EntityExistenceGuard existenceGuard;
+
+    @Mock
+    private FilterCountCache filterCounts;
+
+    @Mock
+    private FilterCountMetrics filterCountMetrics;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private VideoServiceImpl videoService;
 
@@ -54,6 +103,7 @@ class VideoServiceImplTest {
         validCategoryId = UUID.randomUUID();
         testCategory = TestDataFactory.createTestCategory("Action", validCategoryId);
         testVideo = TestDataFactory.createTestVideo("Test Video", "Test Description", null, validVideoId, testCategory, Set.of("action"));
+        lenient().when(existenceGuard.mayExist(any(), any())).thenReturn(true);
     }
 
     @Nested
@@ -137,6 +187,276 @@ class VideoServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("Bulk create video tests")
+    class BulkCreateVideoTests {
+
+        @Test
+        @DisplayName("Should create the valid items and report the invalid ones")
+        void shouldCreateValidItemsAndReportInvalidOnes() {
+            // Arrange
+            UUID missingCategoryId = UUID.randomUUID();
+            List<NewVideo> items = List.of(
+                new NewVideo("First", "Description", validCategoryId, Set.of("action"), 2010, "en"),
+                new NewVideo(" ", "No title", null, null, null, null),
+                new NewVideo("Unknown category", null, missingCategoryId, null, null, null),
+                new NewVideo("Bad year", null, null, null, 1800, null),
+                new NewVideo("Second", null, null, Set.of("drama"), null, null));
+            when(categoryRepository.findAllById(any())).thenReturn(List.of(testCategory));
+            doAnswer(invocation -> {
+                List<Video> videos = invocation.getArgument(0);
+                videos.forEach(video -> video.assignId(UUID.randomUUID()));
+                return null;
+            }).when(videoRepository).insertAll(anyList());
+
+            // Act
+            BulkVideoResult result = videoService.createVideos(items).join();
+
+            // Assert
+            assertEquals(2, result.getSucceeded());
+            assertEquals(3, result.getFailed());
+            List<BulkVideoResult.Item> outcomes = result.getItems();
+            assertTrue(outcomes.get(0).isSucceeded());
+            assertNotNull(outcomes.get(0).getVideoId());
+            assertEquals("Video title cannot be empty", outcomes.get(1).getError());
+            assertTrue(outcomes.get(2).getError().contains(missingCategoryId.toString()));
+            assertEquals("Release year must be between 1900 and 2100", outcomes.get(3).getError());
+            assertEquals(4, outcomes.get(4).getIndex());
+            assertTrue(outcomes.get(4).isSucceeded());
+
+            verify(categoryRepository, times(1)).findAllById(any());
+            verify(categoryRepository, never()).findById(any());
+            verify(videoRepository).insertAll(argThat(videos -> videos.size() == 2
+                && videos.get(0).getCategory() == testCategory && videos.get(0).getReleaseYear() == 2010));
+            verify(videoRepository, never()).save(any(Video.class));
+            verify(eventPublisher).publishVideosCreated(argThat(videos -> videos.size() == 2));
+            verify(eventPublisher, never()).publishVideoCreated(any(Video.class));
+            verify(applicationEventPublisher).publishEvent(any(VideosCreatedDomainEvent.class));
+            verify(listCacheIndex).evictForNewVideos(anyList());
+            verify(metrics).incrementCreate(2);
+        }
+
+        @Test
+        @DisplayName("Should not insert or publish anything when every item is invalid")
+        void shouldSkipInsertWhenNothingIsValid() {
+            // Act
+            BulkVideoResult result = videoService.createVideos(
+                List.of(new NewVideo(null, null, null, Set.of("x".repeat(101)), null, null))).join();
+
+            // Assert
+            assertEquals(0, result.getSucceeded());
+            assertEquals("Video title cannot be empty", result.getItems().get(0).getError());
+            verify(categoryRepository, never()).findAllById(any());
+            verify(videoRepository, never()).insertAll(anyList());
+            verify(eventPublisher, never()).publishVideosCreated(anyList());
+        }
+
+        @Test
+        @DisplayName("Should throw validation exception when there are no items")
+        void shouldThrowWhenEmpty() {
+            assertThrows(ValidationException.class, () -> videoService.createVideos(List.of()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk update video tests")
+    class BulkUpdateVideoTests {
+
+        private VideoSummary summary(UUID id, VideoStatus status, UUID categoryId, List<String> tags) {
+            return new VideoSummary(id, "Video " + id, status, null, null, categoryId, null, tags, null, null, null);
+        }
+
+        @Test
+        @DisplayName("Should update the statuses that allow the transition and report the rest")
+        void shouldUpdateStatusesInOneStatement() {
+            // Arrange
+            UUID processing = UUID.randomUUID();
+            UUID pending = UUID.randomUUID();
+            UUID missing = UUID.randomUUID();
+            Cache videoCache = mock(Cache.class);
+            when(cacheManager.getCache(CacheConfig.VIDEO_CACHE)).thenReturn(videoCache);
+            when(videoRepository.findSummariesByIds(anyList()))
+                .thenReturn(List.of(summary(processing, VideoStatus.PROCESSING, null, List.of()),
+                    summary(pending, VideoStatus.PENDING, null, List.of())))
+                .thenReturn(List.of(summary(processing, VideoStatus.READY, null, List.of())));
+
+            // Act
+            BulkVideoResult result = videoService.updateVideoStatuses(
+                List.of(processing, pending, missing, processing), VideoStatus.READY).join();
+
+            // Assert
+            List<BulkVideoResult.Item> outcomes = result.getItems();
+            assertTrue(outcomes.get(0).isSucceeded());
+            assertEquals("Video must be in PROCESSING state to be marked as READY", outcomes.get(1).getError());
+            assertEquals(new VideoNotFoundException(missing).getMessage(), outcomes.get(2).getError());
+            assertEquals("Duplicate video id", outcomes.get(3).getError());
+
+            verify(videoRepository).batchUpdateStatus(List.of(processing), Set.of(VideoStatus.PROCESSING), VideoStatus.READY);
+            verify(videoRepository, never()).save(any(Video.class));
+            verify(videoCache).evict(processing);
+            verify(videoCache, never()).evict(pending);
+            verify(listCacheIndex).evictForRemovedVideos(List.of(processing));
+            verify(eventPublisher).publishVideosStatusChanged(argThat(videos -> videos.size() == 1));
+            verify(applicationEventPublisher).publishEvent(argThat(event -> event instanceof VideosStatusChangedDomainEvent changed
+                && changed.getVideoIds().equals(List.of(processing)) && changed.getNewStatus() == VideoStatus.READY));
+            verify(metrics).incrementUpdate(1);
+        }
+
+        @Test
+        @DisplayName("Should commit a chunk before evicting and publishing its changes")
+        void shouldEvictAndPublishAfterChunkCommits() {
+            // Arrange
+            UUID videoId = UUID.randomUUID();
+            TransactionStatus transaction = mock(TransactionStatus.class);
+            when(transactionManager.getTransaction(any())).thenReturn(transaction);
+            Cache videoCache = mock(Cache.class);
+            when(cacheManager.getCache(CacheConfig.VIDEO_CACHE)).thenReturn(videoCache);
+            when(videoRepository.findSummariesByIds(anyList()))
+                .thenReturn(List.of(summary(videoId, VideoStatus.PROCESSING, null, List.of())))
+                .thenReturn(List.of(summary(videoId, VideoStatus.READY, null, List.of())));
+
+            // Act
+            videoService.updateVideoStatuses(List.of(videoId), VideoStatus.READY).join();
+
+            // Assert
+            InOrder inOrder = inOrder(videoRepository, transactionManager, videoCache, listCacheIndex, eventPublisher);
+            inOrder.verify(videoRepository).batchUpdateStatus(List.of(videoId), Set.of(VideoStatus.PROCESSING), VideoStatus.READY);
+            inOrder.verify(transactionManager).commit(transaction);
+            inOrder.verify(videoCache).evict(videoId);
+            inOrder.verify(listCacheIndex).evictForRemovedVideos(List.of(videoId));
+            inOrder.verify(eventPublisher).publishVideosStatusChanged(anyList());
+        }
+
+        @Test
+        @DisplayName("Should report every video of a failed chunk, and neither evict nor publish it")
+        void shouldReportFailedChunkPerVideo() {
+            // Arrange
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            TransactionStatus transaction = mock(TransactionStatus.class);
+            when(transactionManager.getTransaction(any())).thenReturn(transaction);
+            when(videoRepository.findSummariesByIds(anyList()))
+                .thenReturn(List.of(summary(first, VideoStatus.PROCESSING, null, List.of()),
+                    summary(second, VideoStatus.PROCESSING, null, List.of())));
+            doThrow(new QueryTimeoutException("canceling statement due to lock timeout"))
+                .when(videoRepository).batchUpdateStatus(anyList(), anySet(), any());
+
+            // Act
+            BulkVideoResult result = videoService.updateVideoStatuses(List.of(first, second), VideoStatus.READY).join();
+
+            // Assert
+            assertEquals(0, result.getSucceeded());
+            for (BulkVideoResult.Item item : result.getItems()) {
+                assertEquals("Update failed, the video was left unchanged", item.getError());
+            }
+            verify(transactionManager).rollback(transaction);
+            verify(transactionManager, never()).commit(any());
+            verifyNoInteractions(listCacheIndex, eventPublisher);
+            verify(metrics, never()).incrementUpdate(anyInt());
+        }
+
+        @Test
+        @DisplayName("Should report videos whose status changed between the read and the update")
+        void shouldReportConcurrentStatusChanges() {
+            // Arrange
+            UUID videoId = UUID.randomUUID();
+            when(videoRepository.findSummariesByIds(anyList()))
+                .thenReturn(List.of(summary(videoId, VideoStatus.UPLOADED, null, List.of())))
+                .thenReturn(List.of(summary(videoId, VideoStatus.FAILED, null, List.of())));
+
+            // Act
+            BulkVideoResult result = videoService.updateVideoStatuses(List.of(videoId), VideoStatus.PROCESSING).join();
+
+            // Assert
+            assertEquals(0, result.getSucceeded());
+            verify(eventPublisher, never()).publishVideosStatusChanged(anyList());
+            verify(applicationEventPublisher, never()).publishEvent(any());
+        }
+
+        @Test
+        @DisplayName("Should reject a status no video can be moved to")
+        void shouldRejectPendingStatus() {
+            assertThrows(ValidationException.class,
+                () -> videoService.updateVideoStatuses(List.of(validVideoId), VideoStatus.PENDING));
+            verifyNoInteractions(videoRepository);
+        }
+
+        @Test
+        @DisplayName("Should add a tag only to the videos that lack it")
+        void shouldAddTagToUntaggedVideos() {
+            // Arrange
+            UUID tagged = UUID.randomUUID();
+            UUID untagged = UUID.randomUUID();
+            when(videoRepository.findSummariesByIds(anyList()))
+                .thenReturn(List.of(summary(tagged, VideoStatus.READY, null, List.of("classic")),
+                    summary(untagged, VideoStatus.READY, null, List.of())))
+                .thenReturn(List.of(summary(untagged, VideoStatus.READY, null, List.of("classic"))));
+
+            // Act
+            BulkVideoResult result = videoService.addTagToVideos(List.of(tagged, untagged), "classic").join();
+
+            // Assert
+            assertEquals(2, result.getSucceeded());
+            verify(videoRepository).batchAddTag(List.of(untagged), "classic");
+            verify(videoRepository).batchTouch(List.of(untagged));
+            verify(listCacheIndex).evictForVideos(List.of(untagged), Set.of(), Set.of("classic"));
+            verify(eventPublisher).publishVideosUpdated(argThat(videos -> videos.size() == 1));
+            verify(metrics).incrementUpdate(1);
+        }
+
+        @Test
+        @DisplayName("Should not touch anything when no video carries the tag to remove")
+        void shouldSkipRemovalWhenNothingIsTagged() {
+            // Arrange
+            when(videoRepository.findSummariesByIds(anyList()))
+                .thenReturn(List.of(summary(validVideoId, VideoStatus.READY, null, List.of("drama"))));
+
+            // Act
+            BulkVideoResult result = videoService.removeTagFromVideos(List.of(validVideoId), "classic").join();
+
+            // Assert
+            assertEquals(1, result.getSucceeded());
+            verify(videoRepository, never()).batchRemoveTag(anyList(), anyString());
+            verify(eventPublisher, never()).publishVideosUpdated(anyList());
+        }
+
+        @Test
+        @DisplayName("Should reject a blank tag")
+        void shouldRejectBlankTag() {
+            assertThrows(ValidationException.class, () -> videoService.addTagToVideos(List.of(validVideoId), " "));
+        }
+
+        @Test
+        @DisplayName("Should move videos to a category and evict the pages of both categories")
+        void shouldMoveVideosToCategory() {
+            // Arrange
+            UUID previousCategoryId = UUID.randomUUID();
+            UUID moving = UUID.randomUUID();
+            when(categoryRepository.findById(validCategoryId)).thenReturn(Optional.of(testCategory));
+            when(videoRepository.findSummariesByIds(anyList()))
+                .thenReturn(List.of(summary(moving, VideoStatus.READY, previousCategoryId, List.of()),
+                    summary(validVideoId, VideoStatus.READY, validCategoryId, List.of())))
+                .thenReturn(List.of(summary(moving, VideoStatus.READY, validCategoryId, List.of())));
+
+            // Act
+            BulkVideoResult result = videoService.moveVideosToCategory(List.of(moving, validVideoId), validCategoryId).join();
+
+            // Assert
+            assertEquals(2, result.getSucceeded());
+            verify(videoRepository).batchUpdateCategory(List.of(moving), testCategory);
+            verify(listCacheIndex).evictForVideos(List.of(moving), Set.of(previousCategoryId, validCategoryId), Set.of());
+            verify(eventPublisher).publishVideosUpdated(argThat(videos -> videos.size() == 1));
+        }
+
+        @Test
+        @DisplayName("Should throw when the target category does not exist")
+        void shouldThrowForUnknownCategory() {
+            when(categoryRepository.findById(validCategoryId)).thenReturn(Optional.empty());
+            assertThrows(CategoryNotFoundException.class,
+                () -> videoService.moveVideosToCategory(List.of(validVideoId), validCategoryId));
+        }
+    }
+
     @Nested
     @DisplayName("Get video tests")
     class GetVideoTests {        @Test
@@ -173,6 +493,22 @@ class VideoServiceImplTest {
             
             // Assert
             assertTrue(result.isEmpty());
+            verify(existenceGuard).recordMissing(CachedEntityType.VIDEO, nonExistentId);
+        }
+
+        @Test
+        @DisplayName("Should not query the repository for a video known to be missing")
+        void shouldSkipRepositoryWhenVideoKnownMissing() {
+            // Arrange
+            UUID missingId = UUID.randomUUID();
+            when(existenceGuard.mayExist(CachedEntityType.VIDEO, missingId)).thenReturn(false);
+            
+            // Act
+            Optional<Video> result = videoService.getVideo(missingId).join();
+            
+            // Assert
+            assertTrue(result.isEmpty());
+            verify(videoRepository, never()).findById(any(UUID.class));
         }
     }
 
@@ -468,6 +804,8 @@ class VideoServiceImplTest {
             
             when(categoryRepository.existsById(any(UUID.class))).thenReturn(true);
             when(videoRepository.findByFilterParams(params, 0, 10)).thenReturn(expectedPage);
+            when(requestCoalescer.execute(anyString(), anyString(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
             
             // Act
             Page<Video> result = videoService.findByFilterParams(params, 0, 10);
@@ -488,5 +826,135 @@ class VideoServiceImplTest {
             assertThrows(ValidationException.class, () -> videoService.findByFilterParams(params, 0, 0));
             assertThrows(ValidationException.class, () -> videoService.findByFilterParams(params, 0, 101));
         }
+
+        @Test
+        @DisplayName("Should scroll videos of a category after the cursor")
+        void shouldScrollVideosByCategory() {
+            // Arrange
+            VideoCursor after = new VideoCursor("updatedAt", Sort.Direction.DESC, testVideo.getUpdatedAt(), UUID.randomUUID());
+            VideoCursorPage expectedPage = new VideoCursorPage(List.of(testVideo), null);
+            when(categoryRepository.existsById(validCategoryId)).thenReturn(true);
+            when(videoRepository.scrollByCategory(validCategoryId, after, 10)).thenReturn(expectedPage);
+
+            // Act
+            VideoCursorPage result = videoService.scrollVideosByCategory(validCategoryId, after, 10).join();
+
+            // Assert
+            assertSame(expectedPage, result);
+            assertFalse(result.hasNext());
+            verify(videoRepository, never()).countByCategory(any());
+        }
+
+        @Test
+        @DisplayName("Should throw when cursor page size is out of range")
+        void shouldThrowWhenScrollSizeIsInvalid() {
+            // Act & Assert
+            assertThrows(ValidationException.class, () -> videoService.scrollVideos(null, 0));
+            assertThrows(ValidationException.class, () -> videoService.scrollVideos(null, 101));
+            verifyNoInteractions(videoRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Filter count mode tests")
+    class FilterCountModeTests {
+
+        private VideoFilterParams params;
+
+        @BeforeEach
+        void setUp() {
+            params = new VideoFilterParams();
+            params.setLanguage("en");
+            when(requestCoalescer.execute(anyString(), anyString(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+            lenient().when(filterCountMetrics.timeCountQuery(any()))
+                .thenAnswer(invocation -> invocation.<LongSupplier>getArgument(0).getAsLong());
+            lenient().when(filterCounts.getExactThreshold()).thenReturn(1000L);
+        }
+
+        private void givenFullPage() {
+            when(videoRepository.findSliceByFilterParams(params, 1, 10))
+                .thenReturn(new SliceImpl<>(Collections.nCopies(10, testVideo), PageRequest.of(1, 10), true));
+        }
+
+        @Test
+        @DisplayName("Should not count when no total is requested")
+        void shouldNotCountInNoneMode() {
+            givenFullPage();
+
+            VideoSlice<Video> result = videoService.findByFilterParams(params, 1, 10, CountMode.NONE).join();
+
+            assertEquals(-1, result.getTotalElements());
+            assertTrue(result.hasNext());
+            verify(videoRepository, never()).countByFilterParams(any());
+            verify(videoRepository, never()).estimateCountByFilterParams(any());
+        }
+
+        @Test
+        @DisplayName("Should derive the exact total from the last page without counting")
+        void shouldDeriveTotalFromLastPage() {
+            when(videoRepository.findSliceByFilterParams(params, 1, 10))
+                .thenReturn(new SliceImpl<>(List.of(testVideo, testVideo), PageRequest.of(1, 10), false));
+
+            VideoSlice<Video> result = videoService.findByFilterParams(params, 1, 10, CountMode.EXACT).join();
+
+            assertEquals(12, result.getTotalElements());
+            assertEquals(CountMode.EXACT, result.getCountMode());
+            verify(videoRepository, never()).countByFilterParams(any());
+            verify(filterCounts).put(params, 12L);
+        }
+
+        @Test
+        @DisplayName("Should count exactly in exact mode")
+        void shouldCountInExactMode() {
+            givenFullPage();
+            when(videoRepository.countByFilterParams(params)).thenReturn(57L);
+
+            VideoSlice<Video> result = videoService.findByFilterParams(params, 1, 10, CountMode.EXACT).join();
+
+            assertEquals(57, result.getTotalElements());
+            verify(filterCountMetrics).recordCountSource(CountMode.EXACT, FilterCountMetrics.SOURCE_QUERY);
+            verify(filterCounts).put(params, 57L);
+        }
+
+        @Test
+        @DisplayName("Should answer estimated totals from the count cache")
+        void shouldEstimateFromCache() {
+            givenFullPage();
+            when(filterCounts.get(params)).thenReturn(5000L);
+
+            VideoSlice<Video> result = videoService.findByFilterParams(params, 1, 10, CountMode.ESTIMATED).join();
+
+            assertEquals(5000, result.getTotalElements());
+            assertEquals(CountMode.ESTIMATED, result.getCountMode());
+            verify(videoRepository, never()).countByFilterParams(any());
+            verify(videoRepository, never()).estimateCountByFilterParams(any());
+        }
+
+        @Test
+        @DisplayName("Should use the planner estimate when it is large, never below the rows seen")
+        void shouldEstimateFromPlanner() {
+            givenFullPage();
+            when(videoRepository.estimateCountByFilterParams(params)).thenReturn(4000L);
+
+            VideoSlice<Video> result = videoService.findByFilterParams(params, 1, 10, CountMode.ESTIMATED).join();
+
+            assertEquals(4000, result.getTotalElements());
+            verify(filterCounts).put(params, 4000L);
+            verify(videoRepository, never()).countByFilterParams(any());
+        }
+
+        @Test
+        @DisplayName("Should count exactly when the planner expects few matches")
+        void shouldCountWhenEstimateIsSmall() {
+            givenFullPage();
+            when(videoRepository.estimateCountByFilterParams(params)).thenReturn(15L);
+            when(videoRepository.countByFilterParams(params)).thenReturn(23L);
+
+            VideoSlice<Video> result = videoService.findByFilterParams(params, 1, 10, CountMode.ESTIMATED).join();
+
+            assertEquals(23, result.getTotalElements());
+            assertEquals(CountMode.EXACT, result.getCountMode());
+        }
     }
 }
\ No newline at end of file
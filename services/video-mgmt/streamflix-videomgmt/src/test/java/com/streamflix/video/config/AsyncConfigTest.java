@@ -0,0 +1,97 @@
+package com.streamflix.video.config;
+
+import com.streamflix.video.infrastructure.multitenancy.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.MDC;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncConfigTest {
+
+    private final AsyncConfig config = new AsyncConfig();
+    private Executor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+        TenantContextHolder.clear();
+        MDC.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should run tasks on the platform pool with the caller's tenant, MDC and principal")
+    void shouldPropagateContextToPlatformThreads() throws Exception {
+        executor = config.taskExecutor(new MockEnvironment());
+
+        assertInstanceOf(ThreadPoolTaskExecutor.class, executor);
+        assertContextPropagated(false);
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("Should run tasks on virtual threads with the caller's tenant, MDC and principal")
+    void shouldPropagateContextToVirtualThreads() throws Exception {
+        executor = config.taskExecutor(new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true"));
+
+        assertContextPropagated(true);
+    }
+
+    private void assertContextPropagated(boolean virtual) throws Exception {
+        UUID tenantId = UUID.randomUUID();
+        Authentication principal = new TestingAuthenticationToken("editor", "secret", "ROLE_EDITOR");
+        TenantContextHolder.setTenantId(tenantId);
+        MDC.put("correlationId", "abc-123");
+        SecurityContextHolder.getContext().setAuthentication(principal);
+
+        CompletableFuture<String> seen = new CompletableFuture<>();
+        executor.execute(() -> seen.complete(String.join("|",
+            String.valueOf(TenantContextHolder.getTenantIdOptional()),
+            String.valueOf(MDC.get("correlationId")),
+            SecurityContextHolder.getContext().getAuthentication().getName(),
+            String.valueOf(Thread.currentThread().getName().startsWith("VideoMgmtAsync-")),
+            Thread.currentThread().toString().contains("VirtualThread") ? "virtual" : "platform")));
+
+        assertEquals(String.join("|", tenantId.toString(), "abc-123", "editor", "true", virtual ? "virtual" : "platform"),
+            seen.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should leave a pool thread without the context of the task it ran")
+    void shouldRestoreContextAfterTask() throws Exception {
+        ThreadPoolTaskExecutor pool = (ThreadPoolTaskExecutor) config.taskExecutor(new MockEnvironment());
+        pool.setCorePoolSize(1);
+        pool.setMaxPoolSize(1);
+        executor = pool;
+        TenantContextHolder.setTenantId(UUID.randomUUID());
+        MDC.put("correlationId", "abc-123");
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("editor", "secret"));
+        CompletableFuture<Void> first = new CompletableFuture<>();
+        pool.execute(() -> first.complete(null));
+        first.get(5, TimeUnit.SECONDS);
+
+        CompletableFuture<String> seen = new CompletableFuture<>();
+        pool.getThreadPoolExecutor().execute(() -> seen.complete(String.join("|",
+            String.valueOf(TenantContextHolder.getTenantIdOptional()),
+            String.valueOf(MDC.get("correlationId")),
+            String.valueOf(SecurityContextHolder.getContext().getAuthentication()))));
+
+        assertEquals("null|null|null", seen.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,138 @@
+package com.streamflix.video.config;
+
+import com.streamflix.video.infrastructure.persistence.DatabaseBusyException;
+import com.streamflix.video.infrastructure.persistence.DatabaseConcurrencyLimiter;
+import com.streamflix.video.infrastructure.persistence.DatabaseConcurrencyProperties;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The {@code @Async} executor on platform threads (a pool of 10 with a queue of 25) against
+ * virtual threads behind DatabaseConcurrencyLimiter, under a burst of tasks that each hold a
+ * pooled connection in a transaction for a while, as a slow query would. Reports the tasks
+ * completed and rejected, the latency of the completed ones from submission, and the wall time.
+ * Run with {@code ./gradlew test -Dbenchmark=true --tests '*AsyncExecutorBenchmark'} on Java 21;
+ * {@code -Dbenchmark.tasks} and {@code -Dbenchmark.query-millis} change the burst.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class AsyncExecutorBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncExecutorBenchmark.class);
+
+    private static final int TASKS = Integer.getInteger("benchmark.tasks", 2_000);
+    private static final int QUERY_MILLIS = Integer.getInteger("benchmark.query-millis", 20);
+    private static final int CONNECTIONS = 30;
+
+    private final AsyncConfig config = new AsyncConfig();
+
+    @Test
+    @DisplayName("Platform thread pool vs virtual threads with a database concurrency cap")
+    void compare() throws Exception {
+        HikariConfig hikari = new HikariConfig();
+        hikari.setJdbcUrl("jdbc:h2:mem:async-benchmark;DB_CLOSE_DELAY=-1");
+        hikari.setUsername("sa");
+        hikari.setPassword("sa");
+        hikari.setMaximumPoolSize(CONNECTIONS);
+        hikari.setConnectionTimeout(30_000);
+        try (HikariDataSource dataSource = new HikariDataSource(hikari)) {
+            DatabaseConcurrencyProperties properties = new DatabaseConcurrencyProperties();
+            properties.setMaxConcurrentTransactions(CONNECTIONS);
+            properties.setAcquireTimeout(Duration.ofSeconds(30));
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            transactionManager.setTransactionExecutionListeners(
+                List.of(new DatabaseConcurrencyLimiter(properties, new SimpleMeterRegistry())));
+            TransactionTemplate transactions = new TransactionTemplate(transactionManager);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+            ThreadPoolTaskExecutor platform = (ThreadPoolTaskExecutor) config.taskExecutor(new MockEnvironment());
+            try {
+                run("platform", platform, transactions, jdbcTemplate);
+            } finally {
+                platform.shutdown();
+            }
+            run("virtual", config.taskExecutor(new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true")),
+                transactions, jdbcTemplate);
+        }
+    }
+
+    private void run(String mode, Executor executor, TransactionTemplate transactions, JdbcTemplate jdbcTemplate)
+            throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(TASKS);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger busy = new AtomicInteger();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < TASKS; i++) {
+            long submitted = System.nanoTime();
+            try {
+                executor.execute(() -> {
+                    try {
+                        transactions.executeWithoutResult(status -> {
+                            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+                            sleep(QUERY_MILLIS);
+                        });
+                        latencies.add(System.nanoTime() - submitted);
+                    } catch (DatabaseBusyException e) {
+                        busy.incrementAndGet();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                rejected.incrementAndGet();
+                done.countDown();
+            }
+        }
+        done.await(5, TimeUnit.MINUTES);
+        long wallMillis = (System.nanoTime() - start) / 1_000_000;
+
+        List<Long> sorted = latencies.stream().sorted().toList();
+        assertEquals(TASKS, sorted.size() + rejected.get() + busy.get());
+        logger.info("[{}] {} tasks of {} ms: {} completed, {} rejected by the executor, {} timed out waiting for a "
+                + "permit; p50 {} ms, p99 {} ms; {} ms wall, {} tasks/s", mode, TASKS, QUERY_MILLIS, sorted.size(),
+            rejected.get(), busy.get(), percentile(sorted, 0.50), percentile(sorted, 0.99), wallMillis,
+            wallMillis > 0 ? sorted.size() * 1_000L / wallMillis : sorted.size());
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0)) / 1_000_000;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.streamflix.video.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the time-ordered identifiers of new rows
+ */
+class TimeOrderedUuidsTest {
+
+    private static final long NOW = 1_792_281_600_000L; // 2026-10-18T00:00:00Z
+
+    @Test
+    @DisplayName("Should make version 7 identifiers holding their creation time")
+    void shouldEncodeVersionAndTime() {
+        UUID id = new TimeOrderedUuids(() -> NOW, new Random(1)).generate();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(NOW, TimeOrderedUuids.millis(id));
+        assertTrue(id.toString().startsWith("01a14c4e-e000-7"), id.toString());
+    }
+
+    @Test
+    @DisplayName("Should increase within a millisecond and when the clock goes back")
+    void shouldIncreaseMonotonically() {
+        AtomicLong clock = new AtomicLong(NOW);
+        TimeOrderedUuids ids = new TimeOrderedUuids(clock::get, new Random(2));
+
+        String previous = ids.generate().toString();
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000) {
+                clock.addAndGet(-1_000);
+            } else if (i % 1_000 == 0) {
+                clock.incrementAndGet();
+            }
+            String next = ids.generate().toString();
+            assertTrue(next.compareTo(previous) > 0, next + " after " + previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Should order identifiers of later milliseconds after earlier ones")
+    void shouldOrderByTime() {
+        AtomicLong clock = new AtomicLong(NOW);
+        TimeOrderedUuids ids = new TimeOrderedUuids(clock::get, new Random(3));
+
+        UUID earlier = ids.generate();
+        clock.addAndGet(1);
+        UUID later = ids.generate();
+
+        assertTrue(later.toString().compareTo(earlier.toString()) > 0);
+        assertEquals(NOW + 1, TimeOrderedUuids.millis(later));
+    }
+
+    @Test
+    @DisplayName("Should reject identifiers without a time")
+    void shouldRejectRandomIdentifiers() {
+        assertThrows(IllegalArgumentException.class, () -> TimeOrderedUuids.millis(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,79 @@
+package com.streamflix.video.domain;
+
+import com.streamflix.video.domain.exception.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for keyset pagination cursors
+ */
+class VideoCursorTest {
+
+    private final UUID id = UUID.fromString("3f2a9c1e-7b4d-4e8a-9c2f-1d5e6a7b8c9d");
+
+    @Test
+    @DisplayName("Should round-trip every sort field with its value type")
+    void shouldRoundTripEverySortField() {
+        assertRoundTrip(new VideoCursor("updatedAt", Sort.Direction.DESC, LocalDateTime.of(2025, 5, 1, 10, 30, 0, 123456000), id));
+        assertRoundTrip(new VideoCursor("createdAt", Sort.Direction.ASC, LocalDateTime.of(2025, 5, 1, 10, 30), id));
+        assertRoundTrip(new VideoCursor("releaseYear", Sort.Direction.ASC, 2010, id));
+        assertRoundTrip(new VideoCursor("language", Sort.Direction.DESC, "en", id));
+        assertRoundTrip(new VideoCursor("title", Sort.Direction.ASC, "Alien | Aliens = 2", id));
+    }
+
+    @Test
+    @DisplayName("Should tell a missing sort value from an empty one")
+    void shouldKeepNullAndEmptyValuesApart() {
+        assertRoundTrip(new VideoCursor("language", Sort.Direction.ASC, null, id));
+        assertRoundTrip(new VideoCursor("language", Sort.Direction.ASC, "", id));
+    }
+
+    @Test
+    @DisplayName("Should take the sort value and id from the last video")
+    void shouldPositionAfterVideo() {
+        Video video = new Video("Inception", "Dreams");
+        ReflectionTestUtils.setField(video, "id", id);
+        video.setReleaseYear(2010);
+
+        VideoCursor cursor = VideoCursor.after(video, "releaseYear", Sort.Direction.DESC);
+
+        assertEquals(2010, cursor.getSortValue());
+        assertEquals(id, cursor.getId());
+        assertEquals(Sort.Direction.DESC, cursor.getDirection());
+    }
+
+    @Test
+    @DisplayName("Should produce URL-safe cursors")
+    void shouldBeUrlSafe() {
+        String encoded = new VideoCursor("title", Sort.Direction.ASC, "??>>~~", id).encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursors and unknown sort fields")
+    void shouldRejectInvalidCursors() {
+        assertThrows(ValidationException.class, () -> VideoCursor.decode("not a cursor!"));
+        assertThrows(ValidationException.class, () -> VideoCursor.decode(encodeRaw("1|updatedAt|d|" + id)));
+        assertThrows(ValidationException.class, () -> VideoCursor.decode(encodeRaw("1|tenantId|d|" + id + "|")));
+        assertThrows(ValidationException.class, () -> VideoCursor.decode(encodeRaw("1|releaseYear|a|" + id + "|=abc")));
+        assertThrows(ValidationException.class, () -> VideoCursor.decode(encodeRaw("2|updatedAt|d|" + id + "|")));
+    }
+
+    private static void assertRoundTrip(VideoCursor cursor) {
+        assertEquals(cursor, VideoCursor.decode(cursor.encode()));
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,120 @@
+package com.streamflix.video.infrastructure.cache;
+
+import com.streamflix.video.application.port.VideoService;
+import com.streamflix.video.infrastructure.multitenancy.TenantContextHolder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmerTest {
+
+    @Mock
+    private VideoService videoService;
+
+    @Mock
+    private AccessStatsRecorder accessStats;
+
+    private CacheWarmupProperties properties;
+    private UUID tenantId;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CacheWarmupProperties();
+        tenantId = UUID.randomUUID();
+        lenient().when(accessStats.hottestScopes(anyInt())).thenReturn(List.of(tenantId.toString()));
+        lenient().when(accessStats.hottest(anyString(), anyString(), anyInt())).thenReturn(List.of());
+    }
+
+    private CacheWarmer warmer() {
+        return new CacheWarmer(videoService, accessStats, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should preload hottest entries under the tenant they were recorded for")
+    void shouldPreloadUnderTenantContext() {
+        UUID videoId = UUID.randomUUID();
+        UUID categoryId = UUID.randomUUID();
+        when(accessStats.hottest(tenantId.toString(), AccessStatsRecorder.KIND_VIDEO, 200))
+            .thenReturn(List.of(videoId.toString()));
+        when(accessStats.hottest(tenantId.toString(), AccessStatsRecorder.KIND_CATEGORY_PAGE, 50))
+            .thenReturn(List.of(categoryId + ":0:10", "not-a-page"));
+        when(accessStats.hottest(tenantId.toString(), AccessStatsRecorder.KIND_TAG_PAGE, 50))
+            .thenReturn(List.of("1:20:sci:fi"));
+        when(videoService.getVideo(videoId)).thenAnswer(invocation -> {
+            assertEquals(tenantId, TenantContextHolder.getTenantIdOptional());
+            return CompletableFuture.completedFuture(Optional.empty());
+        });
+        when(videoService.findVideosByCategory(categoryId, 0, 10)).thenReturn(CompletableFuture.completedFuture(List.of()));
+        when(videoService.findVideosByTag("sci:fi", 1, 20)).thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        CacheWarmer warmer = warmer();
+        assertEquals(Status.OUT_OF_SERVICE, warmer.health().getStatus());
+
+        warmer.run(null);
+
+        assertEquals(CacheWarmer.State.COMPLETED, warmer.getState());
+        assertEquals(Status.UP, warmer.health().getStatus());
+        assertEquals(3, warmer.health().getDetails().get("loaded"));
+        assertFalse(TenantContextHolder.hasTenantContext());
+    }
+
+    @Test
+    @DisplayName("Should report ready once the timeout passes with loads outstanding")
+    void shouldGiveUpAfterTimeout() {
+        properties.setTimeout(Duration.ofMillis(50));
+        UUID videoId = UUID.randomUUID();
+        when(accessStats.hottest(tenantId.toString(), AccessStatsRecorder.KIND_VIDEO, 200))
+            .thenReturn(List.of(videoId.toString()));
+        when(videoService.getVideo(videoId)).thenReturn(new CompletableFuture<>());
+
+        CacheWarmer warmer = warmer();
+        warmer.run(null);
+
+        assertEquals(CacheWarmer.State.TIMED_OUT, warmer.getState());
+        assertEquals(Status.UP, warmer.health().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should count failed loads without failing warm-up")
+    void shouldCountFailedLoads() {
+        UUID videoId = UUID.randomUUID();
+        when(accessStats.hottest(tenantId.toString(), AccessStatsRecorder.KIND_VIDEO, 200))
+            .thenReturn(List.of(videoId.toString()));
+        when(videoService.getVideo(videoId)).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("db down")));
+
+        CacheWarmer warmer = warmer();
+        warmer.run(null);
+
+        assertEquals(CacheWarmer.State.COMPLETED, warmer.getState());
+        assertEquals(1, warmer.health().getDetails().get("failed"));
+    }
+
+    @Test
+    @DisplayName("Should skip warm-up when disabled")
+    void shouldSkipWhenDisabled() {
+        properties.setEnabled(false);
+
+        CacheWarmer warmer = warmer();
+        warmer.run(null);
+
+        assertEquals(CacheWarmer.State.SKIPPED, warmer.getState());
+        assertEquals(Status.UP, warmer.health().getStatus());
+        verifyNoInteractions(videoService);
+    }
+}
@@ -0,0 +1,227 @@
+package com.streamflix.video.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingCacheTest {
+
+    private static final String CACHE_NAME = "video";
+
+    @Mock
+    private CacheTierMetrics metrics;
+
+    private ConcurrentMapCache target;
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        target = new ConcurrentMapCache(CACHE_NAME);
+        coalescer = new RequestCoalescer(metrics, new SimpleMeterRegistry());
+    }
+
+    private CoalescingCache cache(CacheLoadProperties properties) {
+        return new CoalescingCache(target, coalescer, metrics, Runnable::run,
+            RedisCacheWriter.TtlFunction.just(Duration.ofHours(1)), properties);
+    }
+
+    @Test
+    @DisplayName("Concurrent misses for one key should run the loader once")
+    void shouldCoalesceConcurrentMisses() throws Exception {
+        CoalescingCache cache = cache(new CacheLoadProperties());
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> cache.get("key-1", () -> {
+                    loads.incrementAndGet();
+                    release.await();
+                    return "value-1";
+                })));
+            }
+            while (!coalescer.isInFlight(CACHE_NAME, "key-1")) {
+                Thread.sleep(5);
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("value-1", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals("value-1", target.get("key-1").get());
+        verify(metrics, atLeastOnce()).recordCoalescedWaiter(CACHE_NAME);
+    }
+
+    @Test
+    @DisplayName("Async callers arriving during a load should share its future")
+    void shouldCoalesceAsyncLoads() {
+        CoalescingCache cache = cache(new CacheLoadProperties());
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        CompletableFuture<String> first = cache.retrieve("key-1", () -> {
+            loads.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<String> second = cache.retrieve("key-1", () -> {
+            loads.incrementAndGet();
+            return pending;
+        });
+        pending.complete("value-1");
+
+        assertEquals("value-1", first.join());
+        assertEquals("value-1", second.join());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not store empty results")
+    void shouldNotStoreEmptyResults() {
+        CoalescingCache cache = cache(new CacheLoadProperties());
+        target.put("key-1", Optional.of("stale"));
+
+        assertEquals(Optional.empty(), cache.get("key-2", Optional::empty));
+        cache.put("key-1", Optional.empty());
+
+        assertNull(target.get("key-2"));
+        assertNull(target.get("key-1"));
+    }
+
+    @Test
+    @DisplayName("Should refresh a hit in the background through the reloader once it is due")
+    void shouldRefreshEarlyWhenDue() {
+        CoalescingCache cache = cache(dueOnEveryHit());
+        AtomicInteger loads = new AtomicInteger();
+        AtomicInteger reloads = new AtomicInteger();
+        cache.setReloader(key -> "reloaded-" + reloads.incrementAndGet());
+
+        cache.get("key-1", () -> "value-" + loads.incrementAndGet());
+        String served = cache.get("key-1", () -> "value-" + loads.incrementAndGet());
+
+        assertEquals("value-1", served);
+        assertEquals(1, loads.get());
+        assertEquals(1, reloads.get());
+        assertEquals("reloaded-1", target.get("key-1").get());
+        verify(metrics).recordEarlyRefresh(CACHE_NAME, CacheTierMetrics.REFRESH_SCHEDULED);
+        verify(metrics).recordEarlyRefresh(CACHE_NAME, CacheTierMetrics.REFRESH_COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Should refresh a @Cacheable(sync = true) entry through the reloader, never by replaying Spring's loader")
+    void shouldNotReplayCacheableLoader() {
+        CoalescingCache cache = cache(dueOnEveryHit());
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.registerBean(CacheManager.class, () -> {
+                SimpleCacheManager cacheManager = new SimpleCacheManager();
+                cacheManager.setCaches(List.of(cache));
+                return cacheManager;
+            });
+            context.register(CachingConfig.class, LookupService.class);
+            context.refresh();
+            LookupService service = context.getBean(LookupService.class);
+
+            // Without a reloader a due hit is only served
+            assertEquals("found-1", service.find("key-1"));
+            assertEquals("found-1", service.find("key-1"));
+            assertEquals(1, service.finds());
+            verify(metrics, never()).recordEarlyRefresh(anyString(), anyString());
+
+            cache.setReloader(key -> service.reload((String) key));
+            assertEquals("found-1", service.find("key-1"));
+            assertEquals("reloaded-1", service.find("key-1"));
+
+            assertEquals(1, service.finds());
+            assertEquals(2, service.reloads()); // the last hit was due again
+            assertTrue(AopUtils.isAopProxy(service));
+        }
+    }
+
+    @Test
+    @DisplayName("Should not refresh early when disabled")
+    void shouldNotRefreshWhenDisabled() {
+        CoalescingCache cache = cache(new CacheLoadProperties());
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("key-1", () -> "value-" + loads.incrementAndGet());
+        cache.get("key-1", () -> "value-" + loads.incrementAndGet());
+
+        assertEquals(1, loads.get());
+        verify(metrics, never()).recordEarlyRefresh(anyString(), anyString());
+    }
+
+    private static CacheLoadProperties dueOnEveryHit() {
+        CacheLoadProperties properties = new CacheLoadProperties();
+        properties.setEarlyRefreshEnabled(true);
+        properties.setEarlyRefreshBeta(1e15);
+        return properties;
+    }
+
+    @Configuration
+    @EnableCaching
+    static class CachingConfig {
+    }
+
+    /**
+     * A service as Spring proxies it: {@code find} is cached, {@code reload} reads past the cache.
+     */
+    static class LookupService {
+
+        // Read through methods: the fields of the class-based proxy itself are never set
+        private final AtomicInteger finds = new AtomicInteger();
+        private final AtomicInteger reloads = new AtomicInteger();
+
+        @Cacheable(cacheNames = CACHE_NAME, key = "#id", sync = true)
+        public String find(String id) {
+            return "found-" + finds.incrementAndGet();
+        }
+
+        public String reload(String id) {
+            return "reloaded-" + reloads.incrementAndGet();
+        }
+
+        public int finds() {
+            return finds.get();
+        }
+
+        public int reloads() {
+            return reloads.get();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.streamflix.video.infrastructure.cache;
+
+import com.streamflix.video.infrastructure.persistence.JpaCategoryRepository;
+import com.streamflix.video.infrastructure.persistence.JpaVideoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.BitFieldSubCommands;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExistenceFilterTest {
+
+    private static final String SCOPE = "global";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private JpaVideoRepository videoRepository;
+
+    @Mock
+    private JpaCategoryRepository categoryRepository;
+
+    @Mock
+    private CacheTierMetrics metrics;
+
+    @Mock
+    private Executor maintenanceExecutor;
+
+    private ExistenceFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ExistenceFilterProperties properties = new ExistenceFilterProperties();
+        properties.setExpectedInsertions(1_000);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        filter = new ExistenceFilter(redisTemplate, videoRepository, categoryRepository, metrics, properties,
+            maintenanceExecutor);
+    }
+
+    @Test
+    @DisplayName("Should spread an id over distinct positions within the filter")
+    void shouldComputeStableOffsets() {
+        UUID id = UUID.fromString("3f2a9c1e-7b4d-4e8a-9c2f-1d5e6a7b8c9d");
+
+        long[] offsets = filter.offsets(id);
+
+        assertArrayEquals(offsets, filter.offsets(id));
+        assertEquals(7, offsets.length); // k for p = 1%
+        assertEquals(offsets.length, Arrays.stream(offsets).distinct().count());
+        for (long offset : offsets) {
+            assertTrue(offset >= 0 && offset < 9586, "offset " + offset);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report an id as absent when one of its bits is clear")
+    void shouldReportAbsentId() {
+        List<Long> bits = new ArrayList<>(List.of(1L, 1L, 1L, 1L, 0L, 1L, 1L, 1L));
+        when(valueOperations.bitField(eq("vm:exists:global:video"), any(BitFieldSubCommands.class))).thenReturn(bits);
+
+        assertFalse(filter.mightContain(CachedEntityType.VIDEO, SCOPE, UUID.randomUUID()));
+        verify(metrics).recordLookupGuard("filter", CachedEntityType.VIDEO, "absent");
+    }
+
+    @Test
+    @DisplayName("Should answer maybe and start a build while the filter is not ready")
+    void shouldFailOpenWhileBuilding() {
+        List<Long> bits = new ArrayList<>(List.of(0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L));
+        when(valueOperations.bitField(anyString(), any(BitFieldSubCommands.class))).thenReturn(bits);
+
+        assertTrue(filter.mightContain(CachedEntityType.CATEGORY, SCOPE, UUID.randomUUID()));
+        assertTrue(filter.mightContain(CachedEntityType.CATEGORY, SCOPE, UUID.randomUUID()));
+
+        // The second lookup finds the first build still queued
+        verify(maintenanceExecutor, times(1)).execute(any(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("Should answer maybe when Redis is unavailable")
+    void shouldFailOpenOnRedisError() {
+        when(valueOperations.bitField(anyString(), any(BitFieldSubCommands.class)))
+            .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertTrue(filter.mightContain(CachedEntityType.VIDEO, SCOPE, UUID.randomUUID()));
+    }
+
+    @Test
+    @DisplayName("Should not track thumbnails")
+    void shouldIgnoreUntrackedTypes() {
+        assertTrue(filter.mightContain(CachedEntityType.THUMBNAIL, SCOPE, UUID.randomUUID()));
+        verifyNoInteractions(valueOperations);
+    }
+}
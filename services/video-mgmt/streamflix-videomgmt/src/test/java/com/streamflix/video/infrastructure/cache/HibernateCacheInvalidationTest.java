@@ -0,0 +1,230 @@
+package com.streamflix.video.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamflix.video.domain.UserRepository;
+import com.streamflix.video.domain.model.Role;
+import com.streamflix.video.domain.model.Tenant;
+import com.streamflix.video.domain.model.User;
+import com.streamflix.video.infrastructure.config.SecondLevelCacheConfig;
+import com.streamflix.video.infrastructure.persistence.JpaTenantRepository;
+import com.streamflix.video.infrastructure.persistence.JpaTenantRepositoryAdapter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Lookups through the second-level cache, and its invalidations between pods, with the
+ * Redis channel replaced by a mock.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate.SQL=WARN"
+})
+@Import({SecondLevelCacheConfig.class, HibernateCacheInvalidation.class, CacheInvalidationBroadcaster.class,
+    JpaTenantRepositoryAdapter.class, HibernateCacheInvalidationTest.Config.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HibernateCacheInvalidationTest {
+
+    private static final String CHANNEL = new NearCacheProperties().getInvalidationChannel();
+    private static final String TENANTS = HibernateCacheInvalidation.CACHE_NAME_PREFIX + Tenant.class.getName();
+    private static final String TENANT_IDENTIFIERS = TENANTS + HibernateCacheInvalidation.NATURAL_ID_SUFFIX;
+    private static final String USER_ROLES = HibernateCacheInvalidation.CACHE_NAME_PREFIX + User.class.getName() + ".roles";
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return Jackson2ObjectMapperBuilder.json().build();
+        }
+
+        @Bean
+        NearCacheProperties nearCacheProperties() {
+            return new NearCacheProperties();
+        }
+    }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JpaTenantRepository jpaTenantRepository;
+
+    @Autowired
+    private JpaTenantRepositoryAdapter tenantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheInvalidationBroadcaster broadcaster;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private StringRedisTemplate redisTemplate;
+
+    @MockBean
+    private CacheTierMetrics metrics;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        jpaTenantRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        clearInvocations(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should resolve a tenant identifier without a query once it is cached")
+    void shouldResolveIdentifierFromCache() {
+        UUID id = jpaTenantRepository.save(new Tenant("Acme", "acme", Tenant.SubscriptionLevel.STANDARD)).getId();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        assertEquals(id, tenantRepository.findByIdentifier("acme").orElseThrow().getId());
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements > 0);
+
+        assertEquals(id, tenantRepository.findByIdentifier("acme").orElseThrow().getId());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getNaturalIdCacheHitCount() > 0);
+        assertTrue(statistics.getDomainDataRegionStatistics("tenants").getHitCount() > 0);
+    }
+
+    @Test
+    @DisplayName("Should publish a committed change of a cached entity, and not a rolled back one")
+    void shouldPublishCommittedChanges() {
+        UUID id = jpaTenantRepository.save(new Tenant("Acme", "acme", Tenant.SubscriptionLevel.STANDARD)).getId();
+
+        transactionTemplate.executeWithoutResult(status ->
+            jpaTenantRepository.findById(id).orElseThrow().setName("Acme Corp"));
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), argThat((String json) ->
+            json.contains(TENANTS) && json.contains(id.toString())));
+
+        clearInvocations(redisTemplate);
+        transactionTemplate.executeWithoutResult(status -> {
+            jpaTenantRepository.findById(id).orElseThrow().setName("Rolled back");
+            jpaTenantRepository.flush();
+            status.setRollbackOnly();
+        });
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should evict an entity changed on another pod, keeping the natural ids cached")
+    void shouldApplyRemoteInvalidation() throws Exception {
+        UUID id = jpaTenantRepository.save(new Tenant("Acme", "acme", Tenant.SubscriptionLevel.STANDARD)).getId();
+        tenantRepository.findByIdentifier("acme");
+        assertTrue(entityManagerFactory.getCache().contains(Tenant.class, id));
+
+        broadcaster.onMessage(remote(TENANTS, id.toString()), null);
+
+        assertFalse(entityManagerFactory.getCache().contains(Tenant.class, id));
+        statistics.clear();
+        tenantRepository.findByIdentifier("acme");
+        assertTrue(statistics.getNaturalIdCacheHitCount() > 0);
+    }
+
+    @Test
+    @DisplayName("Should publish the old and new natural id of a committed change, and not for other changes")
+    void shouldPublishChangedNaturalIds() {
+        UUID id = jpaTenantRepository.save(new Tenant("Acme", "acme", Tenant.SubscriptionLevel.STANDARD)).getId();
+
+        transactionTemplate.executeWithoutResult(status ->
+            jpaTenantRepository.findById(id).orElseThrow().setName("Acme Corp"));
+        verify(redisTemplate, never()).convertAndSend(eq(CHANNEL), argThat((String json) -> json.contains(TENANT_IDENTIFIERS)));
+
+        transactionTemplate.executeWithoutResult(status ->
+            jpaTenantRepository.findById(id).orElseThrow().setIdentifier("acme-corp"));
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), argThat((String json) ->
+            json.contains(TENANT_IDENTIFIERS) && json.contains("\\\"acme\\\"")));
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), argThat((String json) ->
+            json.contains(TENANT_IDENTIFIERS) && json.contains("\\\"acme-corp\\\"")));
+    }
+
+    @Test
+    @DisplayName("Should evict only the natural id changed on another pod")
+    void shouldApplyRemoteNaturalIdInvalidation() throws Exception {
+        jpaTenantRepository.save(new Tenant("Acme", "acme", Tenant.SubscriptionLevel.STANDARD));
+        jpaTenantRepository.save(new Tenant("Globex", "globex", Tenant.SubscriptionLevel.STANDARD));
+        tenantRepository.findByIdentifier("acme");
+        tenantRepository.findByIdentifier("globex");
+
+        broadcaster.onMessage(remote(TENANT_IDENTIFIERS, objectMapper.writeValueAsString(List.of("acme"))), null);
+
+        statistics.clear();
+        tenantRepository.findByIdentifier("globex");
+        assertTrue(statistics.getNaturalIdCacheHitCount() > 0);
+        assertEquals(0, statistics.getNaturalIdCacheMissCount());
+        tenantRepository.findByIdentifier("acme");
+        assertTrue(statistics.getNaturalIdCacheMissCount() > 0);
+    }
+
+    @Test
+    @DisplayName("Should look a user up by API key and publish changes of its roles")
+    void shouldCacheUsersWithRoles() {
+        User user = new User();
+        user.setUsername("encoder");
+        user.setPassword("secret");
+        user.setEmail("encoder@example.com");
+        user.setApiKey("key-1");
+        user.addRole(Role.SERVICE);
+        UUID id = userRepository.save(user).getId();
+        entityManagerFactory.getCache().evictAll();
+
+        assertEquals(id, userRepository.findByApiKey("key-1").orElseThrow().getId());
+        statistics.clear();
+        User cached = userRepository.findByApiKey("key-1").orElseThrow();
+        assertEquals(Set.of(Role.SERVICE), cached.getRoles());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        transactionTemplate.executeWithoutResult(status ->
+            userRepository.findById(id).orElseThrow().addRole(Role.ADMIN));
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), argThat((String json) ->
+            json.contains(USER_ROLES) && json.contains(id.toString())));
+    }
+
+    private DefaultMessage remote(String cacheName, String key) throws Exception {
+        String json = objectMapper.writeValueAsString(new CacheInvalidationMessage("another-pod", cacheName, key));
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), json.getBytes(StandardCharsets.UTF_8));
+    }
+}
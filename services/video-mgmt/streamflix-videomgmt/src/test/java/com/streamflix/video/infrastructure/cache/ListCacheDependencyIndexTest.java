@@ -0,0 +1,306 @@
+package com.streamflix.video.infrastructure.cache;
+
+import com.streamflix.video.domain.Category;
+import com.streamflix.video.domain.Video;
+import com.streamflix.video.infrastructure.config.CacheConfig;
+import com.streamflix.video.infrastructure.multitenancy.TenantContextHolder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the index against a real Redis, with the list caches on a {@link RedisCacheManager} using
+ * the 10 minute TTL of {@link CacheConfig}. Needs Docker.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ListCacheDependencyIndexTest {
+
+    private static final UUID TENANT_A = UUID.fromString("0a000000-0000-0000-0000-000000000001");
+    private static final UUID TENANT_B = UUID.fromString("0b000000-0000-0000-0000-000000000002");
+    private static final Duration LIST_TTL = Duration.ofMinutes(10);
+
+    @Container
+    private static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+        .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private final ListCacheKeys listCacheKeys = new ListCacheKeys();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RedisCacheManager cacheManager;
+    private ListCacheDependencyIndex index;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(
+            new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushDb();
+        }
+        RedisCacheConfiguration listConfig = RedisCacheConfiguration.defaultCacheConfig().entryTtl(LIST_TTL);
+        cacheManager = RedisCacheManager.builder(connectionFactory)
+            .withInitialCacheConfigurations(Map.of(
+                CacheConfig.VIDEOS_BY_CATEGORY_CACHE, listConfig,
+                CacheConfig.VIDEOS_BY_TAG_CACHE, listConfig))
+            .build();
+        cacheManager.afterPropertiesSet();
+        index = new ListCacheDependencyIndex(redisTemplate, cacheManager, listCacheKeys, meterRegistry);
+    }
+
+    @AfterEach
+    void clearTenant() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    @DisplayName("Should record a page under its category and under every video on it")
+    void shouldRecordPage() {
+        TenantContextHolder.setTenantId(TENANT_A);
+        UUID categoryId = UUID.randomUUID();
+        Video first = video(null);
+        Video second = video(null);
+        String page = listCacheKeys.categoryPage(categoryId, 0, 20);
+
+        index.recordCategoryPage(categoryId, page, List.of(first, second));
+
+        assertEquals(Set.of(page), members("vm:list-idx:" + TENANT_A + ":category:" + categoryId));
+        assertEquals(Set.of("videosByCategory|" + page), members("vm:list-idx:" + TENANT_A + ":video:" + first.getId()));
+        assertEquals(Set.of("videosByCategory|" + page), members("vm:list-idx:" + TENANT_A + ":video:" + second.getId()));
+    }
+
+    @Test
+    @DisplayName("Should prefix index keys with the tenant, or the global scope outside a tenant")
+    void shouldScopeIndexKeysByTenant() {
+        Video video = video(null);
+        TenantContextHolder.setTenantId(TENANT_A);
+        index.recordTagPage("drama", listCacheKeys.tagPage("drama", 0, 20), List.of(video));
+        TenantContextHolder.clear();
+        index.recordTagPage("drama", listCacheKeys.tagPage("drama", 0, 20), List.of(video));
+
+        assertEquals(Set.of(
+                "vm:list-idx:" + TENANT_A + ":tag:drama",
+                "vm:list-idx:" + TENANT_A + ":video:" + video.getId(),
+                "vm:list-idx:global:tag:drama",
+                "vm:list-idx:global:video:" + video.getId()),
+            redisTemplate.keys("vm:list-idx:*"));
+        assertEquals(Set.of(TENANT_A + ":tag:drama:0:20"), members("vm:list-idx:" + TENANT_A + ":tag:drama"));
+    }
+
+    @Test
+    @DisplayName("Should evict every page of the old and the new category, and only those, when a video moves")
+    void shouldEvictOldAndNewCategoryPages() {
+        TenantContextHolder.setTenantId(TENANT_A);
+        Category from = category();
+        Category to = category();
+        Category other = category();
+        Video moved = video(from);
+        String fromFirst = cachedCategoryPage(from, 0, List.of(moved));
+        String fromSecond = cachedCategoryPage(from, 1, List.of(video(from)));
+        String toFirst = cachedCategoryPage(to, 0, List.of(video(to)));
+        String untouched = cachedCategoryPage(other, 0, List.of(video(other)));
+
+        moved.setCategory(to);
+        index.evictForVideo(moved, from.getId(), Set.of());
+
+        Cache cache = cacheManager.getCache(CacheConfig.VIDEOS_BY_CATEGORY_CACHE);
+        assertNull(cache.get(fromFirst));
+        assertNull(cache.get(fromSecond));
+        assertNull(cache.get(toFirst));
+        assertNotNull(cache.get(untouched));
+        assertEquals(3, meterRegistry.counter("video.cache.list.targeted.evictions").count());
+    }
+
+    @Test
+    @DisplayName("Should evict pages of tags gained or lost, and pages of a kept tag only if they show the video")
+    void shouldEvictChangedTagPages() {
+        TenantContextHolder.setTenantId(TENANT_A);
+        Video video = video(null);
+        video.addTag("kept");
+        video.addTag("gained");
+        String lost = cachedTagPage("lost", 0, List.of(video));
+        String gained = cachedTagPage("gained", 0, List.of(video(null)));
+        String keptShowing = cachedTagPage("kept", 0, List.of(video));
+        String keptOther = cachedTagPage("kept", 1, List.of(video(null)));
+
+        index.evictForVideo(video, null, Set.of("kept", "lost"));
+
+        Cache cache = cacheManager.getCache(CacheConfig.VIDEOS_BY_TAG_CACHE);
+        assertNull(cache.get(lost));
+        assertNull(cache.get(gained));
+        assertNull(cache.get(keptShowing));
+        assertNotNull(cache.get(keptOther));
+    }
+
+    @Test
+    @DisplayName("Should evict the pages from the first one showing a removed video on, and keep those before it")
+    void shouldEvictLaterPagesOfRemovedVideo() {
+        TenantContextHolder.setTenantId(TENANT_A);
+        Category category = category();
+        Video removed = video(category);
+        removed.addTag("drama");
+        String before = cachedCategoryPage(category, 0, List.of(video(category)));
+        String showing = cachedCategoryPage(category, 1, List.of(removed));
+        String after = cachedCategoryPage(category, 2, List.of(video(category)));
+        // Rows 0-39 hold the removed video's row 20-39 too, so the larger page shifts as well
+        String largerOverlapping = cachedCategoryPage(category, 0, 40, List.of(video(category)));
+        String tagBefore = cachedTagPage("drama", 0, List.of(video(null)));
+        String tagShowing = cachedTagPage("drama", 1, List.of(removed));
+        String tagAfter = cachedTagPage("drama", 5, List.of(video(null)));
+        String otherCategory = cachedCategoryPage(category(), 3, List.of(video(null)));
+
+        index.evictForRemovedVideo(removed);
+
+        Cache categories = cacheManager.getCache(CacheConfig.VIDEOS_BY_CATEGORY_CACHE);
+        Cache tags = cacheManager.getCache(CacheConfig.VIDEOS_BY_TAG_CACHE);
+        assertNotNull(categories.get(before));
+        assertNull(categories.get(showing));
+        assertNull(categories.get(after));
+        assertNull(categories.get(largerOverlapping));
+        assertNotNull(tags.get(tagBefore));
+        assertNull(tags.get(tagShowing));
+        assertNull(tags.get(tagAfter));
+        assertNotNull(categories.get(otherCategory));
+    }
+
+    @Test
+    @DisplayName("Should evict the later pages of every category a bulk removal touched, from its first removed row")
+    void shouldEvictLaterPagesOfRemovedVideos() {
+        TenantContextHolder.setTenantId(TENANT_A);
+        Category first = category();
+        Category second = category();
+        Video removedEarly = video(first);
+        Video removedLate = video(second);
+        String firstShowing = cachedCategoryPage(first, 0, List.of(removedEarly));
+        String firstAfter = cachedCategoryPage(first, 1, List.of(video(first)));
+        String secondBefore = cachedCategoryPage(second, 1, List.of(video(second)));
+        String secondShowing = cachedCategoryPage(second, 2, List.of(removedLate));
+
+        index.evictForRemovedVideos(List.of(removedEarly.getId(), removedLate.getId()));
+
+        Cache categories = cacheManager.getCache(CacheConfig.VIDEOS_BY_CATEGORY_CACHE);
+        assertNull(categories.get(firstShowing));
+        assertNull(categories.get(firstAfter));
+        assertNotNull(categories.get(secondBefore));
+        assertNull(categories.get(secondShowing));
+    }
+
+    @Test
+    @DisplayName("Should keep index entries alive longer than the pages they point at, refreshed on each record")
+    void shouldOutliveListCacheTtl() {
+        TenantContextHolder.setTenantId(TENANT_A);
+        Category category = category();
+        Video video = video(category);
+        String page = cachedCategoryPage(category, 0, List.of(video));
+        String categoryIndex = "vm:list-idx:" + TENANT_A + ":category:" + category.getId();
+        String videoIndex = "vm:list-idx:" + TENANT_A + ":video:" + video.getId();
+
+        long pageTtl = redisTemplate.getExpire(CacheConfig.VIDEOS_BY_CATEGORY_CACHE + "::" + page, TimeUnit.SECONDS);
+        assertTrue(pageTtl > 0 && pageTtl <= LIST_TTL.getSeconds(), "page TTL " + pageTtl);
+        for (String key : List.of(categoryIndex, videoIndex)) {
+            long indexTtl = redisTemplate.getExpire(key, TimeUnit.SECONDS);
+            assertTrue(indexTtl > LIST_TTL.getSeconds() && indexTtl <= Duration.ofMinutes(15).getSeconds(), key + " TTL " + indexTtl);
+        }
+
+        // A page reloaded near the end of its index entry's life pushes the entry out again
+        redisTemplate.expire(categoryIndex, Duration.ofSeconds(30));
+        cachedCategoryPage(category, 0, List.of(video));
+        assertTrue(redisTemplate.getExpire(categoryIndex, TimeUnit.SECONDS) > LIST_TTL.getSeconds());
+    }
+
+    @Test
+    @DisplayName("Should leave another tenant's pages alone, even for the same category id and tag")
+    void shouldIsolateTenants() {
+        Category shared = category();
+        TenantContextHolder.setTenantId(TENANT_A);
+        String pageOfA = cachedCategoryPage(shared, 0, List.of(video(shared)));
+        String tagPageOfA = cachedTagPage("drama", 0, List.of(video(null)));
+        TenantContextHolder.setTenantId(TENANT_B);
+        String pageOfB = cachedCategoryPage(shared, 0, List.of(video(shared)));
+        String tagPageOfB = cachedTagPage("drama", 0, List.of(video(null)));
+
+        Video joined = video(shared);
+        joined.addTag("drama");
+        index.evictForVideo(joined, null, Set.of());
+
+        assertNotEquals(pageOfA, pageOfB);
+        assertNotNull(cacheManager.getCache(CacheConfig.VIDEOS_BY_CATEGORY_CACHE).get(pageOfA));
+        assertNotNull(cacheManager.getCache(CacheConfig.VIDEOS_BY_TAG_CACHE).get(tagPageOfA));
+        assertNull(cacheManager.getCache(CacheConfig.VIDEOS_BY_CATEGORY_CACHE).get(pageOfB));
+        assertNull(cacheManager.getCache(CacheConfig.VIDEOS_BY_TAG_CACHE).get(tagPageOfB));
+    }
+
+    /**
+     * Cache a category page and record it, as the service does after loading one.
+     */
+    private String cachedCategoryPage(Category category, int page, List<Video> videos) {
+        return cachedCategoryPage(category, page, 20, videos);
+    }
+
+    private String cachedCategoryPage(Category category, int page, int size, List<Video> videos) {
+        String key = listCacheKeys.categoryPage(category.getId(), page, size);
+        cacheManager.getCache(CacheConfig.VIDEOS_BY_CATEGORY_CACHE).put(key, "page " + page);
+        index.recordCategoryPage(category.getId(), key, videos);
+        return key;
+    }
+
+    private String cachedTagPage(String tag, int page, List<Video> videos) {
+        String key = listCacheKeys.tagPage(tag, page, 20);
+        cacheManager.getCache(CacheConfig.VIDEOS_BY_TAG_CACHE).put(key, "page " + page);
+        index.recordTagPage(tag, key, videos);
+        return key;
+    }
+
+    private Set<String> members(String key) {
+        return redisTemplate.opsForSet().members(key);
+    }
+
+    private static Video video(Category category) {
+        Video video = new Video("Video", null, TENANT_A);
+        video.assignId(UUID.randomUUID());
+        video.setCategory(category);
+        return video;
+    }
+
+    private static Category category() {
+        Category category = new Category("Category", null, TENANT_A);
+        ReflectionTestUtils.setField(category, "id", UUID.randomUUID());
+        return category;
+    }
+}
@@ -0,0 +1,159 @@
+package com.streamflix.video.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheTest {
+
+    private static final String CACHE_NAME = "video";
+
+    @Mock
+    private Cache redisCache;
+
+    @Mock
+    private CacheInvalidationBroadcaster broadcaster;
+
+    @Mock
+    private CacheTierMetrics metrics;
+
+    private com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        localCache = Caffeine.newBuilder().maximumSize(100).build();
+        cache = new TwoTierCache(CACHE_NAME, localCache, redisCache, broadcaster, metrics);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads from the local tier after the first Redis hit")
+    void shouldServeRepeatedReadsLocally() {
+        when(redisCache.get("key-1")).thenReturn(new SimpleValueWrapper("value-1"));
+
+        assertEquals("value-1", cache.get("key-1").get());
+        assertEquals("value-1", cache.get("key-1").get());
+
+        verify(redisCache, times(1)).get("key-1");
+        verify(metrics).recordHit(CACHE_NAME, CacheTierMetrics.TIER_REDIS);
+        verify(metrics).recordHit(CACHE_NAME, CacheTierMetrics.TIER_LOCAL);
+    }
+
+    @Test
+    @DisplayName("Should count misses on both tiers when the key is absent everywhere")
+    void shouldRecordMissesOnBothTiers() {
+        when(redisCache.get("missing")).thenReturn(null);
+
+        assertNull(cache.get("missing"));
+
+        verify(metrics).recordMiss(CACHE_NAME, CacheTierMetrics.TIER_LOCAL);
+        verify(metrics).recordMiss(CACHE_NAME, CacheTierMetrics.TIER_REDIS);
+        assertNull(localCache.getIfPresent("missing"));
+    }
+
+    @Test
+    @DisplayName("Should write through to Redis and broadcast an invalidation on put")
+    void shouldWriteThroughAndBroadcastOnPut() {
+        cache.put("key-1", "value-1");
+
+        verify(redisCache).put("key-1", "value-1");
+        verify(broadcaster).publishEvict(CACHE_NAME, "key-1");
+        assertEquals("value-1", localCache.getIfPresent("key-1"));
+    }
+
+    @Test
+    @DisplayName("Should fill both tiers from a load on a miss without broadcasting")
+    void shouldFillWithoutBroadcast() {
+        when(redisCache.get("key-1")).thenReturn(null);
+
+        assertEquals("loaded", cache.get("key-1", () -> "loaded"));
+
+        verify(redisCache).put("key-1", "loaded");
+        assertEquals("loaded", localCache.getIfPresent("key-1"));
+        verifyNoInteractions(broadcaster);
+    }
+
+    @Test
+    @DisplayName("Should fill through the decorators the cache manager adds, without broadcasting")
+    void shouldFillThroughDecorators() {
+        CacheLoadProperties loadProperties = new CacheLoadProperties();
+        Cache decorated = new TransactionAwareCache(new CoalescingCache(cache, new RequestCoalescer(metrics, new SimpleMeterRegistry()), metrics,
+            Runnable::run, null, loadProperties));
+
+        LoadedValueSink.fill(decorated, "key-1", "counted");
+
+        verify(redisCache).put("key-1", "counted");
+        assertEquals("counted", localCache.getIfPresent("key-1"));
+        verifyNoInteractions(broadcaster);
+    }
+
+    @Test
+    @DisplayName("Should hold back a fill made inside a transaction until it commits")
+    void shouldFillAfterCommit() {
+        Cache decorated = new TransactionAwareCache(cache);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            LoadedValueSink.fill(decorated, "key-1", "loaded");
+
+            verifyNoInteractions(redisCache);
+            assertNull(localCache.getIfPresent("key-1"));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(redisCache).put("key-1", "loaded");
+        assertEquals("loaded", localCache.getIfPresent("key-1"));
+        verifyNoInteractions(broadcaster);
+    }
+
+    @Test
+    @DisplayName("Should drop the local entry and broadcast on evict")
+    void shouldEvictBothTiersAndBroadcast() {
+        localCache.put("key-1", "value-1");
+
+        cache.evict("key-1");
+
+        verify(redisCache).evict("key-1");
+        verify(broadcaster).publishEvict(CACHE_NAME, "key-1");
+        assertNull(localCache.getIfPresent("key-1"));
+    }
+
+    @Test
+    @DisplayName("Should broadcast a clear when the whole cache is cleared")
+    void shouldBroadcastClear() {
+        localCache.put("key-1", "value-1");
+        localCache.put("key-2", "value-2");
+
+        cache.clear();
+
+        verify(redisCache).clear();
+        verify(broadcaster).publishClear(CACHE_NAME);
+        assertEquals(0, localCache.estimatedSize());
+    }
+
+    @Test
+    @DisplayName("Remote invalidations should only touch the local tier")
+    void remoteInvalidationShouldOnlyTouchLocalTier() {
+        localCache.put("key-1", "value-1");
+
+        cache.evictLocal("key-1");
+
+        assertNull(localCache.getIfPresent("key-1"));
+        verifyNoInteractions(redisCache, broadcaster);
+    }
+}
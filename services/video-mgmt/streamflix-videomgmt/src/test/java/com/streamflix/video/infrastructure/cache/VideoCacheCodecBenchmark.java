@@ -0,0 +1,104 @@
+package com.streamflix.video.infrastructure.cache;
+
+import com.streamflix.video.domain.Category;
+import com.streamflix.video.domain.Video;
+import com.streamflix.video.domain.VideoStatus;
+import com.streamflix.video.util.TestDataFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Compares entry size and encode/decode throughput of {@link VideoCacheCodec} against the
+ * JSON serializer it replaces, for a single video and for a 100-video list page.
+ * Run with {@code ./gradlew test -Dbenchmark=true --tests '*VideoCacheCodecBenchmark'}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VideoCacheCodecBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoCacheCodecBenchmark.class);
+
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 10_000;
+
+    @Test
+    @DisplayName("Binary codec vs JSON for a single video")
+    void singleVideo() {
+        compare("single video", sampleVideo(TestDataFactory.createTestCategory(), 0));
+    }
+
+    @Test
+    @DisplayName("Binary codec vs JSON for a 100-video list page")
+    void listPage() {
+        Category category = TestDataFactory.createTestCategory();
+        List<Video> page = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            page.add(sampleVideo(category, i));
+        }
+        compare("100-video page", page);
+    }
+
+    private void compare(String label, Object value) {
+        CacheCodecProperties uncompressed = new CacheCodecProperties();
+        uncompressed.setCompressionEnabled(false);
+
+        run(label, "json", new GenericJackson2JsonRedisSerializer(), value);
+        run(label, "binary", new VideoCacheCodec(uncompressed), value);
+        run(label, "binary+deflate", new VideoCacheCodec(new CacheCodecProperties()), value);
+    }
+
+    private void run(String label, String codecName, RedisSerializer<Object> serializer, Object value) {
+        byte[] encoded = serializer.serialize(value);
+        assertNotNull(serializer.deserialize(encoded), codecName + " could not read its own entry");
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            serializer.deserialize(serializer.serialize(value));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            encoded = serializer.serialize(value);
+        }
+        long encodeNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            serializer.deserialize(encoded);
+        }
+        long decodeNanos = System.nanoTime() - start;
+
+        logger.info("[{}] {}: {} bytes, encode {} ops/s, decode {} ops/s",
+                label, codecName, encoded.length,
+                opsPerSecond(encodeNanos), opsPerSecond(decodeNanos));
+    }
+
+    private static long opsPerSecond(long nanos) {
+        return MEASURED_ITERATIONS * 1_000_000_000L / Math.max(1, nanos);
+    }
+
+    /**
+     * Thumbnails are left out: the JSON serializer cannot encode their back-reference to the video.
+     */
+    private static Video sampleVideo(Category category, int index) {
+        Video video = TestDataFactory.createTestVideo("Video title " + index,
+                "A moderately long description of video " + index + " as it would appear in a catalogue listing.",
+                VideoStatus.READY, UUID.randomUUID(), category, Set.of("action", "drama", "tag-" + (index % 7)));
+        video.setTenantId(UUID.randomUUID());
+        video.setUserId(UUID.randomUUID());
+        video.setReleaseYear(2000 + index % 25);
+        video.setLanguage("en");
+        video.setStorageLocation("s3://streamflix-videos/" + UUID.randomUUID());
+        return video;
+    }
+}
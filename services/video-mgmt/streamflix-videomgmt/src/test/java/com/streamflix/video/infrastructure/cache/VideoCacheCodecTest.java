@@ -0,0 +1,181 @@
+package com.streamflix.video.infrastructure.cache;
+
+import com.streamflix.video.domain.Category;
+import com.streamflix.video.domain.Thumbnail;
+import com.streamflix.video.domain.Video;
+import com.streamflix.video.domain.VideoStatus;
+import com.streamflix.video.util.TestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VideoCacheCodecTest {
+
+    private VideoCacheCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        codec = new VideoCacheCodec(new CacheCodecProperties());
+    }
+
+    private static Video sampleVideo(Category category) {
+        Video video = TestDataFactory.createTestVideo("Title", "Description", VideoStatus.READY,
+                UUID.randomUUID(), category, Set.of("action", "drama"));
+        video.setTenantId(UUID.randomUUID());
+        video.setReleaseYear(2021);
+        video.setLanguage("en");
+        video.setContainsPersonalData(true);
+        video.addThumbnail(TestDataFactory.createTestThumbnail(null));
+        return video;
+    }
+
+    @Nested
+    @DisplayName("Round trips")
+    class RoundTrips {
+
+        @Test
+        @DisplayName("Should restore every field of a video, its category and thumbnails")
+        void shouldRoundTripVideo() {
+            Category category = TestDataFactory.createTestCategory();
+            Video video = sampleVideo(category);
+
+            Video decoded = (Video) codec.deserialize(codec.serialize(video));
+
+            assertEquals(video.getId(), decoded.getId());
+            assertEquals(video.getTitle(), decoded.getTitle());
+            assertEquals(video.getDescription(), decoded.getDescription());
+            assertEquals(video.getTenantId(), decoded.getTenantId());
+            assertEquals(VideoStatus.READY, decoded.getStatus());
+            assertEquals(2021, decoded.getReleaseYear());
+            assertEquals("en", decoded.getLanguage());
+            assertEquals(video.getTags(), decoded.getTags());
+            assertEquals(video.getCreatedAt(), decoded.getCreatedAt());
+            assertEquals(video.getUpdatedAt(), decoded.getUpdatedAt());
+            assertTrue(decoded.isContainsPersonalData());
+            assertFalse(decoded.isArchived());
+            assertEquals(category.getId(), decoded.getCategory().getId());
+            assertEquals(category.getName(), decoded.getCategory().getName());
+
+            Thumbnail thumbnail = video.getThumbnails().get(0);
+            Thumbnail decodedThumbnail = decoded.getThumbnails().get(0);
+            assertEquals(thumbnail.getId(), decodedThumbnail.getId());
+            assertEquals(thumbnail.getUrl(), decodedThumbnail.getUrl());
+            assertEquals(thumbnail.getWidth(), decodedThumbnail.getWidth());
+            assertSame(decoded, decodedThumbnail.getVideo());
+        }
+
+        @Test
+        @DisplayName("Should share one decoded category across a list page")
+        void shouldRoundTripListWithSharedCategory() {
+            Category category = TestDataFactory.createTestCategory();
+            List<Video> page = List.of(sampleVideo(category), sampleVideo(category), sampleVideo(null));
+
+            @SuppressWarnings("unchecked")
+            List<Video> decoded = (List<Video>) codec.deserialize(codec.serialize(page));
+
+            assertEquals(3, decoded.size());
+            assertEquals(page.get(1).getId(), decoded.get(1).getId());
+            assertSame(decoded.get(0).getCategory(), decoded.get(1).getCategory());
+            assertNull(decoded.get(2).getCategory());
+        }
+
+        @Test
+        @DisplayName("Should keep paging metadata and sort order of a page")
+        void shouldRoundTripPage() {
+            Page<Video> page = new PageImpl<>(List.of(sampleVideo(null)),
+                    PageRequest.of(2, 20, Sort.by(Sort.Order.desc("createdAt"), Sort.Order.asc("title"))), 57);
+
+            Page<?> decoded = (Page<?>) codec.deserialize(codec.serialize(page));
+
+            assertEquals(57, decoded.getTotalElements());
+            assertEquals(2, decoded.getNumber());
+            assertEquals(20, decoded.getSize());
+            assertEquals(page.getSort(), decoded.getSort());
+            assertEquals(1, decoded.getContent().size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Format and versioning")
+    class FormatAndVersioning {
+
+        @Test
+        @DisplayName("Should read entries written by the JSON serializer")
+        void shouldReadJsonEntries() {
+            Category category = TestDataFactory.createTestCategory();
+            byte[] json = new GenericJackson2JsonRedisSerializer().serialize(category);
+
+            Category decoded = (Category) codec.deserialize(json);
+
+            assertEquals(category.getId(), decoded.getId());
+            assertEquals(category.getName(), decoded.getName());
+        }
+
+        @Test
+        @DisplayName("Should write JSON for values it has no binary encoding for")
+        void shouldFallBackToJsonForOtherTypes() {
+            byte[] bytes = codec.serialize("plain string");
+
+            assertNotEquals(VideoCacheCodec.MARKER, bytes[0]);
+            assertEquals("plain string", codec.deserialize(bytes));
+        }
+
+        @Test
+        @DisplayName("Should write JSON when the JSON format is selected, and still read binary entries")
+        void shouldHonourJsonFormat() {
+            CacheCodecProperties properties = new CacheCodecProperties();
+            properties.setFormat(CacheCodecProperties.Format.JSON);
+            VideoCacheCodec jsonCodec = new VideoCacheCodec(properties);
+            Category category = TestDataFactory.createTestCategory();
+
+            assertNotEquals(VideoCacheCodec.MARKER, jsonCodec.serialize(category)[0]);
+            Category decoded = (Category) jsonCodec.deserialize(codec.serialize(category));
+            assertEquals(category.getId(), decoded.getId());
+        }
+
+        @Test
+        @DisplayName("Should treat entries from a newer schema version as a miss")
+        void shouldIgnoreNewerSchemaVersions() {
+            byte[] bytes = codec.serialize(TestDataFactory.createTestCategory());
+            bytes[1] = (byte) (VideoCacheCodec.SCHEMA_VERSION + 1);
+
+            assertNull(codec.deserialize(bytes));
+        }
+
+        @Test
+        @DisplayName("Should deflate values above the threshold and inflate them on read")
+        void shouldCompressLargeValues() {
+            CacheCodecProperties properties = new CacheCodecProperties();
+            properties.setCompressionThreshold(64);
+            VideoCacheCodec compressing = new VideoCacheCodec(properties);
+            CacheCodecProperties uncompressedProperties = new CacheCodecProperties();
+            uncompressedProperties.setCompressionEnabled(false);
+            VideoCacheCodec uncompressed = new VideoCacheCodec(uncompressedProperties);
+            List<Video> page = new ArrayList<>();
+            Category category = TestDataFactory.createTestCategory();
+            for (int i = 0; i < 20; i++) {
+                page.add(sampleVideo(category));
+            }
+
+            byte[] compressed = compressing.serialize(page);
+            byte[] plain = uncompressed.serialize(page);
+
+            assertEquals(1, compressed[2] & 0x01);
+            assertTrue(compressed.length < plain.length);
+            assertEquals(20, ((List<?>) compressing.deserialize(compressed)).size());
+        }
+    }
+}
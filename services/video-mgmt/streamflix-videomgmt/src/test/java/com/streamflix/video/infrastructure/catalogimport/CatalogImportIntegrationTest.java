@@ -0,0 +1,240 @@
+package com.streamflix.video.infrastructure.catalogimport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamflix.video.application.VideoEventPublisher;
+import com.streamflix.video.infrastructure.cache.CachedEntityType;
+import com.streamflix.video.infrastructure.cache.EntityExistenceGuard;
+import com.streamflix.video.infrastructure.cache.ListCacheDependencyIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Imports catalogue files into PostgreSQL through the staging tables of V11, whole and resumed
+ * part-way through, with batches and chunks of a few rows. The schema is built by the Flyway
+ * migrations, as in production, not generated from the entities. Needs Docker.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.flyway.enabled=true",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate.SQL=WARN",
+    "app.catalog-import.enabled=true",
+    "app.catalog-import.stage-batch-size=2",
+    "app.catalog-import.pipeline-depth=1",
+    "app.catalog-import.merge-chunk-size=3",
+    "app.catalog-import.stale-after-ms=0"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CatalogImportService.class, CatalogImportRunner.class, CatalogImportIntegrationTest.Config.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogImportIntegrationTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("0c000000-0000-0000-0000-000000000001");
+    private static final UUID CATEGORY_ID = UUID.fromString("0c000000-0000-0000-0000-0000000000ca");
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        // Imports run on the test's thread, so each test sees its import finished
+        @Bean
+        SyncTaskExecutor catalogImportExecutor() {
+            return new SyncTaskExecutor();
+        }
+
+        @Bean
+        ThreadPoolTaskExecutor catalogImportWorkerExecutor() {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(2);
+            executor.setMaxPoolSize(2);
+            executor.initialize();
+            return executor;
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CatalogImportService importService;
+
+    @Autowired
+    private CatalogImportProperties properties;
+
+    @MockBean
+    private EntityExistenceGuard existenceGuard;
+
+    @MockBean
+    private ListCacheDependencyIndex listCacheIndex;
+
+    @MockBean
+    private VideoEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        properties.setSpoolDirectory(Files.createTempDirectory("catalog-imports").toString());
+        jdbcTemplate.execute("TRUNCATE catalog_imports, catalog_import_videos, catalog_import_tags, "
+            + "catalog_import_thumbnails, catalog_import_rejects, video_tags, thumbnails, videos, categories, tenants CASCADE");
+        jdbcTemplate.update("INSERT INTO tenants (id, name, identifier, subscription_level, created_at, updated_at, active) "
+            + "VALUES (?, 'Partner', 'partner', 'STANDARD', now(), now(), true)", TENANT_ID);
+        jdbcTemplate.update("INSERT INTO categories (id, name, tenant_id) VALUES (?, 'Drama', ?)", CATEGORY_ID, TENANT_ID);
+    }
+
+    @Test
+    @DisplayName("Should stage, merge and report an NDJSON file")
+    void shouldImportNdjson() throws IOException {
+        CatalogImport started = start(CatalogImport.Format.NDJSON, """
+            {"title": "One", "category": "Drama", "tags": ["a", "b"], "thumbnails": [{"url": "https://img.example.com/1.jpg"}, {"url": "https://img.example.com/1b.jpg"}]}
+            {"title": "Two", "releaseYear": 1999, "language": "EN"}
+            {"title": ""}
+            {"title": "Four", "tags": "c|a"}
+            {"title": "Five", "category": "Horror"}
+            {"title": "Six"}
+            {"title": "Seven", "tags": ["a"]}
+            """);
+
+        CatalogImport done = importService.find(started.id()).orElseThrow();
+        assertEquals(CatalogImport.Status.COMPLETED, done.status(), done.error());
+        assertEquals(7, done.rowsRead());
+        assertEquals(5, done.rowsStaged());
+        assertEquals(2, done.rowsRejected());
+        assertEquals(5, done.rowsMerged());
+
+        assertEquals(5, count("SELECT count(*) FROM videos WHERE tenant_id = ?", TENANT_ID));
+        assertEquals(1, count("SELECT count(*) FROM videos WHERE title = 'One' AND category_id = ?", CATEGORY_ID));
+        assertEquals(1, count("SELECT count(*) FROM videos WHERE title = 'Two' AND language = 'en' AND release_year = 1999"));
+        assertEquals(3, count("SELECT count(*) FROM video_tags WHERE tag = 'a'"));
+        assertEquals(5, count("SELECT count(*) FROM video_tags WHERE tenant_id = ?", TENANT_ID));
+        assertEquals(2, count("SELECT count(*) FROM thumbnails WHERE tenant_id = ?", TENANT_ID));
+        assertEquals(1, count("SELECT count(*) FROM thumbnails WHERE is_primary AND url LIKE '%/1.jpg'"));
+        assertEquals(0, count("SELECT count(*) FROM catalog_import_videos"));
+
+        List<CatalogImport.Reject> rejects = importService.rejects(started.id(), 0, 10);
+        assertEquals(List.of(3L, 5L), rejects.stream().map(CatalogImport.Reject::rowNo).toList());
+        assertEquals("Category not found with name: Horror", rejects.get(1).error());
+        assertEquals(List.of(5L), importService.rejects(started.id(), 3, 10).stream().map(CatalogImport.Reject::rowNo).toList());
+
+        verify(existenceGuard, atLeastOnce()).recordCreated(eq(CachedEntityType.VIDEO), eq(TENANT_ID), anyList());
+        verify(eventPublisher, atLeastOnce()).publishVideosCreated(anyList());
+        assertTrue(Files.list(Path.of(properties.getSpoolDirectory())).findAny().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should resume an abandoned import after its last committed batch and chunk")
+    void shouldResumeFromLastCommit() throws IOException {
+        UUID id = UUID.randomUUID();
+        Path file = Path.of(properties.getSpoolDirectory(), id + ".csv");
+        Files.writeString(file, """
+            title,tags
+            Staged before the crash,x
+            Also staged,x
+            Merged before the crash,x
+            Four,y
+            Five,y
+            """);
+        // An attempt that merged row 3 and staged rows 1 to 4 before its instance died
+        jdbcTemplate.update("INSERT INTO catalog_imports (id, tenant_id, format, file_path, status, rows_read, rows_staged, "
+            + "merged_through_row, rows_merged, heartbeat_at) VALUES (?, ?, 'CSV', ?, 'LOADING', 4, 4, 3, 3, "
+            + "now() - interval '1 hour')", id, TENANT_ID, file.toString());
+        for (long row = 1; row <= 4; row++) {
+            jdbcTemplate.update("INSERT INTO catalog_import_videos (import_id, row_no, id, title) VALUES (?, ?, ?, ?)",
+                id, row, UUID.randomUUID(), "Staged row " + row);
+        }
+        jdbcTemplate.update("INSERT INTO videos (id, title, tenant_id, status, created_at, updated_at, contains_personal_data, "
+            + "is_anonymized, archived) SELECT id, title, ?, 'PENDING', now(), now(), false, false, false "
+            + "FROM catalog_import_videos WHERE import_id = ? AND row_no <= 3", TENANT_ID, id);
+
+        importService.resumeAbandoned();
+
+        CatalogImport done = importService.find(id).orElseThrow();
+        assertEquals(CatalogImport.Status.COMPLETED, done.status(), done.error());
+        assertEquals(2, done.attempts());
+        assertEquals(5, done.rowsRead());
+        assertEquals(5, done.rowsMerged());
+        // Rows 1 to 4 come from staging, not the file, and rows 1 to 3 are not merged twice
+        assertEquals(List.of("Five", "Staged row 1", "Staged row 2", "Staged row 3", "Staged row 4"),
+            jdbcTemplate.queryForList("SELECT title FROM videos ORDER BY title", String.class));
+        assertEquals(1, count("SELECT count(*) FROM video_tags WHERE tag = 'y'"));
+    }
+
+    @Test
+    @DisplayName("Should fail an import whose file is gone")
+    void shouldFailWithoutFile() {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO catalog_imports (id, tenant_id, format, file_path, status, heartbeat_at) "
+            + "VALUES (?, ?, 'NDJSON', '/nonexistent/catalog.ndjson', 'PENDING', now() - interval '1 hour')", id, TENANT_ID);
+
+        importService.resumeAbandoned();
+
+        CatalogImport failed = importService.find(id).orElseThrow();
+        assertEquals(CatalogImport.Status.FAILED, failed.status());
+        assertTrue(failed.error().contains("no longer available"), failed.error());
+    }
+
+    private CatalogImport start(CatalogImport.Format format, String content) throws IOException {
+        return importService.start(TENANT_ID, format, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private long count(String sql, Object... args) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, args);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,128 @@
+package com.streamflix.video.infrastructure.catalogimport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for reading and validating the records of catalogue files
+ */
+class CatalogRecordValidatorTest {
+
+    private static final UUID DRAMA = UUID.fromString("0d000000-0000-0000-0000-000000000001");
+
+    @TempDir
+    private Path directory;
+
+    private CatalogRecordValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        validator = new CatalogRecordValidator(new ObjectMapper(), Map.of(DRAMA, "Drama"));
+    }
+
+    @Test
+    @DisplayName("Should normalise NDJSON rows and reject invalid ones with their line")
+    void shouldValidateNdjson() throws IOException {
+        List<CatalogRow> rows = read(CatalogImport.Format.NDJSON, """
+            {"title": "  Metropolis ", "releaseYear": "1927", "language": "DE", "category": "drama", "tags": ["silent", "classic", "silent"]}
+
+            {"title": "Nosferatu", "categoryId": "%s", "thumbnails": [{"url": "https://img.example.com/n.jpg", "width": 640}]}
+            {"title": "", "releaseYear": 1922}
+            {"title": "Faust", "releaseYear": 1800}
+            not json
+            {"title": "Sunrise", "category": "Comedy"}
+            {"title": "M", "thumbnails": [{"url": "ftp://img.example.com/m.jpg"}]}
+            """.formatted(DRAMA));
+
+        CatalogRow metropolis = rows.get(0);
+        assertFalse(metropolis.isRejected());
+        assertEquals(1, metropolis.rowNo());
+        assertEquals("Metropolis", metropolis.title());
+        assertEquals(1927, metropolis.releaseYear());
+        assertEquals("de", metropolis.language());
+        assertEquals(DRAMA, metropolis.categoryId());
+        assertEquals(List.of("silent", "classic"), metropolis.tags());
+        assertEquals(7, metropolis.id().version());
+
+        CatalogRow nosferatu = rows.get(1);
+        assertEquals(3, nosferatu.rowNo());
+        assertEquals(DRAMA, nosferatu.categoryId());
+        assertEquals(1, nosferatu.thumbnails().size());
+        assertEquals(640, nosferatu.thumbnails().get(0).width());
+
+        assertEquals("Video title cannot be empty", rows.get(2).error());
+        assertEquals("Release year must be between 1900 and 2100", rows.get(3).error());
+        assertTrue(rows.get(4).error().startsWith("Malformed JSON"), rows.get(4).error());
+        assertEquals(7, rows.get(4).rowNo());
+        assertEquals("Category not found with name: Comedy", rows.get(5).error());
+        assertTrue(rows.get(6).error().contains("must be an http or https URL"), rows.get(6).error());
+    }
+
+    @Test
+    @DisplayName("Should read CSV records with separated tags and a single thumbnail")
+    void shouldValidateCsv() throws IOException {
+        List<CatalogRow> rows = read(CatalogImport.Format.CSV, """
+            title,description,category,tags,releaseYear,language,thumbnailUrl,thumbnailWidth,thumbnailHeight
+            "The Kid","A tramp, a child
+            and a city",drama,comedy| silent ||,1921,en,http://img.example.com/k.jpg,320,240
+            City Lights,,,,,,,,
+            Modern Times,,,,nineteen,,,,
+            """);
+
+        assertEquals(3, rows.size());
+        CatalogRow kid = rows.get(0);
+        assertEquals(1, kid.rowNo());
+        assertEquals("A tramp, a child\nand a city", kid.description());
+        assertEquals(DRAMA, kid.categoryId());
+        assertEquals(List.of("comedy", "silent"), kid.tags());
+        assertEquals(new CatalogRow.Thumbnail(kid.thumbnails().get(0).id(), "http://img.example.com/k.jpg", 320, 240),
+            kid.thumbnails().get(0));
+
+        CatalogRow cityLights = rows.get(1);
+        assertFalse(cityLights.isRejected());
+        assertNull(cityLights.description());
+        assertNull(cityLights.categoryId());
+        assertTrue(cityLights.tags().isEmpty());
+        assertTrue(cityLights.thumbnails().isEmpty());
+
+        assertEquals(3, rows.get(2).rowNo());
+        assertEquals("releaseYear must be a whole number: nineteen", rows.get(2).error());
+    }
+
+    @Test
+    @DisplayName("Should give every valid row its own time-ordered identifier")
+    void shouldAssignIncreasingIds() throws IOException {
+        List<CatalogRow> rows = read(CatalogImport.Format.NDJSON, """
+            {"title": "One"}
+            {"title": "Two"}
+            """);
+
+        assertTrue(rows.get(1).id().toString().compareTo(rows.get(0).id().toString()) > 0);
+    }
+
+    private List<CatalogRow> read(CatalogImport.Format format, String content) throws IOException {
+        Path file = directory.resolve("catalog." + format.name().toLowerCase());
+        Files.writeString(file, content);
+        List<CatalogFileReader.RawRecord> records = new ArrayList<>();
+        try (CatalogFileReader reader = CatalogFileReader.open(file, format)) {
+            CatalogFileReader.RawRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return validator.validate(records);
+    }
+}
@@ -0,0 +1,162 @@
+package com.streamflix.video.infrastructure.partitioning;
+
+import com.streamflix.video.infrastructure.partitioning.ActivityLogPartitionManager.Range;
+import com.streamflix.video.infrastructure.partitioning.PartitioningProperties.ActivityLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityLogPartitionManagerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 18, 10, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private PartitioningProperties properties;
+    private ActivityLogPartitionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PartitioningProperties();
+        properties.getActivityLog().setPremake(3);
+        manager = new ActivityLogPartitionManager(jdbcTemplate, properties, 365,
+            Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Should create the partitions after the one holding the original table")
+    void shouldCreatePartitionsAhead() {
+        givenPartitions(new Range("user_activity_logs_legacy", null, LocalDateTime.of(2026, 11, 1, 0, 0)));
+
+        manager.createAhead(NOW);
+
+        assertEquals(List.of(
+            "CREATE TABLE IF NOT EXISTS user_activity_logs_p202611 PARTITION OF user_activity_logs FOR VALUES FROM ('2026-11-01T00:00') TO ('2026-12-01T00:00')",
+            "CREATE TABLE IF NOT EXISTS user_activity_logs_p202612 PARTITION OF user_activity_logs FOR VALUES FROM ('2026-12-01T00:00') TO ('2027-01-01T00:00')",
+            "CREATE TABLE IF NOT EXISTS user_activity_logs_p202701 PARTITION OF user_activity_logs FOR VALUES FROM ('2027-01-01T00:00') TO ('2027-02-01T00:00')"),
+            executed());
+    }
+
+    @Test
+    @DisplayName("Should cover only the part of a period no partition covers yet")
+    void shouldFillPartlyCoveredPeriod() {
+        properties.getActivityLog().setGranularity(ActivityLog.Granularity.DAILY);
+        properties.getActivityLog().setPremake(1);
+        givenPartitions(
+            new Range("user_activity_logs_legacy", null, LocalDateTime.of(2026, 10, 18, 6, 0)),
+            new Range("user_activity_logs_p20261019", LocalDateTime.of(2026, 10, 19, 0, 0), LocalDateTime.of(2026, 10, 20, 0, 0)));
+
+        manager.createAhead(NOW);
+
+        assertEquals(List.of(
+            "CREATE TABLE IF NOT EXISTS user_activity_logs_p20261018 PARTITION OF user_activity_logs FOR VALUES FROM ('2026-10-18T06:00') TO ('2026-10-19T00:00')"),
+            executed());
+    }
+
+    @Test
+    @DisplayName("Should drop partitions only once the longest tenant retention has passed")
+    void shouldDropExpiredPartitions() {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT max(active_data_retention_days)"), eq(Integer.class))).thenReturn(400);
+        givenPartitions(
+            new Range("user_activity_logs_legacy", null, LocalDateTime.of(2025, 9, 1, 0, 0)),
+            new Range("user_activity_logs_p202509", LocalDateTime.of(2025, 9, 1, 0, 0), LocalDateTime.of(2025, 10, 1, 0, 0)));
+
+        manager.retireExpired(NOW);
+
+        assertEquals(List.of("DROP TABLE user_activity_logs_legacy"), executed());
+    }
+
+    @Test
+    @DisplayName("Should detach expired partitions when configured to keep them")
+    void shouldDetachExpiredPartitions() {
+        properties.getActivityLog().setRetentionAction(ActivityLog.RetentionAction.DETACH);
+        givenPartitions(new Range("user_activity_logs_p202509", LocalDateTime.of(2025, 9, 1, 0, 0), LocalDateTime.of(2025, 10, 1, 0, 0)));
+
+        manager.retireExpired(NOW);
+
+        assertEquals(List.of("ALTER TABLE user_activity_logs DETACH PARTITION user_activity_logs_p202509 CONCURRENTLY"), executed());
+    }
+
+    @Test
+    @DisplayName("Should purge in batches the logs of tenants whose shorter retention has passed")
+    @SuppressWarnings("unchecked")
+    void shouldPurgeShorterRetentions() {
+        properties.getActivityLog().setPurgeBatchSize(2);
+        UUID shortLived = UUID.randomUUID();
+        when(jdbcTemplate.queryForObject(startsWith("SELECT max(active_data_retention_days)"), eq(Integer.class))).thenReturn(400);
+        when(jdbcTemplate.query(startsWith("SELECT t.id"), any(RowMapper.class), eq(365), eq(365), eq(400)))
+            .thenReturn(List.of(new ActivityLogPartitionManager.TenantRetention(shortLived, 30)));
+        when(jdbcTemplate.update(startsWith("DELETE FROM user_activity_logs"), eq(shortLived), eq(NOW.minusDays(30)), eq(2)))
+            .thenReturn(2, 2, 1);
+
+        manager.purgeShorterRetentions(NOW);
+
+        verify(jdbcTemplate, times(3)).update(startsWith("DELETE FROM user_activity_logs"), eq(shortLived), eq(NOW.minusDays(30)), eq(2));
+    }
+
+    @Test
+    @DisplayName("Should report DOWN once the partitions end before the next period does")
+    void shouldReportMissingPartitions() {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT count(*) FROM pg_partitioned_table"), eq(Integer.class), any()))
+            .thenReturn(1);
+        givenPartitions(
+            new Range("user_activity_logs_legacy", null, LocalDateTime.of(2026, 11, 1, 0, 0)),
+            new Range("user_activity_logs_p202611", LocalDateTime.of(2026, 11, 1, 0, 0), LocalDateTime.of(2026, 12, 1, 0, 0)));
+        assertEquals(Status.UP, manager.health().getStatus());
+
+        givenPartitions(new Range("user_activity_logs_legacy", null, LocalDateTime.of(2026, 11, 1, 0, 0)));
+        assertEquals(Status.DOWN, manager.health().getStatus());
+        assertEquals("2026-11-01T00:00", manager.health().getDetails().get("coveredUntil"));
+    }
+
+    @Test
+    @DisplayName("Should leave an unpartitioned table alone")
+    void shouldSkipUnpartitionedTable() {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT count(*) FROM pg_partitioned_table"), eq(Integer.class), any()))
+            .thenReturn(0);
+
+        manager.maintain();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("Should read partition bounds as PostgreSQL renders them")
+    void shouldParseBounds() {
+        assertEquals(new Range("p", null, LocalDateTime.of(2026, 11, 1, 0, 0)),
+            ActivityLogPartitionManager.range("p", "FOR VALUES FROM (MINVALUE) TO ('2026-11-01 00:00:00')"));
+        assertEquals(new Range("p", LocalDateTime.of(2026, 10, 18, 6, 0, 0, 500_000_000), null),
+            ActivityLogPartitionManager.range("p", "FOR VALUES FROM ('2026-10-18 06:00:00.5') TO (MAXVALUE)"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenPartitions(Range... ranges) {
+        when(jdbcTemplate.query(startsWith("SELECT c.relname"), any(RowMapper.class), eq("user_activity_logs")))
+            .thenReturn(List.of(ranges));
+    }
+
+    private List<String> executed() {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeastOnce()).execute(sql.capture());
+        return sql.getAllValues();
+    }
+}
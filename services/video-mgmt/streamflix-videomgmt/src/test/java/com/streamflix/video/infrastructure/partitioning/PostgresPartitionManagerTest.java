@@ -1,92 +1,102 @@
 package com.streamflix.video.infrastructure.partitioning;
 
-import com.streamflix.video.domain.model.Tenant;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.JdbcTemplate;
 
-import java.util.UUID;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
-public class PostgresPartitionManagerTest {
+class PostgresPartitionManagerTest {
 
     @Mock
     private JdbcTemplate jdbcTemplate;
-    
+
+    private PartitioningProperties properties;
     private PostgresPartitionManager partitionManager;
-    private Tenant testTenant;
-    
+
     @BeforeEach
-    void setup() {
-        partitionManager = new PostgresPartitionManager(jdbcTemplate);
-        
-        // Create test tenant
-        testTenant = new Tenant("Test Tenant", "test-tenant", Tenant.SubscriptionLevel.STANDARD);
-        UUID tenantId = UUID.randomUUID();
-        try {
-            var field = testTenant.getClass().getDeclaredField("id");
-            field.setAccessible(true);
-            field.set(testTenant, tenantId);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to set tenant ID", e);
+    void setUp() {
+        properties = new PartitioningProperties();
+        properties.setPartitionCount(4);
+        partitionManager = new PostgresPartitionManager(jdbcTemplate, properties);
+    }
+
+    @Test
+    @DisplayName("Should create a hash partitioned twin of each table with one partition per remainder")
+    void shouldCreateHashPartitionedTwins() {
+        partitionManager.ensureLayout();
+
+        List<String> statements = executed();
+        assertTrue(statements.contains("CREATE TABLE IF NOT EXISTS videos_partitioned (LIKE videos INCLUDING DEFAULTS, "
+            + "PRIMARY KEY (tenant_id, id)) PARTITION BY HASH (tenant_id)"));
+        for (String table : PostgresPartitionManager.TABLES) {
+            for (int remainder = 0; remainder < 4; remainder++) {
+                assertTrue(statements.contains(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s_p0%d PARTITION OF %s_partitioned FOR VALUES WITH (MODULUS 4, REMAINDER %d)",
+                    table, remainder, table, remainder)), table + " remainder " + remainder);
+            }
         }
+        assertTrue(statements.stream().noneMatch(sql -> sql.contains("DEFAULT")));
+        assertTrue(statements.contains("CREATE INDEX IF NOT EXISTS idx_thumbnails_part_video_id ON thumbnails_partitioned (video_id)"));
     }
-    
+
     @Test
-    void testCreatePartitionForTenant() {
-        // Arrange
-        when(jdbcTemplate.update(anyString(), any())).thenReturn(1);
-        
-        // Act
-        boolean result = partitionManager.createPartitionForTenant(testTenant, "videos");
-        
-        // Assert
-        assertTrue(result);
-        verify(jdbcTemplate, atLeastOnce()).update(contains("CREATE TABLE IF NOT EXISTS"), any());
+    @DisplayName("Should refuse to reuse partitioned tables built with another partition count")
+    void shouldRejectChangedPartitionCount() {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT count(*) FROM pg_inherits"), eq(Integer.class), any()))
+            .thenReturn(8);
+
+        assertThrows(IllegalStateException.class, () -> partitionManager.ensureLayout());
+        verify(jdbcTemplate, never()).execute(contains("PARTITION OF"));
     }
-    
+
     @Test
-    void testPartitionExists() {
-        // Arrange
-        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any()))
+    @DisplayName("Should only add missing indexes once the partitioned tables are swapped in")
+    void shouldLeaveSwappedTablesInPlace() {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT count(*) FROM pg_partitioned_table"), eq(Integer.class), any()))
             .thenReturn(1);
-        
-        // Act
-        boolean result = partitionManager.partitionExists(testTenant, "videos");
-        
-        // Assert
-        assertTrue(result);
-        verify(jdbcTemplate).queryForObject(anyString(), eq(Integer.class), any());
+        when(jdbcTemplate.queryForObject(startsWith("SELECT count(*) FROM pg_inherits"), eq(Integer.class), any()))
+            .thenReturn(4);
+
+        partitionManager.ensureLayout();
+
+        List<String> statements = executed();
+        assertTrue(statements.stream().allMatch(sql -> sql.startsWith("CREATE INDEX IF NOT EXISTS")
+            || sql.startsWith("CREATE UNIQUE INDEX IF NOT EXISTS")));
+        assertTrue(statements.contains("CREATE INDEX IF NOT EXISTS idx_videos_part_id ON videos (id)"));
+        assertEquals("videos", partitionManager.partitionedTable("videos"));
     }
-    
+
     @Test
-    void testPartitionDoesNotExist() {
-        // Arrange
-        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any()))
-            .thenReturn(0);
-        
-        // Act
-        boolean result = partitionManager.partitionExists(testTenant, "videos");
-        
-        // Assert
-        assertFalse(result);
-        verify(jdbcTemplate).queryForObject(anyString(), eq(Integer.class), any());
+    @DisplayName("Should name partitions with a fixed width remainder")
+    void shouldNamePartitions() {
+        assertEquals("videos_p03", partitionManager.partitionName("videos", 3));
+
+        properties.setPartitionCount(128);
+        assertEquals("videos_p007", new PostgresPartitionManager(jdbcTemplate, properties).partitionName("videos", 7));
     }
-    
+
     @Test
-    void testGetTenantPartitionName() {
-        // Act
-        String partitionName = partitionManager.getTenantPartitionName(testTenant, "videos");
-        
-        // Assert
-        assertTrue(partitionName.contains("videos"));
-        assertTrue(partitionName.contains(testTenant.getId().toString().replace("-", "")));
+    @DisplayName("Should reject a partition count below one")
+    void shouldRejectNonPositivePartitionCount() {
+        properties.setPartitionCount(0);
+
+        assertThrows(IllegalArgumentException.class, () -> new PostgresPartitionManager(jdbcTemplate, properties));
+    }
+
+    private List<String> executed() {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeastOnce()).execute(sql.capture());
+        return sql.getAllValues();
     }
 }
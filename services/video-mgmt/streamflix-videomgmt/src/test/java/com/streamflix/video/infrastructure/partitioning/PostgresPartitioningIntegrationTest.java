@@ -1,156 +1,506 @@
 package com.streamflix.video.infrastructure.partitioning;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streamflix.video.domain.Category;
 import com.streamflix.video.domain.Video;
-import com.streamflix.video.domain.VideoRepository;
-import com.streamflix.video.domain.model.Tenant;
-import com.streamflix.video.domain.model.TenantSubscriptionLevel;
+import com.streamflix.video.domain.VideoCursor;
+import com.streamflix.video.domain.VideoStatus;
 import com.streamflix.video.infrastructure.multitenancy.TenantContextHolder;
+import com.streamflix.video.infrastructure.persistence.JpaCategoryRepository;
+import com.streamflix.video.infrastructure.persistence.JpaVideoRepository;
+import com.streamflix.video.infrastructure.persistence.VideoBatchInsert;
+import com.streamflix.video.infrastructure.persistence.VideoCountEstimator;
+import com.streamflix.video.infrastructure.persistence.VideoCounters;
+import com.streamflix.video.infrastructure.persistence.VideoRelevanceSearch;
+import com.streamflix.video.infrastructure.persistence.VideoRepositoryAdapter;
+import com.streamflix.video.infrastructure.persistence.VideoSummaryQuery;
+import com.streamflix.video.presentation.dto.VideoFilterParams;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
 import org.springframework.test.context.ActiveProfiles;
-import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
 
 import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+/**
+ * Migrates a catalogue of three tenants into the hash partitioned tables with
+ * {@link PartitionMigrationJob} while it is being written to, then checks that every query the
+ * repository issues for a tenant is planned against at most one partition of each table, by running
+ * {@code EXPLAIN} on the statements it actually sent. Needs Docker.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate.SQL=WARN"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({VideoRepositoryAdapter.class, VideoSummaryQuery.class, VideoBatchInsert.class, VideoRelevanceSearch.class,
+    VideoCounters.class, PostgresPartitioningIntegrationTest.StatementRecording.class})
 @ActiveProfiles("test")
-@Sql(scripts = {"/db/testdata/create_partitions.sql"})
-public class PostgresPartitioningIntegrationTest {
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PostgresPartitioningIntegrationTest {
+
+    private static final UUID TENANT_A = UUID.fromString("0a000000-0000-0000-0000-000000000001");
+    private static final UUID TENANT_B = UUID.fromString("0b000000-0000-0000-0000-000000000002");
+    private static final UUID TENANT_C = UUID.fromString("0c000000-0000-0000-0000-000000000003");
+    private static final int PARTITIONS = 4;
+    private static final int VIDEOS_PER_TENANT = 40;
+
+    /** A partition of one of the partitioned tables, as named in a plan. */
+    private static final Pattern PARTITION = Pattern.compile("(categories|videos|thumbnails)_p\\d+");
+
+    /**
+     * Hibernate loading a video's category or thumbnails by key. These cannot name the tenant, so
+     * they probe the key's index in every partition instead; see {@link PostgresPartitionManager}.
+     */
+    private static final Pattern ASSOCIATION_LOAD = Pattern.compile(
+        "select [^;]* from (categories|thumbnails) (\\w+) where \\2\\.(id|video_id) ?(=|in ?\\()");
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static boolean migrated;
+    private static UUID renamedId;
+    private static UUID deletedId;
+    private static UUID addedId;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
 
     @Autowired
-    private VideoRepository videoRepository;
-    
+    private JdbcTemplate jdbcTemplate;
+
     @Autowired
     private DataSource dataSource;
-    
+
     @Autowired
-    private PostgresPartitionManager partitionManager;
-    
+    private PlatformTransactionManager transactionManager;
+
     @Autowired
-    private TenantPartitionRoutingService routingService;
-    
-    private JdbcTemplate jdbcTemplate;
-    private UUID tenant1Id;
-    private UUID tenant2Id;
-    
+    private VideoRepositoryAdapter videoRepository;
+
+    @Autowired
+    private JpaVideoRepository jpaVideoRepository;
+
+    @Autowired
+    private JpaCategoryRepository categoryRepository;
+
+    @MockBean
+    private VideoCountEstimator countEstimator;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private TransactionTemplate transaction;
+
     @BeforeEach
-    void setup() {
-        jdbcTemplate = new JdbcTemplate(dataSource);
-        tenant1Id = UUID.randomUUID();
-        tenant2Id = UUID.randomUUID();
-        
-        // Create test tenants
-        createTestTenant(tenant1Id, "test-tenant-1", TenantSubscriptionLevel.STANDARD);
-        createTestTenant(tenant2Id, "test-tenant-2", TenantSubscriptionLevel.PREMIUM);
-        
-        // Create partitions for test tenants
-        partitionManager.createPartitionForTenant(tenant1Id);
-        partitionManager.createPartitionForTenant(tenant2Id);
+    void migrate() throws IOException {
+        transaction = new TransactionTemplate(transactionManager);
+        if (migrated) {
+            return;
+        }
+        runScript("db/migration/V7__add_video_full_text_search.sql");
+        runScript("db/migration/V8__add_video_title_trigram_index.sql");
+        runScript("db/migration/V10__add_video_counters.sql");
+        // As V4 gives it, for the tenant-qualified foreign key the swap re-creates
+        jdbcTemplate.execute("ALTER TABLE video_tags ADD COLUMN tenant_id UUID");
+        loadCatalogue();
+
+        PartitioningProperties properties = new PartitioningProperties();
+        properties.setPartitionCount(PARTITIONS);
+        properties.getMigration().setChunkSize(25);
+        PostgresPartitionManager partitionManager = new PostgresPartitionManager(jdbcTemplate, properties);
+        partitionManager.initializePartitioning();
+        PartitionMigrationJob job = new PartitionMigrationJob(partitionManager, jdbcTemplate, transactionManager, properties);
+        job.prepare();
+
+        assertTrue(job.copyNextChunk());
+        writeWhileCopying();
+        while (job.copyNextChunk()) {
+            assertFalse(job.cutover());
+        }
+        assertTrue(job.cutover());
+        migrated = true;
     }
-    
+
     @AfterEach
-    void cleanup() {
+    void clearTenant() {
         TenantContextHolder.clear();
-        
-        // Clean up test data
-        jdbcTemplate.update("DELETE FROM videos WHERE tenant_id IN (?, ?)", tenant1Id.toString(), tenant2Id.toString());
-        
-        // Drop test partitions
-        try {
-            jdbcTemplate.update("DROP TABLE IF EXISTS videos_tenant_" + tenant1Id.toString().replace("-", "_"));
-            jdbcTemplate.update("DROP TABLE IF EXISTS videos_tenant_" + tenant2Id.toString().replace("-", "_"));
-        } catch (Exception e) {
-            // Ignore cleanup errors
-        }
     }
-    
+
     @Test
-    @Transactional
-    void testDataPartitioning() {
-        // Set tenant context for tenant 1
-        TenantContextHolder.setTenantId(tenant1Id);
-        
-        // Create videos for tenant 1
-        Video video1 = new Video("Tenant 1 Video 1", "Test video for tenant 1", tenant1Id);
-        Video video2 = new Video("Tenant 1 Video 2", "Another test video for tenant 1", tenant1Id);
-        videoRepository.save(video1);
-        videoRepository.save(video2);
-        
-        // Set tenant context for tenant 2
-        TenantContextHolder.setTenantId(tenant2Id);
-        
-        // Create videos for tenant 2
-        Video video3 = new Video("Tenant 2 Video 1", "Test video for tenant 2", tenant2Id);
-        videoRepository.save(video3);
-        
-        // Verify that data is stored in the correct partitions
-        List<Map<String, Object>> tenant1Rows = jdbcTemplate.queryForList(
-            "SELECT * FROM videos_tenant_" + tenant1Id.toString().replace("-", "_")
-        );
-        
-        List<Map<String, Object>> tenant2Rows = jdbcTemplate.queryForList(
-            "SELECT * FROM videos_tenant_" + tenant2Id.toString().replace("-", "_")
-        );
-        
-        // Verify partition counts
-        assertEquals(2, tenant1Rows.size(), "Tenant 1 should have 2 videos in its partition");
-        assertEquals(1, tenant2Rows.size(), "Tenant 2 should have 1 video in its partition");
-        
-        // Verify routing works
-        TenantContextHolder.setTenantId(tenant1Id);
-        List<Video> tenant1Videos = videoRepository.findAll(0, 10);
-        assertEquals(2, tenant1Videos.size(), "Should find 2 videos for tenant 1");
-        
-        TenantContextHolder.setTenantId(tenant2Id);
-        List<Video> tenant2Videos = videoRepository.findAll(0, 10);
-        assertEquals(1, tenant2Videos.size(), "Should find 1 video for tenant 2");
+    @DisplayName("Should swap in partitioned tables holding every row, including those written while copying")
+    void shouldMigrateOnline() {
+        for (String table : PostgresPartitionManager.TABLES) {
+            assertEquals(1, count("SELECT count(*) FROM pg_partitioned_table WHERE partrelid = to_regclass(?)", table), table);
+            assertEquals(1, count("SELECT count(*) FROM pg_class WHERE relname = ?", table + "_unpartitioned"), table);
+        }
+        assertEquals(0, count("SELECT count(*) FROM pg_trigger WHERE tgname LIKE 'trg\\_%\\_partition\\_sync'"));
+        assertEquals(1, count("SELECT count(*) FROM pg_constraint WHERE conname = 'fk_video_tags_tenant_video' "
+            + "AND conrelid = 'video_tags'::regclass AND confrelid = 'videos'::regclass AND confdeltype = 'c'"));
+
+        assertEquals("Renamed while copying", jdbcTemplate.queryForObject("SELECT title FROM videos WHERE id = ?", String.class, renamedId));
+        assertEquals(0, count("SELECT count(*) FROM videos WHERE id = ?", deletedId));
+        assertEquals(0, count("SELECT count(*) FROM thumbnails WHERE video_id = ?", deletedId));
+        assertEquals(1, count("SELECT count(*) FROM videos WHERE id = ?", addedId));
+        assertEquals(2, count("SELECT count(*) FROM categories WHERE tenant_id = ?", TENANT_B));
+
+        List<Integer> partitionsPerTenant = jdbcTemplate.queryForList(
+            "SELECT count(DISTINCT tableoid)::int FROM videos GROUP BY tenant_id", Integer.class);
+        assertEquals(List.of(1, 1, 1), partitionsPerTenant);
     }
-    
+
     @Test
-    @Transactional
-    void testPartitionManagement() {
-        // Test creating a partition
-        UUID newTenantId = UUID.randomUUID();
-        
-        // Create test tenant
-        createTestTenant(newTenantId, "new-test-tenant", TenantSubscriptionLevel.BASIC);
-        
-        // Create partition
-        boolean created = partitionManager.createPartitionForTenant(newTenantId);
-        assertTrue(created, "Should successfully create partition");
-        
-        // Verify partition exists
-        String partitionTableName = "videos_tenant_" + newTenantId.toString().replace("-", "_");
-        List<Map<String, Object>> tables = jdbcTemplate.queryForList(
-            "SELECT * FROM pg_tables WHERE tablename = ?",
-            partitionTableName.toLowerCase()
-        );
-        
-        assertFalse(tables.isEmpty(), "Partition table should exist");
-        
-        // Test routing through the new partition
-        TenantContextHolder.setTenantId(newTenantId);
-        Video video = new Video("New Tenant Video", "Test video for new tenant", newTenantId);
-        videoRepository.save(video);
-        
-        List<Video> videos = videoRepository.findAll(0, 10);
-        assertEquals(1, videos.size(), "Should find 1 video in the new partition");
+    @DisplayName("Should keep counting videos on the partitioned tables, with writes from before and after the cutover")
+    void shouldKeepCountersAcrossCutover() {
+        UUID removedId = transaction.execute(status -> jpaVideoRepository.save(new Video("Removed after cutover", null, TENANT_B)).getId());
+        jdbcTemplate.update("INSERT INTO video_tags (video_id, tag, tenant_id) VALUES (?, 'common', ?)", removedId, TENANT_B);
+        transaction.executeWithoutResult(status -> {
+            // Its tag goes with it, by the cascade of the re-created foreign key
+            jdbcTemplate.update("DELETE FROM videos WHERE id = ?", removedId);
+            jdbcTemplate.update("INSERT INTO video_tags (video_id, tag, tenant_id) VALUES (?, 'renamed', ?)", renamedId, TENANT_A);
+        });
+        assertEquals(0, count("SELECT count(*) FROM video_tags WHERE video_id = ?", removedId));
+
+        for (UUID tenant : List.of(TENANT_A, TENANT_B, TENANT_C)) {
+            assertEquals(count("SELECT count(*) FROM videos WHERE tenant_id = ?", tenant),
+                count("SELECT sum(count) FROM video_counters WHERE tenant_id = ? AND dimension = 'all'", tenant), tenant.toString());
+            assertEquals(count("SELECT count(*) FROM video_tags t JOIN videos v ON v.id = t.video_id WHERE v.tenant_id = ? AND t.tag = 'common'", tenant),
+                count("SELECT sum(count) FROM video_counters WHERE tenant_id = ? AND dimension = 'tag' AND value = 'common'", tenant), tenant.toString());
+        }
+        assertEquals(1, count("SELECT sum(count) FROM video_counters WHERE tenant_id = ? AND dimension = 'tag' AND value = 'renamed'", TENANT_A));
+    }
+
+    @TestFactory
+    @DisplayName("Should plan each repository query of a tenant against one partition per table")
+    Stream<DynamicTest> shouldPruneToOnePartition() {
+        List<UUID> ids = jdbcTemplate.queryForList(
+            "SELECT id FROM videos WHERE tenant_id = ? AND id <> ? ORDER BY id", UUID.class, TENANT_A, renamedId);
+        UUID categoryId = jdbcTemplate.queryForObject(
+            "SELECT id FROM categories WHERE tenant_id = ? ORDER BY name LIMIT 1", UUID.class, TENANT_A);
+        UUID thumbnailId = jdbcTemplate.queryForObject(
+            "SELECT id FROM thumbnails WHERE video_id = ? LIMIT 1", UUID.class, ids.get(1));
+        Category category = transaction.execute(status -> categoryRepository.findById(categoryId).orElseThrow());
+        List<UUID> batch = ids.subList(10, 15);
+
+        VideoFilterParams filter = new VideoFilterParams();
+        filter.setCategoryId(categoryId);
+        filter.setTags(List.of("common"));
+        filter.setMinYear(1970);
+        VideoFilterParams search = new VideoFilterParams();
+        search.setSearch("video");
+        VideoFilterParams fuzzy = new VideoFilterParams();
+        fuzzy.setTitle("vidoe");
+        fuzzy.setFuzzyTitle(true);
+
+        Map<String, Runnable> calls = new LinkedHashMap<>();
+        calls.put("findById", () -> videoRepository.findById(ids.get(2)));
+        calls.put("findAll", () -> videoRepository.findAll(1, 10));
+        calls.put("findByCategory", () -> videoRepository.findByCategory(categoryId, 0, 10));
+        calls.put("findByTag", () -> videoRepository.findByTag("tag-1", 0, 10));
+        calls.put("findByFilterParams", () -> videoRepository.findByFilterParams(filter, 0, 10));
+        calls.put("findByFilterParams with search", () -> videoRepository.findByFilterParams(search, 0, 10));
+        calls.put("findByFilterParams with fuzzy title", () -> videoRepository.findByFilterParams(fuzzy, 0, 10));
+        calls.put("findSliceByFilterParams", () -> videoRepository.findSliceByFilterParams(filter, 1, 10));
+        calls.put("findSummaries", () -> videoRepository.findSummaries(0, 10));
+        calls.put("findSummariesByCategory", () -> videoRepository.findSummariesByCategory(categoryId, 0, 10));
+        calls.put("findSummariesByTag", () -> videoRepository.findSummariesByTag("common", 0, 10));
+        calls.put("findSummarySliceByFilterParams", () -> videoRepository.findSummarySliceByFilterParams(search, 0, 10));
+        calls.put("findSummariesByIds", () -> videoRepository.findSummariesByIds(ids.subList(3, 8)));
+        calls.put("scrollAll", () -> videoRepository.scrollAll(
+            VideoCursor.after(videoRepository.scrollAll(null, 5).getVideos().get(4),
+                VideoCursor.DEFAULT_SORT_FIELD, VideoCursor.DEFAULT_DIRECTION), 5));
+        calls.put("scrollByCategory", () -> videoRepository.scrollByCategory(categoryId, null, 10));
+        calls.put("scrollByTag", () -> videoRepository.scrollByTag("common", null, 10));
+        calls.put("scrollByFilterParams", () -> videoRepository.scrollByFilterParams(filter, null, 10));
+        calls.put("count", videoRepository::count);
+        calls.put("countByCategory", () -> videoRepository.countByCategory(categoryId));
+        calls.put("countByTag", () -> videoRepository.countByTag("common"));
+        calls.put("countByFilterParams", () -> videoRepository.countByFilterParams(filter));
+        calls.put("findByThumbnailId", () -> videoRepository.findByThumbnailId(thumbnailId));
+        calls.put("batchUpdateStatus", () -> videoRepository.batchUpdateStatus(batch,
+            EnumSet.of(VideoStatus.PENDING), VideoStatus.UPLOADED));
+        calls.put("batchUpdateCategory", () -> videoRepository.batchUpdateCategory(batch, category));
+        calls.put("batchAddTag", () -> videoRepository.batchAddTag(batch, "bulk"));
+        calls.put("batchRemoveTag", () -> videoRepository.batchRemoveTag(batch, "bulk"));
+        calls.put("batchTouch", () -> videoRepository.batchTouch(batch));
+        calls.put("save an update", () -> {
+            Video video = videoRepository.findById(ids.get(4)).orElseThrow();
+            video.setTitle("Updated");
+            videoRepository.save(video);
+        });
+        calls.put("save a new video", () -> videoRepository.save(new Video("Added", null, TENANT_A)));
+        calls.put("insertAll", () -> videoRepository.insertAll(List.of(new Video("Inserted", null, TENANT_A))));
+        calls.put("deleteById", () -> videoRepository.deleteById(ids.get(0)));
+
+        return calls.entrySet().stream().map(call -> DynamicTest.dynamicTest(call.getKey(), () -> assertPruned(call.getValue())));
+    }
+
+    private void assertPruned(Runnable call) throws Exception {
+        RecordingDataSource recorder = (RecordingDataSource) dataSource;
+        TenantContextHolder.setTenantId(TENANT_A);
+        List<Executed> executed = recorder.record(() -> transaction.executeWithoutResult(status -> call.run()));
+        TenantContextHolder.clear();
+
+        JdbcTemplate explain = new JdbcTemplate(recorder.getTargetDataSource());
+        List<Executed> checked = executed.stream()
+            .filter(statement -> !ASSOCIATION_LOAD.matcher(statement.sql().toLowerCase()).lookingAt())
+            .toList();
+        assertFalse(checked.isEmpty(), "No statements recorded");
+        for (Executed statement : checked) {
+            String plan = explain.queryForObject("EXPLAIN (FORMAT JSON) " + statement.inlined(), String.class);
+            Set<String> relations = new TreeSet<>();
+            relations(objectMapper.readTree(plan).get(0).get("Plan"), relations);
+
+            Map<String, Set<String>> partitionsByTable = relations.stream()
+                .map(PARTITION::matcher)
+                .filter(Matcher::matches)
+                .collect(Collectors.groupingBy(partition -> partition.group(1),
+                    Collectors.mapping(partition -> partition.group(0), Collectors.toCollection(TreeSet::new))));
+            partitionsByTable.forEach((table, partitions) ->
+                assertEquals(1, partitions.size(), () -> table + " partitions " + partitions + " in " + statement.sql()));
+        }
+    }
+
+    private static void relations(JsonNode plan, Set<String> relations) {
+        if (plan.has("Relation Name")) {
+            relations.add(plan.get("Relation Name").asText());
+        }
+        plan.path("Plans").forEach(child -> relations(child, relations));
+    }
+
+    private void loadCatalogue() {
+        String tenants = String.format("(VALUES ('%s'::uuid), ('%s'::uuid), ('%s'::uuid)) AS t(id)", TENANT_A, TENANT_B, TENANT_C);
+        jdbcTemplate.update("""
+            INSERT INTO categories (id, name, description, tenant_id)
+            SELECT gen_random_uuid(), 'Category ' || n, 'Films of kind ' || n, t.id
+              FROM %s, generate_series(1, 2) AS n
+            """.formatted(tenants));
+        jdbcTemplate.update("""
+            INSERT INTO videos (id, title, description, tenant_id, category_id, release_year, language, status,
+                                created_at, updated_at, contains_personal_data, is_anonymized, archived)
+            SELECT gen_random_uuid(), 'Video ' || n, 'Synopsis of video ' || n, t.id,
+                   (SELECT c.id FROM categories c WHERE c.tenant_id = t.id ORDER BY c.name LIMIT 1 OFFSET n %% 2),
+                   1970 + n, 'en', 'PENDING', now() - make_interval(secs => n), now() - make_interval(secs => n),
+                   false, false, false
+              FROM %s, generate_series(1, ?) AS n
+            """.formatted(tenants), VIDEOS_PER_TENANT);
+        jdbcTemplate.update("""
+            INSERT INTO video_tags (video_id, tag, tenant_id)
+            SELECT id, 'common', tenant_id FROM videos
+             UNION ALL
+            SELECT id, 'tag-' || abs(hashtext(id::text)) % 5, tenant_id FROM videos
+            """);
+        jdbcTemplate.update("""
+            INSERT INTO thumbnails (id, video_id, url, width, height, is_default, is_primary, tenant_id)
+            SELECT gen_random_uuid(), v.id, 'https://cdn.example.com/' || v.id || '/' || n || '.jpg', 320 * n, 180 * n,
+                   n = 1, n = 1, v.tenant_id
+              FROM videos v, generate_series(1, 2) AS n
+            """);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    /**
+     * An update, a delete and an insert after the first chunk is copied, through the sync triggers.
+     */
+    private void writeWhileCopying() {
+        renamedId = jdbcTemplate.queryForObject(
+            "SELECT id FROM videos WHERE tenant_id = ? ORDER BY id DESC LIMIT 1", UUID.class, TENANT_A);
+        jdbcTemplate.update("UPDATE videos SET title = 'Renamed while copying' WHERE id = ?", renamedId);
+
+        deletedId = jdbcTemplate.queryForObject(
+            "SELECT id FROM videos WHERE tenant_id = ? ORDER BY id LIMIT 1", UUID.class, TENANT_B);
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM thumbnails WHERE video_id = ?", deletedId);
+            jdbcTemplate.update("DELETE FROM video_tags WHERE video_id = ?", deletedId);
+            jdbcTemplate.update("DELETE FROM videos WHERE id = ?", deletedId);
+        });
+
+        addedId = transaction.execute(status -> jpaVideoRepository.save(new Video("Added while copying", null, TENANT_C)).getId());
+    }
+
+    private void runScript(String path) throws IOException {
+        jdbcTemplate.execute(new ClassPathResource(path).getContentAsString(StandardCharsets.UTF_8));
     }
-    
-    private void createTestTenant(UUID id, String identifier, TenantSubscriptionLevel level) {
-        jdbcTemplate.update(
-            "INSERT INTO tenants (id, identifier, name, subscription_level, active) VALUES (?, ?, ?, ?, true)",
-            id.toString(), identifier, "Test " + identifier, level.name()
-        );
+
+    private long count(String sql, Object... args) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, args);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * A prepared statement as executed, with its parameters by index.
+     */
+    record Executed(String sql, Map<Integer, Object> parameters) {
+
+        /**
+         * The statement with its parameters written in as literals, so its plan is the one
+         * PostgreSQL makes for these values.
+         */
+        String inlined() throws SQLException {
+            StringBuilder inlined = new StringBuilder();
+            boolean quoted = false;
+            int index = 0;
+            for (char c : sql.toCharArray()) {
+                if (c == '\'') {
+                    quoted = !quoted;
+                }
+                if (c == '?' && !quoted) {
+                    inlined.append(literal(parameters.get(++index)));
+                } else {
+                    inlined.append(c);
+                }
+            }
+            return inlined.toString();
+        }
+
+        private static String literal(Object value) throws SQLException {
+            if (value instanceof java.sql.Array array) {
+                value = array.getArray();
+            }
+            if (value == null) {
+                return "NULL";
+            }
+            if (value instanceof Object[] values) {
+                List<String> literals = new ArrayList<>();
+                for (Object element : values) {
+                    literals.add(literal(element));
+                }
+                return "ARRAY[" + String.join(", ", literals) + "]";
+            }
+            if (value instanceof Number || value instanceof Boolean) {
+                return value.toString();
+            }
+            String quoted = "'" + value.toString().replace("'", "''") + "'";
+            return value instanceof UUID ? quoted + "::uuid" : quoted;
+        }
+    }
+
+    /**
+     * Records the prepared statements executed on its connections while {@link #record} runs.
+     */
+    static class RecordingDataSource extends DelegatingDataSource {
+
+        private final List<Executed> executed = new CopyOnWriteArrayList<>();
+        private volatile boolean recording;
+
+        RecordingDataSource(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        List<Executed> record(Runnable work) {
+            executed.clear();
+            recording = true;
+            try {
+                work.run();
+            } finally {
+                recording = false;
+            }
+            return List.copyOf(executed);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                        return recording(statement, (String) args[0]);
+                    }
+                    return result;
+                });
+        }
+
+        private PreparedStatement recording(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new HashMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                        parameters.put(index, name.equals("setNull") ? null : args[1]);
+                    } else if (name.equals("clearParameters")) {
+                        parameters.clear();
+                    } else if (recording && (name.startsWith("execute") || name.equals("addBatch")) && args == null) {
+                        executed.add(new Executed(sql, new TreeMap<>(parameters)));
+                    }
+                    return invoke(statement, method, args);
+                });
+        }
+
+        private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class StatementRecording {
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof RecordingDataSource)
+                        ? new RecordingDataSource(dataSource) : bean;
+                }
+            };
+        }
     }
 }
@@ -0,0 +1,168 @@
+package com.streamflix.video.infrastructure.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseConcurrencyLimiterTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private DatabaseConcurrencyProperties properties;
+    private SimpleMeterRegistry registry;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DatabaseConcurrencyProperties();
+        properties.setMaxConcurrentTransactions(2);
+        properties.setAcquireTimeout(Duration.ofSeconds(5));
+        registry = new SimpleMeterRegistry();
+        transactionManager = new DataSourceTransactionManager(
+            new DriverManagerDataSource("jdbc:h2:mem:limiter;DB_CLOSE_DELAY=-1", "sa", "sa"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run no more transactions at once than there are permits")
+    void shouldCapConcurrentTransactions() throws Exception {
+        TransactionTemplate transactions = transactions(limiter());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger highest = new AtomicInteger();
+
+        List<Future<?>> futures = IntStream.range(0, 8)
+            .<Future<?>>mapToObj(i -> executor.submit(() -> transactions.executeWithoutResult(status -> {
+                highest.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(50);
+                running.decrementAndGet();
+            })))
+            .toList();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(2, highest.get());
+        assertEquals(0.0, registry.get("db.transactions.active").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should give the permit back after a rollback")
+    void shouldReleaseOnRollback() {
+        properties.setMaxConcurrentTransactions(1);
+        TransactionTemplate transactions = transactions(limiter());
+
+        assertThrows(IllegalStateException.class, () -> transactions.executeWithoutResult(status -> {
+            throw new IllegalStateException("boom");
+        }));
+        transactions.executeWithoutResult(status -> status.setRollbackOnly());
+
+        assertEquals(0.0, registry.get("db.transactions.active").gauge().value());
+        transactions.executeWithoutResult(status -> { });
+    }
+
+    @Test
+    @DisplayName("Should run a nested REQUIRES_NEW transaction on the permit of the outer one")
+    void shouldNotTakeSecondPermitForNestedTransaction() {
+        properties.setMaxConcurrentTransactions(1);
+        properties.setAcquireTimeout(Duration.ofMillis(100));
+        DatabaseConcurrencyLimiter limiter = limiter();
+        TransactionTemplate outer = transactions(limiter);
+        TransactionTemplate inner = transactions(limiter);
+        inner.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        outer.executeWithoutResult(status -> inner.executeWithoutResult(nested -> { }));
+
+        assertEquals(0.0, registry.get("db.transactions.active").gauge().value());
+        assertEquals(0.0, registry.get("db.transactions.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should fail with DatabaseBusyException when no permit frees up in time")
+    void shouldRejectAfterTimeout() throws Exception {
+        properties.setMaxConcurrentTransactions(1);
+        properties.setAcquireTimeout(Duration.ofMillis(50));
+        TransactionTemplate transactions = transactions(limiter());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> holder = executor.submit(() -> transactions.executeWithoutResult(status -> {
+            started.countDown();
+            await(release);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(DatabaseBusyException.class, () -> transactions.executeWithoutResult(status -> { }));
+        assertEquals(1.0, registry.get("db.transactions.rejected").counter().count());
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        transactions.executeWithoutResult(status -> { });
+    }
+
+    @Test
+    @DisplayName("Should not limit anything when disabled")
+    void shouldPassThroughWhenDisabled() throws Exception {
+        properties.setEnabled(false);
+        properties.setMaxConcurrentTransactions(1);
+        properties.setAcquireTimeout(Duration.ofMillis(50));
+        TransactionTemplate transactions = transactions(limiter());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> holder = executor.submit(() -> transactions.executeWithoutResult(status -> {
+            started.countDown();
+            await(release);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertDoesNotThrow(() -> transactions.executeWithoutResult(status -> { }));
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    private DatabaseConcurrencyLimiter limiter() {
+        return new DatabaseConcurrencyLimiter(properties, registry);
+    }
+
+    private TransactionTemplate transactions(DatabaseConcurrencyLimiter limiter) {
+        transactionManager.setTransactionExecutionListeners(List.of(limiter));
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.streamflix.video.infrastructure.persistence;
+
+import com.streamflix.video.domain.Category;
+import com.streamflix.video.domain.Video;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput of creating videos one transaction and {@code save} per video, as single creates do,
+ * against {@link VideoBatchInsert} with requests of {@value #REQUEST_SIZE} videos, on PostgreSQL
+ * with the full-text search triggers of V7 installed and {@code reWriteBatchedInserts} on.
+ * Run with {@code ./gradlew test -Dbenchmark=true --tests '*VideoBatchInsertBenchmark'}; needs Docker.
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate.SQL=WARN",
+    "app.bulk.jdbc-batch-size=500"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(VideoBatchInsert.class)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VideoBatchInsertBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoBatchInsertBenchmark.class);
+
+    private static final int SINGLE_VIDEOS = Integer.getInteger("benchmark.single", 2_000);
+    private static final int BULK_VIDEOS = Integer.getInteger("benchmark.bulk", 20_000);
+    private static final int REQUEST_SIZE = 1_000;
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl() + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JpaVideoRepository jpaRepository;
+
+    @Autowired
+    private JpaCategoryRepository categoryRepository;
+
+    @Autowired
+    private VideoBatchInsert batchInsert;
+
+    private TransactionTemplate transaction;
+    private Category category;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        transaction = new TransactionTemplate(transactionManager);
+        Integer triggers = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM pg_trigger WHERE tgname = 'trg_videos_search_vector'", Integer.class);
+        if (triggers == null || triggers == 0) {
+            jdbcTemplate.execute(new ClassPathResource("db/migration/V7__add_video_full_text_search.sql")
+                .getContentAsString(StandardCharsets.UTF_8));
+        }
+        jdbcTemplate.execute("TRUNCATE video_tags, thumbnails, videos CASCADE");
+        category = transaction.execute(status -> categoryRepository.findAll().stream().findFirst()
+            .orElseGet(() -> categoryRepository.save(new Category("Drama", "Dramatic films",
+                UUID.fromString("00000000-0000-0000-0000-000000000000")))));
+    }
+
+    @Test
+    @DisplayName("One save per video vs batched inserts")
+    void compare() {
+        long start = System.nanoTime();
+        for (int i = 0; i < SINGLE_VIDEOS; i++) {
+            Video video = newVideo(i);
+            transaction.executeWithoutResult(status -> jpaRepository.save(video));
+        }
+        report("save per video", SINGLE_VIDEOS, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        for (int offset = 0; offset < BULK_VIDEOS; offset += REQUEST_SIZE) {
+            List<Video> request = new ArrayList<>(REQUEST_SIZE);
+            for (int i = offset; i < Math.min(offset + REQUEST_SIZE, BULK_VIDEOS); i++) {
+                request.add(newVideo(SINGLE_VIDEOS + i));
+            }
+            transaction.executeWithoutResult(status -> batchInsert.insert(request));
+        }
+        report("batched, " + REQUEST_SIZE + " per request", BULK_VIDEOS, System.nanoTime() - start);
+
+        assertEquals((long) SINGLE_VIDEOS + BULK_VIDEOS, jdbcTemplate.queryForObject("SELECT count(*) FROM videos", Long.class));
+    }
+
+    private Video newVideo(int i) {
+        Video video = new Video("Video " + i, ("A long synopsis of video " + i + ". ").repeat(20),
+            UUID.fromString("00000000-0000-0000-0000-000000000000"));
+        video.setCategory(category);
+        video.setLanguage("en");
+        video.setReleaseYear(1970 + i % 55);
+        video.setTags(Set.of("tag-" + i % 50, "genre-" + i % 7, "bulk"));
+        return video;
+    }
+
+    private static void report(String path, int videos, long nanos) {
+        long millis = nanos / 1_000_000;
+        logger.info("[{}] {} videos in {} ms, {} videos/s", path, videos, millis,
+            millis > 0 ? videos * 1_000L / millis : videos);
+    }
+}
@@ -0,0 +1,107 @@
+package com.streamflix.video.infrastructure.persistence;
+
+import com.streamflix.video.domain.Video;
+import com.streamflix.video.infrastructure.multitenancy.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bulk inserts of videos and their tags into the schema built by the Flyway migrations, as in
+ * production, rather than one generated from the entities. Needs Docker.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.flyway.enabled=true",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate.SQL=WARN",
+    "app.bulk.jdbc-batch-size=2"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(VideoBatchInsert.class)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VideoBatchInsertIntegrationTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("0d000000-0000-0000-0000-000000000001");
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private VideoBatchInsert batchInsert;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE video_tags, thumbnails, videos, tenants CASCADE");
+        jdbcTemplate.update("INSERT INTO tenants (id, name, identifier, subscription_level, created_at, updated_at, active) "
+            + "VALUES (?, 'Partner', 'partner', 'STANDARD', now(), now(), true)", TENANT_ID);
+    }
+
+    @AfterEach
+    void clearTenant() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    @DisplayName("Should insert videos and their tags, with the tenant on every row, across several batches")
+    void shouldInsertVideosWithTags() {
+        TenantContextHolder.setTenantId(TENANT_ID);
+        Video first = new Video("One", "First");
+        first.addTag("drama");
+        first.addTag("classic");
+        Video second = new Video("Two", "Second");
+        second.addTag("drama");
+        Video third = new Video("Three", "Third");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            batchInsert.insert(List.of(first, second, third)));
+
+        assertEquals(3, count("SELECT count(*) FROM videos WHERE tenant_id = ?", TENANT_ID));
+        assertEquals(3, count("SELECT count(*) FROM video_tags WHERE tenant_id = ?", TENANT_ID));
+        assertEquals(2, count("SELECT count(*) FROM video_tags WHERE video_id = ?", first.getId()));
+        assertEquals(1, count("SELECT count(*) FROM video_tags WHERE video_id = ? AND tag = 'drama'", second.getId()));
+    }
+
+    private long count(String sql, Object... args) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, args);
+        return count != null ? count : 0;
+    }
+}
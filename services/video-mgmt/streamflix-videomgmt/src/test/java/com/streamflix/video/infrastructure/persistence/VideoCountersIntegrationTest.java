@@ -0,0 +1,178 @@
+package com.streamflix.video.infrastructure.persistence;
+
+import com.streamflix.video.domain.Category;
+import com.streamflix.video.domain.Video;
+import com.streamflix.video.domain.VideoStatus;
+import com.streamflix.video.infrastructure.multitenancy.TenantContextHolder;
+import com.streamflix.video.presentation.dto.VideoFilterParams;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writes videos of two tenants through JPA and bulk SQL with the triggers of V10 installed, and
+ * checks the repository's counts, read from the counters, against the videos. Needs Docker.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate.SQL=WARN",
+    "app.video-counters.enabled=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({VideoRepositoryAdapter.class, VideoSummaryQuery.class, VideoBatchInsert.class, VideoRelevanceSearch.class,
+    VideoCounters.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VideoCountersIntegrationTest {
+
+    private static final UUID TENANT_A = UUID.fromString("0a000000-0000-0000-0000-000000000001");
+    private static final UUID TENANT_B = UUID.fromString("0b000000-0000-0000-0000-000000000002");
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private VideoRepositoryAdapter videoRepository;
+
+    @Autowired
+    private JpaVideoRepository jpaVideoRepository;
+
+    @Autowired
+    private JpaCategoryRepository categoryRepository;
+
+    @Autowired
+    private VideoCounters counters;
+
+    @MockBean
+    private VideoCountEstimator countEstimator;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        transaction = new TransactionTemplate(transactionManager);
+        jdbcTemplate.execute("TRUNCATE video_tags, thumbnails, videos, categories CASCADE");
+        jdbcTemplate.execute(new ClassPathResource("db/migration/V10__add_video_counters.sql").getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void clearTenant() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    @DisplayName("Should count videos as they are created, changed and deleted, by JPA and by bulk SQL")
+    void shouldCountEveryWrite() {
+        Category drama = transaction.execute(status -> categoryRepository.save(new Category("Drama", null, TENANT_A)));
+        UUID first = save(TENANT_A, drama, "en", "common", "classic");
+        UUID second = save(TENANT_A, drama, "fr", "common");
+        UUID third = save(TENANT_A, null, "en");
+        save(TENANT_B, null, "en", "common");
+
+        transaction.executeWithoutResult(status -> {
+            Video video = jpaVideoRepository.findById(second).orElseThrow();
+            video.setStatus(VideoStatus.UPLOADED);
+            video.removeTag("common");
+            video.addTag("new");
+        });
+        jpaVideoRepository.batchAddTagByTenantId(TENANT_A, List.of(first, third), "common");
+        jpaVideoRepository.batchUpdateStatusByTenantId(TENANT_A, List.of(third), Set.of(VideoStatus.PENDING), VideoStatus.DELETED);
+
+        TenantContextHolder.setTenantId(TENANT_A);
+        transaction.executeWithoutResult(status -> videoRepository.deleteById(first));
+
+        assertEquals(2, videoRepository.count());
+        assertEquals(1, videoRepository.countByCategory(drama.getId()));
+        assertEquals(1, videoRepository.countByTag("common"));
+        assertEquals(1, videoRepository.countByTag("new"));
+        assertEquals(0, videoRepository.countByTag("classic"));
+        assertEquals(1, videoRepository.countByStatus(VideoStatus.UPLOADED));
+        assertEquals(1, videoRepository.countByStatus(VideoStatus.DELETED));
+        assertEquals(1, videoRepository.countByLanguage("fr"));
+        assertEquals(1, videoRepository.countByFilterParams(new VideoFilterParams()));
+        assertEquals(0, counters.reconcile(TENANT_A));
+        assertEquals(0, counters.reconcile(TENANT_B));
+
+        TenantContextHolder.clear();
+        assertEquals(3, videoRepository.count());
+        assertEquals(2, videoRepository.countByTag("common"));
+    }
+
+    @Test
+    @DisplayName("Should repair counters that writes bypassing the triggers left off")
+    void shouldReconcileDrift() {
+        save(TENANT_A, null, "en", "common");
+        save(TENANT_A, null, "en", "common");
+        jdbcTemplate.execute("ALTER TABLE videos DISABLE TRIGGER trg_videos_count_insert");
+        try {
+            save(TENANT_A, null, "de");
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE videos ENABLE TRIGGER trg_videos_count_insert");
+        }
+        jdbcTemplate.update("UPDATE video_counters SET count = count + 5 WHERE dimension = 'tag' AND value = 'common'");
+
+        TenantContextHolder.setTenantId(TENANT_A);
+        assertNotEquals(3, videoRepository.count());
+
+        assertEquals(4, counters.reconcile(TENANT_A));
+        assertEquals(3, videoRepository.count());
+        assertEquals(2, videoRepository.countByTag("common"));
+        assertEquals(1, videoRepository.countByLanguage("de"));
+        assertEquals(3, videoRepository.countByStatus(VideoStatus.PENDING));
+        assertEquals(0, counters.reconcile(TENANT_A));
+    }
+
+    private UUID save(UUID tenantId, Category category, String language, String... tags) {
+        return transaction.execute(status -> {
+            Video video = new Video("Video", null, tenantId);
+            video.setCategory(category);
+            video.setLanguage(language);
+            for (String tag : tags) {
+                video.addTag(tag);
+            }
+            return jpaVideoRepository.save(video).getId();
+        });
+    }
+}
@@ -0,0 +1,102 @@
+package com.streamflix.video.infrastructure.persistence;
+
+import com.streamflix.video.infrastructure.multitenancy.TenantContextHolder;
+import com.streamflix.video.presentation.dto.VideoFilterParams;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VideoFilterSqlTest {
+
+    @AfterEach
+    void clearTenant() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    @DisplayName("Should require every word and match the last one as a prefix")
+    void shouldBuildPrefixQueryTerms() {
+        assertEquals("star & wa:*", VideoFilterSql.searchTerms("  Star   Wa"));
+        assertEquals("amélie:*", VideoFilterSql.searchTerms("Amélie"));
+    }
+
+    @Test
+    @DisplayName("Should drop query operators from search input")
+    void shouldDropOperators() {
+        assertEquals("star & wars:*", VideoFilterSql.searchTerms("star' | !wars:* & ("));
+        assertNull(VideoFilterSql.searchTerms("!&|:*()"));
+        assertNull(VideoFilterSql.searchTerms("   "));
+        assertNull(VideoFilterSql.searchTerms(null));
+    }
+
+    @Test
+    @DisplayName("Should ignore words beyond the limit")
+    void shouldLimitWords() {
+        String terms = VideoFilterSql.searchTerms("a b c d e f g h i j k l");
+        assertEquals(VideoFilterSql.MAX_SEARCH_TERMS, terms.split(" & ").length);
+        assertTrue(terms.endsWith("j:*"));
+    }
+
+    @Test
+    @DisplayName("Should render search, tenant and other filters with their arguments in order")
+    void shouldRenderFilter() {
+        UUID tenantId = UUID.randomUUID();
+        TenantContextHolder.setTenantId(tenantId);
+        VideoFilterParams params = new VideoFilterParams();
+        params.setSearch("dragon");
+        params.setLanguage("EN");
+        params.setTags(List.of("fantasy", "epic"));
+        List<Object> args = new ArrayList<>();
+
+        String sql = VideoFilterSql.from(params, args);
+
+        assertEquals(" FROM videos v WHERE v.status <> ? AND v.tenant_id = ?"
+            + " AND v.search_vector @@ video_search_query(?, ?) AND lower(v.language) = ?"
+            + " AND EXISTS (SELECT 1 FROM video_tags t WHERE t.video_id = v.id AND t.tag IN (?, ?))", sql);
+        assertEquals(List.of("DELETED", tenantId, "dragon:*", "EN", "en", "fantasy", "epic"), args);
+    }
+
+    @Test
+    @DisplayName("Should match the title by similarity instead of as a substring when fuzzy")
+    void shouldRenderFuzzyTitle() {
+        VideoFilterParams params = new VideoFilterParams();
+        params.setTitle("  Dragn Knight ");
+        params.setFuzzyTitle(true);
+        List<Object> args = new ArrayList<>();
+        List<Object> orderArgs = new ArrayList<>();
+
+        String sql = VideoFilterSql.from(params, args);
+        String order = VideoFilterSql.relevanceOrder(params, orderArgs);
+
+        assertEquals(" FROM videos v WHERE v.status <> ? AND lower(v.title) %> ?", sql);
+        assertEquals(List.of("DELETED", "dragn knight"), args);
+        assertEquals("word_similarity(?, lower(v.title)) DESC", order);
+        assertEquals(List.of("dragn knight"), orderArgs);
+    }
+
+    @Test
+    @DisplayName("Should map sort properties to columns, unknown ones to the update time")
+    void shouldRenderSortOrder() {
+        assertEquals("v.title ASC, v.updated_at DESC",
+            VideoFilterSql.sortOrder(Sort.by(Sort.Order.asc("title"), Sort.Order.desc("description"))));
+    }
+
+    @Test
+    @DisplayName("Should rank nothing for a plain filter")
+    void shouldNotRankPlainFilter() {
+        VideoFilterParams params = new VideoFilterParams();
+        params.setTitle("dragon");
+        List<Object> args = new ArrayList<>();
+
+        assertNull(VideoFilterSql.relevanceOrder(params, args));
+        assertTrue(args.isEmpty());
+        assertTrue(VideoFilterSql.from(params, args).endsWith("lower(v.title) LIKE ?"));
+    }
+}
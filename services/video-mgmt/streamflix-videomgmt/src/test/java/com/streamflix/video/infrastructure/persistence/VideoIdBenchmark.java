@@ -0,0 +1,138 @@
+package com.streamflix.video.infrastructure.persistence;
+
+import com.streamflix.video.domain.TimeOrderedUuids;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Insert throughput and index size with random version 4 video identifiers, as
+ * {@code GenerationType.UUID} made them, against the time-ordered ones of {@link TimeOrderedUuids},
+ * each into its own copy of {@code videos} and {@code video_tags} with all their indexes. The
+ * server gets small shared buffers, so the primary keys outgrow them as a production catalogue's do.
+ * Run with {@code ./gradlew test -Dbenchmark=true --tests '*VideoIdBenchmark'}; needs Docker.
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate.SQL=WARN"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VideoIdBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoIdBenchmark.class);
+
+    private static final int VIDEOS = Integer.getInteger("benchmark.videos", 500_000);
+    private static final int BATCH_SIZE = 500;
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000000");
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withCommand("postgres", "-c", "shared_buffers=32MB");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl() + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Random vs time-ordered video identifiers")
+    void compare() {
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pgstattuple");
+        run("random", UUID::randomUUID);
+        run("time_ordered", TimeOrderedUuids::next);
+    }
+
+    private void run(String strategy, Supplier<UUID> ids) {
+        String videos = "videos_" + strategy;
+        String tags = "video_tags_" + strategy;
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + tags + ", " + videos);
+        jdbcTemplate.execute("CREATE TABLE " + videos + " (LIKE videos INCLUDING ALL)");
+        jdbcTemplate.execute("CREATE TABLE " + tags + " (LIKE video_tags INCLUDING ALL)");
+        jdbcTemplate.execute("CHECKPOINT");
+        long walBefore = walBytes();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        String insertVideo = "INSERT INTO " + videos + " (id, title, tenant_id, language, status, created_at, updated_at, "
+            + "contains_personal_data, is_anonymized, archived) VALUES (?, ?, ?, 'en', 'PENDING', ?, ?, false, false, false)";
+        String insertTag = "INSERT INTO " + tags + " (video_id, tag) VALUES (?, ?)";
+        long start = System.nanoTime();
+        for (int offset = 0; offset < VIDEOS; offset += BATCH_SIZE) {
+            List<Object[]> videoRows = new ArrayList<>(BATCH_SIZE);
+            List<Object[]> tagRows = new ArrayList<>(BATCH_SIZE * 2);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (int i = offset; i < Math.min(offset + BATCH_SIZE, VIDEOS); i++) {
+                UUID id = ids.get();
+                videoRows.add(new Object[] {id, "Video " + i, TENANT_ID, now, now});
+                tagRows.add(new Object[] {id, "tag-" + i % 50});
+                tagRows.add(new Object[] {id, "genre-" + i % 7});
+            }
+            transaction.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(insertVideo, videoRows);
+                jdbcTemplate.batchUpdate(insertTag, tagRows);
+            });
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        assertEquals((long) VIDEOS, jdbcTemplate.queryForObject("SELECT count(*) FROM " + videos, Long.class));
+
+        logger.info("[{}] {} videos in {} ms, {} videos/s, {} MB of WAL", strategy, VIDEOS, millis,
+            millis > 0 ? VIDEOS * 1_000L / millis : VIDEOS, (walBytes() - walBefore) / (1024 * 1024));
+        for (String table : List.of(videos, tags)) {
+            for (Map<String, Object> index : jdbcTemplate.queryForList("""
+                    SELECT i.indexrelid::regclass::text AS name, pg_size_pretty(pg_relation_size(i.indexrelid)) AS size,
+                           s.avg_leaf_density
+                      FROM pg_index i, pgstatindex(i.indexrelid::regclass::text) s
+                     WHERE i.indrelid = ?::regclass AND i.indisprimary""", table)) {
+                logger.info("[{}] {} {}, leaf density {}%", strategy, index.get("name"), index.get("size"),
+                    index.get("avg_leaf_density"));
+            }
+        }
+    }
+
+    /**
+     * Full page images after each checkpoint make WAL volume grow with the pages an insert touches.
+     */
+    private long walBytes() {
+        Long bytes = jdbcTemplate.queryForObject("SELECT wal_bytes::bigint FROM pg_stat_wal", Long.class);
+        return bytes != null ? bytes : 0;
+    }
+}
@@ -0,0 +1,194 @@
+package com.streamflix.video.infrastructure.persistence;
+
+import com.streamflix.video.presentation.dto.VideoFilterParams;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the full-text search path with the {@code lower(title) LIKE '%term%'} filter it
+ * replaces, on a generated catalogue (1M videos by default, {@code -Dbenchmark.rows=...}).
+ * The V7 migration is applied after loading, so its backfill and index build are timed too.
+ * Run with {@code ./gradlew test -Dbenchmark=true --tests '*VideoSearchBenchmark'}; needs Docker.
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VideoSearchBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoSearchBenchmark.class);
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 15;
+
+    private static final String WORDS = "'star','dragon','night','shadow','river','empire','ghost','love','city',"
+        + "'storm','winter','secret','island','knight','ocean','fire','silent','journey','lost','garden','machine',"
+        + "'queen','wolf','midnight','desert','mountain','planet','heart','war','dream','hunter','legend','crown',"
+        + "'echo','frozen','golden','broken','hidden','iron','last','wild','blood','light','dark','return','rise',"
+        + "'fall','house','road','sky','stone','time','world','zero','glass','paper','summer','tide','valley','voice'";
+
+    /** Description words, apart from the title words as most of a real synopsis is. */
+    private static final String FILLER = "'about','across','after','against','along','among','around','before',"
+        + "'behind','beyond','during','family','friend','young','old','finds','must','their','years','story',"
+        + "'where','follows','together','discovers','between','becomes','small','town','past','future'";
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static VideoRelevanceSearch relevanceSearch;
+
+    @BeforeAll
+    static void loadCatalogue() throws IOException {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+            postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+        relevanceSearch = new VideoRelevanceSearch(jdbcTemplate, 0.4);
+
+        // The columns of videos and video_tags the filter and search read
+        jdbcTemplate.execute("""
+            CREATE TABLE videos (
+                id UUID PRIMARY KEY, title VARCHAR(255) NOT NULL, description TEXT, tenant_id UUID NOT NULL,
+                category_id UUID, status VARCHAR(50) NOT NULL, release_year INTEGER, language VARCHAR(10),
+                created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP NOT NULL);
+            CREATE TABLE video_tags (video_id UUID NOT NULL, tag VARCHAR(100) NOT NULL, PRIMARY KEY (video_id, tag));
+            CREATE INDEX idx_video_title ON videos(title);
+            CREATE INDEX idx_videos_tenant_updated_at_id ON videos(tenant_id, updated_at, id);
+            """);
+
+        long start = System.nanoTime();
+        jdbcTemplate.update("""
+            INSERT INTO videos (id, title, description, tenant_id, status, release_year, language, created_at, updated_at)
+            SELECT gen_random_uuid(),
+                   initcap(w[1 + (random() * (n - 1))::int] || ' ' || w[1 + (random() * (n - 1))::int]
+                       || ' ' || w[1 + (random() * (n - 1))::int]),
+                   (SELECT string_agg(f[1 + (random() * (array_length(f, 1) - 1))::int], ' ')
+                      FROM generate_series(1, 20 + i %% 10)),
+                   '00000000-0000-0000-0000-000000000000', 'READY', 1970 + i %% 55,
+                   (ARRAY['en', 'en', 'en', 'es', 'fr', 'de'])[1 + i %% 6],
+                   now() - make_interval(secs => i), now() - make_interval(secs => i)
+              FROM generate_series(1, ?) AS i,
+                   (SELECT ARRAY[%s] AS w, ARRAY[%s] AS f) AS vocabulary,
+                   LATERAL (SELECT array_length(w, 1) AS n) AS size
+            """.formatted(WORDS, FILLER), ROWS);
+        jdbcTemplate.update("""
+            INSERT INTO video_tags (video_id, tag)
+            SELECT DISTINCT v.id, w[1 + (random() * (array_length(w, 1) - 1))::int]
+              FROM videos v, generate_series(1, 2), (SELECT ARRAY[%s] AS w) AS vocabulary
+            """.formatted(WORDS));
+        logger.info("Loaded {} videos in {} ms", ROWS, (System.nanoTime() - start) / 1_000_000);
+
+        start = System.nanoTime();
+        String migration = new ClassPathResource("db/migration/V7__add_video_full_text_search.sql")
+            .getContentAsString(StandardCharsets.UTF_8);
+        jdbcTemplate.execute(migration);
+        jdbcTemplate.execute("ANALYZE videos; ANALYZE video_tags");
+        logger.info("Applied V7 (backfill and GIN index) in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Test
+    @DisplayName("Full-text search vs LIKE for a common word")
+    void commonWord() {
+        compare("star");
+    }
+
+    @Test
+    @DisplayName("Full-text search vs LIKE for a two-word prefix, as typed")
+    void typedPrefix() {
+        assertTrue(compare("dragon kni").contains("idx_videos_search_vector"), "selective search should use the GIN index");
+    }
+
+    @Test
+    @DisplayName("Full-text search vs LIKE for a word in no video")
+    void noMatch() {
+        assertTrue(compare("xylophone").contains("idx_videos_search_vector"), "selective search should use the GIN index");
+    }
+
+    @Test
+    @DisplayName("Bulk tag writes rebuild each video's document once per statement")
+    void bulkTagWrite() {
+        long start = System.nanoTime();
+        int added = jdbcTemplate.update("""
+            INSERT INTO video_tags (video_id, tag)
+            SELECT v.id, 'zeppelin' || chr(96 + n)
+              FROM (SELECT id FROM videos ORDER BY id LIMIT 1000) v, generate_series(1, 10) AS n
+            """);
+        logger.info("Added {} tags to 1000 videos in one statement in {} ms", added, (System.nanoTime() - start) / 1_000_000);
+        assertEquals(1000, count("SELECT count(*) FROM videos WHERE search_vector @@ video_search_query('zeppelinj', NULL)"));
+
+        start = System.nanoTime();
+        int removed = jdbcTemplate.update("DELETE FROM video_tags WHERE tag LIKE 'zeppelin_'");
+        logger.info("Removed {} tags in one statement in {} ms", removed, (System.nanoTime() - start) / 1_000_000);
+        assertEquals(0, count("SELECT count(*) FROM videos WHERE search_vector @@ video_search_query('zeppelinj', NULL)"));
+    }
+
+    private static long count(String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Time both paths for one search input.
+     * @return The plan of the search query
+     */
+    private String compare(String input) {
+        VideoFilterParams likeParams = new VideoFilterParams();
+        likeParams.setTitle(input);
+        VideoFilterParams searchParams = new VideoFilterParams();
+        searchParams.setSearch(input);
+
+        List<Object> args = new ArrayList<>();
+        String likePage = "SELECT v.id" + VideoFilterSql.from(likeParams, args)
+            + " ORDER BY v.updated_at DESC, v.id LIMIT " + PAGE_SIZE;
+        Object[] likeArgs = args.toArray();
+        List<Object> countArgs = new ArrayList<>();
+        String likeCount = "SELECT COUNT(*)" + VideoFilterSql.from(likeParams, countArgs);
+
+        report(input, "like page", () -> jdbcTemplate.queryForList(likePage, Object.class, likeArgs).size());
+        report(input, "like count", () -> jdbcTemplate.queryForObject(likeCount, Long.class, countArgs.toArray()));
+        report(input, "search page", () -> relevanceSearch.findIds(searchParams, Sort.unsorted(), 0, PAGE_SIZE).size());
+        report(input, "search count", () -> relevanceSearch.count(searchParams));
+
+        List<Object> planArgs = new ArrayList<>();
+        String explain = "EXPLAIN SELECT v.id" + VideoFilterSql.from(searchParams, planArgs);
+        String plan = String.join("\n", jdbcTemplate.queryForList(explain, String.class, planArgs.toArray()));
+        logger.info("[{}] search plan:\n{}", input, plan);
+        return plan;
+    }
+
+    private static void report(String input, String label, LongSupplier query) {
+        long rows = 0;
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            rows = query.getAsLong();
+        }
+        long[] millis = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            query.getAsLong();
+            millis[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(millis);
+        logger.info("[{}] {}: {} rows, median {} ms, max {} ms", input, label, rows,
+            millis[MEASURED_RUNS / 2], millis[MEASURED_RUNS - 1]);
+    }
+}
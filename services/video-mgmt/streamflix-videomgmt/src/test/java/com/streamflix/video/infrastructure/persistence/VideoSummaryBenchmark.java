@@ -0,0 +1,201 @@
+package com.streamflix.video.infrastructure.persistence;
+
+import com.streamflix.video.domain.Video;
+import com.streamflix.video.domain.VideoSummary;
+import com.streamflix.video.presentation.dto.VideoDTO;
+import com.streamflix.video.presentation.dto.VideoFilterParams;
+import com.streamflix.video.presentation.dto.VideoSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Latency and allocation of a page of the list, category, tag and filter listings built from
+ * entities ({@link VideoDTO}) against the same page read as summaries ({@link VideoSummaryDTO}),
+ * on a generated catalogue (200k videos by default, {@code -Dbenchmark.rows=...}) with full-length
+ * descriptions, three tags and three thumbnails per video. Each page is read in its own read-only
+ * transaction, as the service does, and mapped to its response DTOs.
+ * Run with {@code ./gradlew test -Dbenchmark=true --tests '*VideoSummaryBenchmark'}; needs Docker.
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate.SQL=WARN"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({VideoRepositoryAdapter.class, VideoSummaryQuery.class,
+    VideoBatchInsert.class, VideoCounters.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VideoSummaryBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoSummaryBenchmark.class);
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 200_000);
+    private static final int CATEGORIES = 20;
+    private static final int PAGE_SIZE = 50;
+    private static final int WARMUP_RUNS = 20;
+    private static final int MEASURED_RUNS = 50;
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private VideoRepositoryAdapter videoRepository;
+
+    @MockBean
+    private VideoCountEstimator countEstimator;
+
+    @MockBean
+    private VideoRelevanceSearch relevanceSearch;
+
+    private TransactionTemplate readOnly;
+    private UUID categoryId;
+
+    @BeforeEach
+    void loadCatalogue() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Long videos = jdbcTemplate.queryForObject("SELECT count(*) FROM videos", Long.class);
+        if (videos != null && videos > 0) {
+            categoryId = jdbcTemplate.queryForObject("SELECT id FROM categories LIMIT 1", UUID.class);
+            return;
+        }
+
+        long start = System.nanoTime();
+        jdbcTemplate.update("""
+            INSERT INTO categories (id, name, description, tenant_id)
+            SELECT gen_random_uuid(), 'Category ' || i, 'Films of kind ' || i, '00000000-0000-0000-0000-000000000000'
+              FROM generate_series(1, ?) AS i
+            """, CATEGORIES);
+        jdbcTemplate.update("""
+            INSERT INTO videos (id, title, description, tenant_id, category_id, release_year, language, status,
+                                created_at, updated_at, contains_personal_data, is_anonymized, archived)
+            SELECT gen_random_uuid(), 'Video ' || i, repeat('A long synopsis of video ' || i || '. ', 60),
+                   '00000000-0000-0000-0000-000000000000', c.ids[1 + i % array_length(c.ids, 1)],
+                   1970 + i % 55, 'en', 'READY', now() - make_interval(secs => i), now() - make_interval(secs => i),
+                   false, false, false
+              FROM generate_series(1, ?) AS i, (SELECT array_agg(id) AS ids FROM categories) AS c
+            """, ROWS);
+        jdbcTemplate.update("""
+            INSERT INTO video_tags (video_id, tag)
+            SELECT v.id, 'tag-' || n || '-' || (abs(hashtext(v.id::text)::bigint) % 50) FROM videos v, generate_series(1, 3) AS n
+            """);
+        jdbcTemplate.update("""
+            INSERT INTO thumbnails (id, video_id, url, width, height, is_default, is_primary, tenant_id)
+            SELECT gen_random_uuid(), v.id, 'https://cdn.example.com/' || v.id || '/' || n || '.jpg', 320 * n, 180 * n,
+                   n = 1, n = 2, v.tenant_id
+              FROM videos v, generate_series(1, 3) AS n
+            """);
+        jdbcTemplate.execute("ANALYZE");
+        categoryId = jdbcTemplate.queryForObject("SELECT id FROM categories LIMIT 1", UUID.class);
+        logger.info("Loaded {} videos in {} ms", ROWS, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Test
+    @DisplayName("Entities vs summaries: all videos")
+    void list() {
+        compare("list", () -> toDtos(videoRepository.findAll(0, PAGE_SIZE)),
+            () -> toSummaryDtos(videoRepository.findSummaries(0, PAGE_SIZE)));
+    }
+
+    @Test
+    @DisplayName("Entities vs summaries: one category")
+    void byCategory() {
+        compare("category", () -> toDtos(videoRepository.findByCategory(categoryId, 0, PAGE_SIZE)),
+            () -> toSummaryDtos(videoRepository.findSummariesByCategory(categoryId, 0, PAGE_SIZE)));
+    }
+
+    @Test
+    @DisplayName("Entities vs summaries: one tag")
+    void byTag() {
+        compare("tag", () -> toDtos(videoRepository.findByTag("tag-1-7", 0, PAGE_SIZE)),
+            () -> toSummaryDtos(videoRepository.findSummariesByTag("tag-1-7", 0, PAGE_SIZE)));
+    }
+
+    @Test
+    @DisplayName("Entities vs summaries: filter, without counting")
+    void filter() {
+        VideoFilterParams params = new VideoFilterParams();
+        params.setMinYear(1990);
+        params.setLanguage("en");
+        compare("filter", () -> toDtos(videoRepository.findSliceByFilterParams(params, 2, PAGE_SIZE).getContent()),
+            () -> toSummaryDtos(videoRepository.findSummarySliceByFilterParams(params, 2, PAGE_SIZE).getContent()));
+    }
+
+    private void compare(String listing, Supplier<List<?>> entities, Supplier<List<?>> summaries) {
+        report(listing, "entities", entities);
+        report(listing, "summaries", summaries);
+    }
+
+    private void report(String listing, String path, Supplier<List<?>> page) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            readOnly.execute(status -> page.get());
+        }
+        long[] micros = new long[MEASURED_RUNS];
+        long[] bytes = new long[MEASURED_RUNS];
+        int rows = 0;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long allocated = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            List<?> result = readOnly.execute(status -> page.get());
+            micros[i] = (System.nanoTime() - start) / 1_000;
+            bytes[i] = threads.getCurrentThreadAllocatedBytes() - allocated;
+            rows = result != null ? result.size() : 0;
+        }
+        Arrays.sort(micros);
+        Arrays.sort(bytes);
+        logger.info("[{}] {}: {} rows, median {} us, max {} us, median {} KiB allocated", listing, path, rows,
+            micros[MEASURED_RUNS / 2], micros[MEASURED_RUNS - 1], bytes[MEASURED_RUNS / 2] / 1024);
+    }
+
+    private static List<?> toDtos(List<Video> videos) {
+        return videos.stream().map(VideoDTO::new).toList();
+    }
+
+    private static List<?> toSummaryDtos(List<VideoSummary> summaries) {
+        return summaries.stream().map(VideoSummaryDTO::new).toList();
+    }
+}
@@ -0,0 +1,187 @@
+package com.streamflix.video.infrastructure.persistence;
+
+import com.streamflix.video.infrastructure.multitenancy.TenantContextHolder;
+import com.streamflix.video.presentation.dto.VideoFilterParams;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Latency of fuzzy title matching against the substring filter, on a generated multi-tenant
+ * catalogue (3M videos over 200 tenants by default, {@code -Dbenchmark.rows=...}). The LIKE
+ * baseline is measured before the V8 trigram index exists and again after it is built.
+ * Run with {@code ./gradlew test -Dbenchmark=true --tests '*VideoTitleSimilarityBenchmark'}; needs Docker.
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VideoTitleSimilarityBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoTitleSimilarityBenchmark.class);
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 3_000_000);
+    private static final int TENANTS = 200;
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 15;
+
+    /** Misspelled input, as users type it. */
+    private static final List<String> TYPOS = List.of("dragn knight", "midnigth", "shadwo empire", "frozn rivr");
+
+    private static final String WORDS = "'star','dragon','night','shadow','river','empire','ghost','love','city',"
+        + "'storm','winter','secret','island','knight','ocean','fire','silent','journey','lost','garden','machine',"
+        + "'queen','wolf','midnight','desert','mountain','planet','heart','war','dream','hunter','legend','crown',"
+        + "'echo','frozen','golden','broken','hidden','iron','last','wild','blood','light','dark','return','rise',"
+        + "'fall','house','road','sky','stone','time','world','zero','glass','paper','summer','tide','valley','voice'";
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+    private static VideoRelevanceSearch relevanceSearch;
+    private static UUID tenantId;
+
+    @BeforeAll
+    static void loadCatalogue() throws IOException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // The similarity threshold is set per transaction, as in the service's read transactions
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        relevanceSearch = new VideoRelevanceSearch(jdbcTemplate, 0.4);
+
+        jdbcTemplate.execute("""
+            CREATE TABLE videos (
+                id UUID PRIMARY KEY, title VARCHAR(255) NOT NULL, description TEXT, tenant_id UUID NOT NULL,
+                category_id UUID, status VARCHAR(50) NOT NULL, release_year INTEGER, language VARCHAR(10),
+                created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP NOT NULL);
+            CREATE TABLE video_tags (video_id UUID NOT NULL, tag VARCHAR(100) NOT NULL, PRIMARY KEY (video_id, tag));
+            CREATE INDEX idx_video_title ON videos(title);
+            CREATE INDEX idx_video_tenant ON videos(tenant_id);
+            CREATE INDEX idx_videos_tenant_updated_at_id ON videos(tenant_id, updated_at, id);
+            """);
+
+        long start = System.nanoTime();
+        jdbcTemplate.update("""
+            INSERT INTO videos (id, title, tenant_id, status, release_year, language, created_at, updated_at)
+            SELECT gen_random_uuid(),
+                   initcap(w[1 + (random() * (n - 1))::int] || ' ' || w[1 + (random() * (n - 1))::int]
+                       || ' ' || w[1 + (random() * (n - 1))::int]),
+                   t.ids[1 + i %% ?], 'READY', 1970 + i %% 55, 'en',
+                   now() - make_interval(secs => i), now() - make_interval(secs => i)
+              FROM generate_series(1, ?) AS i,
+                   (SELECT ARRAY[%s] AS w) AS vocabulary,
+                   LATERAL (SELECT array_length(w, 1) AS n) AS size,
+                   (SELECT array_agg(gen_random_uuid()) AS ids FROM generate_series(1, ?)) AS t
+            """.formatted(WORDS), TENANTS, ROWS, TENANTS);
+        jdbcTemplate.execute("ANALYZE videos");
+        tenantId = jdbcTemplate.queryForObject("SELECT tenant_id FROM videos LIMIT 1", UUID.class);
+        logger.info("Loaded {} videos over {} tenants in {} ms", ROWS, TENANTS, (System.nanoTime() - start) / 1_000_000);
+
+        for (String typo : TYPOS) {
+            report(typo, "like, no trigram index", 1, () -> like(typo));
+        }
+
+        start = System.nanoTime();
+        jdbcTemplate.execute(new ClassPathResource("db/migration/V8__add_video_title_trigram_index.sql")
+            .getContentAsString(StandardCharsets.UTF_8));
+        jdbcTemplate.execute("ANALYZE videos");
+        logger.info("Applied V8 (trigram index) in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @AfterEach
+    void clearTenant() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    @DisplayName("Fuzzy title match vs LIKE across all tenants")
+    void allTenants() {
+        for (String typo : TYPOS) {
+            assertTrue(compare(typo).contains("idx_videos_tenant_title_trgm"), "fuzzy title match should use the trigram index");
+        }
+    }
+
+    @Test
+    @DisplayName("Fuzzy title match vs LIKE within one tenant")
+    void oneTenant() {
+        TenantContextHolder.setTenantId(tenantId);
+        for (String typo : TYPOS) {
+            compare(typo);
+        }
+    }
+
+    /**
+     * Time both paths for one misspelled title.
+     * @return The plan of the fuzzy query
+     */
+    private String compare(String typo) {
+        String scope = TenantContextHolder.hasTenantContext() ? "one tenant" : "all tenants";
+        VideoFilterParams params = new VideoFilterParams();
+        params.setTitle(typo);
+        params.setFuzzyTitle(true);
+
+        report(typo, "like, " + scope, MEASURED_RUNS, () -> like(typo));
+        report(typo, "fuzzy page, " + scope, MEASURED_RUNS, () -> inTransaction(
+            () -> relevanceSearch.findIds(params, Sort.unsorted(), 0, PAGE_SIZE).size()));
+        report(typo, "fuzzy count, " + scope, MEASURED_RUNS, () -> inTransaction(() -> relevanceSearch.count(params)));
+
+        List<Object> args = new ArrayList<>();
+        String explain = "EXPLAIN SELECT v.id" + VideoFilterSql.from(params, args);
+        String plan = String.join("\n", jdbcTemplate.queryForList(explain, String.class, args.toArray()));
+        logger.info("[{}] fuzzy plan, {}:\n{}", typo, scope, plan);
+        return plan;
+    }
+
+    /** The substring filter's page, as the JPA path runs it. */
+    private static long like(String input) {
+        VideoFilterParams params = new VideoFilterParams();
+        params.setTitle(input);
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT v.id" + VideoFilterSql.from(params, args) + " ORDER BY v.updated_at DESC, v.id LIMIT " + PAGE_SIZE;
+        return jdbcTemplate.queryForList(sql, Object.class, args.toArray()).size();
+    }
+
+    private static long inTransaction(LongSupplier query) {
+        Long result = transactionTemplate.execute(status -> query.getAsLong());
+        return result != null ? result : 0;
+    }
+
+    private static void report(String input, String label, int runs, LongSupplier query) {
+        long rows = 0;
+        for (int i = 0; i < Math.min(WARMUP_RUNS, runs); i++) {
+            rows = query.getAsLong();
+        }
+        long[] millis = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            query.getAsLong();
+            millis[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(millis);
+        logger.info("[{}] {}: {} rows, median {} ms, max {} ms", input, label, rows, millis[runs / 2], millis[runs - 1]);
+    }
+}
@@ -0,0 +1,196 @@
+package com.streamflix.video.infrastructure.replication;
+
+import com.streamflix.video.infrastructure.persistence.DatabaseConcurrencyLimiter;
+import com.streamflix.video.infrastructure.persistence.DatabaseConcurrencyProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class HedgedReadsTest {
+
+    private static final RowMapper<String> ROW_MAPPER = (rs, rowNum) -> rs.getString(1);
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private HedgedReadProperties properties;
+    private SimpleMeterRegistry registry;
+    private ReplicaNode first;
+    private ReplicaNode second;
+    private DataSource primary;
+    private ReplicaPool pool;
+    private DatabaseConcurrencyProperties concurrency;
+    private DatabaseConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HedgedReadProperties();
+        properties.setEnabled(true);
+        properties.setMaxDelay(Duration.ofMillis(20));
+        properties.setBudget(1);
+        registry = new SimpleMeterRegistry();
+        ReplicaRoutingProperties routing = new ReplicaRoutingProperties();
+        Clock clock = Clock.systemUTC();
+        first = new ReplicaNode("replica-1", mock(DataSource.class), mock(JdbcTemplate.class), routing, clock);
+        second = new ReplicaNode("replica-2", mock(DataSource.class), mock(JdbcTemplate.class), routing, clock);
+        first.recordLag(new ReplicaNode.LagSample(0x1000, 0x1000, 0, Instant.now()));
+        second.recordLag(new ReplicaNode.LagSample(0x1000, 0x1000, 0, Instant.now()));
+        primary = mock(DataSource.class);
+        pool = new ReplicaPool(List.of(first, second), registry, clock);
+        concurrency = new DatabaseConcurrencyProperties();
+        concurrency.setMaxConcurrentTransactions(2);
+        limiter = new DatabaseConcurrencyLimiter(concurrency, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private HedgedReads hedgedReads() {
+        return new HedgedReads(pool, primary, executor, properties, new ReplicaRoutingProperties(), limiter, registry);
+    }
+
+    private static PreparedStatement answering(DataSource dataSource, String value) throws SQLException {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString(1)).thenReturn(value);
+        return statement;
+    }
+
+    private static PreparedStatement stalling(DataSource dataSource) throws SQLException {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        doAnswer(invocation -> {
+            cancelled.countDown();
+            return null;
+        }).when(statement).cancel();
+        when(statement.executeQuery()).thenAnswer(invocation -> {
+            cancelled.await(5, TimeUnit.SECONDS);
+            throw new SQLException("canceling statement due to user request", "57014");
+        });
+        return statement;
+    }
+
+    private List<String> read(HedgedReads hedgedReads) {
+        return hedgedReads.query("SELECT title FROM videos", ROW_MAPPER, new Object[0], () -> List.of("direct"));
+    }
+
+    @Test
+    @DisplayName("Should read the ordinary way while hedging is off")
+    void shouldNotHedgeWhenDisabled() {
+        properties.setEnabled(false);
+
+        assertEquals(List.of("direct"), read(hedgedReads()));
+    }
+
+    @Test
+    @DisplayName("Should hedge a slow read, take the faster answer and cancel the slow statement")
+    void shouldHedgeSlowRead() throws SQLException {
+        PreparedStatement stalled = stalling(first.getTargetDataSource());
+        answering(second.getTargetDataSource(), "from replica-2");
+        // A read in flight on the second replica makes the first the cheaper choice
+        Connection held = second.getConnection();
+
+        List<String> rows = read(hedgedReads());
+        held.close();
+
+        assertEquals(List.of("from replica-2"), rows);
+        verify(stalled, timeout(1000)).cancel();
+        assertEquals(1, registry.get("video.db.hedge.sent").counter().count());
+        assertEquals(1, registry.get("video.db.hedge.wins").tag("winner", "hedge").counter().count());
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    @DisplayName("Should read the ordinary way when the concurrency cap has no permit for an attempt")
+    void shouldNotTakeConnectionsBeyondTheCap() {
+        assertTrue(limiter.tryAcquireDetached() && limiter.tryAcquireDetached());
+
+        assertEquals(List.of("direct"), read(hedgedReads()));
+        assertEquals(1, registry.get("video.db.hedge.capped").counter().count());
+        verifyNoInteractions(first.getTargetDataSource(), second.getTargetDataSource(), primary);
+    }
+
+    @Test
+    @DisplayName("Should not hedge a slow read when the concurrency cap has no permit for the hedge")
+    void shouldNotHedgeBeyondTheCap() throws SQLException {
+        concurrency.setMaxConcurrentTransactions(1);
+        limiter = new DatabaseConcurrencyLimiter(concurrency, new SimpleMeterRegistry());
+        pool = new ReplicaPool(List.of(first), registry, Clock.systemUTC());
+        PreparedStatement statement = answering(first.getTargetDataSource(), "slow but sure");
+        when(statement.executeQuery()).thenAnswer(invocation -> {
+            Thread.sleep(60);
+            ResultSet resultSet = mock(ResultSet.class);
+            when(resultSet.next()).thenReturn(true, false);
+            when(resultSet.getString(1)).thenReturn("slow but sure");
+            return resultSet;
+        });
+
+        assertEquals(List.of("slow but sure"), read(hedgedReads()));
+        assertEquals(0, registry.get("video.db.hedge.sent").counter().count());
+        assertEquals(1, registry.get("video.db.hedge.capped").counter().count());
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    @DisplayName("Should wait for the first attempt once the hedge budget is spent")
+    void shouldRespectBudget() throws SQLException {
+        properties.setBudget(0);
+        pool = new ReplicaPool(List.of(first), registry, Clock.systemUTC());
+        PreparedStatement statement = answering(first.getTargetDataSource(), "slow but sure");
+        when(statement.executeQuery()).thenAnswer(invocation -> {
+            Thread.sleep(60);
+            ResultSet resultSet = mock(ResultSet.class);
+            when(resultSet.next()).thenReturn(true, false);
+            when(resultSet.getString(1)).thenReturn("slow but sure");
+            return resultSet;
+        });
+
+        assertEquals(List.of("slow but sure"), read(hedgedReads()));
+        assertEquals(0, registry.get("video.db.hedge.sent").counter().count());
+        assertEquals(1, registry.get("video.db.hedge.budget.exhausted").counter().count());
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    @DisplayName("Should save up hedges only up to the burst")
+    void shouldCapBudgetAtBurst() {
+        HedgedReads.Budget budget = new HedgedReads.Budget(0.5, 2);
+        for (int i = 0; i < 10; i++) {
+            budget.deposit();
+        }
+
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+    }
+}
@@ -0,0 +1,35 @@
+package com.streamflix.video.infrastructure.replication;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LsnTest {
+
+    @Test
+    @DisplayName("Should parse a position into its byte offset and format it back")
+    void shouldRoundTrip() {
+        long lsn = Lsn.parse("16/B374D848");
+
+        assertEquals(0x16_B374D848L, lsn);
+        assertEquals("16/B374D848", Lsn.format(lsn));
+        assertEquals("0/0", Lsn.format(0));
+    }
+
+    @Test
+    @DisplayName("Should order positions by their low half once the high halves are equal")
+    void shouldCompareAsOffsets() {
+        assertTrue(Lsn.parse("1/0") > Lsn.parse("0/FFFFFFFF"));
+        assertTrue(Lsn.parse("0/A0") > Lsn.parse("0/9F"));
+    }
+
+    @Test
+    @DisplayName("Should reject text that is not a position")
+    void shouldRejectMalformedText() {
+        assertThrows(IllegalArgumentException.class, () -> Lsn.parse(null));
+        assertThrows(IllegalArgumentException.class, () -> Lsn.parse("16B374D848"));
+        assertThrows(IllegalArgumentException.class, () -> Lsn.parse("-1/0"));
+        assertThrows(IllegalArgumentException.class, () -> Lsn.parse("123456789/0"));
+    }
+}
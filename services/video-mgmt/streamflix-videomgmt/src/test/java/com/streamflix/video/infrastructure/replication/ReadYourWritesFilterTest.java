@@ -0,0 +1,83 @@
+package com.streamflix.video.infrastructure.replication;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesFilterTest {
+
+    private final ReplicaRoutingProperties properties = new ReplicaRoutingProperties();
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(properties);
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWritesContext.clear();
+    }
+
+    @Test
+    @DisplayName("Should require the later of the header and cookie tokens during the request")
+    void shouldStartSessionFromToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/videos/1");
+        request.addHeader("X-Read-After", "0/2000");
+        request.setCookies(new Cookie("vm-read-after", "1/0"));
+        AtomicLong required = new AtomicLong();
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+            (req, res) -> required.set(ReadYourWritesContext.current().getRequiredLsn()));
+
+        assertEquals(Lsn.parse("1/0"), required.get());
+        assertNull(ReadYourWritesContext.current());
+    }
+
+    @Test
+    @DisplayName("Should ignore a malformed token")
+    void shouldIgnoreMalformedToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/videos/1");
+        request.addHeader("X-Read-After", "latest");
+        AtomicLong required = new AtomicLong(-1);
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+            (req, res) -> required.set(ReadYourWritesContext.current().getRequiredLsn()));
+
+        assertEquals(0, required.get());
+    }
+
+    @Test
+    @DisplayName("Should return the position of the request's write before the body is written")
+    void shouldReturnTokenAfterWrite() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("PUT", "/api/v1/videos/1"), response, (req, res) -> {
+            ReadYourWritesContext.current().recordWrite(Lsn.parse("0/3000"));
+            res.getWriter().write("{}");
+            res.flushBuffer();
+        });
+
+        assertEquals("0/3000", response.getHeader("X-Read-After"));
+        Cookie cookie = response.getCookie("vm-read-after");
+        assertNotNull(cookie);
+        assertEquals("0/3000", cookie.getValue());
+        assertTrue(cookie.isHttpOnly());
+        assertEquals(60, cookie.getMaxAge());
+    }
+
+    @Test
+    @DisplayName("Should not return a token when the request wrote nothing")
+    void shouldNotReturnTokenForReads() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/videos/1");
+        request.addHeader("X-Read-After", "0/2000");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> res.getWriter().write("{}"));
+
+        assertNull(response.getHeader("X-Read-After"));
+        assertNull(response.getCookie("vm-read-after"));
+    }
+}
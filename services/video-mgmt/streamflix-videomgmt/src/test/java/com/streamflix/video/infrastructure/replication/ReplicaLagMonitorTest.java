@@ -0,0 +1,150 @@
+package com.streamflix.video.infrastructure.replication;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaLagMonitorTest {
+
+    @Mock
+    private JdbcTemplate primary;
+
+    @Mock
+    private JdbcTemplate probe;
+
+    @Mock
+    private DataSource replicaDataSource;
+
+    @Mock
+    private Clock clock;
+
+    private SimpleMeterRegistry registry;
+    private ReplicaNode replica;
+    private ReplicaPool pool;
+    private ReplicaLagMonitor monitor;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        ReplicaRoutingProperties properties = new ReplicaRoutingProperties();
+        properties.setMaxLag(Duration.ofSeconds(5));
+        registry = new SimpleMeterRegistry();
+        now = Instant.parse("2024-05-01T12:00:00Z");
+        lenient().when(clock.instant()).thenAnswer(invocation -> now);
+        replica = new ReplicaNode("replica-1", replicaDataSource, probe, properties, clock);
+        pool = new ReplicaPool(List.of(replica), registry, clock);
+        monitor = new ReplicaLagMonitor(primary, pool, properties, clock);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void positions(String replayLsn, double replayAge, String primaryLsn) {
+        when(probe.queryForObject(anyString(), any(RowMapper.class)))
+            .thenReturn(new ReplicaLagMonitor.ReplayPosition(Lsn.parse(replayLsn), replayAge));
+        when(primary.queryForObject(anyString(), eq(String.class))).thenReturn(primaryLsn);
+    }
+
+    @Test
+    @DisplayName("Should treat a replica as unavailable before the first reading")
+    void shouldBeUnavailableWithoutReading() {
+        assertEquals(ReplicaPool.Verdict.UNAVAILABLE, pool.select(0).verdict());
+        assertTrue(Double.isNaN(registry.get("video.db.replica.lag.bytes").tag("replica", "replica-1").gauge().value()));
+    }
+
+    @Test
+    @DisplayName("Should serve a session from the replica only once it has replayed the session's writes")
+    void shouldCompareReplayPositionWithSession() {
+        positions("0/1000", 0.2, "0/1800");
+
+        monitor.refresh();
+
+        assertSame(replica, pool.select(0).replica());
+        assertSame(replica, pool.select(Lsn.parse("0/1000")).replica());
+        assertEquals(ReplicaPool.Verdict.BEHIND_SESSION, pool.select(Lsn.parse("0/1001")).verdict());
+        assertEquals(0x800, registry.get("video.db.replica.lag.bytes").gauge().value());
+        assertEquals(0.2, registry.get("video.db.replica.lag.seconds").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should ignore the replay timestamp age once the replica has caught up")
+    void shouldReportNoLagWhenCaughtUp() {
+        positions("0/1800", 300, "0/1800");
+
+        monitor.refresh();
+
+        assertSame(replica, pool.select(0).replica());
+        assertEquals(0, registry.get("video.db.replica.lag.seconds").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should eject a replica lagging beyond the maximum")
+    void shouldEjectLaggingReplica() {
+        positions("0/1000", 7.5, "0/9000");
+
+        monitor.refresh();
+
+        assertEquals(ReplicaPool.Verdict.LAGGING, pool.select(0).verdict());
+        assertEquals(ReplicaNode.State.EJECTED, replica.getState());
+        assertEquals(1, registry.get("video.db.replica.ejections").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Should stop trusting a reading older than the maximum lag")
+    void shouldExpireStaleReading() {
+        positions("0/1000", 0, "0/1000");
+        monitor.refresh();
+        when(probe.queryForObject(anyString(), any(RowMapper.class)))
+            .thenThrow(new QueryTimeoutException("replica down"));
+
+        now = now.plusSeconds(3);
+        monitor.refresh();
+        assertSame(replica, pool.select(0).replica());
+
+        now = now.plusSeconds(3);
+        assertEquals(ReplicaPool.Verdict.UNAVAILABLE, pool.select(0).verdict());
+
+        Health health = monitor.health();
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals("primary", health.getDetails().get("readsFrom"));
+        Map<String, Object> details = (Map<String, Object>) ((Map<String, Object>) health.getDetails().get("replicas")).get("replica-1");
+        assertEquals("replica down", details.get("error"));
+        assertEquals("0/1000", details.get("replayLsn"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Should leave replicas alone when the primary's position cannot be read")
+    void shouldNotBlameReplicasForPrimaryFailure() {
+        when(probe.queryForObject(anyString(), any(RowMapper.class)))
+            .thenReturn(new ReplicaLagMonitor.ReplayPosition(Lsn.parse("0/1000"), 0));
+        when(primary.queryForObject(anyString(), eq(String.class))).thenThrow(new QueryTimeoutException("primary down"));
+
+        for (int i = 0; i < 5; i++) {
+            monitor.refresh();
+        }
+
+        assertEquals(ReplicaNode.State.ACTIVE, replica.getState());
+        assertEquals("primary down", monitor.health().getDetails().get("primaryError"));
+    }
+}
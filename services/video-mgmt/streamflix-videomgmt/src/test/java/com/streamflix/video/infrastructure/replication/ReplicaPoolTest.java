@@ -0,0 +1,122 @@
+package com.streamflix.video.infrastructure.replication;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaPoolTest {
+
+    @Mock
+    private DataSource firstDataSource;
+
+    @Mock
+    private DataSource secondDataSource;
+
+    @Mock
+    private Clock clock;
+
+    private ReplicaRoutingProperties properties;
+    private SimpleMeterRegistry registry;
+    private ReplicaNode first;
+    private ReplicaNode second;
+    private ReplicaPool pool;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReplicaRoutingProperties();
+        properties.setEjectAfterFailures(2);
+        properties.setEjectionTime(Duration.ofSeconds(30));
+        properties.setProbation(Duration.ofSeconds(60));
+        registry = new SimpleMeterRegistry();
+        now = Instant.parse("2024-05-01T12:00:00Z");
+        lenient().when(clock.instant()).thenAnswer(invocation -> now);
+        first = new ReplicaNode("replica-1", firstDataSource, mock(JdbcTemplate.class), properties, clock);
+        second = new ReplicaNode("replica-2", secondDataSource, mock(JdbcTemplate.class), properties, clock);
+        pool = new ReplicaPool(List.of(first, second), registry, clock);
+        caughtUp(first);
+        caughtUp(second);
+    }
+
+    private void caughtUp(ReplicaNode replica) {
+        replica.recordLag(new ReplicaNode.LagSample(0x1000, 0x1000, 0, now));
+    }
+
+    @Test
+    @DisplayName("Should prefer the replica with fewer reads in flight")
+    void shouldBalanceOnInFlightReads() throws SQLException {
+        when(firstDataSource.getConnection()).thenReturn(mock(Connection.class));
+        Connection held = first.getConnection();
+
+        for (int i = 0; i < 20; i++) {
+            assertSame(second, pool.select(0).replica());
+        }
+
+        held.close();
+        held.close();
+        assertEquals(0, first.getInFlight());
+        assertTrue(first.getLatencyMillis() >= 0);
+    }
+
+    @Test
+    @DisplayName("Should eject a replica after repeated connection failures and readmit it on probation")
+    void shouldEjectAndReadmit() throws SQLException {
+        when(firstDataSource.getConnection()).thenThrow(new SQLException("connection refused"));
+
+        assertThrows(SQLException.class, () -> first.getConnection());
+        assertEquals(ReplicaNode.State.ACTIVE, first.getState());
+        assertThrows(SQLException.class, () -> first.getConnection());
+        assertEquals(ReplicaNode.State.EJECTED, first.getState());
+        assertEquals(1, registry.get("video.db.replica.ejections").tag("replica", "replica-1").counter().count());
+        for (int i = 0; i < 20; i++) {
+            assertSame(second, pool.select(0).replica());
+        }
+
+        now = now.plusSeconds(10);
+        caughtUp(first);
+        assertEquals(ReplicaNode.State.EJECTED, first.getState());
+
+        now = now.plusSeconds(25);
+        caughtUp(first);
+        assertEquals(ReplicaNode.State.PROBATION, first.getState());
+        assertTrue(first.cost(now) > second.cost(now));
+
+        now = now.plusSeconds(60);
+        caughtUp(first);
+        caughtUp(second);
+        assertEquals(ReplicaNode.State.ACTIVE, first.getState());
+        assertEquals(first.cost(now), second.cost(now));
+    }
+
+    @Test
+    @DisplayName("Should report the reason of the replica closest to serving a read sent to the primary")
+    void shouldReportClosestReason() {
+        second.recordLag(new ReplicaNode.LagSample(0x800, 0x1000, 30, now));
+
+        ReplicaPool.Selection selection = pool.select(0x2000);
+        pool.recordRead(selection);
+        pool.recordRead(pool.select(0));
+
+        assertNull(selection.replica());
+        assertEquals(ReplicaPool.Verdict.BEHIND_SESSION, selection.verdict());
+        assertEquals(1, registry.get("video.db.reads").tags("target", "primary", "reason", "behind_session").counter().count());
+        assertEquals(1, registry.get("video.db.reads").tags("target", "replica-1", "reason", "replica").counter().count());
+    }
+}
@@ -0,0 +1,87 @@
+package com.streamflix.video.infrastructure.repository;
+
+import com.streamflix.video.config.TestDatabaseConfig;
+import com.streamflix.video.domain.Category;
+import com.streamflix.video.domain.Video;
+import com.streamflix.video.domain.VideoStatus;
+import com.streamflix.video.infrastructure.persistence.VideoBatchInsert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "app.bulk.jdbc-batch-size=4")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestDatabaseConfig.class, VideoBatchInsert.class})
+@ActiveProfiles("test")
+class VideoBatchInsertTest {
+
+    private static final UUID DEFAULT_TENANT = UUID.fromString("00000000-0000-0000-0000-000000000000");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VideoBatchInsert batchInsert;
+
+    @Test
+    @DisplayName("Should insert videos and tags across several batches with assigned ids")
+    void shouldInsertVideosAndTags() {
+        Category category = entityManager.persist(new Category("Drama", "Dramatic films", DEFAULT_TENANT));
+        entityManager.flush();
+
+        List<Video> videos = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Video video = new Video("Video " + i, "Description " + i);
+            video.setCategory(category);
+            video.setReleaseYear(2000 + i);
+            video.setTags(Set.of("drama", "tag-" + i));
+            videos.add(video);
+        }
+
+        batchInsert.insert(videos);
+        entityManager.clear();
+
+        assertThat(videos).allSatisfy(video -> assertThat(video.getId()).isNotNull());
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM video_tags", Long.class)).isEqualTo(20);
+
+        Video loaded = entityManager.find(Video.class, videos.get(3).getId());
+        assertThat(loaded.getTitle()).isEqualTo("Video 3");
+        assertThat(loaded.getStatus()).isEqualTo(VideoStatus.PENDING);
+        assertThat(loaded.getCategory().getId()).isEqualTo(category.getId());
+        assertThat(loaded.getReleaseYear()).isEqualTo(2003);
+        assertThat(loaded.getTags()).containsExactlyInAnyOrder("drama", "tag-3");
+        assertThat(loaded.getTenantId()).isEqualTo(DEFAULT_TENANT);
+    }
+
+    @Test
+    @DisplayName("Should keep a tenant already set on the video and allow videos without category or tags")
+    void shouldKeepTenantAndAllowBareVideos() {
+        UUID tenantId = UUID.randomUUID();
+        Video video = new Video("Bare", null, tenantId);
+
+        batchInsert.insert(List.of(video));
+        entityManager.clear();
+
+        Video loaded = entityManager.find(Video.class, video.getId());
+        assertThat(loaded.getTenantId()).isEqualTo(tenantId);
+        assertThat(loaded.getCategory()).isNull();
+        assertThat(loaded.getReleaseYear()).isNull();
+        assertThat(loaded.getTags()).isEmpty();
+    }
+}
@@ -0,0 +1,97 @@
+package com.streamflix.video.infrastructure.repository;
+
+import com.streamflix.video.config.TestDatabaseConfig;
+import com.streamflix.video.domain.Category;
+import com.streamflix.video.domain.Video;
+import com.streamflix.video.domain.VideoStatus;
+import com.streamflix.video.infrastructure.persistence.JpaVideoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestDatabaseConfig.class)
+@ActiveProfiles("test")
+class VideoBulkUpdateTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JpaVideoRepository videoRepository;
+
+    private Category drama;
+    private Video uploaded;
+    private Video processing;
+
+    @BeforeEach
+    void setUp() {
+        drama = entityManager.persist(new Category("Drama", "Dramatic films"));
+        uploaded = new Video("Uploaded", null);
+        uploaded.setTags(Set.of("classic"));
+        uploaded.markAsUploaded();
+        processing = new Video("Processing", null);
+        processing.markAsUploaded();
+        processing.markAsProcessing();
+        entityManager.persist(uploaded);
+        entityManager.persist(processing);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should update only the videos in an allowed source status")
+    void shouldGuardStatusUpdateBySourceStatus() {
+        int updated = videoRepository.batchUpdateStatus(List.of(uploaded.getId(), processing.getId()),
+            EnumSet.of(VideoStatus.PROCESSING), VideoStatus.READY);
+        entityManager.clear();
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(entityManager.find(Video.class, processing.getId()).getStatus()).isEqualTo(VideoStatus.READY);
+        assertThat(entityManager.find(Video.class, uploaded.getId()).getStatus()).isEqualTo(VideoStatus.UPLOADED);
+    }
+
+    @Test
+    @DisplayName("Should add a tag once and remove it again")
+    void shouldAddAndRemoveTag() {
+        List<Video> videos = List.of(uploaded, processing);
+        List<UUID> ids = videos.stream().map(Video::getId).toList();
+
+        assertThat(videoRepository.batchAddTag(ids, "classic")).isEqualTo(1);
+        entityManager.clear();
+        assertThat(entityManager.find(Video.class, processing.getId()).getTags()).containsExactly("classic");
+
+        assertThat(videoRepository.batchRemoveTag(ids, "classic")).isEqualTo(2);
+        entityManager.clear();
+        assertThat(entityManager.find(Video.class, uploaded.getId()).getTags()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should move videos to a category and bump their modification time")
+    void shouldUpdateCategory() {
+        Video before = entityManager.find(Video.class, uploaded.getId());
+        entityManager.clear();
+
+        assertThat(videoRepository.batchUpdateCategory(List.of(uploaded.getId(), processing.getId()), drama)).isEqualTo(2);
+        entityManager.clear();
+
+        Video moved = entityManager.find(Video.class, uploaded.getId());
+        assertThat(moved.getCategory().getId()).isEqualTo(drama.getId());
+        assertThat(moved.getUpdatedAt()).isAfterOrEqualTo(before.getUpdatedAt());
+        assertThat(entityManager.find(Video.class, processing.getId()).getCategory().getId()).isEqualTo(drama.getId());
+    }
+}
@@ -0,0 +1,170 @@
+package com.streamflix.video.infrastructure.repository;
+
+import com.streamflix.video.config.TestDatabaseConfig;
+import com.streamflix.video.domain.Category;
+import com.streamflix.video.domain.Thumbnail;
+import com.streamflix.video.domain.Video;
+import com.streamflix.video.infrastructure.persistence.VideoBatchInsert;
+import com.streamflix.video.infrastructure.persistence.VideoCountEstimator;
+import com.streamflix.video.infrastructure.persistence.VideoCounters;
+import com.streamflix.video.infrastructure.persistence.VideoRelevanceSearch;
+import com.streamflix.video.infrastructure.persistence.VideoRepositoryAdapter;
+import com.streamflix.video.infrastructure.persistence.VideoSummaryQuery;
+import com.streamflix.video.presentation.dto.VideoDTO;
+import com.streamflix.video.presentation.dto.VideoFilterParams;
+import com.streamflix.video.presentation.dto.VideoSummaryDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the number of SQL statements a page of videos costs, including mapping it to DTOs, so
+ * that a new association or a lost batch size shows up as a failure rather than as N+1 queries.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestDatabaseConfig.class, VideoRepositoryAdapter.class, VideoSummaryQuery.class,
+    VideoBatchInsert.class, VideoCounters.class})
+@ActiveProfiles("test")
+class VideoListQueryBudgetTest {
+
+    private static final int VIDEOS = 30;
+    private static final int PAGE_SIZE = 25;
+
+    /** The page, then one batch each for categories, tags and thumbnails. */
+    private static final long LIST_BUDGET = 4;
+    /** As a list, plus the count query. */
+    private static final long PAGE_BUDGET = LIST_BUDGET + 1;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private VideoRepositoryAdapter videoRepository;
+
+    @MockBean
+    private VideoCountEstimator countEstimator;
+
+    @MockBean
+    private VideoRelevanceSearch relevanceSearch;
+
+    private UUID categoryId;
+
+    @BeforeEach
+    void setUp() {
+        UUID tenantId = UUID.randomUUID();
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            categories.add(entityManager.persist(new Category("Category " + i, "Description " + i, tenantId)));
+        }
+        categoryId = categories.get(0).getId();
+
+        for (int i = 0; i < VIDEOS; i++) {
+            Video video = new Video("Video " + i, "Description " + i, tenantId);
+            video.setCategory(categories.get(i % categories.size()));
+            video.setLanguage("en");
+            video.addTag("drama");
+            video.addTag("tag-" + i);
+            video.addThumbnail(new Thumbnail("https://cdn.example.com/" + i + "/small.jpg", tenantId));
+            video.addThumbnail(new Thumbnail("https://cdn.example.com/" + i + "/large.jpg", tenantId));
+            entityManager.persist(video);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should list a page of videos in a constant number of queries")
+    void shouldListWithinBudget() {
+        List<VideoDTO> videos = withinBudget(LIST_BUDGET, () -> toDtos(videoRepository.findAll(0, PAGE_SIZE)));
+
+        assertThat(videos).hasSize(PAGE_SIZE);
+        assertThat(videos).allSatisfy(video -> {
+            assertThat(video.getCategory()).isNotNull();
+            assertThat(video.getTags()).hasSize(2);
+            assertThat(video.getThumbnails()).hasSize(2);
+        });
+    }
+
+    @Test
+    @DisplayName("Should list a category's videos in a constant number of queries")
+    void shouldListByCategoryWithinBudget() {
+        List<VideoDTO> videos = withinBudget(LIST_BUDGET,
+            () -> toDtos(videoRepository.findByCategory(categoryId, 0, PAGE_SIZE)));
+
+        assertThat(videos).hasSize(VIDEOS / 3);
+    }
+
+    @Test
+    @DisplayName("Should list a tag's videos in a constant number of queries")
+    void shouldListByTagWithinBudget() {
+        List<VideoDTO> videos = withinBudget(LIST_BUDGET, () -> toDtos(videoRepository.findByTag("drama", 0, PAGE_SIZE)));
+
+        assertThat(videos).hasSize(PAGE_SIZE);
+        assertThat(videos).allSatisfy(video -> assertThat(video.getTags()).contains("drama"));
+    }
+
+    @Test
+    @DisplayName("Should read a page of summaries without Hibernate loading anything")
+    void shouldReadSummariesWithoutEntities() {
+        List<VideoSummaryDTO> summaries = withinBudget(0,
+            () -> videoRepository.findSummaries(0, PAGE_SIZE).stream().map(VideoSummaryDTO::new).toList());
+
+        assertThat(summaries).hasSize(PAGE_SIZE);
+        assertThat(summaries).allSatisfy(summary -> {
+            assertThat(summary.getCategoryName()).isNotNull();
+            assertThat(summary.getTags()).hasSize(2);
+            assertThat(summary.getThumbnailUrl()).isNotNull();
+        });
+        assertThat(entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should filter a page of videos in a constant number of queries")
+    void shouldFilterWithinBudget() {
+        VideoFilterParams params = new VideoFilterParams();
+        params.setLanguage("en");
+
+        List<VideoDTO> videos = withinBudget(PAGE_BUDGET,
+            () -> toDtos(videoRepository.findByFilterParams(params, 0, PAGE_SIZE).getContent()));
+
+        assertThat(videos).hasSize(PAGE_SIZE);
+    }
+
+    private <T> T withinBudget(long budget, Supplier<T> work) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        T result = work.get();
+
+        assertThat(statistics.getPrepareStatementCount())
+            .as("SQL statements for %d videos", PAGE_SIZE)
+            .isLessThanOrEqualTo(budget);
+        return result;
+    }
+
+    private static List<VideoDTO> toDtos(List<Video> videos) {
+        return videos.stream().map(VideoDTO::new).toList();
+    }
+}
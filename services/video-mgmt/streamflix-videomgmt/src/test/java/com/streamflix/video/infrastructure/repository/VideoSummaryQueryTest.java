@@ -0,0 +1,126 @@
+package com.streamflix.video.infrastructure.repository;
+
+import com.streamflix.video.config.TestDatabaseConfig;
+import com.streamflix.video.domain.Category;
+import com.streamflix.video.domain.Thumbnail;
+import com.streamflix.video.domain.Video;
+import com.streamflix.video.domain.VideoStatus;
+import com.streamflix.video.domain.VideoSummary;
+import com.streamflix.video.infrastructure.persistence.VideoSummaryQuery;
+import com.streamflix.video.presentation.dto.VideoFilterParams;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestDatabaseConfig.class, VideoSummaryQuery.class})
+@ActiveProfiles("test")
+class VideoSummaryQueryTest {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "updatedAt");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VideoSummaryQuery summaryQuery;
+
+    private Category category;
+    private Video older;
+    private Video newer;
+
+    @BeforeEach
+    void setUp() {
+        UUID tenantId = UUID.randomUUID();
+        category = entityManager.persist(new Category("Drama", "Dramatic films", tenantId));
+
+        older = new Video("Older", "A long synopsis", tenantId);
+        older.setCategory(category);
+        older.addTag("slow");
+        older.addTag("award");
+        Thumbnail fallback = new Thumbnail("https://cdn.example.com/older/default.jpg", tenantId);
+        fallback.setDefault(true);
+        Thumbnail primary = new Thumbnail("https://cdn.example.com/older/primary.jpg", tenantId);
+        primary.setPrimary(true);
+        older.addThumbnail(fallback);
+        older.addThumbnail(primary);
+        entityManager.persist(older);
+
+        newer = entityManager.persist(new Video("Newer", "Another synopsis", tenantId));
+
+        Video deleted = new Video("Deleted", "Gone", tenantId);
+        deleted.markAsDeleted();
+        entityManager.persist(deleted);
+        entityManager.flush();
+
+        jdbcTemplate.update("UPDATE videos SET updated_at = ? WHERE id = ?", LocalDateTime.now().minusDays(1), older.getId());
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should read the card columns with tags and the primary thumbnail aggregated")
+    void shouldAggregateTagsAndPrimaryThumbnail() {
+        VideoFilterParams params = new VideoFilterParams();
+        params.setCategoryId(category.getId());
+
+        List<VideoSummary> summaries = summaryQuery.find(params, NEWEST_FIRST, 0, 10);
+
+        assertThat(summaries).hasSize(1);
+        VideoSummary summary = summaries.get(0);
+        assertThat(summary.getId()).isEqualTo(older.getId());
+        assertThat(summary.getTitle()).isEqualTo("Older");
+        assertThat(summary.getStatus()).isEqualTo(VideoStatus.PENDING);
+        assertThat(summary.getCategoryName()).isEqualTo("Drama");
+        assertThat(summary.getTags()).containsExactly("award", "slow");
+        assertThat(summary.getThumbnailUrl()).isEqualTo("https://cdn.example.com/older/primary.jpg");
+    }
+
+    @Test
+    @DisplayName("Should skip deleted videos and order by the requested sort")
+    void shouldSkipDeletedAndSort() {
+        List<VideoSummary> summaries = summaryQuery.find(new VideoFilterParams(), NEWEST_FIRST, 0, 10);
+
+        assertThat(summaries).extracting(VideoSummary::getTitle).containsExactly("Newer", "Older");
+        assertThat(summaries.get(0).getTags()).isEmpty();
+        assertThat(summaries.get(0).getThumbnailUrl()).isNull();
+        assertThat(summaries.get(0).getCategoryId()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should filter by tag and page with offset and limit")
+    void shouldFilterByTagAndPage() {
+        VideoFilterParams params = new VideoFilterParams();
+        params.setTags(List.of("award"));
+
+        assertThat(summaryQuery.find(params, NEWEST_FIRST, 0, 10)).extracting(VideoSummary::getId)
+            .containsExactly(older.getId());
+        assertThat(summaryQuery.find(new VideoFilterParams(), NEWEST_FIRST, 1, 1)).extracting(VideoSummary::getId)
+            .containsExactly(older.getId());
+    }
+
+    @Test
+    @DisplayName("Should return summaries by id in the order given")
+    void shouldKeepIdOrder() {
+        List<VideoSummary> summaries = summaryQuery.findByIds(List.of(older.getId(), UUID.randomUUID(), newer.getId()));
+
+        assertThat(summaries).extracting(VideoSummary::getId).containsExactly(older.getId(), newer.getId());
+    }
+}
@@ -3,33 +3,55 @@ package com.streamflix.video.presentation.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.streamflix.video.application.port.VideoService;
 import com.streamflix.video.config.TestSecurityConfig;
+import com.streamflix.video.domain.BulkVideoResult;
+import com.streamflix.video.domain.CountMode;
 import com.streamflix.video.domain.Video;
+import com.streamflix.video.domain.VideoCursor;
+import com.streamflix.video.domain.VideoCursorPage;
+import com.streamflix.video.domain.VideoSlice;
 import com.streamflix.video.domain.VideoStatus;
+import com.streamflix.video.domain.VideoSummary;
+import com.streamflix.video.domain.exception.CategoryNotFoundException;
+import com.streamflix.video.domain.exception.ValidationException;
+import com.streamflix.video.infrastructure.cache.AccessStatsRecorder;
+import com.streamflix.video.infrastructure.cache.ListCacheKeys;
+import com.streamflix.video.infrastructure.persistence.DatabaseBusyException;
+import com.streamflix.video.infrastructure.security.CustomSecurityExpressions;
 import com.streamflix.video.presentation.VideoController;
+import com.streamflix.video.presentation.dto.BulkCreateVideosRequest;
 import com.streamflix.video.presentation.dto.CreateVideoRequest;
+import com.streamflix.video.presentation.http.VideoResponseCaching;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(VideoController.class)
-@Import(TestSecurityConfig.class)
+@Import({TestSecurityConfig.class, VideoResponseCaching.class, ListCacheKeys.class, CustomSecurityExpressions.class})
 @ActiveProfiles("test")
 public class VideoControllerIntegrationTest {
 
@@ -42,6 +64,9 @@ public class VideoControllerIntegrationTest {
     @MockBean
     private VideoService videoService;
 
+    @MockBean
+    private AccessStatsRecorder accessStatsRecorder;
+
     private UUID testVideoId;
     private Video testVideo;
 
@@ -56,7 +81,7 @@ public class VideoControllerIntegrationTest {
     @Test
     void shouldGetVideoById() throws Exception {
         // Given
-        when(videoService.getVideo(eq(testVideoId))).thenReturn(Optional.of(testVideo));
+        when(videoService.getVideo(eq(testVideoId))).thenReturn(CompletableFuture.completedFuture(Optional.of(testVideo)));
 
         // When/Then
         mockMvc.perform(get("/api/v1/videos/{id}", testVideoId))
@@ -66,10 +91,200 @@ public class VideoControllerIntegrationTest {
                 .andExpect(jsonPath("$.status", is("PENDING")));
     }
 
+    @Test
+    void shouldSendValidatorsAndSurrogateKeysWithVideo() throws Exception {
+        // Given
+        when(videoService.getVideo(eq(testVideoId))).thenReturn(CompletableFuture.completedFuture(Optional.of(testVideo)));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/videos/{id}", testVideoId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("\"")))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(header().string(VideoResponseCaching.SURROGATE_KEY, containsString("video/")));
+    }
+
+    @Test
+    void shouldKeepAuthenticatedVideoOutOfSharedCaches() throws Exception {
+        // Given
+        when(videoService.getVideo(eq(testVideoId))).thenReturn(CompletableFuture.completedFuture(Optional.of(testVideo)));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/videos/{id}", testVideoId).with(user("viewer")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "private, no-cache"))
+                .andExpect(header().doesNotExist(VideoResponseCaching.SURROGATE_CONTROL))
+                .andExpect(header().stringValues("Vary", hasItem(containsString("Authorization"))));
+    }
+
+    @Test
+    void shouldNotLetCdnStoreAnonymousVideoUnlessConfigured() throws Exception {
+        // Given
+        when(videoService.getVideo(eq(testVideoId))).thenReturn(CompletableFuture.completedFuture(Optional.of(testVideo)));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/videos/{id}", testVideoId))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(VideoResponseCaching.SURROGATE_CONTROL));
+    }
+
+    @Test
+    void shouldReturn503WithRetryAfterWhenDatabaseIsBusy() throws Exception {
+        // Given
+        when(videoService.getVideo(eq(testVideoId)))
+                .thenReturn(CompletableFuture.failedFuture(new DatabaseBusyException("Too many concurrent transactions")));
+        when(videoService.listVideos(0, 10))
+                .thenReturn(CompletableFuture.failedFuture(new DatabaseBusyException("Too many concurrent transactions")));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/videos/{id}", testVideoId))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"));
+        mockMvc.perform(get("/api/v1/videos"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"));
+    }
+
+    @Test
+    void shouldReturn304WhenVideoUnchanged() throws Exception {
+        // Given
+        when(videoService.getVideo(eq(testVideoId))).thenReturn(CompletableFuture.completedFuture(Optional.of(testVideo)));
+        MvcResult first = mockMvc.perform(get("/api/v1/videos/{id}", testVideoId))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/videos/{id}", testVideoId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldChangeListEtagWhenPageContentChanges() throws Exception {
+        // Given
+        Video otherVideo = new Video("Other Video", "Other Description");
+        when(videoService.listVideos(0, 10))
+                .thenReturn(CompletableFuture.completedFuture(java.util.List.of(testVideo)))
+                .thenReturn(CompletableFuture.completedFuture(java.util.List.of(testVideo, otherVideo)));
+        String etag = mockMvc.perform(get("/api/v1/videos"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/videos").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void shouldScrollVideosWithCursor() throws Exception {
+        // Given
+        VideoCursor next = new VideoCursor("updatedAt", Sort.Direction.DESC, testVideo.getUpdatedAt(), UUID.randomUUID());
+        when(videoService.scrollVideos(null, 1))
+                .thenReturn(CompletableFuture.completedFuture(new VideoCursorPage(java.util.List.of(testVideo), next)));
+        when(videoService.scrollVideos(next, 1))
+                .thenReturn(CompletableFuture.completedFuture(new VideoCursorPage(java.util.List.of(), null)));
+
+        // When/Then
+        String cursor = mockMvc.perform(get("/api/v1/videos").param("cursor", "").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string(VideoController.NEXT_CURSOR_HEADER, next.encode()))
+                .andReturn().getResponse().getHeader(VideoController.NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get("/api/v1/videos").param("cursor", cursor).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)))
+                .andExpect(header().doesNotExist(VideoController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/v1/videos").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldFilterWithoutCountingWhenAsked() throws Exception {
+        // Given
+        VideoSlice<Video> slice = VideoSlice.uncounted(new SliceImpl<>(java.util.List.of(testVideo), PageRequest.of(0, 10), true));
+        when(videoService.findByFilterParams(any(), eq(0), eq(10), eq(CountMode.NONE)))
+                .thenReturn(CompletableFuture.completedFuture(slice));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/videos/filter").param("language", "en").param("count", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.totalElements").value(-1))
+                .andExpect(jsonPath("$.totalPages").value(-1))
+                .andExpect(jsonPath("$.last").value(false));
+    }
+
+    @Test
+    void shouldRejectUnknownCountMode() throws Exception {
+        mockMvc.perform(get("/api/v1/videos/filter").param("count", "roughly"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRejectCursorWithFullTextSearch() throws Exception {
+        mockMvc.perform(get("/api/v1/videos/filter").param("search", "dragon").param("cursor", ""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldListVideoSummaries() throws Exception {
+        // Given
+        VideoSummary summary = new VideoSummary(testVideoId, "Test Video", VideoStatus.READY, 2020, "en",
+                null, null, List.of("action", "drama"), "https://cdn.example.com/cover.jpg",
+                LocalDateTime.now(), LocalDateTime.now());
+        when(videoService.listVideoSummaries(eq(0), eq(10))).thenReturn(CompletableFuture.completedFuture(List.of(summary)));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/videos").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Test Video")))
+                .andExpect(jsonPath("$[0].tags", contains("action", "drama")))
+                .andExpect(jsonPath("$[0].thumbnailUrl", is("https://cdn.example.com/cover.jpg")))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(header().string("ETag", startsWith("\"")));
+    }
+
+    @Test
+    void shouldFilterVideoSummaries() throws Exception {
+        // Given
+        VideoSummary summary = new VideoSummary(testVideoId, "Test Video", VideoStatus.READY, 2020, "en",
+                null, null, List.of(), null, LocalDateTime.now(), LocalDateTime.now());
+        VideoSlice<VideoSummary> slice = VideoSlice.uncounted(new SliceImpl<>(List.of(summary), PageRequest.of(0, 10), false));
+        when(videoService.findSummariesByFilterParams(any(), eq(0), eq(10), eq(CountMode.NONE)))
+                .thenReturn(CompletableFuture.completedFuture(slice));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/videos/filter").param("view", "summary").param("count", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", is(testVideoId.toString())))
+                .andExpect(jsonPath("$.content[0].thumbnails").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(-1));
+    }
+
+    @Test
+    void shouldRejectUnknownViewAndSummaryCursor() throws Exception {
+        mockMvc.perform(get("/api/v1/videos").param("view", "compact"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/videos/by-tag/{tag}", "drama").param("view", "summary").param("cursor", ""))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldReturn404WhenVideoNotFound() throws Exception {
         // Given
-        when(videoService.getVideo(any(UUID.class))).thenReturn(Optional.empty());
+        when(videoService.getVideo(any(UUID.class))).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
 
         // When/Then
         mockMvc.perform(get("/api/v1/videos/{id}", UUID.randomUUID()))
@@ -93,11 +308,11 @@ public class VideoControllerIntegrationTest {
                 eq("New Description"), 
                 eq(null), 
                 eq(Collections.singleton("test"))
-        )).thenReturn(createdVideo);
+        )).thenReturn(CompletableFuture.completedFuture(createdVideo));
         
         when(videoService.updateVideo(
                 any(), eq(null), eq(null), eq(null), any(), any()
-        )).thenReturn(Optional.of(createdVideo));
+        )).thenReturn(CompletableFuture.completedFuture(Optional.of(createdVideo)));
 
         // When/Then
         mockMvc.perform(post("/api/v1/videos")
@@ -110,13 +325,118 @@ public class VideoControllerIntegrationTest {
                 .andExpect(jsonPath("$.tags[0]", is("test")));
     }
 
+    @Test
+    void shouldCreateVideosInBulk() throws Exception {
+        // Given
+        CreateVideoRequest valid = new CreateVideoRequest();
+        valid.setTitle("New Video");
+        valid.setTags(Collections.singleton("test"));
+        CreateVideoRequest invalid = new CreateVideoRequest();
+        invalid.setTitle("");
+        BulkCreateVideosRequest request = new BulkCreateVideosRequest();
+        request.setVideos(List.of(valid, invalid));
+
+        UUID createdId = UUID.randomUUID();
+        when(videoService.createVideos(any())).thenReturn(CompletableFuture.completedFuture(new BulkVideoResult(List.of(
+                BulkVideoResult.Item.succeeded(0, createdId),
+                BulkVideoResult.Item.failed(1, null, "Video title cannot be empty")))));
+
+        // When/Then
+        mockMvc.perform(post("/api/v1/videos/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.items[0].videoId", is(createdId.toString())))
+                .andExpect(jsonPath("$.items[1].succeeded", is(false)))
+                .andExpect(jsonPath("$.items[1].error", is("Video title cannot be empty")));
+    }
+
+    @Test
+    void shouldRejectEmptyBulkRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/videos/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"videos\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldUpdateVideoStatusesInBulk() throws Exception {
+        // Given
+        UUID otherId = UUID.randomUUID();
+        when(videoService.updateVideoStatuses(eq(List.of(testVideoId, otherId)), eq(VideoStatus.READY)))
+                .thenReturn(CompletableFuture.completedFuture(new BulkVideoResult(List.of(
+                        BulkVideoResult.Item.succeeded(0, testVideoId),
+                        BulkVideoResult.Item.failed(1, otherId, "Video must be in PROCESSING state to be marked as READY")))));
+
+        // When/Then
+        mockMvc.perform(patch("/api/v1/videos/bulk/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"videoIds\": [\"" + testVideoId + "\", \"" + otherId + "\"], \"status\": \"READY\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", is(1)))
+                .andExpect(jsonPath("$.items[1].videoId", is(otherId.toString())))
+                .andExpect(jsonPath("$.items[1].error", is("Video must be in PROCESSING state to be marked as READY")));
+    }
+
+    @Test
+    void shouldRejectBulkStatusUpdateTheServiceRefuses() throws Exception {
+        when(videoService.updateVideoStatuses(any(), eq(VideoStatus.PENDING)))
+                .thenReturn(CompletableFuture.failedFuture(new ValidationException("Videos cannot be moved back to status PENDING")));
+
+        mockMvc.perform(patch("/api/v1/videos/bulk/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"videoIds\": [\"" + testVideoId + "\"], \"status\": \"PENDING\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldAddAndRemoveTagsInBulk() throws Exception {
+        BulkVideoResult result = new BulkVideoResult(List.of(BulkVideoResult.Item.succeeded(0, testVideoId)));
+        when(videoService.addTagToVideos(List.of(testVideoId), "classic")).thenReturn(CompletableFuture.completedFuture(result));
+        when(videoService.removeTagFromVideos(List.of(testVideoId), "classic")).thenReturn(CompletableFuture.completedFuture(result));
+        String body = "{\"videoIds\": [\"" + testVideoId + "\"], \"tag\": \"classic\"}";
+
+        mockMvc.perform(post("/api/v1/videos/bulk/tags/add")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", is(1)));
+        mockMvc.perform(post("/api/v1/videos/bulk/tags/remove")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", is(1)));
+    }
+
+    @Test
+    void shouldReturnNotFoundForBulkMoveToUnknownCategory() throws Exception {
+        UUID categoryId = UUID.randomUUID();
+        when(videoService.moveVideosToCategory(List.of(testVideoId), categoryId))
+                .thenReturn(CompletableFuture.failedFuture(new CategoryNotFoundException(categoryId)));
+
+        mockMvc.perform(patch("/api/v1/videos/bulk/category")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"videoIds\": [\"" + testVideoId + "\"], \"categoryId\": \"" + categoryId + "\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldRejectBulkUpdateWithoutIds() throws Exception {
+        mockMvc.perform(patch("/api/v1/videos/bulk/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"videoIds\": [], \"status\": \"READY\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldUpdateVideoStatus() throws Exception {
         // Given
         Video updatedVideo = new Video("Test Video", "Test Description");
         
         when(videoService.updateVideoStatus(eq(testVideoId), eq(VideoStatus.UPLOADED)))
-                .thenReturn(Optional.of(updatedVideo));
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(updatedVideo)));
 
         // When/Then
         mockMvc.perform(patch("/api/v1/videos/{id}/status", testVideoId)